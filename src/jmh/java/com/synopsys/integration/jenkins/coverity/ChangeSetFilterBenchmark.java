@@ -0,0 +1,63 @@
+package com.synopsys.integration.jenkins.coverity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hudson.scm.ChangeLogSet;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChangeSetFilterBenchmark {
+    @Param({ "10", "1000", "100000" })
+    public int fileCount;
+
+    @Param({ "0", "5", "50" })
+    public int patternCount;
+
+    private List<ChangeLogSet.AffectedFile> affectedFiles;
+    private ChangeSetFilter changeSetFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        affectedFiles = SyntheticChangeLogSet.ofSize(fileCount, 25).getAllAffectedFiles();
+
+        String inclusionPatterns = IntStream.range(0, patternCount)
+                                       .mapToObj(i -> i % 2 == 0 ? "*.java" + i : "File" + i + "*.c??")
+                                       .collect(Collectors.joining(","));
+        String exclusionPatterns = IntStream.range(0, patternCount)
+                                       .mapToObj(i -> "*Test" + i + ".*")
+                                       .collect(Collectors.joining(","));
+        changeSetFilter = new ChangeSetFilter(exclusionPatterns, inclusionPatterns);
+    }
+
+    @Benchmark
+    public long shouldInclude() {
+        long included = 0;
+        for (ChangeLogSet.AffectedFile affectedFile : affectedFiles) {
+            if (changeSetFilter.shouldInclude(affectedFile)) {
+                included++;
+            }
+        }
+        return included;
+    }
+
+}
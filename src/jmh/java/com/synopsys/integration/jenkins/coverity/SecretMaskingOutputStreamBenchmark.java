@@ -0,0 +1,117 @@
+package com.synopsys.integration.jenkins.coverity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.synopsys.integration.jenkins.PasswordMaskingOutputStream;
+
+// Compare maskAll against rawCopy for the cost of masking on top of simply moving the bytes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecretMaskingOutputStreamBenchmark {
+    private static final int LOG_SIZE_IN_BYTES = 16 * 1024 * 1024;
+
+    @Param({ "8192" })
+    public int writeSize;
+
+    @Param({ "1", "5", "50" })
+    public int secretCount;
+
+    private byte[] log;
+    private List<String> secrets;
+    private SecretMasker secretMasker;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        secrets = IntStream.range(0, secretCount)
+                      .mapToObj(i -> "s3cr3t-" + i + "-" + Long.toHexString(random.nextLong()))
+                      .collect(Collectors.toList());
+        secretMasker = new SecretMasker(secrets);
+
+        // Something that looks like verbose cov-build output, with a secret every few thousand lines
+        StringBuilder logBuilder = new StringBuilder(LOG_SIZE_IN_BYTES);
+        int line = 0;
+        while (logBuilder.length() < LOG_SIZE_IN_BYTES) {
+            logBuilder.append("[STATUS] Emitting source file /home/jenkins/workspace/project/src/module").append(line % 97).append("/File").append(line).append(".cpp");
+            if (line % 5000 == 0) {
+                logBuilder.append(" --auth ").append(secrets.get(line % secretCount));
+            }
+            logBuilder.append('\n');
+            line++;
+        }
+        log = logBuilder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void rawCopy(Blackhole blackhole) throws IOException {
+        writeLog(new BlackholeOutputStream(blackhole));
+    }
+
+    @Benchmark
+    public void maskAll(Blackhole blackhole) throws IOException {
+        writeLog(new SecretMaskingOutputStream(new BlackholeOutputStream(blackhole), secretMasker));
+    }
+
+    @Benchmark
+    public void maskOneAtATime(Blackhole blackhole) throws IOException {
+        // The previous approach, one line-buffered masking stream per secret
+        OutputStream outputStream = new BlackholeOutputStream(blackhole);
+        for (String secret : secrets) {
+            outputStream = new PasswordMaskingOutputStream(outputStream, secret);
+        }
+        writeLog(outputStream);
+    }
+
+    private void writeLog(OutputStream outputStream) throws IOException {
+        try (OutputStream closeable = outputStream) {
+            for (int offset = 0; offset < log.length; offset += writeSize) {
+                closeable.write(log, offset, Math.min(writeSize, log.length - offset));
+            }
+        }
+    }
+
+    private static class BlackholeOutputStream extends OutputStream {
+        private final Blackhole blackhole;
+
+        public BlackholeOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b[off]);
+            blackhole.consume(len);
+        }
+    }
+
+}
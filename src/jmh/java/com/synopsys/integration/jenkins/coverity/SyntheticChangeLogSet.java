@@ -0,0 +1,114 @@
+package com.synopsys.integration.jenkins.coverity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import hudson.model.User;
+import hudson.scm.ChangeLogSet;
+import hudson.scm.EditType;
+
+public class SyntheticChangeLogSet extends ChangeLogSet<SyntheticChangeLogSet.SyntheticEntry> {
+    private static final String[] EXTENSIONS = { ".java", ".c", ".cpp", ".h", ".hpp", ".py", ".js", ".xml", ".md", ".txt" };
+    private final List<SyntheticEntry> entries;
+
+    private SyntheticChangeLogSet(List<SyntheticEntry> entries) {
+        super(null, null);
+        this.entries = entries;
+    }
+
+    /**
+     * Creates a change log with the given number of affected files spread over commits of at most filesPerCommit files each.
+     */
+    public static SyntheticChangeLogSet ofSize(int fileCount, int filesPerCommit) {
+        List<SyntheticEntry> entries = new ArrayList<>();
+        List<SyntheticAffectedFile> currentFiles = new ArrayList<>();
+        for (int i = 0; i < fileCount; i++) {
+            String path = String.format("module%d/src/main/package%d/File%d%s", i % 17, i % 101, i, EXTENSIONS[i % EXTENSIONS.length]);
+            currentFiles.add(new SyntheticAffectedFile(path));
+            if (currentFiles.size() == filesPerCommit) {
+                entries.add(new SyntheticEntry(entries.size(), currentFiles));
+                currentFiles = new ArrayList<>();
+            }
+        }
+        if (!currentFiles.isEmpty()) {
+            entries.add(new SyntheticEntry(entries.size(), currentFiles));
+        }
+        return new SyntheticChangeLogSet(entries);
+    }
+
+    public List<ChangeLogSet.AffectedFile> getAllAffectedFiles() {
+        return entries.stream()
+                   .flatMap(entry -> entry.getAffectedFiles().stream())
+                   .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean isEmptySet() {
+        return entries.isEmpty();
+    }
+
+    @Override
+    public Iterator<SyntheticEntry> iterator() {
+        return entries.iterator();
+    }
+
+    public static class SyntheticEntry extends ChangeLogSet.Entry {
+        private final int commitNumber;
+        private final List<SyntheticAffectedFile> affectedFiles;
+
+        public SyntheticEntry(int commitNumber, List<SyntheticAffectedFile> affectedFiles) {
+            this.commitNumber = commitNumber;
+            this.affectedFiles = Collections.unmodifiableList(affectedFiles);
+        }
+
+        @Override
+        public String getCommitId() {
+            return String.valueOf(commitNumber);
+        }
+
+        @Override
+        public String getMsg() {
+            return "Synthetic commit " + commitNumber;
+        }
+
+        @Override
+        public User getAuthor() {
+            return null;
+        }
+
+        @Override
+        public Collection<String> getAffectedPaths() {
+            return affectedFiles.stream()
+                       .map(SyntheticAffectedFile::getPath)
+                       .collect(Collectors.toList());
+        }
+
+        @Override
+        public Collection<? extends ChangeLogSet.AffectedFile> getAffectedFiles() {
+            return affectedFiles;
+        }
+    }
+
+    public static class SyntheticAffectedFile implements ChangeLogSet.AffectedFile {
+        private final String path;
+
+        public SyntheticAffectedFile(String path) {
+            this.path = path;
+        }
+
+        @Override
+        public String getPath() {
+            return path;
+        }
+
+        @Override
+        public EditType getEditType() {
+            return EditType.EDIT;
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.synopsys.integration.jenkins.coverity.extensions.buildstep;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepeatableCommandBenchmark {
+    public static final String AUTH_KEY_PATH = "/workspace/auth-key.txt";
+    public static final String EXTRA_ARGUMENTS = "--foo bar --baz qux";
+
+    @Benchmark
+    public void constructSimpleModeCommands(Blackhole blackhole) {
+        blackhole.consume(RepeatableCommand.COV_BUILD("./gradlew clean build", EXTRA_ARGUMENTS));
+        blackhole.consume(RepeatableCommand.COV_CAPTURE_PROJECT("/workspace/project", EXTRA_ARGUMENTS));
+        blackhole.consume(RepeatableCommand.COV_CAPTURE_SCM("git@example.com:project.git", EXTRA_ARGUMENTS));
+        blackhole.consume(RepeatableCommand.COV_ANALYZE(EXTRA_ARGUMENTS));
+        blackhole.consume(RepeatableCommand.COV_RUN_DESKTOP(AUTH_KEY_PATH, EXTRA_ARGUMENTS));
+        blackhole.consume(RepeatableCommand.COV_COMMIT_DEFECTS(AUTH_KEY_PATH, EXTRA_ARGUMENTS));
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.synopsys.integration.jenkins.coverity.JenkinsCoverityEnvironmentVariable;
+import com.synopsys.integration.jenkins.coverity.SyntheticChangeLogSet;
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.AdvancedCoverityRunConfiguration;
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.RepeatableCommand;
+import com.synopsys.integration.log.SilentIntLogger;
+import com.synopsys.integration.stepworkflow.SubStepResponse;
+import com.synopsys.integration.util.IntEnvironmentVariables;
+
+import hudson.scm.ChangeLogSet;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GetCoverityCommandsBenchmark {
+    @Param({ "10", "1000", "100000" })
+    public int changeSetSize;
+
+    @Param({ "3", "20" })
+    public int commandCount;
+
+    private GetCoverityCommands getCoverityCommands;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // $CHANGE_SET is the largest macro the commands can reference, so it dominates Util.replaceMacro
+        String changeSet = SyntheticChangeLogSet.ofSize(changeSetSize, 25).getAllAffectedFiles().stream()
+                               .map(ChangeLogSet.AffectedFile::getPath)
+                               .reduce((first, second) -> first + " " + second)
+                               .orElse("");
+
+        IntEnvironmentVariables intEnvironmentVariables = IntEnvironmentVariables.empty();
+        intEnvironmentVariables.put(JenkinsCoverityEnvironmentVariable.CHANGE_SET.toString(), changeSet);
+        intEnvironmentVariables.put(JenkinsCoverityEnvironmentVariable.CHANGE_SET_SIZE.toString(), String.valueOf(changeSetSize));
+        intEnvironmentVariables.put(JenkinsCoverityEnvironmentVariable.COVERITY_INTERMEDIATE_DIRECTORY.toString(), "/workspace/idir");
+        intEnvironmentVariables.put(JenkinsCoverityEnvironmentVariable.COVERITY_URL.toString(), "https://coverity.example.com");
+        intEnvironmentVariables.put(JenkinsCoverityEnvironmentVariable.COVERITY_STREAM.toString(), "stream");
+        IntStream.range(0, 200).forEach(i -> intEnvironmentVariables.put("UNRELATED_VARIABLE_" + i, "value " + i));
+
+        RepeatableCommand[] commands = IntStream.range(0, commandCount)
+                                           .mapToObj(i -> i % 2 == 0
+                                                              ? RepeatableCommand.COV_RUN_DESKTOP("/workspace/auth-key.txt", "--analyze-captured-source --set-new-defect-owner false")
+                                                              : RepeatableCommand.COV_COMMIT_DEFECTS("/workspace/auth-key.txt", "--description \"Commit from Jenkins\""))
+                                           .toArray(RepeatableCommand[]::new);
+
+        getCoverityCommands = new GetCoverityCommands(new SilentIntLogger(), intEnvironmentVariables, new AdvancedCoverityRunConfiguration(commands));
+    }
+
+    @Benchmark
+    public SubStepResponse<List<List<String>>> toParameters() {
+        return getCoverityCommands.run();
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+import com.synopsys.integration.jenkins.coverity.SyntheticChangeLogSet;
+import com.synopsys.integration.jenkins.coverity.extensions.ConfigureChangeSetPatterns;
+import com.synopsys.integration.stepworkflow.SubStepResponse;
+import com.synopsys.integration.util.IntEnvironmentVariables;
+
+import hudson.model.TaskListener;
+import hudson.scm.ChangeLogSet;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SetUpCoverityEnvironmentBenchmark {
+    @Param({ "10", "1000", "100000" })
+    public int fileCount;
+
+    @Param({ "false", "true" })
+    public boolean withPatterns;
+
+    private CoverityJenkinsIntLogger logger;
+    private List<ChangeLogSet<?>> changeLogSets;
+    private ConfigureChangeSetPatterns configureChangeSetPatterns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        logger = CoverityJenkinsIntLogger.initializeLogger(TaskListener.NULL, IntEnvironmentVariables.empty());
+        changeLogSets = Collections.singletonList(SyntheticChangeLogSet.ofSize(fileCount, 25));
+        configureChangeSetPatterns = withPatterns ? new ConfigureChangeSetPatterns("*.md,*.txt", "*.java,*.c,*.cpp,*.h,*.hpp") : null;
+    }
+
+    @Benchmark
+    public SubStepResponse<Object> computeChangeSet() {
+        // A fresh environment per invocation mirrors a single build, where the change set is assembled exactly once
+        IntEnvironmentVariables intEnvironmentVariables = IntEnvironmentVariables.empty();
+        SetUpCoverityEnvironment setUpCoverityEnvironment = new SetUpCoverityEnvironment(logger, intEnvironmentVariables, changeLogSets, configureChangeSetPatterns, "https://coverity.example.com", "credentials-id", "user",
+            "passphrase", "project", "stream", "view", "/workspace/idir", "/opt/coverity/bin");
+        return setUpCoverityEnvironment.run("/workspace/auth-key.txt");
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+public class CoverityConnectCalls {
+    public static final int MAX_CONCURRENT_CALLS = Integer.getInteger(CoverityConnectCalls.class.getName() + ".maxConcurrentCalls", 16);
+    public static final int MAX_CONCURRENT_TASKS = Integer.getInteger(CoverityConnectCalls.class.getName() + ".maxConcurrentTasks", 2 * MAX_CONCURRENT_CALLS);
+    private static final Semaphore CALL_PERMITS = new Semaphore(MAX_CONCURRENT_CALLS, true);
+    private static final ExecutorService EXECUTOR = createExecutor();
+    private static final ExecutorService TASK_EXECUTOR = createTaskExecutor();
+    private static final ThreadLocal<Boolean> IN_CALL = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private static final ThreadLocal<Boolean> IN_TASK = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    // The SOAP client blocks, so the bound is on in-flight calls rather than on threads: with virtual threads a queued call costs almost nothing
+    public static <T> Future<?> submit(Callable<T> call, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return EXECUTOR.submit(() -> complete(() -> callWithPermit(call, contextClassLoader), onSuccess, onFailure));
+    }
+
+    // For work that spends only part of its time on Coverity Connect, such as waiting on background commits before a check:
+    // it runs without a permit, and each call it makes through call() takes one for as long as that call lasts
+    public static <T> Future<?> submitTask(Callable<T> task, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return TASK_EXECUTOR.submit(() -> {
+            Thread thread = Thread.currentThread();
+            ClassLoader threadClassLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(contextClassLoader);
+            IN_TASK.set(Boolean.TRUE);
+            try {
+                complete(task, onSuccess, onFailure);
+            } finally {
+                IN_TASK.remove();
+                thread.setContextClassLoader(threadClassLoader);
+            }
+        });
+    }
+
+    public static <T> T call(Callable<T> call) throws Exception {
+        if (IN_CALL.get()) {
+            // Already holding a permit, queueing again could starve the executor of the very permit this call is waiting on
+            return call.call();
+        }
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        if (IN_TASK.get()) {
+            // A task already has a thread of its own to wait on, and handing the call to another would tie up two
+            return callWithPermit(call, contextClassLoader);
+        }
+
+        Future<T> future = EXECUTOR.submit(() -> callWithPermit(call, contextClassLoader));
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    public static int getQueueLength() {
+        return CALL_PERMITS.getQueueLength();
+    }
+
+    private static <T> void complete(Callable<T> call, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        T result;
+        try {
+            result = call.call();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            onFailure.accept(e);
+            return;
+        } catch (Throwable e) {
+            onFailure.accept(e);
+            return;
+        }
+        onSuccess.accept(result);
+    }
+
+    private static <T> T callWithPermit(Callable<T> call, ClassLoader contextClassLoader) throws Exception {
+        CALL_PERMITS.acquire();
+        Thread thread = Thread.currentThread();
+        ClassLoader threadClassLoader = thread.getContextClassLoader();
+        // The SOAP client looks up its implementation through the context class loader, so the caller's has to come along
+        thread.setContextClassLoader(contextClassLoader);
+        IN_CALL.set(Boolean.TRUE);
+        try {
+            return call.call();
+        } finally {
+            IN_CALL.remove();
+            thread.setContextClassLoader(threadClassLoader);
+            CALL_PERMITS.release();
+        }
+    }
+
+    private static ExecutorService createExecutor() {
+        ExecutorService virtualThreadExecutor = createVirtualThreadExecutor();
+        if (virtualThreadExecutor != null) {
+            return virtualThreadExecutor;
+        }
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(MAX_CONCURRENT_CALLS, MAX_CONCURRENT_CALLS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new NamingThreadFactory(new DaemonThreadFactory(), "Synopsys Coverity Connect call"));
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return threadPoolExecutor;
+    }
+
+    // Tasks mostly wait, so they must not take the threads that the calls they wait on need. Without virtual threads each waiting task
+    // still pins a platform thread, so past the bound tasks queue instead: what they wait on runs on the call and background commit executors
+    private static ExecutorService createTaskExecutor() {
+        ExecutorService virtualThreadExecutor = createVirtualThreadExecutor();
+        if (virtualThreadExecutor != null) {
+            return virtualThreadExecutor;
+        }
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(MAX_CONCURRENT_TASKS, MAX_CONCURRENT_TASKS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new NamingThreadFactory(new DaemonThreadFactory(), "Synopsys Coverity Connect task"));
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return threadPoolExecutor;
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            // Virtual threads are only available from Java 21, and the plugin still has to run on Java 11
+            Method newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+}
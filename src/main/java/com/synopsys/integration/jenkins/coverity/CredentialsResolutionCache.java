@@ -0,0 +1,73 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.Saveable;
+import hudson.model.User;
+import hudson.model.listeners.SaveableListener;
+
+public class CredentialsResolutionCache {
+    // Long enough to cover the lookups of a single build, short enough that rotated credentials are picked up quickly even if no save event is seen
+    public static final long TIME_TO_LIVE_IN_MILLIS = TimeUnit.SECONDS.toMillis(60);
+    private static final Map<List<String>, CachedResolution> RESOLUTIONS = new ConcurrentHashMap<>();
+
+    public static <T> T resolve(String resolutionType, String credentialsId, Supplier<T> resolver) {
+        return resolve(resolutionType, credentialsId, resolver, System.currentTimeMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T resolve(String resolutionType, String credentialsId, Supplier<T> resolver, long now) {
+        List<String> key = Arrays.asList(resolutionType, String.valueOf(credentialsId));
+
+        CachedResolution cachedResolution = RESOLUTIONS.get(key);
+        if (cachedResolution == null || cachedResolution.expiresAt < now) {
+            cachedResolution = new CachedResolution(resolver.get(), now + TIME_TO_LIVE_IN_MILLIS);
+            RESOLUTIONS.put(key, cachedResolution);
+        }
+
+        return (T) cachedResolution.value;
+    }
+
+    public static void invalidateAll() {
+        RESOLUTIONS.clear();
+    }
+
+    private static class CachedResolution {
+        private final Object value;
+        private final long expiresAt;
+
+        private CachedResolution(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    @Extension
+    public static class InvalidateOnCredentialsChange extends SaveableListener {
+        @Override
+        public void onChange(Saveable saveable, XmlFile file) {
+            // System credentials live in SystemCredentialsProvider, folder credentials in the folder's config and user credentials in the user's config
+            if (saveable instanceof SystemCredentialsProvider || saveable instanceof Item || saveable instanceof User) {
+                invalidateAll();
+            }
+        }
+    }
+
+}
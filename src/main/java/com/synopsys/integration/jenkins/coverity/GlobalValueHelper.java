@@ -16,8 +16,6 @@ import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityConne
 import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityGlobalConfig;
 import com.synopsys.integration.log.IntLogger;
 
-import jenkins.model.GlobalConfiguration;
-
 public class GlobalValueHelper {
     public static Optional<CoverityConnectInstance> getCoverityInstanceWithUrl(final IntLogger logger, final String coverityInstanceUrl) {
         final CoverityGlobalConfig coverityGlobalConfig = getCoverityGlobalConfig();
@@ -29,9 +27,7 @@ public class GlobalValueHelper {
         if (null == coverityInstances || coverityInstances.isEmpty()) {
             logger.error("[ERROR] No Coverity Connect instances are configured in the Jenkins system config.");
         } else {
-            return coverityInstances.stream()
-                       .filter(coverityInstance -> coverityInstance.getUrl().equals(coverityInstanceUrl))
-                       .findFirst();
+            return coverityGlobalConfig.getCoverityConnectInstanceWithUrl(coverityInstanceUrl);
         }
 
         return Optional.empty();
@@ -48,6 +44,6 @@ public class GlobalValueHelper {
     }
 
     private static CoverityGlobalConfig getCoverityGlobalConfig() {
-        return GlobalConfiguration.all().get(CoverityGlobalConfig.class);
+        return CoverityGlobalConfig.get();
     }
 }
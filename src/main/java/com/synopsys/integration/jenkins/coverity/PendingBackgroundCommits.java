@@ -0,0 +1,183 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.jenkins.coverity.actions.CoverityCommitLogAction;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.BackgroundCommit;
+
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.XmlFile;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.Computer;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import hudson.slaves.ComputerListener;
+import jenkins.model.Jenkins;
+
+public class PendingBackgroundCommits {
+    public static final String REGISTRY_FILE_NAME = "synopsys-coverity-pending-background-commits.xml";
+    private static final Logger LOGGER = LoggerFactory.getLogger(PendingBackgroundCommits.class);
+    private static Registry registry;
+
+    public static synchronized void record(Run<?, ?> run, String nodeName, BackgroundCommit backgroundCommit) {
+        List<StagingDirectory> stagingDirectories = backgroundCommit.getStagingDirectories().stream()
+                                                        .map(stagingDirectory -> new StagingDirectory(stagingDirectory.isRemote() ? nodeName : StringUtils.EMPTY, stagingDirectory.getRemote()))
+                                                        .collect(Collectors.toList());
+        getOrLoadRegistry().pendingCommits.add(new PendingBackgroundCommit(backgroundCommit.getId(), run.getParent().getFullName(), run.getNumber(), stagingDirectories));
+        save();
+    }
+
+    public static synchronized void remove(BackgroundCommit backgroundCommit) {
+        if (getOrLoadRegistry().pendingCommits.removeIf(pendingCommit -> pendingCommit.id.equals(backgroundCommit.getId()))) {
+            save();
+        }
+    }
+
+    // The commits died with the JVM that ran them. Resuming them would mean keeping the credentials they ran with on disk, so they are reported instead.
+    @Initializer(after = InitMilestone.JOB_LOADED)
+    public static synchronized void interruptPendingCommits() {
+        Registry loadedRegistry = getOrLoadRegistry();
+        if (loadedRegistry.pendingCommits.isEmpty() && loadedRegistry.abandonedStagingDirectories.isEmpty()) {
+            return;
+        }
+
+        for (PendingBackgroundCommit pendingCommit : loadedRegistry.pendingCommits) {
+            LOGGER.warn("The Synopsys Coverity background commit of {} #{} was interrupted by a restart of Jenkins", pendingCommit.jobFullName, pendingCommit.buildNumber);
+            markInterrupted(pendingCommit);
+            loadedRegistry.abandonedStagingDirectories.addAll(pendingCommit.stagingDirectories);
+        }
+        loadedRegistry.pendingCommits.clear();
+
+        // Staging directories on agents are cleaned up once the agents come back online
+        loadedRegistry.abandonedStagingDirectories.removeIf(stagingDirectory -> stagingDirectory.nodeName.isEmpty() && delete(new FilePath(new File(stagingDirectory.path))));
+        save();
+    }
+
+    private static void markInterrupted(PendingBackgroundCommit pendingCommit) {
+        Job<?, ?> job = Jenkins.get().getItemByFullName(pendingCommit.jobFullName, Job.class);
+        Run<?, ?> run = job == null ? null : job.getBuildByNumber(pendingCommit.buildNumber);
+        CoverityCommitLogAction commitLogAction = run == null ? null : run.getAction(CoverityCommitLogAction.class);
+        if (commitLogAction == null) {
+            return;
+        }
+
+        commitLogAction.setStatus(CoverityCommitLogAction.Status.INTERRUPTED);
+        try (OutputStream logOutputStream = Files.newOutputStream(CoverityCommitLogAction.getLogFile(run).toPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            logOutputStream.write(String.format("%n[ERROR] The background commit was interrupted by a restart of Jenkins.%n").getBytes(StandardCharsets.UTF_8));
+            run.save();
+        } catch (IOException e) {
+            LOGGER.warn("Could not record the interrupted Synopsys Coverity background commit of {}", run.getFullDisplayName(), e);
+        }
+    }
+
+    private static synchronized void deleteAbandonedStagingDirectories(String nodeName, VirtualChannel channel) {
+        if (getOrLoadRegistry().abandonedStagingDirectories.removeIf(stagingDirectory -> stagingDirectory.nodeName.equals(nodeName) && delete(new FilePath(channel, stagingDirectory.path)))) {
+            save();
+        }
+    }
+
+    private static boolean delete(FilePath stagingDirectory) {
+        try {
+            stagingDirectory.deleteRecursive();
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Could not clean up the Synopsys Coverity background commit staging directory {}", stagingDirectory.getRemote(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private static void save() {
+        try {
+            getRegistryFile().write(registry);
+        } catch (IOException e) {
+            // The registry is still kept in memory, so only a restart loses it
+            LOGGER.warn("Could not save the Synopsys Coverity pending background commits", e);
+        }
+    }
+
+    private static Registry getOrLoadRegistry() {
+        if (registry == null) {
+            registry = new Registry();
+            XmlFile registryFile = getRegistryFile();
+            if (registryFile.exists()) {
+                try {
+                    registry = (Registry) registryFile.read();
+                } catch (IOException | ClassCastException e) {
+                    LOGGER.warn("Could not read the Synopsys Coverity pending background commits, commits interrupted by a restart will not be reported", e);
+                }
+            }
+        }
+        return registry;
+    }
+
+    private static XmlFile getRegistryFile() {
+        return new XmlFile(new File(Jenkins.get().getRootDir(), REGISTRY_FILE_NAME));
+    }
+
+    private static class Registry {
+        private final ArrayList<PendingBackgroundCommit> pendingCommits = new ArrayList<>();
+        private final ArrayList<StagingDirectory> abandonedStagingDirectories = new ArrayList<>();
+    }
+
+    private static class PendingBackgroundCommit {
+        private final String id;
+        private final String jobFullName;
+        private final int buildNumber;
+        private final ArrayList<StagingDirectory> stagingDirectories;
+
+        private PendingBackgroundCommit(String id, String jobFullName, int buildNumber, List<StagingDirectory> stagingDirectories) {
+            this.id = id;
+            this.jobFullName = jobFullName;
+            this.buildNumber = buildNumber;
+            this.stagingDirectories = new ArrayList<>(stagingDirectories);
+        }
+    }
+
+    private static class StagingDirectory {
+        // Empty for the built-in node
+        private final String nodeName;
+        private final String path;
+
+        private StagingDirectory(String nodeName, String path) {
+            this.nodeName = nodeName;
+            this.path = path;
+        }
+    }
+
+    @Extension
+    public static class CleanUpAbandonedStagingDirectories extends ComputerListener {
+        @Override
+        public void onOnline(Computer computer, TaskListener listener) {
+            VirtualChannel channel = computer.getChannel();
+            if (channel != null) {
+                deleteAbandonedStagingDirectories(computer.getName(), channel);
+            }
+        }
+    }
+
+}
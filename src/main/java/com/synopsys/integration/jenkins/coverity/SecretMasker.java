@@ -0,0 +1,131 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+// An Aho-Corasick automaton over the UTF-8 bytes of the secrets, compiled down to a dense transition table so that
+// scanning costs a single array lookup per byte no matter how many secrets there are
+public class SecretMasker {
+    public static final String MASK = "********";
+    private static final int ALPHABET_SIZE = 256;
+
+    private final int[] transitions;
+    private final int[] depths;
+    private final int[] matchLengths;
+    private final boolean[] startsMatch;
+    private final int maxSecretLength;
+
+    public SecretMasker(Collection<String> secrets) {
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> trieDepths = new ArrayList<>();
+        List<Integer> trieMatchLengths = new ArrayList<>();
+        trie.add(newNode());
+        trieDepths.add(0);
+        trieMatchLengths.add(0);
+
+        int longestSecret = 0;
+        for (String secret : secrets) {
+            if (StringUtils.isEmpty(secret)) {
+                continue;
+            }
+            byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+            int node = 0;
+            for (byte secretByte : secretBytes) {
+                int symbol = secretByte & 0xFF;
+                if (trie.get(node)[symbol] < 0) {
+                    trie.get(node)[symbol] = trie.size();
+                    trie.add(newNode());
+                    trieDepths.add(trieDepths.get(node) + 1);
+                    trieMatchLengths.add(0);
+                }
+                node = trie.get(node)[symbol];
+            }
+            trieMatchLengths.set(node, secretBytes.length);
+            longestSecret = Math.max(longestSecret, secretBytes.length);
+        }
+
+        int stateCount = trie.size();
+        transitions = new int[stateCount * ALPHABET_SIZE];
+        depths = new int[stateCount];
+        matchLengths = new int[stateCount];
+        startsMatch = new boolean[ALPHABET_SIZE];
+        maxSecretLength = longestSecret;
+
+        int[] failures = new int[stateCount];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+            int child = trie.get(0)[symbol];
+            if (child > 0) {
+                startsMatch[symbol] = true;
+                transitions[symbol] = child;
+                queue.add(child);
+            }
+        }
+
+        // Breadth first, so the failure state of every node is complete before its children need it
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            depths[node] = trieDepths.get(node);
+            // A shorter secret that ends here is still a match, so every state carries the longest one among its suffixes
+            matchLengths[node] = Math.max(trieMatchLengths.get(node), matchLengths[failures[node]]);
+            for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+                int child = trie.get(node)[symbol];
+                int fallback = transitions[failures[node] * ALPHABET_SIZE + symbol];
+                if (child > 0) {
+                    failures[child] = fallback;
+                    transitions[node * ALPHABET_SIZE + symbol] = child;
+                    queue.add(child);
+                } else {
+                    transitions[node * ALPHABET_SIZE + symbol] = fallback;
+                }
+            }
+        }
+    }
+
+    private static int[] newNode() {
+        int[] node = new int[ALPHABET_SIZE];
+        Arrays.fill(node, -1);
+        return node;
+    }
+
+    public int next(int state, byte input) {
+        return transitions[state * ALPHABET_SIZE + (input & 0xFF)];
+    }
+
+    // The number of trailing bytes that could still turn out to be part of a secret
+    public int getDepth(int state) {
+        return depths[state];
+    }
+
+    // The length of the longest secret that ends on this state, or 0 if none does
+    public int getMatchLength(int state) {
+        return matchLengths[state];
+    }
+
+    public boolean canStartMatch(byte input) {
+        return startsMatch[input & 0xFF];
+    }
+
+    public int getMaxSecretLength() {
+        return maxSecretLength;
+    }
+
+    public boolean isEmpty() {
+        return maxSecretLength == 0;
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class SecretMaskingOutputStream extends FilterOutputStream {
+    private static final byte[] MASK_BYTES = SecretMasker.MASK.getBytes(StandardCharsets.UTF_8);
+    // Overlapping secrets are merged into a single mask, but only up to a point, or a repeating secret could hold back the log indefinitely
+    private static final int MAX_MERGED_MATCH_LENGTH = 4096;
+
+    private final SecretMasker secretMasker;
+    private final byte[] singleByte = new byte[1];
+    // Bytes already scanned but not yet written, because they may still turn out to be part of a secret
+    private byte[] carry;
+    private int carryLength;
+    private int state;
+    // Matches that may still grow or merge with a longer secret, relative to the start of the carry, in order and never overlapping
+    private int[] pendingStarts = new int[4];
+    private int[] pendingEnds = new int[4];
+    private int pendingCount;
+
+    public SecretMaskingOutputStream(OutputStream out, SecretMasker secretMasker) {
+        super(out);
+        this.secretMasker = secretMasker;
+        this.carry = new byte[Math.max(64, secretMasker.getMaxSecretLength() * 2)];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        singleByte[0] = (byte) b;
+        write(singleByte, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (secretMasker.isEmpty()) {
+            out.write(b, off, len);
+            return;
+        }
+
+        // Positions count from the start of the carry, so a secret split across writes is matched like any other
+        int end = carryLength + len;
+        int emitted = 0;
+        int position = carryLength;
+        while (position < end) {
+            if (state == 0 && pendingCount == 0) {
+                // Nothing is held back, so skip straight to the next byte that could begin a secret
+                while (position < end && !secretMasker.canStartMatch(b[off + position - carryLength])) {
+                    position++;
+                }
+                if (position == end) {
+                    break;
+                }
+            }
+
+            state = secretMasker.next(state, b[off + position - carryLength]);
+            position++;
+
+            // No secret found from here on can start before the bytes the automaton is still tracking
+            emitted = writeSettledMatches(b, off, emitted, position - secretMasker.getDepth(state));
+
+            int matchLength = secretMasker.getMatchLength(state);
+            if (matchLength > 0) {
+                addPendingMatch(Math.max(position - matchLength, emitted), position);
+            }
+        }
+
+        int safe = end - secretMasker.getDepth(state);
+        if (pendingCount > 0) {
+            safe = Math.min(safe, pendingStarts[0]);
+        }
+        safe = Math.max(safe, emitted);
+        writeRange(b, off, emitted, safe);
+        retain(b, off, safe, end);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            // Whatever is still held back never completed a secret, except for the pending matches
+            int emitted = 0;
+            for (int i = 0; i < pendingCount; i++) {
+                out.write(carry, emitted, pendingStarts[i] - emitted);
+                out.write(MASK_BYTES);
+                emitted = pendingEnds[i];
+            }
+            out.write(carry, emitted, carryLength - emitted);
+            carryLength = 0;
+            pendingCount = 0;
+            state = 0;
+        } finally {
+            super.close();
+        }
+    }
+
+    private int writeSettledMatches(byte[] b, int off, int emitted, int settledUpTo) throws IOException {
+        int written = emitted;
+        int settled = 0;
+        while (settled < pendingCount && (pendingEnds[settled] <= settledUpTo || pendingEnds[settled] - pendingStarts[settled] >= MAX_MERGED_MATCH_LENGTH)) {
+            writeRange(b, off, written, pendingStarts[settled]);
+            out.write(MASK_BYTES);
+            written = pendingEnds[settled];
+            settled++;
+        }
+
+        if (settled > 0) {
+            pendingCount -= settled;
+            System.arraycopy(pendingStarts, settled, pendingStarts, 0, pendingCount);
+            System.arraycopy(pendingEnds, settled, pendingEnds, 0, pendingCount);
+        }
+        return written;
+    }
+
+    private void addPendingMatch(int start, int end) {
+        int mergedStart = start;
+        int index = pendingCount;
+        while (index > 0 && pendingEnds[index - 1] >= mergedStart) {
+            index--;
+            mergedStart = Math.min(mergedStart, pendingStarts[index]);
+        }
+
+        if (index == pendingStarts.length) {
+            pendingStarts = Arrays.copyOf(pendingStarts, index * 2);
+            pendingEnds = Arrays.copyOf(pendingEnds, index * 2);
+        }
+        pendingStarts[index] = mergedStart;
+        pendingEnds[index] = end;
+        pendingCount = index + 1;
+    }
+
+    private void writeRange(byte[] b, int off, int from, int to) throws IOException {
+        int next = from;
+        if (next < to && next < carryLength) {
+            int carryTo = Math.min(to, carryLength);
+            out.write(carry, next, carryTo - next);
+            next = carryTo;
+        }
+        if (next < to) {
+            out.write(b, off + next - carryLength, to - next);
+        }
+    }
+
+    private void retain(byte[] b, int off, int from, int to) {
+        int retainedLength = to - from;
+        byte[] target = retainedLength > carry.length ? new byte[retainedLength * 2] : carry;
+        int fromCarry = Math.max(0, carryLength - from);
+        if (fromCarry > 0) {
+            System.arraycopy(carry, from, target, 0, fromCarry);
+        }
+        if (retainedLength > fromCarry) {
+            System.arraycopy(b, off + Math.max(from, carryLength) - carryLength, target, fromCarry, retainedLength - fromCarry);
+        }
+
+        carry = target;
+        carryLength = retainedLength;
+        for (int i = 0; i < pendingCount; i++) {
+            pendingStarts[i] -= from;
+            pendingEnds[i] -= from;
+        }
+    }
+
+}
@@ -25,11 +25,13 @@ import hudson.security.ACL;
 import hudson.util.ListBoxModel;
 import hudson.util.Secret;
 import jenkins.model.Jenkins;
+import org.apache.commons.io.IOUtils;
 import org.jenkinsci.plugins.plaincredentials.FileCredentials;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -67,19 +69,56 @@ public class SynopsysCoverityCredentialsHelper extends SynopsysCredentialsHelper
         return getCredentialsById(AUTH_KEY_FILE_CREDENTIALS_CLASS, credentialsId);
     }
 
+    public Optional<String> getAuthenticationKeyFileContentsById(String credentialsId) throws IOException {
+        AuthenticationKeyFileContents authenticationKeyFileContents = CredentialsResolutionCache.resolve("authenticationKeyFileContents", credentialsId, () -> readAuthenticationKeyFileContents(credentialsId));
+        if (authenticationKeyFileContents.unreadable) {
+            throw new IOException("Could not read the authentication key file with credentials id " + credentialsId);
+        }
+        return Optional.ofNullable(authenticationKeyFileContents.contents).map(Secret::getPlainText);
+    }
+
     public Optional<String> getCoverityUsernameById(String credentialsId) {
         return getIntegrationCredentialsById(credentialsId)
                    .getUsername();
     }
 
     public Optional<String> getCoverityPassphraseById(String credentialsId) {
-        return getUsernamePasswordCredentialsById(credentialsId)
-                   .map(UsernamePasswordCredentialsImpl::getPassword)
-                   .map(Secret::getPlainText);
+        Optional<Secret> passphrase = CredentialsResolutionCache.resolve("passphrase", credentialsId, () -> getUsernamePasswordCredentialsById(credentialsId).map(UsernamePasswordCredentialsImpl::getPassword));
+        return passphrase.map(Secret::getPlainText);
     }
 
     @Override
     public com.synopsys.integration.rest.credentials.Credentials getIntegrationCredentialsById(String credentialsId) {
+        // The resolved password is kept encrypted while cached, and the integration credentials are rebuilt from it on every call
+        Optional<ResolvedUsernameAndPassword> usernameAndPassword = CredentialsResolutionCache.resolve("integrationCredentials", credentialsId, () -> resolveUsernameAndPassword(credentialsId));
+        CredentialsBuilder credentialsBuilder = com.synopsys.integration.rest.credentials.Credentials.newBuilder();
+        usernameAndPassword.ifPresent(resolved -> credentialsBuilder.setUsernameAndPassword(resolved.username, resolved.password.getPlainText()));
+        return credentialsBuilder.build();
+    }
+
+    private Optional<ResolvedUsernameAndPassword> resolveUsernameAndPassword(String credentialsId) {
+        com.synopsys.integration.rest.credentials.Credentials credentials = resolveIntegrationCredentials(credentialsId);
+        if (credentials.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.of(new ResolvedUsernameAndPassword(credentials.getUsername().orElse(null), Secret.fromString(credentials.getPassword().orElse(null))));
+    }
+
+    private AuthenticationKeyFileContents readAuthenticationKeyFileContents(String credentialsId) {
+        Optional<FileCredentials> authenticationKeyFileCredentials = getAuthenticationKeyFileCredentialsById(credentialsId);
+        if (!authenticationKeyFileCredentials.isPresent()) {
+            return AuthenticationKeyFileContents.ABSENT;
+        }
+
+        try (InputStream inputStream = authenticationKeyFileCredentials.get().getContent()) {
+            return new AuthenticationKeyFileContents(Secret.fromString(IOUtils.toString(inputStream, StandardCharsets.UTF_8)), false);
+        } catch (IOException e) {
+            logger.trace("Could not read authentication key file with credentials id " + credentialsId + " because: ", e);
+            return AuthenticationKeyFileContents.UNREADABLE;
+        }
+    }
+
+    private com.synopsys.integration.rest.credentials.Credentials resolveIntegrationCredentials(String credentialsId) {
         Optional<UsernamePasswordCredentialsImpl> possibleUsernamePasswordCredentials = getUsernamePasswordCredentialsById(credentialsId);
         Optional<FileCredentials> possibleAuthKeyCredentials = getAuthenticationKeyFileCredentialsById(credentialsId);
         CredentialsBuilder credentialsBuilder = com.synopsys.integration.rest.credentials.Credentials.newBuilder();
@@ -130,4 +169,29 @@ public class SynopsysCoverityCredentialsHelper extends SynopsysCredentialsHelper
             return null;
         }
     }
-}
\ No newline at end of file
+
+    private static class ResolvedUsernameAndPassword {
+        private final String username;
+        private final Secret password;
+
+        private ResolvedUsernameAndPassword(String username, Secret password) {
+            this.username = username;
+            this.password = password;
+        }
+    }
+
+    // A key file that exists but could not be read is cached along with the successes, so it is not read again on every lookup
+    private static class AuthenticationKeyFileContents {
+        private static final AuthenticationKeyFileContents ABSENT = new AuthenticationKeyFileContents(null, false);
+        private static final AuthenticationKeyFileContents UNREADABLE = new AuthenticationKeyFileContents(null, true);
+        @Nullable
+        private final Secret contents;
+        private final boolean unreadable;
+
+        private AuthenticationKeyFileContents(@Nullable Secret contents, boolean unreadable) {
+            this.contents = contents;
+            this.unreadable = unreadable;
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityGlobalConfig;
+
+import hudson.Extension;
+import hudson.Util;
+import hudson.XmlFile;
+import hudson.model.Computer;
+import hudson.model.Job;
+import hudson.model.Node;
+import hudson.model.Queue;
+import hudson.model.queue.CauseOfBlockage;
+import hudson.model.queue.QueueTaskDispatcher;
+import jenkins.model.Jenkins;
+
+public class WarmIntermediateDirectories {
+    public static final String REGISTRY_FILE_NAME = "synopsys-coverity-warm-intermediate-directories.xml";
+    // Workspaces that have not been built in for a week are likely to have been wiped or to hold an idir too old to save much
+    public static final long FRESHNESS_IN_MILLIS = TimeUnit.DAYS.toMillis(7);
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmIntermediateDirectories.class);
+    private static ArrayList<WarmIntermediateDirectory> warmIntermediateDirectories;
+    // Queue maintenance asks the dispatcher about every node for every buildable item, so it reads this index rather than the registry
+    private static volatile Map<String, Map<String, Long>> lastUsedByNodeByJob;
+
+    public static synchronized void recordWarm(Job<?, ?> job, String projectName, String streamName, String nodeName) {
+        recordWarm(getOrLoadRegistry(), job.getFullName(), projectName, streamName, nodeName, System.currentTimeMillis());
+        save();
+    }
+
+    public static synchronized void recordRemoved(Job<?, ?> job, String projectName, String streamName, String nodeName) {
+        if (getOrLoadRegistry().removeIf(warmIntermediateDirectory -> warmIntermediateDirectory.isFor(job.getFullName(), projectName, streamName, nodeName))) {
+            save();
+        }
+    }
+
+    public static Map<String, Long> getWarmNodes(Job<?, ?> job) {
+        Map<String, Map<String, Long>> index = lastUsedByNodeByJob;
+        if (index == null) {
+            synchronized (WarmIntermediateDirectories.class) {
+                getOrLoadRegistry();
+                index = lastUsedByNodeByJob;
+            }
+        }
+
+        return getFreshNodes(index.getOrDefault(job.getFullName(), Collections.emptyMap()), System.currentTimeMillis());
+    }
+
+    static void recordWarm(List<WarmIntermediateDirectory> registry, String jobFullName, String projectName, String streamName, String nodeName, long now) {
+        registry.removeIf(warmIntermediateDirectory -> warmIntermediateDirectory.isFor(jobFullName, projectName, streamName, nodeName));
+        registry.add(new WarmIntermediateDirectory(jobFullName, projectName, streamName, nodeName, now));
+    }
+
+    static Map<String, Long> getFreshNodes(Map<String, Long> lastUsedByNode, long now) {
+        long oldestFresh = now - FRESHNESS_IN_MILLIS;
+        return lastUsedByNode.entrySet()
+                   .stream()
+                   .filter(lastUsed -> lastUsed.getValue() >= oldestFresh)
+                   .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    static Map<String, Map<String, Long>> index(List<WarmIntermediateDirectory> registry) {
+        Map<String, Map<String, Long>> index = new HashMap<>();
+        for (WarmIntermediateDirectory warmIntermediateDirectory : registry) {
+            // A job that analyzes several streams keeps an idir for each of them in the same workspace, so the latest use of the node counts
+            index.computeIfAbsent(warmIntermediateDirectory.jobFullName, ignored -> new HashMap<>())
+                .merge(warmIntermediateDirectory.nodeName, warmIntermediateDirectory.lastUsed, Math::max);
+        }
+        return index;
+    }
+
+    private static void save() {
+        long oldestFresh = System.currentTimeMillis() - FRESHNESS_IN_MILLIS;
+        warmIntermediateDirectories.removeIf(warmIntermediateDirectory -> warmIntermediateDirectory.lastUsed < oldestFresh);
+        reindex();
+
+        try {
+            getRegistryFile().write(warmIntermediateDirectories);
+        } catch (IOException e) {
+            // The registry is still kept in memory, so only a restart loses it
+            LOGGER.warn("Could not save the Synopsys Coverity warm intermediate directories", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<WarmIntermediateDirectory> getOrLoadRegistry() {
+        if (warmIntermediateDirectories == null) {
+            warmIntermediateDirectories = new ArrayList<>();
+            XmlFile registryFile = getRegistryFile();
+            if (registryFile.exists()) {
+                try {
+                    warmIntermediateDirectories.addAll((List<WarmIntermediateDirectory>) registryFile.read());
+                } catch (IOException | ClassCastException e) {
+                    LOGGER.warn("Could not read the Synopsys Coverity warm intermediate directories, builds will be scheduled without preferring agents until they are recorded again", e);
+                }
+            }
+            reindex();
+        }
+        return warmIntermediateDirectories;
+    }
+
+    private static void reindex() {
+        lastUsedByNodeByJob = index(warmIntermediateDirectories);
+    }
+
+    private static XmlFile getRegistryFile() {
+        return new XmlFile(new File(Jenkins.get().getRootDir(), REGISTRY_FILE_NAME));
+    }
+
+    static class WarmIntermediateDirectory {
+        private final String jobFullName;
+        private final String projectName;
+        private final String streamName;
+        private final String nodeName;
+        private final long lastUsed;
+
+        WarmIntermediateDirectory(String jobFullName, String projectName, String streamName, String nodeName, long lastUsed) {
+            this.jobFullName = jobFullName;
+            this.projectName = projectName;
+            this.streamName = streamName;
+            this.nodeName = nodeName;
+            this.lastUsed = lastUsed;
+        }
+
+        boolean isFor(String jobFullName, String projectName, String streamName, String nodeName) {
+            return Objects.equals(this.jobFullName, jobFullName) && Objects.equals(this.projectName, projectName) && Objects.equals(this.streamName, streamName) && Objects.equals(this.nodeName, nodeName);
+        }
+    }
+
+    @Extension
+    public static class PreferWarmAgents extends QueueTaskDispatcher {
+        @Override
+        public CauseOfBlockage canTake(Node node, Queue.BuildableItem item) {
+            if (!(item.task.getOwnerTask() instanceof Job)) {
+                return null;
+            }
+
+            Map<String, Long> warmNodes = getWarmNodes((Job<?, ?>) item.task.getOwnerTask());
+            if (warmNodes.isEmpty()) {
+                return null;
+            }
+
+            CoverityGlobalConfig coverityGlobalConfig = CoverityGlobalConfig.get();
+            int waitInSeconds = coverityGlobalConfig == null ? CoverityGlobalConfig.DEFAULT_WARM_AGENT_WAIT_IN_SECONDS : coverityGlobalConfig.getWarmAgentWaitInSecondsOrDefault();
+            long waitUntil = item.buildableStartMilliseconds + TimeUnit.SECONDS.toMillis(waitInSeconds);
+            Set<String> warmNodesToWaitFor = getWarmNodesToWaitFor(warmNodes, node.getNodeName(), waitUntil, System.currentTimeMillis(), warmNodeName -> canEventuallyTake(warmNodeName, item));
+            if (warmNodesToWaitFor.isEmpty()) {
+                return null;
+            }
+
+            return new WaitingForWarmAgent(warmNodesToWaitFor, waitUntil);
+        }
+
+        // Only hold the build back for an agent that could actually run it once it is free, and only until the wait is over
+        static Set<String> getWarmNodesToWaitFor(Map<String, Long> warmNodes, String nodeName, long waitUntil, long now, Predicate<String> canEventuallyTake) {
+            if (warmNodes.containsKey(nodeName) || now >= waitUntil) {
+                return Collections.emptySet();
+            }
+
+            return warmNodes.keySet().stream()
+                       .filter(canEventuallyTake)
+                       .collect(Collectors.toSet());
+        }
+
+        private boolean canEventuallyTake(String nodeName, Queue.BuildableItem item) {
+            Jenkins jenkins = Jenkins.get();
+            Node warmNode = nodeName.isEmpty() ? jenkins : jenkins.getNode(nodeName);
+            if (warmNode == null) {
+                return false;
+            }
+
+            Computer computer = warmNode.toComputer();
+            return computer != null && computer.isOnline() && computer.isAcceptingTasks() && warmNode.canTake(item) == null;
+        }
+    }
+
+    public static class WaitingForWarmAgent extends CauseOfBlockage {
+        private final Set<String> warmNodeNames;
+        private final long waitUntil;
+
+        public WaitingForWarmAgent(Set<String> warmNodeNames, long waitUntil) {
+            this.warmNodeNames = warmNodeNames;
+            this.waitUntil = waitUntil;
+        }
+
+        @Override
+        public String getShortDescription() {
+            String nodeNames = warmNodeNames.stream()
+                                   .map(nodeName -> nodeName.isEmpty() ? "built-in" : nodeName)
+                                   .sorted()
+                                   .collect(Collectors.joining(", "));
+            return String.format("Waiting up to %s for %s, which already holds a Coverity intermediate directory for this job", Util.getTimeSpanString(Math.max(0, waitUntil - System.currentTimeMillis())), nodeNames);
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.actions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javax.annotation.CheckForNull;
+
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+
+public class CoverityCommitLogAction implements RunAction2 {
+    public static final String URL_NAME = "coverityCommitLog";
+    public static final String LOG_FILE_NAME = "coverity-commit.log";
+    private transient Run<?, ?> run;
+    // Builds from before the status was recorded have none, which is reported as unknown rather than as a failure
+    private volatile Status status = Status.RUNNING;
+
+    public static File getLogFile(Run<?, ?> run) {
+        return new File(run.getRootDir(), LOG_FILE_NAME);
+    }
+
+    public Run<?, ?> getRun() {
+        return run;
+    }
+
+    @CheckForNull
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public boolean hasFailed() {
+        return Status.FAILED.equals(status) || Status.INTERRUPTED.equals(status);
+    }
+
+    public String getLog() throws IOException {
+        File logFile = getLogFile(run);
+        if (!logFile.isFile()) {
+            return "";
+        }
+        return new String(Files.readAllBytes(logFile.toPath()), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void onAttached(Run<?, ?> run) {
+        this.run = run;
+    }
+
+    @Override
+    public void onLoad(Run<?, ?> run) {
+        this.run = run;
+    }
+
+    @CheckForNull
+    @Override
+    public String getIconFileName() {
+        return "/plugin/synopsys-coverity/icons/synopsys-logo-400px.png";
+    }
+
+    @CheckForNull
+    @Override
+    public String getDisplayName() {
+        return "Coverity Background Commit Log";
+    }
+
+    @CheckForNull
+    @Override
+    public String getUrlName() {
+        return URL_NAME;
+    }
+
+    public enum Status {
+        RUNNING("Running"),
+        SUCCEEDED("Succeeded"),
+        FAILED("Failed"),
+        INTERRUPTED("Interrupted by a restart of Jenkins");
+
+        private final String displayName;
+
+        Status(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.actions;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.PlotOrientation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import hudson.Extension;
+import hudson.model.Action;
+import hudson.model.Job;
+import hudson.util.DataSetBuilder;
+import hudson.util.Graph;
+import jenkins.model.TransientActionFactory;
+
+public class CoverityIssueTrendProjectAction implements Action {
+    public static final String URL_NAME = "coverityIssueTrend";
+    public static final int MAXIMUM_BUILDS_IN_TREND = 50;
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoverityIssueTrendProjectAction.class);
+    private final Job<?, ?> job;
+
+    public CoverityIssueTrendProjectAction(Job<?, ?> job) {
+        this.job = job;
+    }
+
+    public Job<?, ?> getJob() {
+        return job;
+    }
+
+    public Graph getGraph() {
+        return new Graph(IssueTrendIndex.getLastModified(job), 500, 200) {
+            @Override
+            protected JFreeChart createGraph() {
+                DataSetBuilder<String, BuildNumberLabel> dataSetBuilder = new DataSetBuilder<>();
+                for (IssueTrendIndex.Entry entry : readTrend()) {
+                    BuildNumberLabel buildLabel = new BuildNumberLabel(entry.getBuildNumber());
+                    dataSetBuilder.add(entry.getDefectCount(), "Issues", buildLabel);
+                    if (entry.getNewIssueCount() != null && entry.getFixedIssueCount() != null) {
+                        dataSetBuilder.add(entry.getNewIssueCount(), "New", buildLabel);
+                        dataSetBuilder.add(entry.getFixedIssueCount(), "Fixed", buildLabel);
+                    }
+                }
+
+                JFreeChart chart = ChartFactory.createLineChart(null, "Build", "Issues", dataSetBuilder.build(), PlotOrientation.VERTICAL, true, true, false);
+                chart.setBackgroundPaint(Color.WHITE);
+                CategoryPlot plot = chart.getCategoryPlot();
+                plot.setBackgroundPaint(Color.WHITE);
+                plot.setRangeGridlinePaint(Color.LIGHT_GRAY);
+                return chart;
+            }
+        };
+    }
+
+    private List<IssueTrendIndex.Entry> readTrend() {
+        try {
+            return IssueTrendIndex.readLatest(job, MAXIMUM_BUILDS_IN_TREND);
+        } catch (IOException e) {
+            LOGGER.warn(String.format("Could not read the Synopsys Coverity issue trend of %s", job.getFullName()), e);
+            return Collections.emptyList();
+        }
+    }
+
+    @CheckForNull
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @CheckForNull
+    @Override
+    public String getDisplayName() {
+        return "Coverity Issues Trend";
+    }
+
+    @CheckForNull
+    @Override
+    public String getUrlName() {
+        return URL_NAME;
+    }
+
+    // Labels by number alone, so the chart never has to load a build
+    private static class BuildNumberLabel implements Comparable<BuildNumberLabel> {
+        private final int buildNumber;
+
+        private BuildNumberLabel(int buildNumber) {
+            this.buildNumber = buildNumber;
+        }
+
+        @Override
+        public int compareTo(BuildNumberLabel other) {
+            return Integer.compare(buildNumber, other.buildNumber);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof BuildNumberLabel && buildNumber == ((BuildNumberLabel) o).buildNumber;
+        }
+
+        @Override
+        public int hashCode() {
+            return buildNumber;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + buildNumber;
+        }
+    }
+
+    @Extension
+    @SuppressWarnings("rawtypes")
+    public static class Factory extends TransientActionFactory<Job> {
+        @Override
+        public Class<Job> type() {
+            return Job.class;
+        }
+
+        @Override
+        public Collection<? extends Action> createFor(Job target) {
+            if (!IssueTrendIndex.exists(target)) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(new CoverityIssueTrendProjectAction(target));
+        }
+    }
+
+}
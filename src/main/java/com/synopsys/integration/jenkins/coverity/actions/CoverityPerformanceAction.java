@@ -0,0 +1,99 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.actions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+
+import com.synopsys.integration.jenkins.coverity.stepworkflow.CoverityToolResult;
+
+import hudson.model.Action;
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+import jenkins.tasks.SimpleBuildStep;
+
+public class CoverityPerformanceAction implements RunAction2, SimpleBuildStep.LastBuildAction {
+    public static final String URL_NAME = "coverityPerformance";
+    private final List<StepTiming> stepTimings = new ArrayList<>();
+    private final List<CoverityToolResult> coverityToolResults = new ArrayList<>();
+    private transient Run<?, ?> run;
+
+    public static void recordPerformance(Run<?, ?> run, List<StepTiming> stepTimings, List<CoverityToolResult> coverityToolResults) {
+        if (run == null || (stepTimings.isEmpty() && coverityToolResults.isEmpty())) {
+            return;
+        }
+
+        // Several workflows (for example, multiple coverityIssueCheck calls) can report timings for the same run
+        synchronized (CoverityPerformanceAction.class) {
+            CoverityPerformanceAction coverityPerformanceAction = run.getAction(CoverityPerformanceAction.class);
+            if (coverityPerformanceAction == null) {
+                coverityPerformanceAction = new CoverityPerformanceAction();
+                run.addAction(coverityPerformanceAction);
+            }
+            coverityPerformanceAction.addPerformance(stepTimings, coverityToolResults);
+        }
+    }
+
+    private synchronized void addPerformance(List<StepTiming> newStepTimings, List<CoverityToolResult> newCoverityToolResults) {
+        stepTimings.addAll(newStepTimings);
+        coverityToolResults.addAll(newCoverityToolResults);
+    }
+
+    public synchronized List<StepTiming> getStepTimings() {
+        return Collections.unmodifiableList(new ArrayList<>(stepTimings));
+    }
+
+    public synchronized List<CoverityToolResult> getCoverityToolResults() {
+        return Collections.unmodifiableList(new ArrayList<>(coverityToolResults));
+    }
+
+    public Run<?, ?> getRun() {
+        return run;
+    }
+
+    @Override
+    public void onAttached(Run<?, ?> run) {
+        this.run = run;
+    }
+
+    @Override
+    public void onLoad(Run<?, ?> run) {
+        this.run = run;
+    }
+
+    @Override
+    public Collection<? extends Action> getProjectActions() {
+        if (run == null) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(new CoverityPerformanceProjectAction(run.getParent()));
+    }
+
+    @CheckForNull
+    @Override
+    public String getIconFileName() {
+        return "/plugin/synopsys-coverity/icons/synopsys-logo-400px.png";
+    }
+
+    @CheckForNull
+    @Override
+    public String getDisplayName() {
+        return "Coverity Step Timings";
+    }
+
+    @CheckForNull
+    @Override
+    public String getUrlName() {
+        return URL_NAME;
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.actions;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.PlotOrientation;
+
+import hudson.model.Action;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.util.ChartUtil;
+import hudson.util.DataSetBuilder;
+import hudson.util.Graph;
+
+public class CoverityPerformanceProjectAction implements Action {
+    public static final int MAXIMUM_BUILDS_IN_TREND = 30;
+    // Builds from before the step was added, or that never reached it, have no timings; loading them is what makes the chart slow
+    public static final int MAXIMUM_BUILDS_EXAMINED = 100;
+    private final Job<?, ?> job;
+
+    public CoverityPerformanceProjectAction(Job<?, ?> job) {
+        this.job = job;
+    }
+
+    public Job<?, ?> getJob() {
+        return job;
+    }
+
+    public Graph getGraph() {
+        Run<?, ?> lastBuild = job.getLastBuild();
+        long timestamp = lastBuild == null ? System.currentTimeMillis() : lastBuild.getTimeInMillis();
+
+        return new Graph(timestamp, 500, 200) {
+            @Override
+            protected JFreeChart createGraph() {
+                DataSetBuilder<String, ChartUtil.NumberOnlyBuildLabel> dataSetBuilder = new DataSetBuilder<>();
+                for (Run<?, ?> run : getRunsInTrend(job)) {
+                    ChartUtil.NumberOnlyBuildLabel buildLabel = new ChartUtil.NumberOnlyBuildLabel(run);
+                    List<StepTiming> stepTimings = run.getAction(CoverityPerformanceAction.class).getStepTimings();
+                    stepTimings.stream()
+                        .map(StepTiming::getStepName)
+                        .distinct()
+                        .forEach(stepName -> dataSetBuilder.add(sumSecondsForStep(stepTimings, stepName), stepName, buildLabel));
+                }
+
+                JFreeChart chart = ChartFactory.createStackedBarChart(null, "Build", "Seconds", dataSetBuilder.build(), PlotOrientation.VERTICAL, true, true, false);
+                chart.setBackgroundPaint(Color.WHITE);
+                CategoryPlot plot = chart.getCategoryPlot();
+                plot.setBackgroundPaint(Color.WHITE);
+                plot.setRangeGridlinePaint(Color.LIGHT_GRAY);
+                return chart;
+            }
+        };
+    }
+
+    // Newest first
+    static List<Run<?, ?>> getRunsInTrend(Job<?, ?> job) {
+        List<Run<?, ?>> runsInTrend = new ArrayList<>();
+        int buildsExamined = 0;
+        for (Run<?, ?> run = job.getLastBuild(); run != null && runsInTrend.size() < MAXIMUM_BUILDS_IN_TREND && buildsExamined < MAXIMUM_BUILDS_EXAMINED; run = run.getPreviousBuild()) {
+            buildsExamined++;
+            if (run.getAction(CoverityPerformanceAction.class) != null) {
+                runsInTrend.add(run);
+            }
+        }
+        return runsInTrend;
+    }
+
+    private double sumSecondsForStep(List<StepTiming> stepTimings, String stepName) {
+        return stepTimings.stream()
+                   .filter(stepTiming -> stepName.equals(stepTiming.getStepName()))
+                   .mapToLong(StepTiming::getDurationInMillis)
+                   .sum() / 1000.0;
+    }
+
+    @CheckForNull
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @CheckForNull
+    @Override
+    public String getDisplayName() {
+        return "Coverity Step Timings Trend";
+    }
+
+    @CheckForNull
+    @Override
+    public String getUrlName() {
+        return CoverityPerformanceAction.URL_NAME;
+    }
+
+}
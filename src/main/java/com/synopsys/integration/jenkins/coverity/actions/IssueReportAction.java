@@ -14,10 +14,33 @@ import hudson.model.Action;
 public class IssueReportAction implements Action {
     private final int defectCount;
     private final String cimViewUrl;
+    // Builds recorded before issues were compared between builds have neither count
+    private final Integer newIssueCount;
+    private final Integer fixedIssueCount;
 
     public IssueReportAction(final int defectCount, final String cimViewUrl) {
+        this(defectCount, cimViewUrl, null, null);
+    }
+
+    public IssueReportAction(final int defectCount, final String cimViewUrl, final Integer newIssueCount, final Integer fixedIssueCount) {
         this.defectCount = defectCount;
         this.cimViewUrl = cimViewUrl;
+        this.newIssueCount = newIssueCount;
+        this.fixedIssueCount = fixedIssueCount;
+    }
+
+    public int getDefectCount() {
+        return defectCount;
+    }
+
+    @CheckForNull
+    public Integer getNewIssueCount() {
+        return newIssueCount;
+    }
+
+    @CheckForNull
+    public Integer getFixedIssueCount() {
+        return fixedIssueCount;
     }
 
     @CheckForNull
@@ -29,7 +52,10 @@ public class IssueReportAction implements Action {
     @CheckForNull
     @Override
     public String getDisplayName() {
-        return "See " + defectCount + " issues in Coverity Connect";
+        if (newIssueCount == null || fixedIssueCount == null) {
+            return "See " + defectCount + " issues in Coverity Connect";
+        }
+        return "See " + defectCount + " issues in Coverity Connect (" + newIssueCount + " new, " + fixedIssueCount + " fixed)";
     }
 
     @CheckForNull
@@ -0,0 +1,160 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.actions;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.CheckForNull;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import hudson.Extension;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+
+// Fixed-size records appended on build completion, so the trend reads only the tail of the file however many builds a job has
+public class IssueTrendIndex {
+    public static final String INDEX_FILE_NAME = "synopsys-coverity-issue-trend.idx";
+    public static final int RECORD_SIZE_IN_BYTES = 4 * Integer.BYTES;
+    private static final int NOT_COMPARED = -1;
+    private static final Logger LOGGER = LoggerFactory.getLogger(IssueTrendIndex.class);
+
+    public static boolean exists(Job<?, ?> job) {
+        return getIndexFile(job).isFile();
+    }
+
+    public static long getLastModified(Job<?, ?> job) {
+        return getIndexFile(job).lastModified();
+    }
+
+    public static synchronized void append(Job<?, ?> job, Entry entry) throws IOException {
+        File indexFile = getIndexFile(job);
+        // A record cut short by a crash would shift every record after it, so appending starts at the last whole record
+        long wholeRecordsLength = indexFile.length() - indexFile.length() % RECORD_SIZE_IN_BYTES;
+        if (wholeRecordsLength != indexFile.length()) {
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(indexFile, "rw")) {
+                randomAccessFile.setLength(wholeRecordsLength);
+            }
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE_IN_BYTES)
+                                .putInt(entry.buildNumber)
+                                .putInt(entry.defectCount)
+                                .putInt(entry.newIssueCount == null ? NOT_COMPARED : entry.newIssueCount)
+                                .putInt(entry.fixedIssueCount == null ? NOT_COMPARED : entry.fixedIssueCount);
+        Files.write(indexFile.toPath(), record.array(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    public static List<Entry> readLatest(Job<?, ?> job, int maximumEntries) throws IOException {
+        File indexFile = getIndexFile(job);
+        List<Entry> entries = new ArrayList<>();
+        if (!indexFile.isFile()) {
+            return entries;
+        }
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(indexFile, "r")) {
+            long wholeRecordsLength = randomAccessFile.length() - randomAccessFile.length() % RECORD_SIZE_IN_BYTES;
+            long start = Math.max(0, wholeRecordsLength - (long) maximumEntries * RECORD_SIZE_IN_BYTES);
+            byte[] tail = new byte[(int) (wholeRecordsLength - start)];
+            randomAccessFile.seek(start);
+            randomAccessFile.readFully(tail);
+
+            ByteBuffer records = ByteBuffer.wrap(tail);
+            while (records.remaining() >= RECORD_SIZE_IN_BYTES) {
+                int buildNumber = records.getInt();
+                int defectCount = records.getInt();
+                int newIssueCount = records.getInt();
+                int fixedIssueCount = records.getInt();
+                entries.add(new Entry(buildNumber, defectCount, newIssueCount == NOT_COMPARED ? null : newIssueCount, fixedIssueCount == NOT_COMPARED ? null : fixedIssueCount));
+            }
+        }
+
+        // Concurrent builds can complete out of order
+        entries.sort(Comparator.comparingInt(Entry::getBuildNumber));
+        return entries;
+    }
+
+    private static File getIndexFile(Job<?, ?> job) {
+        return new File(job.getRootDir(), INDEX_FILE_NAME);
+    }
+
+    public static class Entry {
+        private final int buildNumber;
+        private final int defectCount;
+        private final Integer newIssueCount;
+        private final Integer fixedIssueCount;
+
+        public Entry(int buildNumber, int defectCount, @CheckForNull Integer newIssueCount, @CheckForNull Integer fixedIssueCount) {
+            this.buildNumber = buildNumber;
+            this.defectCount = defectCount;
+            this.newIssueCount = newIssueCount;
+            this.fixedIssueCount = fixedIssueCount;
+        }
+
+        public static Entry fromIssueReportActions(int buildNumber, List<IssueReportAction> issueReportActions) {
+            // A pipeline can check several views, and its deltas are only known if every view was compared
+            int defectCount = issueReportActions.stream().mapToInt(IssueReportAction::getDefectCount).sum();
+            boolean allCompared = issueReportActions.stream().allMatch(issueReportAction -> issueReportAction.getNewIssueCount() != null && issueReportAction.getFixedIssueCount() != null);
+            if (!allCompared) {
+                return new Entry(buildNumber, defectCount, null, null);
+            }
+
+            int newIssueCount = issueReportActions.stream().map(IssueReportAction::getNewIssueCount).filter(Objects::nonNull).mapToInt(Integer::intValue).sum();
+            int fixedIssueCount = issueReportActions.stream().map(IssueReportAction::getFixedIssueCount).filter(Objects::nonNull).mapToInt(Integer::intValue).sum();
+            return new Entry(buildNumber, defectCount, newIssueCount, fixedIssueCount);
+        }
+
+        public int getBuildNumber() {
+            return buildNumber;
+        }
+
+        public int getDefectCount() {
+            return defectCount;
+        }
+
+        @CheckForNull
+        public Integer getNewIssueCount() {
+            return newIssueCount;
+        }
+
+        @CheckForNull
+        public Integer getFixedIssueCount() {
+            return fixedIssueCount;
+        }
+    }
+
+    @Extension
+    public static class RecordOnCompletion extends RunListener<Run<?, ?>> {
+        @Override
+        public void onCompleted(Run<?, ?> run, TaskListener listener) {
+            List<IssueReportAction> issueReportActions = run.getActions(IssueReportAction.class);
+            if (issueReportActions.isEmpty()) {
+                return;
+            }
+
+            try {
+                append(run.getParent(), Entry.fromIssueReportActions(run.getNumber(), issueReportActions));
+            } catch (IOException e) {
+                LOGGER.warn(String.format("Could not add %s to the Synopsys Coverity issue trend", run.getFullDisplayName()), e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.actions;
+
+import java.io.Serializable;
+
+import hudson.Util;
+
+public class StepTiming implements Serializable {
+    private static final long serialVersionUID = 2211508723160263187L;
+    private final String workflowName;
+    private final String stepName;
+    private final long durationInMillis;
+    private final boolean successful;
+
+    public StepTiming(String workflowName, String stepName, long durationInMillis, boolean successful) {
+        this.workflowName = workflowName;
+        this.stepName = stepName;
+        this.durationInMillis = durationInMillis;
+        this.successful = successful;
+    }
+
+    public String getWorkflowName() {
+        return workflowName;
+    }
+
+    public String getStepName() {
+        return stepName;
+    }
+
+    public long getDurationInMillis() {
+        return durationInMillis;
+    }
+
+    public String getDurationString() {
+        return Util.getTimeSpanString(durationInMillis);
+    }
+
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+}
@@ -14,14 +14,21 @@ import hudson.model.Result;
 public enum BuildStatus implements JenkinsSelectBoxEnum {
     SUCCESS("Success (Log issues only)", Result.SUCCESS),
     FAILURE("Failure", Result.FAILURE),
-    UNSTABLE("Unstable", Result.UNSTABLE);
+    UNSTABLE("Unstable", Result.UNSTABLE),
+    FAILURE_ON_NEW_ISSUES("Failure (New issues only)", Result.FAILURE, true);
 
     private final String displayName;
     private final Result result;
+    private final boolean newIssuesOnly;
 
     BuildStatus(final String displayName, final Result result) {
+        this(displayName, result, false);
+    }
+
+    BuildStatus(final String displayName, final Result result, final boolean newIssuesOnly) {
         this.displayName = displayName;
         this.result = result;
+        this.newIssuesOnly = newIssuesOnly;
     }
 
     @Override
@@ -33,4 +40,8 @@ public enum BuildStatus implements JenkinsSelectBoxEnum {
         return result;
     }
 
+    public boolean isNewIssuesOnly() {
+        return newIssuesOnly;
+    }
+
 }
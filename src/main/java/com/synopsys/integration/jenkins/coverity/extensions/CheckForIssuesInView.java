@@ -39,7 +39,9 @@ public class CheckForIssuesInView extends AbstractDescribableImpl<CheckForIssues
     @HelpMarkdown("Specify the name of the Coverity view that you would like to check for issues.  \r\n"
                       + "The resulting view name is stored in the $COV_VIEW environment variable, and affects checking for issues in both the full and incremental analysis, if configured.")
     private final String viewName;
-    @HelpMarkdown("Specify the build status to set if issues are found in the configured view.")
+    @HelpMarkdown("Specify the build status to set if issues are found in the configured view.  \r\n"
+                      + "**Failure (New issues only)** fails the build only if the view has issues that were not in it at the last build of this job that checked it. "
+                      + "The view must include the CID column. The first build that checks a view counts all of its issues as new.")
     private final BuildStatus buildStatusForIssues;
 
     @DataBoundConstructor
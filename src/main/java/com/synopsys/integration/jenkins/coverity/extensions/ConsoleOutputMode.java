@@ -0,0 +1,28 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.extensions;
+
+import com.synopsys.integration.jenkins.extensions.JenkinsSelectBoxEnum;
+
+public enum ConsoleOutputMode implements JenkinsSelectBoxEnum {
+    FULL("Show the full output of Coverity commands"),
+    SUMMARY("Condense progress output into periodic summaries"),
+    ERRORS_ONLY("Show only warnings and errors");
+
+    private final String displayName;
+
+    ConsoleOutputMode(String displayName) {
+        this.displayName = displayName;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return displayName;
+    }
+
+}
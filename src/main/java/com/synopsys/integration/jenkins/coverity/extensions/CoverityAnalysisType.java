@@ -12,7 +12,8 @@ import com.synopsys.integration.jenkins.extensions.JenkinsSelectBoxEnum;
 public enum CoverityAnalysisType implements JenkinsSelectBoxEnum {
     COV_ANALYZE("Full Analysis"),
     COV_RUN_DESKTOP("Incremental Analysis"),
-    THRESHOLD("Determined by change set threshold");
+    THRESHOLD("Determined by change set threshold"),
+    ADAPTIVE("Determined by estimated cost");
 
     private String displayName;
 
@@ -0,0 +1,87 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.extensions.buildstep;
+
+import javax.annotation.Nonnull;
+
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import com.synopsys.integration.jenkins.annotations.HelpMarkdown;
+
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.util.FormValidation;
+
+public class AutoTuneAnalysis extends AbstractDescribableImpl<AutoTuneAnalysis> {
+    public static final int DEFAULT_MEMORY_PER_WORKER_IN_MEGABYTES = 2048;
+
+    @HelpMarkdown("The largest number of analysis workers to pass to cov-analyze as --jobs, regardless of how many cores the agent has.  \r\n"
+                      + "Leave empty to let the number of workers be limited only by the cores and memory available to the agent.")
+    private final Integer maximumWorkers;
+
+    @HelpMarkdown("The amount of memory, in megabytes, to budget for each analysis worker. Defaults to " + DEFAULT_MEMORY_PER_WORKER_IN_MEGABYTES + ".  \r\n"
+                      + "The number of workers is reduced until they all fit in the memory available to the agent, including any cgroup (container) memory limit.")
+    private final Integer memoryPerWorkerInMegabytes;
+
+    @DataBoundConstructor
+    public AutoTuneAnalysis(Integer maximumWorkers, Integer memoryPerWorkerInMegabytes) {
+        this.maximumWorkers = maximumWorkers;
+        this.memoryPerWorkerInMegabytes = memoryPerWorkerInMegabytes;
+    }
+
+    public Integer getMaximumWorkers() {
+        return maximumWorkers;
+    }
+
+    public Integer getMemoryPerWorkerInMegabytes() {
+        return memoryPerWorkerInMegabytes;
+    }
+
+    public int getMemoryPerWorkerInMegabytesOrDefault() {
+        if (memoryPerWorkerInMegabytes == null || memoryPerWorkerInMegabytes <= 0) {
+            return DEFAULT_MEMORY_PER_WORKER_IN_MEGABYTES;
+        }
+        return memoryPerWorkerInMegabytes;
+    }
+
+    @Override
+    public DescriptorImpl getDescriptor() {
+        return (DescriptorImpl) super.getDescriptor();
+    }
+
+    @Extension
+    public static class DescriptorImpl extends Descriptor<AutoTuneAnalysis> {
+        public DescriptorImpl() {
+            super(AutoTuneAnalysis.class);
+        }
+
+        @Override
+        @Nonnull
+        public String getDisplayName() {
+            return "";
+        }
+
+        public FormValidation doCheckMaximumWorkers(@QueryParameter("maximumWorkers") String maximumWorkers) {
+            return checkPositiveIntegerOrEmpty(maximumWorkers);
+        }
+
+        public FormValidation doCheckMemoryPerWorkerInMegabytes(@QueryParameter("memoryPerWorkerInMegabytes") String memoryPerWorkerInMegabytes) {
+            return checkPositiveIntegerOrEmpty(memoryPerWorkerInMegabytes);
+        }
+
+        private FormValidation checkPositiveIntegerOrEmpty(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return FormValidation.ok();
+            }
+            return FormValidation.validatePositiveInteger(value.trim());
+        }
+    }
+
+}
@@ -12,6 +12,7 @@ import com.synopsys.integration.jenkins.coverity.SynopsysCoverityCredentialsHelp
 import com.synopsys.integration.jenkins.coverity.extensions.CheckForIssuesInView;
 import com.synopsys.integration.jenkins.coverity.extensions.CleanUpAction;
 import com.synopsys.integration.jenkins.coverity.extensions.ConfigureChangeSetPatterns;
+import com.synopsys.integration.jenkins.coverity.extensions.ConsoleOutputMode;
 import com.synopsys.integration.jenkins.coverity.extensions.OnCommandFailure;
 import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityConnectInstance;
 import com.synopsys.integration.jenkins.coverity.extensions.utils.CoverityConnectionFieldHelper;
@@ -94,6 +95,38 @@ public class CoverityBuildStep extends Builder {
     @Nullable
     private Boolean overrideDefaultCredentials;
 
+    @Nullable
+    @HelpMarkdown("If checked, cov-commit-defects runs in the background after the other Coverity commands finish, so the build can finish or move on without waiting for the commit.  \r\n"
+                      + "The commit runs from a copy of the intermediate directory outside of the workspace, which is deleted once the commit has finished. The commit output and status are available from the Coverity Background Commit Log of the build.  \r\n"
+                      + "A failed commit fails the build if it is still running, or otherwise marks the next build of the job as unstable. A later coverityIssueCheck against the same project waits for the commit.  \r\n"
+                      + "Has no effect when **Check for issues** is enabled, because the issue check needs the committed results.")
+    private Boolean commitInBackground;
+
+    @Nullable
+    @HelpMarkdown("If checked, the intermediate directory is compressed on the agent and copied to the Jenkins controller in resumable chunks, and cov-commit-defects runs on the controller.  \r\n"
+                      + "Useful when agents have a slow connection to Coverity Connect. Requires a Coverity static analysis installation on the controller in the Jenkins system configuration.  \r\n"
+                      + "On the controller, cov-commit-defects only gets the staged intermediate directory, the URL and credentials of the Coverity Connect instance, and the stream of the command. Any other arguments of the command are not relayed.")
+    private Boolean relayCommitThroughController;
+
+    @Nullable
+    @HelpMarkdown("Specify how much of the output of the Coverity commands is shown in the build log.  \r\n"
+                      + "**Show the full output of Coverity commands** copies everything to the build log.  \r\n"
+                      + "**Condense progress output into periodic summaries** replaces [STATUS] and progress bar lines with a summary every 30 seconds.  \r\n"
+                      + "**Show only warnings and errors** also leaves out any other output.  \r\n"
+                      + "When output is condensed, the full output of each command is written compressed to the coverity-logs directory of the workspace.")
+    private ConsoleOutputMode consoleOutputMode;
+
+    @Nullable
+    @HelpMarkdown("If checked, the sources in the workspace, the version of the Coverity analysis tools and the arguments of the Coverity commands are fingerprinted before the commands run.  \r\n"
+                      + "If the stream already has a successful commit with the same fingerprint, for example when the same commit is rebuilt, cov-analyze, cov-run-desktop and cov-commit-defects are skipped. The capture commands still run.  \r\n"
+                      + "A commit to the stream through this plugin from a job without this option invalidates the recorded fingerprint, so the next analysis runs in full.")
+    private Boolean skipUnchangedAnalysis;
+
+    @Nullable
+    @HelpMarkdown("Comma-separated Ant-style patterns, relative to the workspace, of files that are not sources and should not be fingerprinted, such as build output: out/**, **/*.jar  \r\n"
+                      + "Version control directories, the intermediate directory, the files written by this plugin and common build output (**/target/**, object files, libraries, executables, and Java and Python class files) are always left out.")
+    private String fingerprintExclusionPatterns;
+
     @DataBoundConstructor
     public CoverityBuildStep(String coverityInstanceUrl, String onCommandFailure, String projectName, String streamName, CheckForIssuesInView checkForIssuesInView,
         ConfigureChangeSetPatterns configureChangeSetPatterns, CoverityRunConfiguration coverityRunConfiguration) {
@@ -133,6 +166,51 @@ public class CoverityBuildStep extends Builder {
         this.overrideDefaultCredentials = overrideDefaultCredentials;
     }
 
+    public Boolean getCommitInBackground() {
+        return commitInBackground;
+    }
+
+    @DataBoundSetter
+    public void setCommitInBackground(Boolean commitInBackground) {
+        this.commitInBackground = commitInBackground;
+    }
+
+    public Boolean getRelayCommitThroughController() {
+        return relayCommitThroughController;
+    }
+
+    @DataBoundSetter
+    public void setRelayCommitThroughController(Boolean relayCommitThroughController) {
+        this.relayCommitThroughController = relayCommitThroughController;
+    }
+
+    public ConsoleOutputMode getConsoleOutputMode() {
+        return consoleOutputMode;
+    }
+
+    @DataBoundSetter
+    public void setConsoleOutputMode(ConsoleOutputMode consoleOutputMode) {
+        this.consoleOutputMode = consoleOutputMode;
+    }
+
+    public Boolean getSkipUnchangedAnalysis() {
+        return skipUnchangedAnalysis;
+    }
+
+    @DataBoundSetter
+    public void setSkipUnchangedAnalysis(Boolean skipUnchangedAnalysis) {
+        this.skipUnchangedAnalysis = skipUnchangedAnalysis;
+    }
+
+    public String getFingerprintExclusionPatterns() {
+        return fingerprintExclusionPatterns;
+    }
+
+    @DataBoundSetter
+    public void setFingerprintExclusionPatterns(String fingerprintExclusionPatterns) {
+        this.fingerprintExclusionPatterns = fingerprintExclusionPatterns;
+    }
+
     public String getCoverityInstanceUrl() {
         return coverityInstanceUrl;
     }
@@ -187,6 +265,12 @@ public class CoverityBuildStep extends Builder {
             resolvedCredentialsId = coverityConnectInstance.getDefaultCredentialsId();
         }
 
+        boolean shouldCommitInBackground = Boolean.TRUE.equals(commitInBackground);
+        if (shouldCommitInBackground && checkForIssuesInView != null) {
+            logger.warn("Committing in the background is ignored because this step also checks for issues, which requires the committed results.");
+            shouldCommitInBackground = false;
+        }
+
         CoverityBuildStepWorkflow coverityBuildStepWorkflow = new CoverityBuildStepWorkflow(
             logger,
             jenkinsVersionHelper,
@@ -202,7 +286,12 @@ public class CoverityBuildStep extends Builder {
             configureChangeSetPatterns,
             checkForIssuesInView,
             onCommandFailure,
-            cleanUpAction
+            cleanUpAction,
+            shouldCommitInBackground,
+            Boolean.TRUE.equals(relayCommitThroughController),
+            consoleOutputMode,
+            Boolean.TRUE.equals(skipUnchangedAnalysis),
+            fingerprintExclusionPatterns
         );
 
         return coverityBuildStepWorkflow.perform();
@@ -270,9 +359,9 @@ public class CoverityBuildStep extends Builder {
         public ComboBoxModel doFillProjectNameItems(@AncestorInPath Item item, @QueryParameter(FIELD_COVERITY_INSTANCE_URL) String coverityInstanceUrl, @QueryParameter(FIELD_OVERRIDE_CREDENTIALS) Boolean overrideDefaultCredentials, @QueryParameter(FIELD_CREDENTIALS_ID) String credentialsId, @QueryParameter("updateNow") boolean updateNow) throws InterruptedException {
             credentialsHelper.checkPermissionToAccessCredentials(item);
             if (updateNow) {
-                projectStreamFieldHelper.updateNow(coverityInstanceUrl, overrideDefaultCredentials, credentialsId);
+                projectStreamFieldHelper.updateNow(item, coverityInstanceUrl, overrideDefaultCredentials, credentialsId);
             }
-            return projectStreamFieldHelper.getProjectNamesForComboBox(coverityInstanceUrl, overrideDefaultCredentials, credentialsId);
+            return projectStreamFieldHelper.getProjectNamesForComboBox(item, coverityInstanceUrl, overrideDefaultCredentials, credentialsId);
         }
 
         @POST
@@ -282,14 +371,14 @@ public class CoverityBuildStep extends Builder {
             if (urlValidation.kind == FormValidation.Kind.ERROR) {
                 return urlValidation;
             } else {
-                return projectStreamFieldHelper.checkForProjectInCache(coverityInstanceUrl, overrideDefaultCredentials, credentialsId, projectName);
+                return projectStreamFieldHelper.checkForProjectInCache(item, coverityInstanceUrl, overrideDefaultCredentials, credentialsId, projectName);
             }
         }
 
         @POST
         public ComboBoxModel doFillStreamNameItems(@AncestorInPath Item item, @QueryParameter(FIELD_COVERITY_INSTANCE_URL) String coverityInstanceUrl, @QueryParameter(FIELD_OVERRIDE_CREDENTIALS) Boolean overrideDefaultCredentials, @QueryParameter(FIELD_CREDENTIALS_ID) String credentialsId, @QueryParameter(FIELD_PROJECT_NAME) String projectName) throws InterruptedException {
             credentialsHelper.checkPermissionToAccessCredentials(item);
-            return projectStreamFieldHelper.getStreamNamesForComboBox(coverityInstanceUrl, overrideDefaultCredentials, credentialsId, projectName);
+            return projectStreamFieldHelper.getStreamNamesForComboBox(item, coverityInstanceUrl, overrideDefaultCredentials, credentialsId, projectName);
         }
 
         @POST
@@ -299,7 +388,7 @@ public class CoverityBuildStep extends Builder {
             if (urlValidation.kind == FormValidation.Kind.ERROR) {
                 return urlValidation;
             } else {
-                return projectStreamFieldHelper.checkForStreamInCache(coverityInstanceUrl, overrideDefaultCredentials, credentialsId, projectName, streamName);
+                return projectStreamFieldHelper.checkForStreamInCache(item, coverityInstanceUrl, overrideDefaultCredentials, credentialsId, projectName, streamName);
             }
         }
 
@@ -307,6 +396,10 @@ public class CoverityBuildStep extends Builder {
             return JenkinsSelectBoxEnum.toListBoxModel(OnCommandFailure.values());
         }
 
+        public ListBoxModel doFillConsoleOutputModeItems() {
+            return JenkinsSelectBoxEnum.toListBoxModel(ConsoleOutputMode.values());
+        }
+
         public ListBoxModel doFillCleanUpActionItems() {
             return JenkinsSelectBoxEnum.toListBoxModel(CleanUpAction.values());
         }
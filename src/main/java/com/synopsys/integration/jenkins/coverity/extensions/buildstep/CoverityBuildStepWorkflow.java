@@ -10,33 +10,53 @@ package com.synopsys.integration.jenkins.coverity.extensions.buildstep;
 import static com.synopsys.integration.jenkins.coverity.JenkinsCoverityEnvironmentVariable.CHANGE_SET;
 import static com.synopsys.integration.jenkins.coverity.JenkinsCoverityEnvironmentVariable.CHANGE_SET_SIZE;
 import static com.synopsys.integration.jenkins.coverity.JenkinsCoverityEnvironmentVariable.TEMPORARY_AUTH_KEY_PATH;
+import static com.synopsys.integration.jenkins.coverity.extensions.CoverityAnalysisType.ADAPTIVE;
+import static com.synopsys.integration.jenkins.coverity.extensions.CoverityAnalysisType.COV_ANALYZE;
 import static com.synopsys.integration.jenkins.coverity.extensions.CoverityAnalysisType.COV_RUN_DESKTOP;
 import static com.synopsys.integration.jenkins.coverity.extensions.CoverityAnalysisType.THRESHOLD;
 import static com.synopsys.integration.jenkins.coverity.extensions.buildstep.CoverityRunConfiguration.RunConfigurationType.ADVANCED;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang.StringUtils;
 
-import com.synopsys.integration.coverity.api.rest.ViewContents;
 import com.synopsys.integration.coverity.ws.WebServiceFactory;
-import com.synopsys.integration.coverity.ws.view.ViewReportWrapper;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.function.ThrowingSupplier;
+import com.synopsys.integration.jenkins.coverity.PendingBackgroundCommits;
+import com.synopsys.integration.jenkins.coverity.WarmIntermediateDirectories;
+import com.synopsys.integration.jenkins.coverity.actions.CoverityCommitLogAction;
 import com.synopsys.integration.jenkins.coverity.actions.IssueReportAction;
 import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsAbortException;
 import com.synopsys.integration.jenkins.coverity.extensions.BuildStatus;
 import com.synopsys.integration.jenkins.coverity.extensions.CheckForIssuesInView;
 import com.synopsys.integration.jenkins.coverity.extensions.CleanUpAction;
 import com.synopsys.integration.jenkins.coverity.extensions.ConfigureChangeSetPatterns;
+import com.synopsys.integration.jenkins.coverity.extensions.ConsoleOutputMode;
 import com.synopsys.integration.jenkins.coverity.extensions.CoverityAnalysisType;
 import com.synopsys.integration.jenkins.coverity.extensions.OnCommandFailure;
+import com.synopsys.integration.jenkins.coverity.metrics.CoverityMetrics;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.AnalysisCostHistory;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.AnalysisCostModel;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.AnalysisFingerprints;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.BackgroundCommit;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.ChangeSetProfile;
 import com.synopsys.integration.jenkins.coverity.stepworkflow.CleanUpWorkflowService;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.ComputeAnalysisFingerprint;
 import com.synopsys.integration.jenkins.coverity.stepworkflow.CoverityJenkinsStepWorkflow;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.CoverityToolResult;
 import com.synopsys.integration.jenkins.coverity.stepworkflow.CoverityWorkflowStepFactory;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.IssueSnapshots;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.IssuesInView;
 import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
 import com.synopsys.integration.jenkins.wrapper.JenkinsVersionHelper;
 import com.synopsys.integration.stepworkflow.StepWorkflow;
@@ -46,8 +66,10 @@ import com.synopsys.integration.util.IntEnvironmentVariables;
 
 import hudson.AbortException;
 import hudson.FilePath;
+import hudson.Util;
 import hudson.model.AbstractBuild;
 import hudson.model.Result;
+import hudson.model.Run;
 import hudson.remoting.VirtualChannel;
 
 public class CoverityBuildStepWorkflow extends CoverityJenkinsStepWorkflow<Object> {
@@ -65,10 +87,21 @@ public class CoverityBuildStepWorkflow extends CoverityJenkinsStepWorkflow<Objec
     private final String workspaceRemotePath;
     private final String coverityInstanceUrl;
     private final String credentialsId;
+    private final boolean commitInBackground;
+    private final boolean relayCommitThroughController;
+    private final ConsoleOutputMode consoleOutputMode;
+    private final boolean skipUnchangedAnalysis;
+    @Nullable
+    private final String fingerprintExclusionPatterns;
+    private volatile BackgroundCommit backgroundCommit;
+    private volatile String analysisFingerprint;
+    private volatile AnalysisCostModel.Decision adaptiveAnalysisDecision;
+    private volatile ChangeSetProfile changeSetProfile;
 
     public CoverityBuildStepWorkflow(JenkinsIntLogger logger, JenkinsVersionHelper jenkinsVersionHelper, ThrowingSupplier<WebServiceFactory, CoverityJenkinsAbortException> webServiceFactorySupplier,
         CoverityWorkflowStepFactory coverityWorkflowStepFactory, AbstractBuild<?, ?> build, String workspaceRemotePath, String coverityInstanceUrl, String credentialsId, String projectName, String streamName, CoverityRunConfiguration coverityRunConfiguration,
-        ConfigureChangeSetPatterns configureChangeSetPatterns, CheckForIssuesInView checkForIssuesInView, OnCommandFailure onCommandFailure, CleanUpAction cleanUpAction) {
+        ConfigureChangeSetPatterns configureChangeSetPatterns, CheckForIssuesInView checkForIssuesInView, OnCommandFailure onCommandFailure, CleanUpAction cleanUpAction, boolean commitInBackground,
+        boolean relayCommitThroughController, ConsoleOutputMode consoleOutputMode, boolean skipUnchangedAnalysis, @Nullable String fingerprintExclusionPatterns) {
         super(logger, jenkinsVersionHelper, webServiceFactorySupplier);
         this.coverityWorkflowStepFactory = coverityWorkflowStepFactory;
         this.build = build;
@@ -82,6 +115,11 @@ public class CoverityBuildStepWorkflow extends CoverityJenkinsStepWorkflow<Objec
         this.checkForIssuesInView = checkForIssuesInView;
         this.onCommandFailure = onCommandFailure;
         this.cleanUpAction = cleanUpAction;
+        this.commitInBackground = commitInBackground;
+        this.relayCommitThroughController = relayCommitThroughController;
+        this.consoleOutputMode = consoleOutputMode;
+        this.skipUnchangedAnalysis = skipUnchangedAnalysis;
+        this.fingerprintExclusionPatterns = fingerprintExclusionPatterns;
     }
 
     @Override
@@ -89,28 +127,38 @@ public class CoverityBuildStepWorkflow extends CoverityJenkinsStepWorkflow<Objec
         String viewName = Optional.ofNullable(checkForIssuesInView).map(CheckForIssuesInView::getViewName).orElse(StringUtils.EMPTY);
         BuildStatus buildStatus = Optional.ofNullable(checkForIssuesInView).map(CheckForIssuesInView::getBuildStatusForIssues).orElse(BuildStatus.SUCCESS);
         boolean shouldValidateVersion = CoverityRunConfiguration.RunConfigurationType.SIMPLE.equals(coverityRunConfiguration.getRunConFigurationType());
+        File backgroundCommitLogFile = null;
+        if (commitInBackground) {
+            backgroundCommitLogFile = CoverityCommitLogAction.getLogFile(build);
+        }
 
-        return StepWorkflow.first(coverityWorkflowStepFactory.createStepValidateCoverityInstallation(shouldValidateVersion))
-                   .then(coverityWorkflowStepFactory.createStepCreateAuthenticationKeyFile(workspaceRemotePath, coverityInstanceUrl, credentialsId))
-                   .then(coverityWorkflowStepFactory.createStepSetUpCoverityEnvironment(build.getChangeSets(), configureChangeSetPatterns, workspaceRemotePath, coverityInstanceUrl, credentialsId, projectName, streamName, viewName))
-                   .then(coverityWorkflowStepFactory.createStepCreateMissingProjectsAndStreams(coverityInstanceUrl, credentialsId, projectName, streamName))
-                   .andSometimes(coverityWorkflowStepFactory.createStepGetCoverityCommands(coverityRunConfiguration))
-                   .then(coverityWorkflowStepFactory.createStepRunCoverityCommands(workspaceRemotePath, onCommandFailure))
+        return StepWorkflow.first(timed("Validate Coverity installation", coverityWorkflowStepFactory.createStepValidateCoverityInstallation(shouldValidateVersion)))
+                   .then(timed("Create authentication key file", coverityWorkflowStepFactory.createStepCreateAuthenticationKeyFile(workspaceRemotePath, coverityInstanceUrl, credentialsId)))
+                   .then(timed("Set up Coverity environment",
+                       coverityWorkflowStepFactory.createStepSetUpCoverityEnvironment(build.getChangeSets(), configureChangeSetPatterns, workspaceRemotePath, coverityInstanceUrl, credentialsId, projectName, streamName, viewName)))
+                   .then(timed("Create missing projects and streams", coverityWorkflowStepFactory.createStepCreateMissingProjectsAndStreams(coverityInstanceUrl, credentialsId, projectName, streamName)))
+                   .andSometimes(timed("Get Coverity commands", coverityWorkflowStepFactory.createStepGetCoverityCommands(coverityRunConfiguration, this::chooseAdaptiveAnalysisType)))
+                   .then(timed("Skip unchanged analysis", SubStep.ofFunction(this::skipUnchangedAnalysis)))
+                   .then(timed("Run Coverity commands", coverityWorkflowStepFactory.createStepRunCoverityCommands(workspaceRemotePath, onCommandFailure, coverityInstanceUrl, credentialsId, coverityToolResults::add, backgroundCommitLogFile, this::handOffCommit, relayCommitThroughController, consoleOutputMode, skipUnchangedAnalysis)))
                    .butOnlyIf(coverityWorkflowStepFactory.getOrCreateEnvironmentVariables(), intEnvironmentVariables -> this.shouldRunCoverityCommands(intEnvironmentVariables, coverityRunConfiguration))
-                   .andSometimes(coverityWorkflowStepFactory.createStepGetIssuesInView(coverityInstanceUrl, credentialsId, projectName, viewName))
-                   .then(SubStep.ofConsumer(viewReportWrapper -> handleIssues(viewReportWrapper, build, projectName, viewName, buildStatus)))
+                   .andSometimes(timed("Get issues in view", coverityWorkflowStepFactory.createStepGetIssuesInView(coverityInstanceUrl, credentialsId, projectName, viewName)))
+                   .then(timed("Handle issues", SubStep.ofConsumer((IssuesInView issuesInView) -> handleIssues(issuesInView, build, projectName, viewName, buildStatus))))
                    .butOnlyIf(checkForIssuesInView, Objects::nonNull)
                    .build();
     }
 
     @Override
     public Boolean perform() throws AbortException {
+        reportFailedBackgroundCommit();
         StepWorkflowResponse<Object> stepWorkflowResponse = this.runWorkflow();
         boolean wasSuccessful = stepWorkflowResponse.wasSuccessful();
         try {
             if (!wasSuccessful) {
                 throw stepWorkflowResponse.getException();
             }
+            recordAnalysisFingerprint();
+            recordAnalysisCost();
+            recordIntermediateDirectory();
         } catch (InterruptedException e) {
             logger.error("[ERROR] Synopsys Coverity thread was interrupted.", e);
             build.setResult(Result.ABORTED);
@@ -126,6 +174,7 @@ public class CoverityBuildStepWorkflow extends CoverityJenkinsStepWorkflow<Objec
 
     @Override
     public void cleanUp() throws CoverityJenkinsAbortException {
+        // A background commit works from its own copies of the authentication key file and the intermediate directory
         IntEnvironmentVariables intEnvironmentVariables = coverityWorkflowStepFactory.getOrCreateEnvironmentVariables();
         CleanUpWorkflowService cleanUpWorkflowService = new CleanUpWorkflowService(logger);
         String authKeyPath = intEnvironmentVariables.getValue(TEMPORARY_AUTH_KEY_PATH.toString());
@@ -141,6 +190,132 @@ public class CoverityBuildStepWorkflow extends CoverityJenkinsStepWorkflow<Objec
         }
     }
 
+    private List<List<String>> skipUnchangedAnalysis(List<List<String>> commands) throws IntegrationException {
+        if (!skipUnchangedAnalysis) {
+            return commands;
+        }
+
+        long startTime = System.nanoTime();
+        String fingerprint = coverityWorkflowStepFactory.computeAnalysisFingerprint(workspaceRemotePath, commands, fingerprintExclusionPatterns);
+        logger.alwaysLog(String.format("Fingerprinted the sources, analysis version and arguments in %s: %s", Util.getTimeSpanString(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)), fingerprint));
+
+        boolean alreadyCommitted = AnalysisFingerprints.getCommittedFingerprint(coverityInstanceUrl, streamName)
+                                       .filter(fingerprint::equals)
+                                       .isPresent();
+        if (alreadyCommitted) {
+            logger.alwaysLog(String.format("Skipping the Coverity analysis and commit because stream %s already has a successful commit with the same fingerprint.", streamName));
+            return commands.stream()
+                       .filter(arguments -> !ComputeAnalysisFingerprint.isAnalysisOrCommitCommand(arguments.get(0)))
+                       .collect(Collectors.toList());
+        }
+
+        analysisFingerprint = fingerprint;
+        return commands;
+    }
+
+    private void recordAnalysisFingerprint() {
+        String fingerprint = analysisFingerprint;
+        if (fingerprint == null) {
+            return;
+        }
+
+        // A fingerprint is only worth skipping for if every command succeeded, including the commit
+        List<CoverityToolResult> results = getCoverityToolResults();
+        boolean allCommandsSucceeded = results.stream().allMatch(coverityToolResult -> Integer.valueOf(0).equals(coverityToolResult.getExitCode()));
+        if (!allCommandsSucceeded) {
+            return;
+        }
+
+        BackgroundCommit pendingCommit = backgroundCommit;
+        if (pendingCommit != null) {
+            pendingCommit.whenSuccessful(() -> AnalysisFingerprints.recordCommit(coverityInstanceUrl, streamName, fingerprint));
+        } else if (results.stream().anyMatch(coverityToolResult -> ComputeAnalysisFingerprint.isCommitCommand(coverityToolResult.getCommand()))) {
+            AnalysisFingerprints.recordCommit(coverityInstanceUrl, streamName, fingerprint);
+        }
+    }
+
+    private void recordIntermediateDirectory() {
+        String nodeName = StringUtils.defaultString(build.getBuiltOnStr());
+        if (CleanUpAction.DELETE_INTERMEDIATE_DIRECTORY.equals(cleanUpAction)) {
+            WarmIntermediateDirectories.recordRemoved(build.getParent(), projectName, streamName, nodeName);
+        } else {
+            WarmIntermediateDirectories.recordWarm(build.getParent(), projectName, streamName, nodeName);
+        }
+    }
+
+    private CoverityAnalysisType chooseAdaptiveAnalysisType() throws IntegrationException {
+        IntEnvironmentVariables intEnvironmentVariables = coverityWorkflowStepFactory.getOrCreateEnvironmentVariables();
+        int changeSetSize = Integer.parseInt(intEnvironmentVariables.getValue(CHANGE_SET_SIZE.toString(), "0"));
+        int changeSetThreshold = ((SimpleCoverityRunConfiguration) coverityRunConfiguration).getChangeSetAnalysisThreshold();
+
+        // $CHANGE_SET is relative to the checkout, which is the build workspace even when commands run in a custom working directory
+        FilePath buildWorkspace = build.getWorkspace();
+        ChangeSetProfile profile = coverityWorkflowStepFactory.getChangeSetProfile(buildWorkspace == null ? workspaceRemotePath : buildWorkspace.getRemote());
+        AnalysisCostHistory analysisCostHistory = AnalysisCostHistory.load(build.getParent());
+        AnalysisCostModel analysisCostModel = new AnalysisCostModel(analysisCostHistory.getSamples(COV_ANALYZE), analysisCostHistory.getSamples(COV_RUN_DESKTOP));
+        AnalysisCostModel.Decision decision = analysisCostModel.choose(profile, changeSetSize, changeSetThreshold);
+
+        logger.alwaysLog("Choosing the Coverity analysis type by estimated cost:");
+        decision.getReasoning().forEach(reason -> logger.alwaysLog("-- " + reason));
+        changeSetProfile = profile;
+        adaptiveAnalysisDecision = decision;
+        return decision.getAnalysisType();
+    }
+
+    private void recordAnalysisCost() {
+        AnalysisCostModel.Decision decision = adaptiveAnalysisDecision;
+        if (decision == null) {
+            return;
+        }
+
+        CoverityAnalysisType analysisType = decision.getAnalysisType();
+        String analysisCommand = COV_ANALYZE.equals(analysisType) ? "cov-analyze" : "cov-run-desktop";
+        getCoverityToolResults().stream()
+            .filter(coverityToolResult -> analysisCommand.equals(FilenameUtils.getBaseName(coverityToolResult.getCommand())))
+            .filter(coverityToolResult -> Integer.valueOf(0).equals(coverityToolResult.getExitCode()))
+            .findFirst()
+            .ifPresent(coverityToolResult -> AnalysisCostHistory.record(build.getParent(), analysisType, changeSetProfile.getWeightedKilobytes(), coverityToolResult.getWallTimeInMillis()));
+    }
+
+    private void handOffCommit(BackgroundCommit backgroundCommit) {
+        this.backgroundCommit = backgroundCommit;
+        CoverityCommitLogAction commitLogAction = new CoverityCommitLogAction();
+        build.addAction(commitLogAction);
+        PendingBackgroundCommits.record(build, StringUtils.defaultString(build.getBuiltOnStr()), backgroundCommit);
+        backgroundCommit.whenDone(successful -> finishBackgroundCommit(commitLogAction, successful));
+    }
+
+    private void finishBackgroundCommit(CoverityCommitLogAction commitLogAction, boolean successful) {
+        PendingBackgroundCommits.remove(backgroundCommit);
+        commitLogAction.setStatus(successful ? CoverityCommitLogAction.Status.SUCCEEDED : CoverityCommitLogAction.Status.FAILED);
+        if (!successful && build.isBuilding()) {
+            logger.error("[ERROR] The background commit failed. Its output is available from the Coverity Background Commit Log of this build.");
+            build.setResult(Result.FAILURE);
+        }
+
+        try {
+            build.save();
+        } catch (IOException e) {
+            logger.warn("Could not save the status of the background commit: " + e.getMessage());
+        }
+    }
+
+    private void reportFailedBackgroundCommit() {
+        // A background commit that fails after its build has completed can no longer change that build's result, so it is reported by the next one
+        AbstractBuild<?, ?> previousBuild = build.getPreviousBuild();
+        CoverityCommitLogAction previousCommitLogAction = previousBuild == null ? null : previousBuild.getAction(CoverityCommitLogAction.class);
+        Result previousResult = previousBuild == null ? null : previousBuild.getResult();
+        if (previousCommitLogAction != null && previousCommitLogAction.hasFailed() && previousResult != null && previousResult.isBetterThan(Result.FAILURE)) {
+            logger.warn(String.format("The background commit of %s did not succeed (%s). Setting build status to %s", previousBuild.getFullDisplayName(), previousCommitLogAction.getStatus().getDisplayName(), Result.UNSTABLE));
+            build.setResult(Result.UNSTABLE);
+        }
+    }
+
+    @Override
+    protected Run<?, ?> getRun() {
+        return build;
+    }
+
     private boolean shouldRunCoverityCommands(IntEnvironmentVariables intEnvironmentVariables, CoverityRunConfiguration coverityRunConfiguration) {
         boolean analysisIsIncremental;
         if (ADVANCED.equals(coverityRunConfiguration.getRunConFigurationType())) {
@@ -152,7 +327,7 @@ public class CoverityBuildStepWorkflow extends CoverityJenkinsStepWorkflow<Objec
             CoverityAnalysisType coverityAnalysisType = simpleCoverityRunConfiguration.getCoverityAnalysisType();
             int changeSetThreshold = simpleCoverityRunConfiguration.getChangeSetAnalysisThreshold();
 
-            analysisIsIncremental = COV_RUN_DESKTOP.equals(coverityAnalysisType) || (THRESHOLD.equals(coverityAnalysisType) && changeSetSize < changeSetThreshold);
+            analysisIsIncremental = COV_RUN_DESKTOP.equals(coverityAnalysisType) || (THRESHOLD.equals(coverityAnalysisType) && changeSetSize < changeSetThreshold) || (ADAPTIVE.equals(coverityAnalysisType) && changeSetSize == 0);
         }
 
         String changeSetString = intEnvironmentVariables.getValue(CHANGE_SET.toString());
@@ -163,19 +338,26 @@ public class CoverityBuildStepWorkflow extends CoverityJenkinsStepWorkflow<Objec
         return true;
     }
 
-    private void handleIssues(ViewReportWrapper viewReportWrapper, AbstractBuild<?, ?> build, String projectName, String viewName, BuildStatus buildStatusOnIssues) {
+    private void handleIssues(IssuesInView issuesInView, AbstractBuild<?, ?> build, String projectName, String viewName, BuildStatus buildStatusOnIssues) {
         logger.alwaysLog("Checking for issues in view");
         logger.alwaysLog("-- Build state for issues in the view: " + buildStatusOnIssues.getDisplayName());
         logger.alwaysLog("-- Coverity project name: " + projectName);
         logger.alwaysLog("-- Coverity view name: " + viewName);
 
-        ViewContents viewContents = viewReportWrapper.getViewContents();
-        String viewReportUrl = viewReportWrapper.getViewReportUrl();
-        int defectCount = viewContents.getTotalRows().intValue();
-        build.addAction(new IssueReportAction(defectCount, viewReportUrl));
+        String viewReportUrl = issuesInView.getViewReportUrl();
+        int defectCount = issuesInView.getDefectCount();
+        CoverityMetrics.recordIssueCount(defectCount);
         logger.alwaysLog(String.format("[Coverity] Found %s issues: %s", defectCount, viewReportUrl));
+        IssueReportAction issueReportAction = IssueSnapshots.compareWithPreviousBuild(logger, build, projectName, viewName, issuesInView);
+        build.addAction(issueReportAction);
+
+        int issueCountForBuildStatus = defectCount;
+        if (buildStatusOnIssues.isNewIssuesOnly()) {
+            // Without CIDs there is nothing to tell new issues apart by, so every issue counts
+            issueCountForBuildStatus = Optional.ofNullable(issueReportAction.getNewIssueCount()).orElse(defectCount);
+        }
 
-        if (defectCount > 0) {
+        if (issueCountForBuildStatus > 0) {
             logger.alwaysLog("Setting build status to " + buildStatusOnIssues.getResult().toString());
             build.setResult(buildStatusOnIssues.getResult());
         }
@@ -42,7 +42,12 @@ public class SimpleCoverityRunConfiguration extends CoverityRunConfiguration {
                       + "cov-commit-defects --dir ${WORKSPACE}/idir --url ${COV_URL} --stream ${COV_STREAM}\r\n"
                       + "\r\n"
                       + "**Determined by change set threshold**  \r\n"
-                      + "Will run the commands specified by **Full Analysis** if the number of files listed in the CHANGE_SET environment variable meets or exceeds the specified threshold, otherwise will run the commands specified by **Incremental Analysis**.")
+                      + "Will run the commands specified by **Full Analysis** if the number of files listed in the CHANGE_SET environment variable meets or exceeds the specified threshold, otherwise will run the commands specified by **Incremental Analysis**.\r\n"
+                      + "\r\n"
+                      + "**Determined by estimated cost**  \r\n"
+                      + "Will run the commands specified by whichever of **Full Analysis** or **Incremental Analysis** is estimated to finish sooner. "
+                      + "The estimate is based on the size and kind of the files listed in the CHANGE_SET environment variable (changed headers weigh the most) and the recorded durations of previous analyses of this job. "
+                      + "Until each analysis type has run a few times, the change set threshold is used instead. The reasoning is written to the build log.")
     private final CoverityAnalysisType coverityAnalysisType;
 
     @HelpMarkdown("The argument that specifies the source for the given capture type.  \r\n"
@@ -71,12 +76,17 @@ public class SimpleCoverityRunConfiguration extends CoverityRunConfiguration {
     private CoverityCaptureType coverityCaptureType;
 
     @Nullable
-    @HelpMarkdown("For use with the Coverity Analysis Type **Determined by change set threshold**. Specifies the number of files that triggers a **Full Analysis**.\r\n"
+    @HelpMarkdown("For use with the Coverity Analysis Type **Determined by change set threshold**, and with **Determined by estimated cost** until enough history is recorded. Specifies the number of files that triggers a **Full Analysis**.\r\n"
                       + "\r\n"
                       + "**Determined by change set threshold** will run an **Incremental Analysis** unless the number of files specified in the $CHANGE_SET environment variable meets or exceeds the value of this field.  \r\n"
                       + "If the number of files specified in the $CHANGE_SET environment variable meets or exceeds the value of this field, **Determined by change set threshold** will run a **Full Analysis**")
     private Integer changeSetAnalysisThreshold;
 
+    @Nullable
+    @HelpMarkdown("Automatically choose the number of cov-analyze workers (--jobs) from the cores and memory available to the agent, including any cgroup (container) limits.  \r\n"
+                      + "Has no effect if the cov-analyze arguments already specify -j or --jobs.")
+    private AutoTuneAnalysis autoTuneAnalysis;
+
     @DataBoundConstructor
     public SimpleCoverityRunConfiguration(CoverityAnalysisType coverityAnalysisType, String sourceArgument, CommandArguments commandArguments) {
         this.coverityAnalysisType = coverityAnalysisType;
@@ -137,6 +147,15 @@ public class SimpleCoverityRunConfiguration extends CoverityRunConfiguration {
         this.coverityCaptureType = coverityCaptureType;
     }
 
+    public AutoTuneAnalysis getAutoTuneAnalysis() {
+        return autoTuneAnalysis;
+    }
+
+    @DataBoundSetter
+    public void setAutoTuneAnalysis(AutoTuneAnalysis autoTuneAnalysis) {
+        this.autoTuneAnalysis = autoTuneAnalysis;
+    }
+
     public CoverityCaptureType getDefaultCoverityCaptureType() {
         return CoverityCaptureType.COV_BUILD;
     }
@@ -0,0 +1,65 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.extensions.folder;
+
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundConstructor;
+
+import com.cloudbees.hudson.plugins.folder.AbstractFolder;
+import com.cloudbees.hudson.plugins.folder.AbstractFolderProperty;
+import com.cloudbees.hudson.plugins.folder.AbstractFolderPropertyDescriptor;
+import com.synopsys.integration.jenkins.annotations.HelpMarkdown;
+import com.synopsys.integration.jenkins.coverity.extensions.utils.ProjectNameScope;
+
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+
+public class CoverityFolderProperty extends AbstractFolderProperty<AbstractFolder<?>> {
+    @Nullable
+    @HelpMarkdown("Coverity project name patterns, one per line, that limit which projects and streams job configuration forms in this folder fetch and list. Use * as a wildcard, for example team-a-*.  \r\n"
+                      + "Subfolders use the patterns of the closest folder that has any. Leave empty to list every project the credentials can see. Builds can still use projects outside these patterns.")
+    private final String projectNamePatterns;
+
+    @DataBoundConstructor
+    public CoverityFolderProperty(String projectNamePatterns) {
+        this.projectNamePatterns = projectNamePatterns;
+    }
+
+    public static Optional<CoverityFolderProperty> findClosest(Item item) {
+        ItemGroup<?> itemGroup = item instanceof AbstractFolder ? (AbstractFolder<?>) item : item.getParent();
+        while (itemGroup instanceof Item) {
+            if (itemGroup instanceof AbstractFolder) {
+                CoverityFolderProperty coverityFolderProperty = ((AbstractFolder<?>) itemGroup).getProperties().get(CoverityFolderProperty.class);
+                if (coverityFolderProperty != null && !ProjectNameScope.fromPatterns(coverityFolderProperty.getProjectNamePatterns()).isUnscoped()) {
+                    return Optional.of(coverityFolderProperty);
+                }
+            }
+            itemGroup = ((Item) itemGroup).getParent();
+        }
+        return Optional.empty();
+    }
+
+    public String getProjectNamePatterns() {
+        return projectNamePatterns;
+    }
+
+    @Symbol("coverityProjectScope")
+    @Extension(optional = true)
+    public static class DescriptorImpl extends AbstractFolderPropertyDescriptor {
+        @Override
+        public String getDisplayName() {
+            return "Synopsys Coverity project scope";
+        }
+    }
+
+}
@@ -23,9 +23,7 @@ import hudson.model.Item;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
 import jenkins.model.Jenkins;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.jenkinsci.plugins.plaincredentials.FileCredentials;
 import org.kohsuke.stapler.AncestorInPath;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
@@ -34,13 +32,22 @@ import org.kohsuke.stapler.verb.POST;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
 
 public class CoverityConnectInstance extends AbstractDescribableImpl<CoverityConnectInstance> {
+    private static final Pattern AUTHENTICATION_KEY_PATTERN = Pattern.compile("\"key\"\\s*:\\s*\"([^\"]+)\"");
+
     @HelpMarkdown("Specify the URL for your Coverity Connect instance.  \r\n"
                       + "Populates the $COV_HOST and $COV_PORT environment variables")
     private final String url;
@@ -50,6 +57,16 @@ public class CoverityConnectInstance extends AbstractDescribableImpl<CoverityCon
                       + "**Note:** \"Username with password\" and \"Secret File\" are the only kind of credentials supported.")
     private final String defaultCredentialsId;
 
+    @Nullable
+    @HelpMarkdown("Specify the URLs of any additional front-end nodes that serve this Coverity Connect instance, one per line.  \r\n"
+                      + "Connections and $COV_URL are spread across the URL above and these URLs, preferring the endpoints that respond fastest and failing over when an endpoint is unavailable.")
+    private String additionalUrls;
+
+    @Nullable
+    @HelpMarkdown("Limit how many cov-commit-defects commands Jenkins runs against this Coverity Connect instance at the same time.  \r\n"
+                      + "Builds that want to commit while the limit is reached wait in the order they arrived. Leave empty for no limit.")
+    private Integer maxConcurrentCommits;
+
     // A backwards-compatibility field for defaultCredentialsId.
     // Ideally we could find a way to remove this and use XSTREAM aliasing instead, but previous attempts have not been successful.
     // --rotte JUN 2021
@@ -77,6 +94,43 @@ public class CoverityConnectInstance extends AbstractDescribableImpl<CoverityCon
         return url;
     }
 
+    public String getAdditionalUrls() {
+        return additionalUrls;
+    }
+
+    @DataBoundSetter
+    public void setAdditionalUrls(String additionalUrls) {
+        this.additionalUrls = additionalUrls;
+    }
+
+    public Integer getMaxConcurrentCommits() {
+        return maxConcurrentCommits;
+    }
+
+    @DataBoundSetter
+    public void setMaxConcurrentCommits(Integer maxConcurrentCommits) {
+        this.maxConcurrentCommits = maxConcurrentCommits;
+    }
+
+    public List<String> getEndpointUrls() {
+        List<String> endpointUrls = new ArrayList<>();
+        if (url != null) {
+            endpointUrls.add(url);
+        }
+        if (additionalUrls != null) {
+            Arrays.stream(additionalUrls.split("\\R"))
+                .map(String::trim)
+                .filter(StringUtils::isNotBlank)
+                .forEach(additionalUrl -> {
+                    // Endpoints share circuit breakers and latencies by normalized url, so a differently written duplicate would be tried twice
+                    if (endpointUrls.stream().map(CoverityGlobalConfig::normalizeUrl).noneMatch(CoverityGlobalConfig.normalizeUrl(additionalUrl)::equals)) {
+                        endpointUrls.add(additionalUrl);
+                    }
+                });
+        }
+        return endpointUrls;
+    }
+
     public Optional<URL> getCoverityURL() {
         URL coverityUrl = null;
         if (url != null) {
@@ -91,8 +145,12 @@ public class CoverityConnectInstance extends AbstractDescribableImpl<CoverityCon
     }
 
     public CoverityServerConfig getCoverityServerConfig(IntLogger logger, String credentialsId) throws IllegalArgumentException, IllegalStateException {
+        return getCoverityServerConfig(logger, credentialsId, url);
+    }
+
+    public CoverityServerConfig getCoverityServerConfig(IntLogger logger, String credentialsId, String endpointUrl) throws IllegalArgumentException, IllegalStateException {
         return CoverityServerConfig.newBuilder()
-                   .setUrl(url)
+                   .setUrl(endpointUrl)
                    .setCredentials(getCoverityServerCredentials(logger, credentialsId))
                    .build();
     }
@@ -114,18 +172,38 @@ public class CoverityConnectInstance extends AbstractDescribableImpl<CoverityCon
 
     public Optional<String> getAuthenticationKeyFileContents(IntLogger logger, String credentialId) throws CoverityJenkinsAbortException {
         SynopsysCoverityCredentialsHelper synopsysCoverityCredentialsHelper = new SynopsysCoverityCredentialsHelper(logger, JenkinsWrapper.initializeFromJenkinsJVM());
-        Optional<FileCredentials> authenticationKeyFileCredentials = synopsysCoverityCredentialsHelper.getAuthenticationKeyFileCredentialsById(credentialId);
-        String contents = null;
-
-        if (authenticationKeyFileCredentials.isPresent()) {
-            try (InputStream inputStream = authenticationKeyFileCredentials.get().getContent()) {
-                contents = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
-            } catch (IOException e) {
-                throw new CoverityJenkinsAbortException("Authentication Key File could not be read from the Synopsys Coverity for Jenkins global configuration.");
-            }
+        try {
+            return synopsysCoverityCredentialsHelper.getAuthenticationKeyFileContentsById(credentialId);
+        } catch (IOException e) {
+            throw new CoverityJenkinsAbortException("Authentication Key File could not be read from the Synopsys Coverity for Jenkins global configuration.");
+        }
+    }
+
+    public List<String> getSecretsToMask(IntLogger logger, String credentialId) {
+        List<String> secrets = new ArrayList<>();
+        Optional<String> username = getUsername(logger, credentialId);
+        Optional<String> passphrase = getPassphrase(credentialId);
+        // The username is not masked by itself: it is not a secret, and a short one would mask every word of the log that it happens to match
+        passphrase.ifPresent(secrets::add);
+        if (username.isPresent() && passphrase.isPresent()) {
+            // The same credentials as they appear in an HTTP basic authentication header
+            secrets.add(Base64.getEncoder().encodeToString((username.get() + ":" + passphrase.get()).getBytes(StandardCharsets.UTF_8)));
+        }
+
+        try {
+            getAuthenticationKeyFileContents(logger, credentialId).ifPresent(authenticationKeyFileContents -> {
+                secrets.add(authenticationKeyFileContents.trim());
+                Matcher keyMatcher = AUTHENTICATION_KEY_PATTERN.matcher(authenticationKeyFileContents);
+                if (keyMatcher.find()) {
+                    secrets.add(keyMatcher.group(1));
+                }
+            });
+        } catch (CoverityJenkinsAbortException e) {
+            logger.debug(e.getMessage());
         }
 
-        return Optional.ofNullable(contents);
+        secrets.removeIf(StringUtils::isBlank);
+        return secrets;
     }
 
     public boolean isEmpty() {
@@ -163,6 +241,27 @@ public class CoverityConnectInstance extends AbstractDescribableImpl<CoverityCon
             return FormValidation.ok();
         }
 
+        public FormValidation doCheckAdditionalUrls(@QueryParameter("additionalUrls") String additionalUrls) {
+            JenkinsWrapper.initializeFromJenkinsJVM().getJenkins().ifPresent(jenkins -> jenkins.checkPermission(Jenkins.ADMINISTER));
+            CoverityConnectInstance coverityConnectInstance = new CoverityConnectInstance(null, null);
+            coverityConnectInstance.setAdditionalUrls(additionalUrls);
+            for (String additionalUrl : coverityConnectInstance.getEndpointUrls()) {
+                try {
+                    new URL(additionalUrl);
+                } catch (MalformedURLException e) {
+                    return FormValidation.error(e, String.format("The additional URL %s is not a valid URL. Error: %s", additionalUrl, e.getMessage()));
+                }
+            }
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckMaxConcurrentCommits(@QueryParameter("maxConcurrentCommits") String maxConcurrentCommits) {
+            if (StringUtils.isBlank(maxConcurrentCommits)) {
+                return FormValidation.ok();
+            }
+            return FormValidation.validatePositiveInteger(maxConcurrentCommits);
+        }
+
         @POST
         public ListBoxModel doFillDefaultCredentialsIdItems(@AncestorInPath Item item) {
             credentialsHelper.checkPermissionToAccessCredentials(item);
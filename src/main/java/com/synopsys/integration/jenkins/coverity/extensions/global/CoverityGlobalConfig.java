@@ -7,21 +7,71 @@
  */
 package com.synopsys.integration.jenkins.coverity.extensions.global;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang3.StringUtils;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
 
+import com.synopsys.integration.jenkins.annotations.HelpMarkdown;
+
 import hudson.Extension;
 import jenkins.model.GlobalConfiguration;
 
 @Extension
 public class CoverityGlobalConfig extends GlobalConfiguration {
+    public static final int DEFAULT_WARM_AGENT_WAIT_IN_SECONDS = 60;
+    public static final int DEFAULT_CACHE_PREWARM_INTERVAL_IN_MINUTES = 4;
+    // Looking the configuration up through GlobalConfiguration.all() scans every global configuration, so keep a reference to the one Jenkins created
+    private static volatile CoverityGlobalConfig current;
+
     private List<CoverityConnectInstance> coverityConnectInstances;
 
+    @Nullable
+    @HelpMarkdown("The Coverity static analysis installation on the Jenkins controller that runs cov-commit-defects for build steps that commit through the controller.  \r\n"
+                      + "Leave empty to disallow committing through the controller. Anyone who can configure such a build step can run cov-commit-defects on the controller.")
+    private String commitRelayToolHome;
+
+    @Nullable
+    @HelpMarkdown("How long a Coverity build step waits in the queue for an agent that already holds the intermediate directory of its previous successful run, in seconds. Defaults to 60.  \r\n"
+                      + "Reusing the intermediate directory keeps incremental analyses fast. The build runs on any other agent once the time is up, or right away if none of those agents is online. Set to 0 to schedule Coverity builds like any other build.")
+    private Integer warmAgentWaitInSeconds;
+
+    @Nullable
+    @HelpMarkdown("How often the projects, streams and views of each Coverity Connect instance are fetched in the background with its default credentials, in minutes. Defaults to 4.  \r\n"
+                      + "Keeps the lists in job configuration forms filled without waiting on Coverity Connect. Only the lists that a form has asked for since Jenkins started are refreshed, including those limited to the project name patterns of a folder. Set to 0 to only fetch them when a form asks for them.")
+    private Integer cachePrewarmIntervalInMinutes;
+    private transient volatile Map<String, CoverityConnectInstance> coverityConnectInstancesByUrl;
+
     @DataBoundConstructor
     public CoverityGlobalConfig() {
         load();
+        current = this;
+    }
+
+    public static CoverityGlobalConfig get() {
+        CoverityGlobalConfig coverityGlobalConfig = current;
+        if (coverityGlobalConfig == null) {
+            coverityGlobalConfig = GlobalConfiguration.all().get(CoverityGlobalConfig.class);
+        }
+        return coverityGlobalConfig;
+    }
+
+    public static String normalizeUrl(String url) {
+        return StringUtils.stripEnd(StringUtils.trimToEmpty(url), "/").toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public synchronized void load() {
+        super.load();
+        coverityConnectInstancesByUrl = indexByNormalizedUrl(coverityConnectInstances);
     }
 
     public List<CoverityConnectInstance> getCoverityConnectInstances() {
@@ -31,7 +81,74 @@ public class CoverityGlobalConfig extends GlobalConfiguration {
     @DataBoundSetter
     public void setCoverityConnectInstances(final List<CoverityConnectInstance> coverityConnectInstances) {
         this.coverityConnectInstances = coverityConnectInstances;
+        this.coverityConnectInstancesByUrl = indexByNormalizedUrl(coverityConnectInstances);
+        save();
+    }
+
+    public String getCommitRelayToolHome() {
+        return commitRelayToolHome;
+    }
+
+    @DataBoundSetter
+    public void setCommitRelayToolHome(String commitRelayToolHome) {
+        this.commitRelayToolHome = commitRelayToolHome;
         save();
     }
 
+    public Integer getWarmAgentWaitInSeconds() {
+        return warmAgentWaitInSeconds;
+    }
+
+    @DataBoundSetter
+    public void setWarmAgentWaitInSeconds(Integer warmAgentWaitInSeconds) {
+        this.warmAgentWaitInSeconds = warmAgentWaitInSeconds;
+        save();
+    }
+
+    public int getWarmAgentWaitInSecondsOrDefault() {
+        return warmAgentWaitInSeconds == null ? DEFAULT_WARM_AGENT_WAIT_IN_SECONDS : Math.max(0, warmAgentWaitInSeconds);
+    }
+
+    public Integer getCachePrewarmIntervalInMinutes() {
+        return cachePrewarmIntervalInMinutes;
+    }
+
+    @DataBoundSetter
+    public void setCachePrewarmIntervalInMinutes(Integer cachePrewarmIntervalInMinutes) {
+        this.cachePrewarmIntervalInMinutes = cachePrewarmIntervalInMinutes;
+        save();
+    }
+
+    public int getCachePrewarmIntervalInMinutesOrDefault() {
+        return cachePrewarmIntervalInMinutes == null ? DEFAULT_CACHE_PREWARM_INTERVAL_IN_MINUTES : Math.max(0, cachePrewarmIntervalInMinutes);
+    }
+
+    public Optional<CoverityConnectInstance> getCoverityConnectInstanceWithUrl(String url) {
+        Map<String, CoverityConnectInstance> instancesByUrl = coverityConnectInstancesByUrl;
+        if (instancesByUrl == null) {
+            instancesByUrl = indexByNormalizedUrl(coverityConnectInstances);
+            coverityConnectInstancesByUrl = instancesByUrl;
+        }
+        return Optional.ofNullable(instancesByUrl.get(normalizeUrl(url)));
+    }
+
+    private static Map<String, CoverityConnectInstance> indexByNormalizedUrl(List<CoverityConnectInstance> coverityConnectInstances) {
+        if (coverityConnectInstances == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, CoverityConnectInstance> instancesByUrl = new HashMap<>();
+        for (CoverityConnectInstance coverityConnectInstance : coverityConnectInstances) {
+            // The first instance with a given url wins, just like the linear scan this index replaces
+            instancesByUrl.putIfAbsent(normalizeUrl(coverityConnectInstance.getUrl()), coverityConnectInstance);
+        }
+        // $COV_URL may hold any endpoint of an instance, so additional urls resolve too, without shadowing a primary url
+        for (CoverityConnectInstance coverityConnectInstance : coverityConnectInstances) {
+            for (String endpointUrl : coverityConnectInstance.getEndpointUrls()) {
+                instancesByUrl.putIfAbsent(normalizeUrl(endpointUrl), coverityConnectInstance);
+            }
+        }
+        return Collections.unmodifiableMap(instancesByUrl);
+    }
+
 }
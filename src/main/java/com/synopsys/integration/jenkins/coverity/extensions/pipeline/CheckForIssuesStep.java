@@ -8,6 +8,7 @@
 package com.synopsys.integration.jenkins.coverity.extensions.pipeline;
 
 import com.synopsys.integration.jenkins.annotations.HelpMarkdown;
+import com.synopsys.integration.jenkins.coverity.CoverityConnectCalls;
 import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
 import com.synopsys.integration.jenkins.coverity.JenkinsCoverityEnvironmentVariable;
 import com.synopsys.integration.jenkins.coverity.SynopsysCoverityCredentialsHelper;
@@ -15,6 +16,7 @@ import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityConne
 import com.synopsys.integration.jenkins.coverity.extensions.utils.CoverityConnectionFieldHelper;
 import com.synopsys.integration.jenkins.coverity.extensions.utils.IssueViewFieldHelper;
 import com.synopsys.integration.jenkins.coverity.extensions.utils.ProjectStreamFieldHelper;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.BackgroundCommits;
 import com.synopsys.integration.jenkins.coverity.stepworkflow.CoverityWorkflowStepFactory;
 import com.synopsys.integration.jenkins.wrapper.JenkinsVersionHelper;
 import com.synopsys.integration.jenkins.wrapper.JenkinsWrapper;
@@ -25,8 +27,11 @@ import hudson.model.Item;
 import hudson.model.Node;
 import hudson.model.Run;
 import hudson.model.TaskListener;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
+import jenkins.model.Jenkins;
 import org.apache.commons.lang3.StringUtils;
 import org.jenkinsci.Symbol;
 import org.jenkinsci.plugins.workflow.graph.FlowNode;
@@ -37,6 +42,7 @@ import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.verb.POST;
 import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -46,6 +52,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.function.UnaryOperator;
 
 public class CheckForIssuesStep extends Step implements Serializable {
@@ -236,9 +243,9 @@ public class CheckForIssuesStep extends Step implements Serializable {
         ) throws InterruptedException {
             credentialsHelper.checkPermissionToAccessCredentials(item);
             if (updateNow) {
-                projectStreamFieldHelper.updateNow(coverityInstanceUrl, StringUtils.isNotBlank(credentialsId), credentialsId);
+                projectStreamFieldHelper.updateNow(item, coverityInstanceUrl, StringUtils.isNotBlank(credentialsId), credentialsId);
             }
-            return projectStreamFieldHelper.getProjectNamesForListBox(coverityInstanceUrl, StringUtils.isNotBlank(credentialsId), credentialsId);
+            return projectStreamFieldHelper.getProjectNamesForListBox(item, coverityInstanceUrl, StringUtils.isNotBlank(credentialsId), credentialsId);
         }
 
         @POST
@@ -277,7 +284,10 @@ public class CheckForIssuesStep extends Step implements Serializable {
 
     }
 
-    public class Execution extends SynchronousNonBlockingStepExecution<Integer> {
+    // The issue check spends nearly all of its time waiting on Coverity Connect, so rather than holding a thread of its own like a
+    // SynchronousNonBlockingStepExecution, it runs as a Coverity Connect task and completes the context from there. Only its calls to
+    // Coverity Connect take a call permit, so waiting on background commits does not hold one
+    public class Execution extends StepExecution {
         private static final long serialVersionUID = -5807577350749324767L;
         private final transient TaskListener listener;
         private final transient EnvVars envVars;
@@ -285,6 +295,7 @@ public class CheckForIssuesStep extends Step implements Serializable {
         private final transient Launcher launcher;
         private final transient Run<?, ?> run;
         private final transient FlowNode flowNode;
+        private transient volatile Future<?> task;
 
         protected Execution(@Nonnull StepContext context) throws InterruptedException, IOException {
             super(context);
@@ -297,7 +308,40 @@ public class CheckForIssuesStep extends Step implements Serializable {
         }
 
         @Override
-        protected Integer run() throws Exception {
+        public boolean start() throws Exception {
+            Authentication authentication = Jenkins.getAuthentication2();
+            task = CoverityConnectCalls.submitTask(() -> {
+                try (ACLContext ignored = ACL.as2(authentication)) {
+                    return checkForIssues();
+                }
+            }, getContext()::onSuccess, getContext()::onFailure);
+            return false;
+        }
+
+        @Override
+        public void stop(@Nonnull Throwable cause) throws Exception {
+            Future<?> currentTask = task;
+            if (currentTask != null) {
+                currentTask.cancel(true);
+            }
+            getContext().onFailure(cause);
+        }
+
+        @Override
+        public void onResume() {
+            getContext().onFailure(new AbortException("Resume after a restart is not supported for " + PIPELINE_NAME));
+        }
+
+        @Override
+        public String getStatus() {
+            Future<?> currentTask = task;
+            if (currentTask == null || currentTask.isDone()) {
+                return super.getStatus();
+            }
+            return "waiting on Coverity Connect, " + CoverityConnectCalls.getQueueLength() + " call(s) queued for a slot";
+        }
+
+        private Integer checkForIssues() throws Exception {
             CoverityWorkflowStepFactory coverityWorkflowStepFactory = new CoverityWorkflowStepFactory(envVars, node, launcher, listener);
             CoverityJenkinsIntLogger logger = coverityWorkflowStepFactory.getOrCreateLogger();
             IntEnvironmentVariables intEnvironmentVariables = coverityWorkflowStepFactory.getOrCreateEnvironmentVariables();
@@ -321,6 +365,12 @@ public class CheckForIssuesStep extends Step implements Serializable {
                 resolvedCredentialsId = coverityConnectInstance.getDefaultCredentialsId();
             }
 
+            // Background commits are registered under the instance's primary url, while $COV_URL may hold any of its endpoints
+            String primaryCoverityInstanceUrl = coverityWorkflowStepFactory.getCoverityConnectInstanceFromUrl(resolvedCoverityInstanceUrl).getUrl();
+            if (!BackgroundCommits.awaitPendingCommits(primaryCoverityInstanceUrl, resolvedProjectName, logger)) {
+                logger.warn("One or more background commits failed, so the view may not reflect the latest analysis results.");
+            }
+
             CheckForIssuesStepWorkflow checkForIssuesStepWorkflow = new CheckForIssuesStepWorkflow(logger,
                 jenkinsVersionHelper,
                 () -> coverityWorkflowStepFactory.getWebServiceFactoryFromUrl(resolvedCoverityInstanceUrl, resolvedCredentialsId),
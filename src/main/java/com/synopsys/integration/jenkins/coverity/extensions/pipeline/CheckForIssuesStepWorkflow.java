@@ -11,13 +11,14 @@ import org.jenkinsci.plugins.workflow.actions.WarningAction;
 import org.jenkinsci.plugins.workflow.graph.FlowNode;
 
 import com.synopsys.integration.coverity.ws.WebServiceFactory;
-import com.synopsys.integration.coverity.ws.view.ViewReportWrapper;
 import com.synopsys.integration.function.ThrowingSupplier;
-import com.synopsys.integration.jenkins.coverity.actions.IssueReportAction;
 import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsAbortException;
 import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
+import com.synopsys.integration.jenkins.coverity.metrics.CoverityMetrics;
 import com.synopsys.integration.jenkins.coverity.stepworkflow.CoverityJenkinsStepWorkflow;
 import com.synopsys.integration.jenkins.coverity.stepworkflow.CoverityWorkflowStepFactory;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.IssueSnapshots;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.IssuesInView;
 import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
 import com.synopsys.integration.jenkins.wrapper.JenkinsVersionHelper;
 import com.synopsys.integration.stepworkflow.StepWorkflow;
@@ -55,8 +56,8 @@ public class CheckForIssuesStepWorkflow extends CoverityJenkinsStepWorkflow<Inte
 
     @Override
     protected StepWorkflow<Integer> buildWorkflow() throws AbortException {
-        return StepWorkflow.first(coverityWorkflowStepFactory.createStepGetIssuesInView(coverityInstanceUrl, credentialsId, projectName, viewName))
-                   .then(SubStep.ofFunction(this::getDefectCount))
+        return StepWorkflow.first(timed("Get issues in view", coverityWorkflowStepFactory.createStepGetIssuesInView(coverityInstanceUrl, credentialsId, projectName, viewName)))
+                   .then(timed("Get defect count", SubStep.ofFunction(this::getDefectCount)))
                    .build();
     }
 
@@ -65,11 +66,12 @@ public class CheckForIssuesStepWorkflow extends CoverityJenkinsStepWorkflow<Inte
         return runWorkflow().getDataOrThrowException();
     }
 
-    private Integer getDefectCount(ViewReportWrapper viewReportWrapper) throws CoverityJenkinsException {
-        String viewReportUrl = viewReportWrapper.getViewReportUrl();
-        int defectCount = viewReportWrapper.getViewContents().getTotalRows().intValue();
+    private Integer getDefectCount(IssuesInView issuesInView) throws CoverityJenkinsException {
+        String viewReportUrl = issuesInView.getViewReportUrl();
+        int defectCount = issuesInView.getDefectCount();
         String defectMessage = String.format("[Coverity] Found %s issues: %s", defectCount, viewReportUrl);
-        run.addAction(new IssueReportAction(defectCount, viewReportUrl));
+        run.addAction(IssueSnapshots.compareWithPreviousBuild(logger, run, projectName, viewName, issuesInView));
+        CoverityMetrics.recordIssueCount(defectCount);
 
         if (defectCount > 0) {
             if (Boolean.TRUE.equals(markUnstable)) {
@@ -90,4 +92,9 @@ public class CheckForIssuesStepWorkflow extends CoverityJenkinsStepWorkflow<Inte
     protected void cleanUp() throws CoverityJenkinsAbortException {
         // Nothing to clean up
     }
+
+    @Override
+    protected Run<?, ?> getRun() {
+        return run;
+    }
 }
@@ -0,0 +1,324 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.extensions.pipeline;
+
+import com.synopsys.integration.jenkins.annotations.HelpMarkdown;
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+import com.synopsys.integration.jenkins.coverity.JenkinsCoverityEnvironmentVariable;
+import com.synopsys.integration.jenkins.coverity.actions.CoverityPerformanceAction;
+import com.synopsys.integration.jenkins.coverity.extensions.ConsoleOutputMode;
+import com.synopsys.integration.jenkins.coverity.extensions.OnCommandFailure;
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.AdvancedCoverityRunConfiguration;
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.CoverityRunConfiguration;
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.RepeatableCommand;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.CoverityToolResult;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.CoverityWorkflowStepFactory;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.RunCoverityCommands;
+import com.synopsys.integration.jenkins.extensions.JenkinsSelectBoxEnum;
+import com.synopsys.integration.stepworkflow.SubStepResponse;
+import com.synopsys.integration.util.IntEnvironmentVariables;
+import hudson.AbortException;
+import hudson.EnvVars;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.Node;
+import hudson.model.Result;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.ListBoxModel;
+import net.sf.json.JSONObject;
+import org.apache.commons.lang3.StringUtils;
+import org.jenkinsci.Symbol;
+import org.jenkinsci.plugins.workflow.actions.WarningAction;
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.StaplerRequest;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class CoverityRunStep extends Step implements Serializable {
+    public static final String DISPLAY_NAME = "Run Coverity commands";
+    public static final String PIPELINE_NAME = "coverityRun";
+    private static final long serialVersionUID = -2418153785094412862L;
+
+    // Keys of the per-command results returned to the pipeline
+    public static final String RESULT_COMMAND = "command";
+    public static final String RESULT_EXIT_CODE = "exitCode";
+    public static final String RESULT_DURATION_IN_MILLIS = "durationInMillis";
+    public static final String RESULT_LOG_START_OFFSET = "logStartOffset";
+    public static final String RESULT_LOG_END_OFFSET = "logEndOffset";
+
+    // Any field set by a DataBoundSetter should be explicitly declared as nullable to avoid NPEs
+    @Nullable
+    @HelpMarkdown("The Coverity commands to run, for example: ['cov-build --dir ${COV_DIR} make', 'cov-analyze --dir ${COV_DIR}'].  \r\n"
+                      + "In the configuration form, enter one command per line.  \r\n"
+                      + "Takes precedence over the Coverity run configuration.")
+    private List<String> commands;
+
+    @Nullable
+    private CoverityRunConfiguration coverityRunConfiguration;
+
+    @Nullable
+    @HelpMarkdown("Specify the action to take if a Coverity static analysis command fails.")
+    private OnCommandFailure onCommandFailure;
+
+    @Nullable
+    @HelpMarkdown("Specify how much of the output of the Coverity commands is shown in the build log.  \r\n"
+                      + "When output is condensed, the full output of each command is written compressed to the coverity-logs directory of the workspace.")
+    private ConsoleOutputMode consoleOutputMode;
+
+    @Nullable
+    @HelpMarkdown("If checked, a failing command will mark the stage Unstable and the step will return the results instead of throwing an exception.")
+    private Boolean markUnstable;
+
+    @DataBoundConstructor
+    public CoverityRunStep() {
+        // All fields are optional, so this constructor exists only to prevent some versions of the pipeline syntax generator from failing
+    }
+
+    public List<String> getCommands() {
+        return commands;
+    }
+
+    @DataBoundSetter
+    public void setCommands(List<String> commands) {
+        this.commands = commands;
+    }
+
+    // The configuration form edits the commands as text, one per line
+    public String getCommandsAsText() {
+        return commands == null ? StringUtils.EMPTY : String.join("\n", commands);
+    }
+
+    static List<String> parseCommands(String commandsAsText) {
+        return Arrays.stream(StringUtils.defaultString(commandsAsText).split("\\r?\\n"))
+                   .map(String::trim)
+                   .filter(StringUtils::isNotBlank)
+                   .collect(Collectors.toList());
+    }
+
+    CoverityRunConfiguration resolveCoverityRunConfiguration() throws AbortException {
+        if (commands != null && !commands.isEmpty()) {
+            RepeatableCommand[] repeatableCommands = commands.stream()
+                                                         .map(RepeatableCommand::new)
+                                                         .toArray(RepeatableCommand[]::new);
+            return new AdvancedCoverityRunConfiguration(repeatableCommands);
+        }
+        if (coverityRunConfiguration != null) {
+            return coverityRunConfiguration;
+        }
+        throw new AbortException(PIPELINE_NAME + " failed because neither commands nor coverityRunConfiguration was set.");
+    }
+
+    static Map<String, Object> createResult(List<String> arguments, Integer exitCode, long durationInMillis, long logStartOffset, long logEndOffset) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put(RESULT_COMMAND, String.join(" ", arguments));
+        result.put(RESULT_EXIT_CODE, exitCode);
+        result.put(RESULT_DURATION_IN_MILLIS, durationInMillis);
+        result.put(RESULT_LOG_START_OFFSET, logStartOffset);
+        result.put(RESULT_LOG_END_OFFSET, logEndOffset);
+        return result;
+    }
+
+    public CoverityRunConfiguration getCoverityRunConfiguration() {
+        return coverityRunConfiguration;
+    }
+
+    @DataBoundSetter
+    public void setCoverityRunConfiguration(CoverityRunConfiguration coverityRunConfiguration) {
+        this.coverityRunConfiguration = coverityRunConfiguration;
+    }
+
+    public OnCommandFailure getOnCommandFailure() {
+        return onCommandFailure;
+    }
+
+    @DataBoundSetter
+    public void setOnCommandFailure(OnCommandFailure onCommandFailure) {
+        this.onCommandFailure = onCommandFailure;
+    }
+
+    public ConsoleOutputMode getConsoleOutputMode() {
+        return consoleOutputMode;
+    }
+
+    @DataBoundSetter
+    public void setConsoleOutputMode(ConsoleOutputMode consoleOutputMode) {
+        this.consoleOutputMode = consoleOutputMode;
+    }
+
+    public Boolean getMarkUnstable() {
+        if (Boolean.FALSE.equals(markUnstable)) {
+            return null;
+        }
+        return markUnstable;
+    }
+
+    @DataBoundSetter
+    public void setMarkUnstable(Boolean markUnstable) {
+        this.markUnstable = markUnstable;
+    }
+
+    @Override
+    public StepExecution start(StepContext context) throws Exception {
+        return new Execution(context);
+    }
+
+    @Symbol(PIPELINE_NAME)
+    @Extension(optional = true)
+    public static final class DescriptorImpl extends StepDescriptor {
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return new HashSet<>(Arrays.asList(TaskListener.class, EnvVars.class, FilePath.class, Launcher.class));
+        }
+
+        @Override
+        public String getFunctionName() {
+            return PIPELINE_NAME;
+        }
+
+        @Nonnull
+        @Override
+        public String getDisplayName() {
+            return DISPLAY_NAME;
+        }
+
+        @Override
+        public Step newInstance(@Nullable StaplerRequest req, @Nonnull JSONObject formData) throws FormException {
+            // The form has a single text area for the commands, but the pipeline takes a list of them
+            Object commandsAsText = formData.remove("commands");
+            if (commandsAsText instanceof String) {
+                List<String> parsedCommands = parseCommands((String) commandsAsText);
+                if (!parsedCommands.isEmpty()) {
+                    formData.put("commands", parsedCommands);
+                }
+            }
+            return super.newInstance(req, formData);
+        }
+
+        public ListBoxModel doFillOnCommandFailureItems() {
+            return JenkinsSelectBoxEnum.toListBoxModel(OnCommandFailure.values());
+        }
+
+        public ListBoxModel doFillConsoleOutputModeItems() {
+            return JenkinsSelectBoxEnum.toListBoxModel(ConsoleOutputMode.values());
+        }
+
+    }
+
+    public class Execution extends SynchronousNonBlockingStepExecution<List<Map<String, Object>>> {
+        private static final long serialVersionUID = 4296410233582297453L;
+        private final transient TaskListener listener;
+        private final transient EnvVars envVars;
+        private final transient Node node;
+        private final transient Launcher launcher;
+        private final transient FilePath workspace;
+        private final transient Run<?, ?> run;
+        private final transient FlowNode flowNode;
+
+        protected Execution(@Nonnull StepContext context) throws InterruptedException, IOException {
+            super(context);
+            listener = context.get(TaskListener.class);
+            envVars = context.get(EnvVars.class);
+            node = context.get(Node.class);
+            launcher = context.get(Launcher.class);
+            workspace = context.get(FilePath.class);
+            run = context.get(Run.class);
+            flowNode = context.get(FlowNode.class);
+        }
+
+        @Override
+        protected List<Map<String, Object>> run() throws Exception {
+            CoverityWorkflowStepFactory coverityWorkflowStepFactory = new CoverityWorkflowStepFactory(envVars, node, launcher, listener);
+            CoverityJenkinsIntLogger logger = coverityWorkflowStepFactory.getOrCreateLogger();
+            IntEnvironmentVariables intEnvironmentVariables = coverityWorkflowStepFactory.getOrCreateEnvironmentVariables();
+            String coverityInstanceUrl = intEnvironmentVariables.getValue(JenkinsCoverityEnvironmentVariable.COVERITY_URL.toString());
+            if (StringUtils.isBlank(coverityInstanceUrl)) {
+                throw new AbortException(PIPELINE_NAME + " failed because $" + JenkinsCoverityEnvironmentVariable.COVERITY_URL + " was not set. Please run " + PIPELINE_NAME + " inside withCoverityEnvironment.");
+            }
+
+            SubStepResponse<List<List<String>>> getCommandsResponse = coverityWorkflowStepFactory.createStepGetCoverityCommands(resolveCoverityRunConfiguration()).run();
+            if (!getCommandsResponse.isSuccess()) {
+                throw new AbortException(getCommandsResponse.getException().getMessage());
+            }
+
+            // Commands run one at a time so that each one gets its own result, the failure policy is applied here instead
+            List<CoverityToolResult> coverityToolResults = new ArrayList<>();
+            RunCoverityCommands runCoverityCommands = coverityWorkflowStepFactory.createStepRunCoverityCommands(workspace.getRemote(), OnCommandFailure.EXECUTE_REMAINING_COMMANDS, coverityInstanceUrl,
+                intEnvironmentVariables.getValue(JenkinsCoverityEnvironmentVariable.CREDENTIALS_ID.toString()), coverityToolResults::add,
+                null, backgroundCommit -> {}, false, consoleOutputMode, false);
+            OnCommandFailure resolvedOnCommandFailure = onCommandFailure == null ? OnCommandFailure.SKIP_REMAINING_COMMANDS : onCommandFailure;
+
+            List<Map<String, Object>> results = new ArrayList<>();
+            List<String> failedCommands = new ArrayList<>();
+            try {
+                for (List<String> arguments : getCommandsResponse.getData()) {
+                    int previousResultCount = coverityToolResults.size();
+                    long logStartOffset = run.getLogText().length();
+                    long startTime = System.nanoTime();
+                    SubStepResponse<Object> runResponse = runCoverityCommands.run(Collections.singletonList(arguments));
+                    long durationInMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException("Interrupted while running " + arguments.get(0));
+                    }
+                    if (coverityToolResults.size() == previousResultCount) {
+                        // The command never produced an exit code, so there is nothing meaningful to report for it
+                        throw new AbortException(runResponse.getException().getMessage());
+                    }
+
+                    Integer exitCode = coverityToolResults.get(coverityToolResults.size() - 1).getExitCode();
+                    results.add(createResult(arguments, exitCode, durationInMillis, logStartOffset, run.getLogText().length()));
+
+                    if (exitCode == null || exitCode != 0) {
+                        failedCommands.add(arguments.get(0));
+                        if (OnCommandFailure.SKIP_REMAINING_COMMANDS.equals(resolvedOnCommandFailure)) {
+                            break;
+                        }
+                    }
+                }
+            } finally {
+                CoverityPerformanceAction.recordPerformance(run, Collections.emptyList(), coverityToolResults);
+            }
+
+            if (!failedCommands.isEmpty()) {
+                String failureMessage = "One or more Coverity commands failed: " + String.join(", ", failedCommands);
+                if (Boolean.TRUE.equals(markUnstable)) {
+                    logger.warn(failureMessage);
+                    flowNode.addOrReplaceAction(new WarningAction(Result.UNSTABLE).withMessage(failureMessage));
+                    run.setResult(Result.UNSTABLE);
+                } else {
+                    throw new AbortException(failureMessage);
+                }
+            }
+
+            return results;
+        }
+
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.extensions.pipeline;
+
+import com.synopsys.integration.jenkins.annotations.HelpMarkdown;
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+import com.synopsys.integration.jenkins.coverity.actions.CoverityPerformanceAction;
+import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.CoverityRemoteToolRunner;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.CoverityToolResult;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.CoverityWorkflowStepFactory;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.EmitTransfer;
+import hudson.AbortException;
+import hudson.EnvVars;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.Node;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import org.jenkinsci.Symbol;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class MergeCoverityEmitsStep extends Step implements Serializable {
+    public static final String DISPLAY_NAME = "Merge published Coverity emits";
+    public static final String PIPELINE_NAME = "coverityMergeEmits";
+    private static final long serialVersionUID = -6650414632617617542L;
+
+    // Any field set by a DataBoundSetter should be explicitly declared as nullable to avoid NPEs
+    @Nullable
+    @HelpMarkdown("The partitions published with coverityPublishEmit to merge into $COV_DIR. If not set, every emit published in this build is merged.")
+    private List<String> partitions;
+
+    @Nullable
+    @HelpMarkdown("If checked, the published emit archives are kept in the build directory after they have been merged.")
+    private Boolean keepArchives;
+
+    @DataBoundConstructor
+    public MergeCoverityEmitsStep() {
+        // All fields are optional, so this constructor exists only to prevent some versions of the pipeline syntax generator from failing
+    }
+
+    public List<String> getPartitions() {
+        return partitions;
+    }
+
+    @DataBoundSetter
+    public void setPartitions(List<String> partitions) {
+        this.partitions = partitions;
+    }
+
+    public Boolean getKeepArchives() {
+        if (Boolean.FALSE.equals(keepArchives)) {
+            return null;
+        }
+        return keepArchives;
+    }
+
+    @DataBoundSetter
+    public void setKeepArchives(Boolean keepArchives) {
+        this.keepArchives = keepArchives;
+    }
+
+    @Override
+    public StepExecution start(StepContext context) throws Exception {
+        return new Execution(context);
+    }
+
+    @Symbol(PIPELINE_NAME)
+    @Extension(optional = true)
+    public static final class DescriptorImpl extends StepDescriptor {
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return new HashSet<>(Arrays.asList(TaskListener.class, EnvVars.class, FilePath.class, Launcher.class, Run.class));
+        }
+
+        @Override
+        public String getFunctionName() {
+            return PIPELINE_NAME;
+        }
+
+        @Nonnull
+        @Override
+        public String getDisplayName() {
+            return DISPLAY_NAME;
+        }
+
+    }
+
+    public class Execution extends SynchronousNonBlockingStepExecution<List<String>> {
+        private static final long serialVersionUID = 2587406981240335126L;
+        private final transient TaskListener listener;
+        private final transient EnvVars envVars;
+        private final transient Node node;
+        private final transient Launcher launcher;
+        private final transient FilePath workspace;
+        private final transient Run<?, ?> run;
+
+        protected Execution(@Nonnull StepContext context) throws InterruptedException, IOException {
+            super(context);
+            listener = context.get(TaskListener.class);
+            envVars = context.get(EnvVars.class);
+            node = context.get(Node.class);
+            launcher = context.get(Launcher.class);
+            workspace = context.get(FilePath.class);
+            run = context.get(Run.class);
+        }
+
+        @Override
+        protected List<String> run() throws Exception {
+            CoverityWorkflowStepFactory coverityWorkflowStepFactory = new CoverityWorkflowStepFactory(envVars, node, launcher, listener);
+            CoverityJenkinsIntLogger logger = coverityWorkflowStepFactory.getOrCreateLogger();
+            String coverityToolHome = coverityWorkflowStepFactory.getCoverityToolHomeFromEnvironment();
+            FilePath intermediateDirectory = PublishCoverityEmitStep.getIntermediateDirectory(coverityWorkflowStepFactory, workspace);
+            EmitTransfer emitTransfer = new EmitTransfer(logger, PublishCoverityEmitStep.getArchiveDirectory(run));
+
+            List<String> partitionsToMerge = partitions == null || partitions.isEmpty() ? emitTransfer.getPublishedPartitions() : partitions;
+            if (partitionsToMerge.isEmpty()) {
+                throw new AbortException(PIPELINE_NAME + " failed because no emits were published in this build. Please run " + PublishCoverityEmitStep.PIPELINE_NAME + " after each capture.");
+            }
+
+            HashMap<String, String> environmentVariables = (HashMap<String, String>) coverityWorkflowStepFactory.getOrCreateEnvironmentVariables().getVariables();
+            CoverityRemoteToolRunner mergeToolRunner;
+            try {
+                emitTransfer.merge(partitionsToMerge, intermediateDirectory);
+                mergeToolRunner = emitTransfer.createMergeToolRunner(coverityToolHome, intermediateDirectory, environmentVariables);
+            } catch (CoverityJenkinsException e) {
+                throw new AbortException(PIPELINE_NAME + " failed: " + e.getMessage());
+            }
+
+            CoverityToolResult coverityToolResult = coverityWorkflowStepFactory.getOrCreateVirtualChannel().call(mergeToolRunner);
+            CoverityPerformanceAction.recordPerformance(run, Collections.emptyList(), Collections.singletonList(coverityToolResult));
+            if (coverityToolResult.getExitCode() == null || coverityToolResult.getExitCode() != 0) {
+                throw new AbortException(PIPELINE_NAME + " failed because cov-manage-emit exited with " + coverityToolResult.getExitCode());
+            }
+
+            if (!Boolean.TRUE.equals(keepArchives)) {
+                for (String partition : partitionsToMerge) {
+                    emitTransfer.delete(partition);
+                }
+            }
+
+            logger.alwaysLog(String.format("Merged %d emit(s) into %s: %s", partitionsToMerge.size(), intermediateDirectory.getRemote(), String.join(", ", partitionsToMerge)));
+            return partitionsToMerge;
+        }
+
+    }
+}
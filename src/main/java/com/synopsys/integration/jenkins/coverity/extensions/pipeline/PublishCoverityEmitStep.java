@@ -0,0 +1,139 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.extensions.pipeline;
+
+import com.synopsys.integration.jenkins.annotations.HelpMarkdown;
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+import com.synopsys.integration.jenkins.coverity.JenkinsCoverityEnvironmentVariable;
+import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.CoverityWorkflowStepFactory;
+import com.synopsys.integration.jenkins.coverity.stepworkflow.EmitTransfer;
+import hudson.AbortException;
+import hudson.EnvVars;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.Node;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.FormValidation;
+import org.apache.commons.lang3.StringUtils;
+import org.jenkinsci.Symbol;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public class PublishCoverityEmitStep extends Step implements Serializable {
+    public static final String DISPLAY_NAME = "Publish the Coverity emit of this agent";
+    public static final String PIPELINE_NAME = "coverityPublishEmit";
+    private static final long serialVersionUID = 5170829734213580145L;
+
+    @HelpMarkdown("A name for the part of the build captured on this agent, for example the name of the parallel branch. Must be unique within the build.  \r\n"
+                      + "The emit in $COV_DIR is compressed and streamed to the Jenkins controller under this name, where coverityMergeEmits can merge it into a single intermediate directory for analysis.")
+    private final String partition;
+
+    @DataBoundConstructor
+    public PublishCoverityEmitStep(String partition) {
+        this.partition = partition;
+    }
+
+    public String getPartition() {
+        return partition;
+    }
+
+    @Override
+    public StepExecution start(StepContext context) throws Exception {
+        return new Execution(context);
+    }
+
+    static FilePath getIntermediateDirectory(CoverityWorkflowStepFactory coverityWorkflowStepFactory, FilePath workspace) throws AbortException {
+        String intermediateDirectoryPath = coverityWorkflowStepFactory.getOrCreateEnvironmentVariables().getValue(JenkinsCoverityEnvironmentVariable.COVERITY_INTERMEDIATE_DIRECTORY.toString());
+        if (StringUtils.isBlank(intermediateDirectoryPath)) {
+            return coverityWorkflowStepFactory.getIntermediateDirectory(workspace.getRemote());
+        }
+        return new FilePath(coverityWorkflowStepFactory.getOrCreateVirtualChannel(), intermediateDirectoryPath);
+    }
+
+    static File getArchiveDirectory(Run<?, ?> run) {
+        return new File(run.getRootDir(), EmitTransfer.ARCHIVE_DIRECTORY_NAME);
+    }
+
+    @Symbol(PIPELINE_NAME)
+    @Extension(optional = true)
+    public static final class DescriptorImpl extends StepDescriptor {
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return new HashSet<>(Arrays.asList(TaskListener.class, EnvVars.class, FilePath.class, Launcher.class, Run.class));
+        }
+
+        @Override
+        public String getFunctionName() {
+            return PIPELINE_NAME;
+        }
+
+        @Nonnull
+        @Override
+        public String getDisplayName() {
+            return DISPLAY_NAME;
+        }
+
+        public FormValidation doCheckPartition(@QueryParameter("partition") String partition) {
+            if (!EmitTransfer.isValidPartitionName(partition)) {
+                return FormValidation.error("The partition name may only contain letters, digits, '.', '_' and '-'");
+            }
+            return FormValidation.ok();
+        }
+
+    }
+
+    public class Execution extends SynchronousNonBlockingStepExecution<Long> {
+        private static final long serialVersionUID = -3394757040158371232L;
+        private final transient TaskListener listener;
+        private final transient EnvVars envVars;
+        private final transient Node node;
+        private final transient Launcher launcher;
+        private final transient FilePath workspace;
+        private final transient Run<?, ?> run;
+
+        protected Execution(@Nonnull StepContext context) throws InterruptedException, IOException {
+            super(context);
+            listener = context.get(TaskListener.class);
+            envVars = context.get(EnvVars.class);
+            node = context.get(Node.class);
+            launcher = context.get(Launcher.class);
+            workspace = context.get(FilePath.class);
+            run = context.get(Run.class);
+        }
+
+        @Override
+        protected Long run() throws Exception {
+            CoverityWorkflowStepFactory coverityWorkflowStepFactory = new CoverityWorkflowStepFactory(envVars, node, launcher, listener);
+            CoverityJenkinsIntLogger logger = coverityWorkflowStepFactory.getOrCreateLogger();
+            FilePath intermediateDirectory = getIntermediateDirectory(coverityWorkflowStepFactory, workspace);
+
+            try {
+                return new EmitTransfer(logger, getArchiveDirectory(run)).publish(partition, intermediateDirectory);
+            } catch (CoverityJenkinsException e) {
+                throw new AbortException(PIPELINE_NAME + " failed: " + e.getMessage());
+            }
+        }
+
+    }
+}
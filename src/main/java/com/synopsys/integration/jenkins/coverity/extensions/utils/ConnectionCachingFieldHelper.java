@@ -7,35 +7,39 @@
  */
 package com.synopsys.integration.jenkins.coverity.extensions.utils;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
+
 import com.synopsys.integration.coverity.exception.CoverityIntegrationException;
 import com.synopsys.integration.jenkins.coverity.GlobalValueHelper;
 import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityConnectInstance;
 import com.synopsys.integration.log.IntLogger;
 
+import hudson.model.Item;
+
 public abstract class ConnectionCachingFieldHelper<T extends CoverityConnectDataCache> extends FieldHelper {
-    private final ConcurrentHashMap<List<String>, T> cacheMap;
+    private final Class<T> cacheType;
     private final Supplier<T> cacheConstructor;
 
-    public ConnectionCachingFieldHelper(IntLogger logger, Supplier<T> cacheConstructor) {
+    public ConnectionCachingFieldHelper(IntLogger logger, Class<T> cacheType, Supplier<T> cacheConstructor) {
         super(logger);
-        cacheMap = new ConcurrentHashMap<>();
+        this.cacheType = cacheType;
         this.cacheConstructor = cacheConstructor;
     }
 
     public void updateNow(String coverityConnectUrl, Boolean overrideDefaultCredentials, String credentialsId) throws InterruptedException {
+        updateNow(null, coverityConnectUrl, overrideDefaultCredentials, credentialsId);
+    }
+
+    public void updateNow(@Nullable Item item, String coverityConnectUrl, Boolean overrideDefaultCredentials, String credentialsId) throws InterruptedException {
         try {
             CoverityConnectInstance coverityConnectInstance = GlobalValueHelper.getCoverityInstanceWithUrlOrDie(logger, coverityConnectUrl);
             if (Boolean.TRUE.equals(overrideDefaultCredentials)) {
-                T cache = getCache(coverityConnectUrl, credentialsId);
+                T cache = getCache(item, coverityConnectUrl, credentialsId);
                 cache.refresh(coverityConnectInstance, credentialsId);
             } else {
-                T cache = getCache(coverityConnectUrl, coverityConnectInstance.getDefaultCredentialsId());
+                T cache = getCache(item, coverityConnectUrl, coverityConnectInstance.getDefaultCredentialsId());
                 cache.refresh(coverityConnectInstance, coverityConnectInstance.getDefaultCredentialsId());
             }
         } catch (CoverityIntegrationException ignored) {
@@ -44,9 +48,11 @@ public abstract class ConnectionCachingFieldHelper<T extends CoverityConnectData
     }
 
     protected T getCache(String coverityConnectUrl, String credentialsId) {
-        List<String> urlAndCredentialsId = Collections.unmodifiableList(Arrays.asList(coverityConnectUrl, credentialsId));
-        cacheMap.putIfAbsent(urlAndCredentialsId, cacheConstructor.get());
-        return cacheMap.get(urlAndCredentialsId);
+        return getCache(null, coverityConnectUrl, credentialsId);
+    }
+
+    protected T getCache(@Nullable Item item, String coverityConnectUrl, String credentialsId) {
+        return CoverityConnectDataCaches.getOrCreate(cacheType, coverityConnectUrl, credentialsId, cacheConstructor);
     }
 
 }
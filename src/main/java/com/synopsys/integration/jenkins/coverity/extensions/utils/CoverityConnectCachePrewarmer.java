@@ -0,0 +1,140 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.extensions.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.jenkins.coverity.CoverityConnectCalls;
+import com.synopsys.integration.jenkins.coverity.GlobalValueHelper;
+import com.synopsys.integration.jenkins.coverity.SynopsysCoverityCredentialsHelper;
+import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityConnectInstance;
+import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityGlobalConfig;
+import com.synopsys.integration.jenkins.coverity.health.ConnectionFailures;
+import com.synopsys.integration.jenkins.wrapper.JenkinsWrapper;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.log.Slf4jIntLogger;
+
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+
+@Extension
+public class CoverityConnectCachePrewarmer extends AsyncPeriodicWork {
+    // Leaves most of the shared call slots to builds and form fills that are waiting on Coverity Connect
+    public static final int MAX_CONCURRENT_REFRESHES = 4;
+    // Refreshes start up to this fraction of the interval early, so instances configured together don't refresh together
+    public static final double JITTER_FRACTION = 0.2;
+    // Rejected default credentials stay rejected until someone fixes them, so there is no point in trying them every interval
+    public static final int REJECTED_CREDENTIALS_RETRY_IN_MINUTES = 60;
+    private final IntLogger logger = new Slf4jIntLogger(LoggerFactory.getLogger(CoverityConnectCachePrewarmer.class));
+    private final Semaphore refreshPermits = new Semaphore(MAX_CONCURRENT_REFRESHES);
+    private final Map<String, Long> nextRefreshByUrl = new ConcurrentHashMap<>();
+
+    public CoverityConnectCachePrewarmer() {
+        super("Coverity Connect cache prewarmer");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        // The configured interval can change at any time, so check every minute which instances are due
+        return TimeUnit.MINUTES.toMillis(1);
+    }
+
+    @Override
+    protected void execute(TaskListener listener) throws InterruptedException {
+        CoverityGlobalConfig coverityGlobalConfig = CoverityGlobalConfig.get();
+        evictRemoved(coverityGlobalConfig);
+        int intervalInMinutes = coverityGlobalConfig == null ? 0 : coverityGlobalConfig.getCachePrewarmIntervalInMinutesOrDefault();
+        if (intervalInMinutes <= 0) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long intervalInMillis = TimeUnit.MINUTES.toMillis(intervalInMinutes);
+        for (CoverityConnectInstance coverityConnectInstance : GlobalValueHelper.getGlobalCoverityConnectInstances()) {
+            String credentialsId = coverityConnectInstance.getDefaultCredentialsId();
+            String url = coverityConnectInstance.getUrl();
+            if (StringUtils.isBlank(credentialsId) || StringUtils.isBlank(url) || !claimRefreshIfDue(url, now, intervalInMillis, ThreadLocalRandom.current().nextDouble())) {
+                continue;
+            }
+
+            for (CoverityConnectDataCache<?> cache : CoverityConnectDataCaches.getExisting(url, credentialsId)) {
+                refresh(cache, coverityConnectInstance, credentialsId);
+            }
+        }
+    }
+
+    // The random draw, between 0 and 1, sets how far into the jitter the refresh after this one starts
+    boolean claimRefreshIfDue(String url, long now, long intervalInMillis, double random) {
+        String normalizedUrl = CoverityGlobalConfig.normalizeUrl(url);
+        if (nextRefreshByUrl.getOrDefault(normalizedUrl, 0L) > now) {
+            return false;
+        }
+
+        long jitterInMillis = (long) (random * JITTER_FRACTION * intervalInMillis);
+        nextRefreshByUrl.put(normalizedUrl, now + intervalInMillis - jitterInMillis);
+        return true;
+    }
+
+    // Outages are already kept off by the circuit breaker, anything else is most likely the default credentials being rejected
+    boolean backOffIfCredentialsRejected(String url, @Nullable Exception failure, long now) {
+        if (failure == null || ConnectionFailures.isOutage(failure)) {
+            return false;
+        }
+
+        nextRefreshByUrl.put(CoverityGlobalConfig.normalizeUrl(url), now + TimeUnit.MINUTES.toMillis(REJECTED_CREDENTIALS_RETRY_IN_MINUTES));
+        return true;
+    }
+
+    private void evictRemoved(@Nullable CoverityGlobalConfig coverityGlobalConfig) {
+        Predicate<String> isConfiguredUrl = url -> coverityGlobalConfig != null && coverityGlobalConfig.getCoverityConnectInstanceWithUrl(url).isPresent();
+        SynopsysCoverityCredentialsHelper credentialsHelper = SynopsysCoverityCredentialsHelper.silentHelper(JenkinsWrapper.initializeFromJenkinsJVM());
+        CoverityConnectDataCaches.evictRemoved(isConfiguredUrl, credentialsId -> !credentialsHelper.getIntegrationCredentialsById(credentialsId).isBlank());
+        nextRefreshByUrl.keySet().removeIf(isConfiguredUrl.negate());
+    }
+
+    private void refresh(CoverityConnectDataCache<?> cache, CoverityConnectInstance coverityConnectInstance, String credentialsId) throws InterruptedException {
+        // Each cache is filled by calls of its own, so they run side by side, but no more than the cap across instances
+        refreshPermits.acquire();
+        try {
+            CoverityConnectCalls.submit(() -> {
+                cache.refreshUnlessInProgress(coverityConnectInstance, credentialsId);
+                return null;
+            }, ignored -> {
+                refreshPermits.release();
+                skipIfCredentialsRejected(cache, coverityConnectInstance);
+            }, e -> {
+                refreshPermits.release();
+                logger.debug(String.format("Prewarming the Coverity Connect cache of %s failed: %s", coverityConnectInstance.getUrl(), e.getMessage()));
+            });
+        } catch (RuntimeException e) {
+            refreshPermits.release();
+            throw e;
+        }
+    }
+
+    private void skipIfCredentialsRejected(CoverityConnectDataCache<?> cache, CoverityConnectInstance coverityConnectInstance) {
+        Exception failure = cache.getLastRefreshFailure();
+        String url = coverityConnectInstance.getUrl();
+        if (backOffIfCredentialsRejected(url, failure, System.currentTimeMillis())) {
+            logger.warn(String.format("Prewarming the Coverity Connect cache of %s is skipped for %d minutes, as it failed for a reason other than an outage: %s", url, REJECTED_CREDENTIALS_RETRY_IN_MINUTES,
+                failure.getMessage()));
+        }
+    }
+
+}
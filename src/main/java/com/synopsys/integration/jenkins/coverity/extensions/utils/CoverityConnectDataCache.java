@@ -10,66 +10,133 @@ package com.synopsys.integration.jenkins.coverity.extensions.utils;
 import java.time.Instant;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nullable;
 
-import com.synopsys.integration.coverity.config.CoverityServerConfig;
 import com.synopsys.integration.coverity.ws.WebServiceFactory;
+import com.synopsys.integration.jenkins.coverity.CoverityConnectCalls;
 import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityConnectInstance;
+import com.synopsys.integration.jenkins.coverity.health.CoverityConnectEndpoints;
+import com.synopsys.integration.jenkins.coverity.health.CoverityConnectHealth;
+import com.synopsys.integration.jenkins.coverity.metrics.CoverityMetrics;
 import com.synopsys.integration.log.IntLogger;
 
 public abstract class CoverityConnectDataCache<T> {
     public static final int CACHE_TIME_IN_MINUTES = 5;
     protected final IntLogger logger;
     private final Semaphore semaphore;
-    private Instant lastTimeRetrieved;
-    private T cachedData;
+    private final AtomicBoolean backgroundRefreshPending;
+    private volatile Instant lastTimeRetrieved;
+    private volatile T cachedData;
+    @Nullable
+    private volatile Exception lastRefreshFailure;
 
     public CoverityConnectDataCache(IntLogger logger) {
         this.logger = logger;
         this.semaphore = new Semaphore(1);
+        this.backgroundRefreshPending = new AtomicBoolean(false);
         this.lastTimeRetrieved = Instant.MIN;
         this.cachedData = getEmptyData();
     }
 
     public T getData(CoverityConnectInstance coverityConnectInstance, String credentialsId) throws InterruptedException {
-        semaphore.acquire();
-        semaphore.release();
+        if (!hasData()) {
+            // Nothing to serve yet, so wait for any refresh that is already in flight rather than starting another
+            semaphore.acquire();
+            semaphore.release();
+        }
         refreshIfStale(coverityConnectInstance, credentialsId);
         return cachedData;
     }
 
     public void refreshIfStale(CoverityConnectInstance coverityConnectInstance, String credentialsId) throws InterruptedException {
         long cacheTimeInSeconds = TimeUnit.MINUTES.toSeconds(CACHE_TIME_IN_MINUTES);
-        if (Instant.now().minusSeconds(cacheTimeInSeconds).isAfter(lastTimeRetrieved)) {
+        boolean isStale = Instant.now().minusSeconds(cacheTimeInSeconds).isAfter(lastTimeRetrieved);
+        CoverityMetrics.recordCacheRequest(getCacheName(), !isStale);
+        if (isStale && hasData()) {
+            // Serve the stale data now and refresh behind it, so that form fills don't wait on Coverity Connect
+            refreshInBackground(coverityConnectInstance, credentialsId);
+        } else if (isStale) {
             refresh(coverityConnectInstance, credentialsId);
         }
     }
 
+    public void refreshInBackground(CoverityConnectInstance coverityConnectInstance, String credentialsId) {
+        if (backgroundRefreshPending.compareAndSet(false, true)) {
+            CoverityConnectCalls.submit(() -> {
+                refreshUnlessInProgress(coverityConnectInstance, credentialsId);
+                return null;
+            }, ignored -> backgroundRefreshPending.set(false), e -> backgroundRefreshPending.set(false));
+        }
+    }
+
+    public void refreshUnlessInProgress(CoverityConnectInstance coverityConnectInstance, String credentialsId) throws InterruptedException {
+        // A refresh that is already in flight will do, and waiting on it here would hold a call slot for nothing
+        if (isAnyEndpointAvailable(coverityConnectInstance) && semaphore.tryAcquire()) {
+            refreshWhileHoldingSemaphore(coverityConnectInstance, credentialsId);
+        }
+    }
+
     public void refresh(CoverityConnectInstance coverityConnectInstance, String credentialsId) throws InterruptedException {
-        semaphore.acquire();
+        if (isAnyEndpointAvailable(coverityConnectInstance)) {
+            semaphore.acquire();
+            refreshWhileHoldingSemaphore(coverityConnectInstance, credentialsId);
+        }
+    }
+
+    private boolean isAnyEndpointAvailable(CoverityConnectInstance coverityConnectInstance) {
+        if (!CoverityConnectEndpoints.isAnyEndpointAvailable(coverityConnectInstance)) {
+            // Don't make the form wait on an instance that is known to be down, the previously cached data is still served
+            logger.warn(CoverityConnectHealth.describeUnavailable(coverityConnectInstance.getUrl(), CoverityConnectHealth.getCircuitBreaker(coverityConnectInstance.getUrl())));
+            return false;
+        }
+        return true;
+    }
+
+    private void refreshWhileHoldingSemaphore(CoverityConnectInstance coverityConnectInstance, String credentialsId) throws InterruptedException {
         Thread thread = Thread.currentThread();
         ClassLoader threadClassLoader = thread.getContextClassLoader();
         thread.setContextClassLoader(this.getClass().getClassLoader());
+        long startTime = System.nanoTime();
+        boolean refreshedSuccessfully = false;
 
         try {
             logger.info("Refreshing connection to Coverity Connect instance...");
 
-            CoverityServerConfig coverityServerConfig = coverityConnectInstance.getCoverityServerConfig(logger, credentialsId);
-            WebServiceFactory webServiceFactory = coverityServerConfig.createWebServiceFactory(logger);
-            webServiceFactory.connect();
-
-            this.cachedData = getFreshData(webServiceFactory);
+            this.cachedData = CoverityConnectCalls.call(() -> getFreshData(CoverityConnectEndpoints.connect(logger, coverityConnectInstance, credentialsId)));
 
             lastTimeRetrieved = Instant.now();
+            lastRefreshFailure = null;
+            refreshedSuccessfully = true;
             logger.info("Connection refreshed successfully.");
+        } catch (InterruptedException e) {
+            throw e;
         } catch (Exception e) {
+            lastRefreshFailure = e;
             logger.error("[ERROR] Could not refresh connection to Coverity Connect instance. Please confirm you have a valid URL.");
             logger.trace("Stack trace:", e);
         } finally {
+            CoverityMetrics.recordCacheRefresh(getCacheName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), refreshedSuccessfully);
             thread.setContextClassLoader(threadClassLoader);
             semaphore.release();
         }
     }
 
+    // Null if the last refresh succeeded, or if none has finished yet
+    @Nullable
+    public Exception getLastRefreshFailure() {
+        return lastRefreshFailure;
+    }
+
+    protected boolean hasData() {
+        return !Instant.MIN.equals(lastTimeRetrieved);
+    }
+
+    protected String getCacheName() {
+        return this.getClass().getSimpleName();
+    }
+
     protected abstract T getFreshData(WebServiceFactory webServiceFactory);
 
     protected abstract T getEmptyData();
@@ -0,0 +1,54 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.extensions.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityGlobalConfig;
+
+// Every form that lists projects, streams or views shares one cache per instance and credentials, which is also what the prewarmer fills
+@SuppressWarnings("rawtypes")
+public class CoverityConnectDataCaches {
+    private static final int URL_INDEX = 1;
+    private static final int CREDENTIALS_ID_INDEX = 2;
+    private static final ConcurrentHashMap<List<String>, CoverityConnectDataCache> CACHES = new ConcurrentHashMap<>();
+
+    public static <T extends CoverityConnectDataCache> T getOrCreate(Class<T> cacheType, String coverityConnectUrl, String credentialsId, Supplier<T> cacheConstructor) {
+        return getOrCreate(cacheType, coverityConnectUrl, credentialsId, ProjectNameScope.UNSCOPED, cacheConstructor);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T extends CoverityConnectDataCache> T getOrCreate(Class<T> cacheType, String coverityConnectUrl, String credentialsId, ProjectNameScope projectNameScope, Supplier<T> cacheConstructor) {
+        // Folders with the same patterns share a cache, whichever folders they are
+        List<String> key = Collections.unmodifiableList(Arrays.asList(cacheType.getName(), CoverityGlobalConfig.normalizeUrl(coverityConnectUrl), String.valueOf(credentialsId), projectNameScope.getKey()));
+        return (T) CACHES.computeIfAbsent(key, ignored -> cacheConstructor.get());
+    }
+
+    // Only the caches that forms have asked for, in whatever scopes they asked for them, so the prewarmer fetches nothing that no one uses
+    public static List<CoverityConnectDataCache<?>> getExisting(String coverityConnectUrl, String credentialsId) {
+        String normalizedUrl = CoverityGlobalConfig.normalizeUrl(coverityConnectUrl);
+        return CACHES.entrySet().stream()
+                   .filter(entry -> normalizedUrl.equals(entry.getKey().get(URL_INDEX)) && String.valueOf(credentialsId).equals(entry.getKey().get(CREDENTIALS_ID_INDEX)))
+                   .map(Map.Entry::getValue)
+                   .map(cache -> (CoverityConnectDataCache<?>) cache)
+                   .collect(Collectors.toList());
+    }
+
+    // Caches of instances or credentials that have since been removed would otherwise be kept for as long as Jenkins runs
+    public static void evictRemoved(Predicate<String> isConfiguredUrl, Predicate<String> credentialsExist) {
+        CACHES.keySet().removeIf(key -> !isConfiguredUrl.test(key.get(URL_INDEX)) || !credentialsExist.test(key.get(CREDENTIALS_ID_INDEX)));
+    }
+
+}
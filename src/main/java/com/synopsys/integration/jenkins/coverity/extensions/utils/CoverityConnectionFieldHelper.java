@@ -17,6 +17,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import com.synopsys.integration.coverity.config.CoverityServerConfig;
 import com.synopsys.integration.coverity.exception.CoverityIntegrationException;
+import com.synopsys.integration.jenkins.coverity.CoverityConnectCalls;
 import com.synopsys.integration.jenkins.coverity.GlobalValueHelper;
 import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityConnectInstance;
 import com.synopsys.integration.log.IntLogger;
@@ -85,6 +86,17 @@ public class CoverityConnectionFieldHelper extends FieldHelper {
     }
 
     public FormValidation testConnectionTo(String url, Credentials credentials) {
+        try {
+            return CoverityConnectCalls.call(() -> attemptConnectionTo(url, credentials));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return FormValidation.error("Interrupted while attempting to connect to " + url);
+        } catch (Exception e) {
+            return FormValidation.error(e, e.getMessage());
+        }
+    }
+
+    private FormValidation attemptConnectionTo(String url, Credentials credentials) {
         Thread thread = Thread.currentThread();
         ClassLoader threadClassLoader = thread.getContextClassLoader();
         thread.setContextClassLoader(this.getClass().getClassLoader());
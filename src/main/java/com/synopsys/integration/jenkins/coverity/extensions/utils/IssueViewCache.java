@@ -18,6 +18,7 @@ import com.synopsys.integration.coverity.api.rest.ViewType;
 import com.synopsys.integration.coverity.ws.WebServiceFactory;
 import com.synopsys.integration.coverity.ws.view.ViewService;
 import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.jenkins.coverity.metrics.CoverityMetrics;
 import com.synopsys.integration.log.IntLogger;
 
 public class IssueViewCache extends CoverityConnectDataCache<List<String>> {
@@ -32,11 +33,13 @@ public class IssueViewCache extends CoverityConnectDataCache<List<String>> {
         try {
             logger.info("Attempting retrieval of Coverity Views.");
             ViewService viewService = webServiceFactory.createViewService();
-            data = viewService.getAllViewsOfType(ViewType.ISSUES)
-                       .stream()
-                       .map(view -> view.name)
-                       .filter(StringUtils::isNotBlank)
-                       .collect(Collectors.toList());
+            try (CoverityMetrics.SoapCallTimer ignored = CoverityMetrics.timeSoapCall("getAllViewsOfType")) {
+                data = viewService.getAllViewsOfType(ViewType.ISSUES)
+                           .stream()
+                           .map(view -> view.name)
+                           .filter(StringUtils::isNotBlank)
+                           .collect(Collectors.toList());
+            }
             logger.info("Completed retrieval of Coverity Views.");
         } catch (IOException | IntegrationException e) {
             logger.error(e.getMessage());
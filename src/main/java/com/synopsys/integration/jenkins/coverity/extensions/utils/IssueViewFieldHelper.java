@@ -21,7 +21,7 @@ import hudson.util.ListBoxModel;
 
 public class IssueViewFieldHelper extends ConnectionCachingFieldHelper<IssueViewCache> {
     public IssueViewFieldHelper(IntLogger logger) {
-        super(logger, () -> new IssueViewCache(logger));
+        super(logger, IssueViewCache.class, () -> new IssueViewCache(logger));
     }
 
     public ListBoxModel getViewNamesForListBox(String coverityConnectUrl, Boolean overrideDefaultCredentials, String credentialsId) throws InterruptedException {
@@ -0,0 +1,74 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.extensions.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.synopsys.integration.jenkins.coverity.extensions.folder.CoverityFolderProperty;
+
+import hudson.PluginWrapper;
+import hudson.model.Item;
+import jenkins.model.Jenkins;
+
+public class ProjectNameScope {
+    public static final ProjectNameScope UNSCOPED = new ProjectNameScope(Collections.emptyList());
+    private static final String FOLDERS_PLUGIN_NAME = "cloudbees-folder";
+
+    private final List<String> projectNamePatterns;
+
+    private ProjectNameScope(List<String> projectNamePatterns) {
+        this.projectNamePatterns = projectNamePatterns;
+    }
+
+    public static ProjectNameScope fromPatterns(@Nullable String projectNamePatterns) {
+        List<String> patterns = Arrays.stream(StringUtils.defaultString(projectNamePatterns).split("[\\r\\n]+"))
+                                    .map(String::trim)
+                                    .filter(StringUtils::isNotBlank)
+                                    .distinct()
+                                    .sorted()
+                                    .collect(Collectors.toList());
+        return patterns.isEmpty() ? UNSCOPED : new ProjectNameScope(Collections.unmodifiableList(patterns));
+    }
+
+    public static ProjectNameScope of(@Nullable Item item) {
+        if (item == null) {
+            return UNSCOPED;
+        }
+
+        // The folder classes can only be loaded when the Folders plugin is installed
+        PluginWrapper foldersPlugin = Jenkins.get().getPluginManager().getPlugin(FOLDERS_PLUGIN_NAME);
+        if (foldersPlugin == null || !foldersPlugin.isActive()) {
+            return UNSCOPED;
+        }
+
+        return CoverityFolderProperty.findClosest(item)
+                   .map(CoverityFolderProperty::getProjectNamePatterns)
+                   .map(ProjectNameScope::fromPatterns)
+                   .orElse(UNSCOPED);
+    }
+
+    public List<String> getProjectNamePatterns() {
+        return projectNamePatterns;
+    }
+
+    public boolean isUnscoped() {
+        return projectNamePatterns.isEmpty();
+    }
+
+    public String getKey() {
+        return String.join("\n", projectNamePatterns);
+    }
+
+}
@@ -8,19 +8,30 @@
 package com.synopsys.integration.jenkins.coverity.extensions.utils;
 
 import java.net.MalformedURLException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import com.synopsys.integration.coverity.api.ws.configuration.ConfigurationService;
 import com.synopsys.integration.coverity.api.ws.configuration.CovRemoteServiceException_Exception;
 import com.synopsys.integration.coverity.api.ws.configuration.ProjectDataObj;
 import com.synopsys.integration.coverity.api.ws.configuration.ProjectFilterSpecDataObj;
 import com.synopsys.integration.coverity.ws.WebServiceFactory;
+import com.synopsys.integration.jenkins.coverity.metrics.CoverityMetrics;
 import com.synopsys.integration.log.IntLogger;
 
 public class ProjectStreamCache extends CoverityConnectDataCache<List<ProjectDataObj>> {
+    private final ProjectNameScope projectNameScope;
+
     public ProjectStreamCache(IntLogger logger) {
+        this(logger, ProjectNameScope.UNSCOPED);
+    }
+
+    public ProjectStreamCache(IntLogger logger, ProjectNameScope projectNameScope) {
         super(logger);
+        this.projectNameScope = projectNameScope;
     }
 
     @Override
@@ -29,8 +40,11 @@ public class ProjectStreamCache extends CoverityConnectDataCache<List<ProjectDat
         try {
             logger.info("Attempting retrieval of Coverity Projects.");
             ConfigurationService configurationService = webServiceFactory.createConfigurationService();
-            ProjectFilterSpecDataObj projectFilterSpecDataObj = new ProjectFilterSpecDataObj();
-            projects = configurationService.getProjects(projectFilterSpecDataObj);
+            if (projectNameScope.isUnscoped()) {
+                projects = getProjects(configurationService, new ProjectFilterSpecDataObj());
+            } else {
+                projects = getProjectsInScope(configurationService);
+            }
             logger.info("Completed retrieval of Coverity Projects.");
         } catch (MalformedURLException | CovRemoteServiceException_Exception e) {
             logger.error(e.getMessage());
@@ -39,6 +53,29 @@ public class ProjectStreamCache extends CoverityConnectDataCache<List<ProjectDat
         return projects;
     }
 
+    List<ProjectDataObj> getProjectsInScope(ConfigurationService configurationService) throws CovRemoteServiceException_Exception {
+        // The filter takes a single name pattern, so each pattern is its own call, and a project matched by several of them is listed once
+        List<ProjectDataObj> projects = new ArrayList<>();
+        Set<String> projectNames = new HashSet<>();
+        for (String projectNamePattern : projectNameScope.getProjectNamePatterns()) {
+            ProjectFilterSpecDataObj projectFilterSpecDataObj = new ProjectFilterSpecDataObj();
+            projectFilterSpecDataObj.setNamePattern(projectNamePattern);
+            for (ProjectDataObj project : getProjects(configurationService, projectFilterSpecDataObj)) {
+                String projectName = project.getId() == null ? null : project.getId().getName();
+                if (projectName == null || projectNames.add(projectName)) {
+                    projects.add(project);
+                }
+            }
+        }
+        return projects;
+    }
+
+    private List<ProjectDataObj> getProjects(ConfigurationService configurationService, ProjectFilterSpecDataObj projectFilterSpecDataObj) throws CovRemoteServiceException_Exception {
+        try (CoverityMetrics.SoapCallTimer ignored = CoverityMetrics.timeSoapCall("getProjects")) {
+            return configurationService.getProjects(projectFilterSpecDataObj);
+        }
+    }
+
     @Override
     protected List<ProjectDataObj> getEmptyData() {
         return Collections.emptyList();
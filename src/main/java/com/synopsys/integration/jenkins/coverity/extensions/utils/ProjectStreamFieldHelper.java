@@ -14,6 +14,8 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 import org.apache.commons.lang3.StringUtils;
 
 import com.synopsys.integration.coverity.api.ws.configuration.ProjectDataObj;
@@ -23,26 +25,27 @@ import com.synopsys.integration.jenkins.coverity.GlobalValueHelper;
 import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityConnectInstance;
 import com.synopsys.integration.log.IntLogger;
 
+import hudson.model.Item;
 import hudson.util.ComboBoxModel;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
 
 public class ProjectStreamFieldHelper extends ConnectionCachingFieldHelper<ProjectStreamCache> {
     public ProjectStreamFieldHelper(IntLogger logger) {
-        super(logger, () -> new ProjectStreamCache(logger));
+        super(logger, ProjectStreamCache.class, () -> new ProjectStreamCache(logger));
     }
 
-    public ComboBoxModel getProjectNamesForComboBox(String coverityInstanceUrl, Boolean overrideDefaultCredentialsId, String credentialsId) throws InterruptedException {
-        return doFillProjectNameItems(ComboBoxModel::new, Function.identity(), coverityInstanceUrl, overrideDefaultCredentialsId, credentialsId);
+    public ComboBoxModel getProjectNamesForComboBox(Item item, String coverityInstanceUrl, Boolean overrideDefaultCredentialsId, String credentialsId) throws InterruptedException {
+        return doFillProjectNameItems(item, ComboBoxModel::new, Function.identity(), coverityInstanceUrl, overrideDefaultCredentialsId, credentialsId);
     }
 
-    public ListBoxModel getProjectNamesForListBox(String coverityConnectUrl, Boolean overrideDefaultCredentialsId, String credentialsId) throws InterruptedException {
-        return doFillProjectNameItems(ListBoxModel::new, this::wrapAsListBoxModelOption, coverityConnectUrl, overrideDefaultCredentialsId, credentialsId);
+    public ListBoxModel getProjectNamesForListBox(Item item, String coverityConnectUrl, Boolean overrideDefaultCredentialsId, String credentialsId) throws InterruptedException {
+        return doFillProjectNameItems(item, ListBoxModel::new, this::wrapAsListBoxModelOption, coverityConnectUrl, overrideDefaultCredentialsId, credentialsId);
     }
 
-    public ComboBoxModel getStreamNamesForComboBox(String coverityInstanceUrl, Boolean overrideDefaultCredentialsId, String credentialsId, String selectedProjectName) throws InterruptedException {
+    public ComboBoxModel getStreamNamesForComboBox(Item item, String coverityInstanceUrl, Boolean overrideDefaultCredentialsId, String credentialsId, String selectedProjectName) throws InterruptedException {
         try {
-            return getStreams(coverityInstanceUrl, overrideDefaultCredentialsId, credentialsId, selectedProjectName).stream()
+            return getStreams(item, coverityInstanceUrl, overrideDefaultCredentialsId, credentialsId, selectedProjectName).stream()
                        .map(this::toStreamName)
                        .filter(StringUtils::isNotBlank)
                        .collect(Collectors.toCollection(ComboBoxModel::new));
@@ -54,9 +57,9 @@ public class ProjectStreamFieldHelper extends ConnectionCachingFieldHelper<Proje
     }
 
 
-    public FormValidation checkForProjectInCache(String coverityInstanceUrl, Boolean overrideDefaultCredentialsId, String credentialsId, String projectName) {
+    public FormValidation checkForProjectInCache(Item item, String coverityInstanceUrl, Boolean overrideDefaultCredentialsId, String credentialsId, String projectName) {
         try {
-            return getProjects(coverityInstanceUrl, overrideDefaultCredentialsId, credentialsId).stream()
+            return getProjects(item, coverityInstanceUrl, overrideDefaultCredentialsId, credentialsId).stream()
                        .map(this::toProjectName)
                        .filter(projectName::equals)
                        .findFirst()
@@ -70,9 +73,9 @@ public class ProjectStreamFieldHelper extends ConnectionCachingFieldHelper<Proje
         }
     }
 
-    public FormValidation checkForStreamInCache(String coverityInstanceUrl, Boolean overrideDefaultCredentialsId, String credentialsId, String projectName, String streamName) {
+    public FormValidation checkForStreamInCache(Item item, String coverityInstanceUrl, Boolean overrideDefaultCredentialsId, String credentialsId, String projectName, String streamName) {
         try {
-            return getStreams(coverityInstanceUrl, overrideDefaultCredentialsId, credentialsId, projectName).stream()
+            return getStreams(item, coverityInstanceUrl, overrideDefaultCredentialsId, credentialsId, projectName).stream()
                        .map(this::toStreamName)
                        .filter(streamName::equals)
                        .findFirst()
@@ -86,9 +89,9 @@ public class ProjectStreamFieldHelper extends ConnectionCachingFieldHelper<Proje
         }
     }
 
-    private <T, R extends Collection<T>> R doFillProjectNameItems(Supplier<R> supplier, Function<String, T> itemWrapper, String coverityInstanceUrl, Boolean overrideDefaultCredentialsId, String credentialsId) throws InterruptedException {
+    private <T, R extends Collection<T>> R doFillProjectNameItems(Item item, Supplier<R> supplier, Function<String, T> itemWrapper, String coverityInstanceUrl, Boolean overrideDefaultCredentialsId, String credentialsId) throws InterruptedException {
         try {
-            return getProjects(coverityInstanceUrl, overrideDefaultCredentialsId, credentialsId).stream()
+            return getProjects(item, coverityInstanceUrl, overrideDefaultCredentialsId, credentialsId).stream()
                        .map(this::toProjectName)
                        .filter(StringUtils::isNotBlank)
                        .map(itemWrapper)
@@ -99,28 +102,34 @@ public class ProjectStreamFieldHelper extends ConnectionCachingFieldHelper<Proje
         }
     }
 
-    private List<StreamDataObj> getStreams(String coverityInstanceUrl, Boolean overrideDefaultCredentialsId, String credentialsId, String projectName) throws CoverityIntegrationException, InterruptedException {
-        return getProjects(coverityInstanceUrl, overrideDefaultCredentialsId, credentialsId).stream()
+    private List<StreamDataObj> getStreams(Item item, String coverityInstanceUrl, Boolean overrideDefaultCredentialsId, String credentialsId, String projectName) throws CoverityIntegrationException, InterruptedException {
+        return getProjects(item, coverityInstanceUrl, overrideDefaultCredentialsId, credentialsId).stream()
                    .filter(projectDataObj -> this.isMatchingProject(projectDataObj, projectName))
                    .map(ProjectDataObj::getStreams)
                    .flatMap(Collection::stream)
                    .collect(Collectors.toList());
     }
 
-    private List<ProjectDataObj> getProjects(String coverityInstanceUrl, Boolean overrideDefaultCredentialsId, String credentialsId) throws CoverityIntegrationException, InterruptedException {
+    private List<ProjectDataObj> getProjects(Item item, String coverityInstanceUrl, Boolean overrideDefaultCredentialsId, String credentialsId) throws CoverityIntegrationException, InterruptedException {
         CoverityConnectInstance coverityConnectInstance = GlobalValueHelper.getCoverityInstanceWithUrlOrDie(logger, coverityInstanceUrl);
         ProjectStreamCache projectStreamCache;
         List<ProjectDataObj> projectDataObjs;
         if (Boolean.TRUE.equals(overrideDefaultCredentialsId)) {
-            projectStreamCache = getCache(coverityInstanceUrl, credentialsId);
+            projectStreamCache = getCache(item, coverityInstanceUrl, credentialsId);
             projectDataObjs = projectStreamCache.getData(coverityConnectInstance, credentialsId);
         } else {
-            projectStreamCache = getCache(coverityInstanceUrl, coverityConnectInstance.getDefaultCredentialsId());
+            projectStreamCache = getCache(item, coverityInstanceUrl, coverityConnectInstance.getDefaultCredentialsId());
             projectDataObjs = projectStreamCache.getData(coverityConnectInstance, coverityConnectInstance.getDefaultCredentialsId());
         }
         return projectDataObjs != null ? projectDataObjs : Collections.emptyList();
     }
 
+    @Override
+    protected ProjectStreamCache getCache(@Nullable Item item, String coverityConnectUrl, String credentialsId) {
+        ProjectNameScope projectNameScope = ProjectNameScope.of(item);
+        return CoverityConnectDataCaches.getOrCreate(ProjectStreamCache.class, coverityConnectUrl, credentialsId, projectNameScope, () -> new ProjectStreamCache(logger, projectNameScope));
+    }
+
     private Boolean isMatchingProject(ProjectDataObj projectDataObj, String selectedProjectName) {
         return null != projectDataObj
                    && null != projectDataObj.getId()
@@ -7,11 +7,12 @@
  */
 package com.synopsys.integration.jenkins.coverity.extensions.wrap;
 
-import com.synopsys.integration.jenkins.PasswordMaskingOutputStream;
 import com.synopsys.integration.jenkins.annotations.HelpMarkdown;
 import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
 import com.synopsys.integration.jenkins.coverity.GlobalValueHelper;
 import com.synopsys.integration.jenkins.coverity.JenkinsCoverityEnvironmentVariable;
+import com.synopsys.integration.jenkins.coverity.SecretMasker;
+import com.synopsys.integration.jenkins.coverity.SecretMaskingOutputStream;
 import com.synopsys.integration.jenkins.coverity.SynopsysCoverityCredentialsHelper;
 import com.synopsys.integration.jenkins.coverity.extensions.ConfigureChangeSetPatterns;
 import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityConnectInstance;
@@ -36,6 +37,7 @@ import hudson.tasks.BuildWrapperDescriptor;
 import hudson.util.ComboBoxModel;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
+import hudson.util.Secret;
 import jenkins.tasks.SimpleBuildWrapper;
 import org.apache.commons.lang3.StringUtils;
 import org.jenkinsci.Symbol;
@@ -52,10 +54,12 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.synopsys.integration.jenkins.coverity.JenkinsCoverityEnvironmentVariable.TEMPORARY_AUTH_KEY_PATH;
 
@@ -211,6 +215,7 @@ public class CoverityEnvironmentWrapper extends SimpleBuildWrapper {
             () -> coverityWorkflowStepFactory.getWebServiceFactoryFromUrl(coverityInstanceUrl, resolvedCredentialsId),
             coverityWorkflowStepFactory,
             context,
+            build,
             workspace.getRemote(),
             coverityInstanceUrl,
             resolvedCredentialsId,
@@ -236,7 +241,14 @@ public class CoverityEnvironmentWrapper extends SimpleBuildWrapper {
 
     @Override
     public ConsoleLogFilter createLoggerDecorator(@Nonnull Run<?, ?> build) {
-        return new FilterImpl(coverityPassphrase);
+        List<String> secretsToMask = new ArrayList<>();
+        secretsToMask.add(coverityPassphrase);
+        GlobalValueHelper.getCoverityInstanceWithUrl(new SilentIntLogger(), coverityInstanceUrl)
+            .ifPresent(coverityConnectInstance -> {
+                String resolvedCredentialsId = credentialsId != null ? credentialsId : coverityConnectInstance.getDefaultCredentialsId();
+                secretsToMask.addAll(coverityConnectInstance.getSecretsToMask(new SilentIntLogger(), resolvedCredentialsId));
+            });
+        return new FilterImpl(secretsToMask);
     }
 
     @Symbol("withCoverityEnvironment")
@@ -289,9 +301,9 @@ public class CoverityEnvironmentWrapper extends SimpleBuildWrapper {
         ) throws InterruptedException {
             credentialsHelper.checkPermissionToAccessCredentials(item);
             if (updateNow) {
-                projectStreamFieldHelper.updateNow(coverityInstanceUrl, StringUtils.isNotBlank(credentialsId), credentialsId);
+                projectStreamFieldHelper.updateNow(item, coverityInstanceUrl, StringUtils.isNotBlank(credentialsId), credentialsId);
             }
-            return projectStreamFieldHelper.getProjectNamesForComboBox(coverityInstanceUrl, StringUtils.isNotBlank(credentialsId), credentialsId);
+            return projectStreamFieldHelper.getProjectNamesForComboBox(item, coverityInstanceUrl, StringUtils.isNotBlank(credentialsId), credentialsId);
         }
 
         @POST
@@ -312,7 +324,7 @@ public class CoverityEnvironmentWrapper extends SimpleBuildWrapper {
                 @QueryParameter(FIELD_PROJECT_NAME) String projectName
         ) throws InterruptedException {
             credentialsHelper.checkPermissionToAccessCredentials(item);
-            return projectStreamFieldHelper.getStreamNamesForComboBox(coverityInstanceUrl, StringUtils.isNotBlank(credentialsId), credentialsId, projectName);
+            return projectStreamFieldHelper.getStreamNamesForComboBox(item, coverityInstanceUrl, StringUtils.isNotBlank(credentialsId), credentialsId, projectName);
         }
 
         @POST
@@ -360,15 +372,28 @@ public class CoverityEnvironmentWrapper extends SimpleBuildWrapper {
 
     private static final class FilterImpl extends ConsoleLogFilter implements Serializable {
         private static final long serialVersionUID = 1787519634824445328L;
-        private final String passwordToMask;
-
-        public FilterImpl(String passwordToMask) {
-            this.passwordToMask = passwordToMask;
+        // The filter is saved with the build. XStream writes these Secrets to build.xml encrypted, but a pipeline also keeps the filter in
+        // program.dat through Java serialization, where a Secret is written as plain text, as it is for every other masking filter there
+        private final ArrayList<Secret> encryptedSecretsToMask;
+        private transient SecretMasker secretMasker;
+
+        public FilterImpl(List<String> secretsToMask) {
+            this.encryptedSecretsToMask = secretsToMask.stream()
+                                              .filter(StringUtils::isNotBlank)
+                                              .map(Secret::fromString)
+                                              .collect(Collectors.toCollection(ArrayList::new));
         }
 
         @Override
         public OutputStream decorateLogger(Run ignored, OutputStream logger) {
-            return new PasswordMaskingOutputStream(logger, passwordToMask);
+            // Every byte of the build log passes through here, so all of the secrets are matched in a single pass
+            if (secretMasker == null) {
+                List<String> secretsToMask = encryptedSecretsToMask == null ? Collections.emptyList() : encryptedSecretsToMask.stream()
+                                                                                                               .map(Secret::getPlainText)
+                                                                                                               .collect(Collectors.toList());
+                secretMasker = new SecretMasker(secretsToMask);
+            }
+            return new SecretMaskingOutputStream(logger, secretMasker);
         }
     }
 
@@ -23,6 +23,7 @@ import com.synopsys.integration.stepworkflow.StepWorkflow;
 import com.synopsys.integration.stepworkflow.StepWorkflowResponse;
 
 import hudson.AbortException;
+import hudson.model.Run;
 import hudson.scm.ChangeLogSet;
 import jenkins.tasks.SimpleBuildWrapper;
 
@@ -31,6 +32,7 @@ public class CoverityEnvironmentWrapperStepWorkflow extends CoverityJenkinsStepW
 
     private final CoverityWorkflowStepFactory coverityWorkflowStepFactory;
     private final SimpleBuildWrapper.Context context;
+    private final Run<?, ?> run;
     private final String workspaceRemotePath;
     private final String coverityInstanceUrl;
     private final String credentialsId;
@@ -42,11 +44,12 @@ public class CoverityEnvironmentWrapperStepWorkflow extends CoverityJenkinsStepW
     private final ConfigureChangeSetPatterns configureChangeSetPatterns;
 
     public CoverityEnvironmentWrapperStepWorkflow(JenkinsIntLogger jenkinsIntLogger, JenkinsVersionHelper jenkinsVersionHelper, ThrowingSupplier<WebServiceFactory, CoverityJenkinsAbortException> webServiceFactorySupplier,
-        CoverityWorkflowStepFactory coverityWorkflowStepFactory, SimpleBuildWrapper.Context context, String workspaceRemotePath, String coverityInstanceUrl, String credentialsId, String projectName, String streamName, String viewName,
+        CoverityWorkflowStepFactory coverityWorkflowStepFactory, SimpleBuildWrapper.Context context, Run<?, ?> run, String workspaceRemotePath, String coverityInstanceUrl, String credentialsId, String projectName, String streamName, String viewName,
         Boolean createMissingProjectsAndStreams, List<ChangeLogSet<?>> changeSets, ConfigureChangeSetPatterns configureChangeSetPatterns) {
         super(jenkinsIntLogger, jenkinsVersionHelper, webServiceFactorySupplier);
         this.coverityWorkflowStepFactory = coverityWorkflowStepFactory;
         this.context = context;
+        this.run = run;
         this.workspaceRemotePath = workspaceRemotePath;
         this.coverityInstanceUrl = coverityInstanceUrl;
         this.credentialsId = credentialsId;
@@ -61,11 +64,13 @@ public class CoverityEnvironmentWrapperStepWorkflow extends CoverityJenkinsStepW
     @Override
     protected StepWorkflow<Object> buildWorkflow() throws AbortException {
         return StepWorkflow
-                   .first(coverityWorkflowStepFactory.createStepValidateCoverityInstallation(false))
-                   .then(coverityWorkflowStepFactory.createStepCreateAuthenticationKeyFile(workspaceRemotePath, coverityInstanceUrl, credentialsId))
-                   .then(coverityWorkflowStepFactory.createStepSetUpCoverityEnvironment(changeSets, configureChangeSetPatterns, workspaceRemotePath, coverityInstanceUrl, credentialsId, projectName, streamName, viewName))
-                   .then(coverityWorkflowStepFactory.createStepPopulateEnvVars(context::env))
-                   .andSometimes(coverityWorkflowStepFactory.createStepCreateMissingProjectsAndStreams(coverityInstanceUrl, credentialsId, projectName, streamName)).butOnlyIf(createMissingProjectsAndStreams, Boolean.TRUE::equals)
+                   .first(timed("Validate Coverity installation", coverityWorkflowStepFactory.createStepValidateCoverityInstallation(false)))
+                   .then(timed("Create authentication key file", coverityWorkflowStepFactory.createStepCreateAuthenticationKeyFile(workspaceRemotePath, coverityInstanceUrl, credentialsId)))
+                   .then(timed("Set up Coverity environment",
+                       coverityWorkflowStepFactory.createStepSetUpCoverityEnvironment(changeSets, configureChangeSetPatterns, workspaceRemotePath, coverityInstanceUrl, credentialsId, projectName, streamName, viewName)))
+                   .then(timed("Populate environment variables", coverityWorkflowStepFactory.createStepPopulateEnvVars(context::env)))
+                   .andSometimes(timed("Create missing projects and streams", coverityWorkflowStepFactory.createStepCreateMissingProjectsAndStreams(coverityInstanceUrl, credentialsId, projectName, streamName)))
+                   .butOnlyIf(createMissingProjectsAndStreams, Boolean.TRUE::equals)
                    .build();
     }
 
@@ -91,4 +96,9 @@ public class CoverityEnvironmentWrapperStepWorkflow extends CoverityJenkinsStepW
         // The CoverityEnvironmentWrapper needs to clean up later than other workflows, so we create a Disposer and attach it to the context instead.
     }
 
+    @Override
+    protected Run<?, ?> getRun() {
+        return run;
+    }
+
 }
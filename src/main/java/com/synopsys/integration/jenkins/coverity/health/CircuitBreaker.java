@@ -0,0 +1,117 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.health;
+
+import java.util.function.LongSupplier;
+
+public class CircuitBreaker {
+    public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+    public static final long DEFAULT_OPEN_DURATION_IN_MILLIS = 60_000;
+
+    private final int failureThreshold;
+    private final long openDurationInMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt = 0;
+    private long probeStartedAt = 0;
+    private String lastFailureMessage;
+
+    public CircuitBreaker() {
+        this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION_IN_MILLIS, System::currentTimeMillis);
+    }
+
+    public CircuitBreaker(int failureThreshold, long openDurationInMillis, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationInMillis = openDurationInMillis;
+        this.clock = clock;
+    }
+
+    public synchronized boolean allowRequest() {
+        long now = clock.getAsLong();
+        switch (state) {
+            case OPEN:
+                if (now - openedAt < openDurationInMillis) {
+                    return false;
+                }
+                // Let exactly one probe through to find out whether the instance has recovered
+                state = State.HALF_OPEN;
+                probeStartedAt = now;
+                return true;
+            case HALF_OPEN:
+                // A probe that never reported back should not keep the breaker half open forever
+                if (now - probeStartedAt >= openDurationInMillis) {
+                    probeStartedAt = now;
+                    return true;
+                }
+                return false;
+            case CLOSED:
+            default:
+                return true;
+        }
+    }
+
+    public synchronized boolean isAvailable() {
+        long now = clock.getAsLong();
+        switch (state) {
+            case OPEN:
+                return now - openedAt >= openDurationInMillis;
+            case HALF_OPEN:
+                return now - probeStartedAt >= openDurationInMillis;
+            case CLOSED:
+            default:
+                return true;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        lastFailureMessage = null;
+    }
+
+    // A failure that is not an outage, such as rejected credentials, still means the endpoint answered. It ends a half-open probe, but says nothing about the
+    // endpoint's failures so far while the breaker is closed.
+    public synchronized void releaseProbe() {
+        if (state == State.HALF_OPEN) {
+            recordSuccess();
+        }
+    }
+
+    public synchronized void recordFailure(String failureMessage) {
+        consecutiveFailures++;
+        lastFailureMessage = failureMessage;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getMillisUntilProbe() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openedAt + openDurationInMillis - clock.getAsLong());
+    }
+
+    public synchronized String getLastFailureMessage() {
+        return lastFailureMessage;
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+}
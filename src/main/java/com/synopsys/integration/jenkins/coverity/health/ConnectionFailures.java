@@ -0,0 +1,57 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.health;
+
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+// Only failures that say the server could not be reached or could not answer count against its circuit breaker.
+// Missing, expired or wrong credentials and configuration errors fail just the same on a healthy server.
+public class ConnectionFailures {
+    // JAX-WS reports a non-SOAP error response as, for example, "The server sent HTTP status code 503: Service Unavailable"
+    private static final Pattern HTTP_STATUS_CODE = Pattern.compile("HTTP (?:status|response) code:? (\\d{3})", Pattern.CASE_INSENSITIVE);
+    private static final int MAXIMUM_CAUSE_DEPTH = 20;
+
+    public static boolean isOutage(@Nullable Throwable throwable) {
+        Throwable cause = throwable;
+        for (int depth = 0; cause != null && depth < MAXIMUM_CAUSE_DEPTH; depth++) {
+            if (isTransportFailure(cause) || isServerError(cause.getMessage())) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    private static boolean isTransportFailure(Throwable throwable) {
+        // Connection refused and reset are SocketExceptions; TLS handshake failures are SSLExceptions and are left out as configuration errors
+        return throwable instanceof SocketException
+                   || throwable instanceof SocketTimeoutException
+                   || throwable instanceof UnknownHostException;
+    }
+
+    private static boolean isServerError(@Nullable String message) {
+        if (message == null) {
+            return false;
+        }
+
+        Matcher matcher = HTTP_STATUS_CODE.matcher(message);
+        while (matcher.find()) {
+            if (matcher.group(1).startsWith("5")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.health;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.synopsys.integration.coverity.exception.CoverityIntegrationException;
+import com.synopsys.integration.coverity.ws.WebServiceFactory;
+import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
+import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityConnectInstance;
+import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityGlobalConfig;
+import com.synopsys.integration.log.IntLogger;
+
+public class CoverityConnectEndpoints {
+    // Weight of the newest sample in the moving average of connection latency
+    private static final double SMOOTHING_FACTOR = 0.3;
+    private static final Map<String, Double> AVERAGE_LATENCY_IN_MILLIS = new ConcurrentHashMap<>();
+
+    public static List<String> orderByPreference(List<String> endpointUrls) {
+        List<String> availableEndpointUrls = new ArrayList<>();
+        List<String> unavailableEndpointUrls = new ArrayList<>();
+        for (String endpointUrl : endpointUrls) {
+            if (CoverityConnectHealth.getCircuitBreaker(endpointUrl).isAvailable()) {
+                availableEndpointUrls.add(endpointUrl);
+            } else {
+                unavailableEndpointUrls.add(endpointUrl);
+            }
+        }
+
+        Comparator<String> byLatency = Comparator.comparingDouble(CoverityConnectEndpoints::getAverageLatencyInMillis);
+        availableEndpointUrls.sort(byLatency);
+        unavailableEndpointUrls.sort(byLatency);
+
+        // Always picking the fastest endpoint would send every build to the same node, so pick the faster of two random endpoints instead
+        if (availableEndpointUrls.size() > 1) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(availableEndpointUrls.size());
+            int second = random.nextInt(availableEndpointUrls.size() - 1);
+            if (second >= first) {
+                second++;
+            }
+            String preferredEndpointUrl = availableEndpointUrls.get(Math.min(first, second));
+            availableEndpointUrls.remove(preferredEndpointUrl);
+            availableEndpointUrls.add(0, preferredEndpointUrl);
+        }
+
+        List<String> orderedEndpointUrls = new ArrayList<>(availableEndpointUrls);
+        orderedEndpointUrls.addAll(unavailableEndpointUrls);
+        return orderedEndpointUrls;
+    }
+
+    public static String selectEndpoint(CoverityConnectInstance coverityConnectInstance) {
+        List<String> orderedEndpointUrls = orderByPreference(coverityConnectInstance.getEndpointUrls());
+        if (orderedEndpointUrls.isEmpty()) {
+            return coverityConnectInstance.getUrl();
+        }
+        return orderedEndpointUrls.get(0);
+    }
+
+    public static boolean isAnyEndpointAvailable(CoverityConnectInstance coverityConnectInstance) {
+        return coverityConnectInstance.getEndpointUrls().stream()
+                   .map(CoverityConnectHealth::getCircuitBreaker)
+                   .anyMatch(CircuitBreaker::isAvailable);
+    }
+
+    public static WebServiceFactory connect(IntLogger logger, CoverityConnectInstance coverityConnectInstance, String credentialsId) throws CoverityIntegrationException, MalformedURLException, CoverityJenkinsException {
+        return connectToFirstAvailable(logger, coverityConnectInstance.getUrl(), coverityConnectInstance.getEndpointUrls(), endpointUrl -> {
+            WebServiceFactory webServiceFactory = coverityConnectInstance.getCoverityServerConfig(logger, credentialsId, endpointUrl).createWebServiceFactory(logger);
+            webServiceFactory.connect();
+            return webServiceFactory;
+        });
+    }
+
+    static <T> T connectToFirstAvailable(IntLogger logger, String coverityConnectUrl, List<String> endpointUrls, EndpointConnector<T> endpointConnector)
+        throws CoverityIntegrationException, MalformedURLException, CoverityJenkinsException {
+        Exception lastOutage = null;
+        for (String endpointUrl : orderByPreference(endpointUrls)) {
+            CircuitBreaker circuitBreaker = CoverityConnectHealth.getCircuitBreaker(endpointUrl);
+            if (!circuitBreaker.allowRequest()) {
+                continue;
+            }
+
+            long startTime = System.nanoTime();
+            try {
+                T connection = endpointConnector.connect(endpointUrl);
+                recordLatency(endpointUrl, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+                circuitBreaker.recordSuccess();
+                return connection;
+            } catch (CoverityIntegrationException | RuntimeException e) {
+                // Every endpoint is given the same credentials and configuration, so the next one would fail just the same and only have its breaker opened for nothing
+                if (!ConnectionFailures.isOutage(e)) {
+                    circuitBreaker.releaseProbe();
+                    throw e;
+                }
+                circuitBreaker.recordFailure(e.getMessage());
+                lastOutage = e;
+                logger.warn(String.format("Could not connect to Coverity Connect endpoint %s: %s", endpointUrl, e.getMessage()));
+            }
+        }
+
+        if (lastOutage instanceof CoverityIntegrationException) {
+            throw (CoverityIntegrationException) lastOutage;
+        } else if (lastOutage != null) {
+            throw (RuntimeException) lastOutage;
+        }
+        CircuitBreaker circuitBreaker = CoverityConnectHealth.getCircuitBreaker(coverityConnectUrl);
+        throw new CoverityJenkinsException(CoverityConnectHealth.describeUnavailable(coverityConnectUrl, circuitBreaker));
+    }
+
+    public static void recordLatency(String endpointUrl, long latencyInMillis) {
+        AVERAGE_LATENCY_IN_MILLIS.merge(CoverityGlobalConfig.normalizeUrl(endpointUrl), (double) latencyInMillis,
+            (average, sample) -> average + SMOOTHING_FACTOR * (sample - average));
+    }
+
+    public static double getAverageLatencyInMillis(String endpointUrl) {
+        // Endpoints that have never been measured look fast so that they get tried
+        return AVERAGE_LATENCY_IN_MILLIS.getOrDefault(CoverityGlobalConfig.normalizeUrl(endpointUrl), 0.0);
+    }
+
+    interface EndpointConnector<T> {
+        T connect(String endpointUrl) throws CoverityIntegrationException, MalformedURLException;
+    }
+
+}
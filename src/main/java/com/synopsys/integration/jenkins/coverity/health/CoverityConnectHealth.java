@@ -0,0 +1,31 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.health;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityGlobalConfig;
+
+public class CoverityConnectHealth {
+    private static final Map<String, CircuitBreaker> CIRCUIT_BREAKERS = new ConcurrentHashMap<>();
+
+    public static CircuitBreaker getCircuitBreaker(String coverityConnectUrl) {
+        return CIRCUIT_BREAKERS.computeIfAbsent(CoverityGlobalConfig.normalizeUrl(coverityConnectUrl), ignored -> new CircuitBreaker());
+    }
+
+    public static String describeUnavailable(String coverityConnectUrl, CircuitBreaker circuitBreaker) {
+        String lastFailureMessage = circuitBreaker.getLastFailureMessage();
+        return String.format("Coverity Connect instance %s is currently unavailable%s. The next connection attempt will be made in %s seconds.",
+            coverityConnectUrl,
+            lastFailureMessage == null ? "" : " (" + lastFailureMessage + ")",
+            TimeUnit.MILLISECONDS.toSeconds(circuitBreaker.getMillisUntilProbe()));
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.health;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.coverity.ws.WebServiceFactory;
+import com.synopsys.integration.jenkins.coverity.GlobalValueHelper;
+import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityConnectInstance;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.log.Slf4jIntLogger;
+
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+
+@Extension
+public class CoverityConnectHealthMonitor extends AsyncPeriodicWork {
+    private final IntLogger logger = new Slf4jIntLogger(LoggerFactory.getLogger(CoverityConnectHealthMonitor.class));
+
+    public CoverityConnectHealthMonitor() {
+        super("Coverity Connect health monitor");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return TimeUnit.MINUTES.toMillis(1);
+    }
+
+    @Override
+    protected void execute(TaskListener listener) {
+        for (CoverityConnectInstance coverityConnectInstance : GlobalValueHelper.getGlobalCoverityConnectInstances()) {
+            // The probe authenticates, and without credentials it could only fail on a healthy instance
+            if (StringUtils.isBlank(coverityConnectInstance.getDefaultCredentialsId())) {
+                continue;
+            }
+            for (String endpointUrl : coverityConnectInstance.getEndpointUrls()) {
+                CircuitBreaker circuitBreaker = CoverityConnectHealth.getCircuitBreaker(endpointUrl);
+                // An open breaker is left alone until it is due for its half-open probe
+                if (circuitBreaker.allowRequest()) {
+                    probe(coverityConnectInstance, endpointUrl, circuitBreaker);
+                }
+            }
+        }
+    }
+
+    private void probe(CoverityConnectInstance coverityConnectInstance, String endpointUrl, CircuitBreaker circuitBreaker) {
+        Thread thread = Thread.currentThread();
+        ClassLoader threadClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(this.getClass().getClassLoader());
+        try {
+            WebServiceFactory webServiceFactory = coverityConnectInstance.getCoverityServerConfig(logger, coverityConnectInstance.getDefaultCredentialsId(), endpointUrl).createWebServiceFactory(logger);
+            long startTime = System.nanoTime();
+            webServiceFactory.connect();
+            CoverityConnectEndpoints.recordLatency(endpointUrl, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            circuitBreaker.recordSuccess();
+        } catch (Exception e) {
+            if (ConnectionFailures.isOutage(e)) {
+                circuitBreaker.recordFailure(e.getMessage());
+            } else {
+                circuitBreaker.releaseProbe();
+            }
+            logger.debug(String.format("Health check of Coverity Connect endpoint %s failed: %s", endpointUrl, e.getMessage()));
+        } finally {
+            thread.setContextClassLoader(threadClassLoader);
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import hudson.init.InitMilestone;
+import jenkins.model.Jenkins;
+
+public class CoverityMetrics {
+    public static final String METRICS_PLUGIN_NAME = "metrics";
+    public static final String PREFIX = "synopsys.coverity";
+
+    private static final Map<String, LongAdder[]> CACHE_HITS_AND_MISSES = new ConcurrentHashMap<>();
+    // Gauges are registered once, so they are kept to be registered again with a sink found later
+    private static final Map<String, Supplier<Double>> GAUGES = new ConcurrentHashMap<>();
+    private static volatile CoverityMetricsSink sink;
+
+    public static void recordCacheRequest(String cacheName, boolean hit) {
+        LongAdder[] hitsAndMisses = CACHE_HITS_AND_MISSES.computeIfAbsent(cacheName, ignored -> {
+            LongAdder[] newHitsAndMisses = new LongAdder[] { new LongAdder(), new LongAdder() };
+            registerGauge(name("cache", cacheName, "hitRatio"), () -> calculateRatio(newHitsAndMisses[0].sum(), newHitsAndMisses[1].sum()));
+            return newHitsAndMisses;
+        });
+
+        if (hit) {
+            hitsAndMisses[0].increment();
+            getSink().incrementCounter(name("cache", cacheName, "hits"));
+        } else {
+            hitsAndMisses[1].increment();
+            getSink().incrementCounter(name("cache", cacheName, "misses"));
+        }
+    }
+
+    public static void recordCacheRefresh(String cacheName, long durationInMillis, boolean successful) {
+        getSink().updateTimer(name("cache", cacheName, "refresh"), durationInMillis);
+        if (!successful) {
+            getSink().incrementCounter(name("cache", cacheName, "refreshFailures"));
+        }
+    }
+
+    public static SoapCallTimer timeSoapCall(String operation) {
+        return new SoapCallTimer(name("soap", operation));
+    }
+
+    public static void recordToolRun(String executable, Integer exitCode, long durationInMillis) {
+        String commandType = FilenameUtils.getBaseName(executable);
+        getSink().updateTimer(name("tool", commandType, "duration"), durationInMillis);
+        // A command that was interrupted or could not be started has no exit code
+        getSink().incrementCounter(name("tool", commandType, "exitCode", exitCode == null ? null : String.valueOf(exitCode)));
+    }
+
+    public static void recordChangeSetSize(int changeSetSize) {
+        getSink().updateHistogram(name("changeSet", "size"), changeSetSize);
+    }
+
+    public static void recordIssueCount(int issueCount) {
+        getSink().updateHistogram(name("issues", "count"), issueCount);
+    }
+
+    public static class SoapCallTimer implements AutoCloseable {
+        private final String metricName;
+        private final long startTime;
+
+        private SoapCallTimer(String metricName) {
+            this.metricName = metricName;
+            this.startTime = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            getSink().updateTimer(metricName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        }
+    }
+
+    private static double calculateRatio(long hits, long misses) {
+        long total = hits + misses;
+        if (total == 0) {
+            return Double.NaN;
+        }
+        return (double) hits / total;
+    }
+
+    private static String name(String... nameParts) {
+        StringBuilder nameBuilder = new StringBuilder(PREFIX);
+        for (String namePart : nameParts) {
+            nameBuilder.append('.').append(StringUtils.defaultIfBlank(namePart, "unknown").replaceAll("[^A-Za-z0-9_\\-]", "_"));
+        }
+        return nameBuilder.toString();
+    }
+
+    private static void registerGauge(String name, Supplier<Double> valueSupplier) {
+        GAUGES.put(name, valueSupplier);
+        getSink().registerGauge(name, valueSupplier);
+    }
+
+    private static CoverityMetricsSink getSink() {
+        CoverityMetricsSink currentSink = sink;
+        if (currentSink != null) {
+            return currentSink;
+        }
+
+        synchronized (CoverityMetrics.class) {
+            if (sink != null) {
+                return sink;
+            }
+
+            Jenkins jenkins = Jenkins.getInstanceOrNull();
+            if (jenkins == null) {
+                return CoverityMetricsSink.NO_OP;
+            }
+
+            if (jenkins.getPlugin(METRICS_PLUGIN_NAME) != null) {
+                try {
+                    CoverityMetricsSink dropwizardSink = new DropwizardCoverityMetricsSink();
+                    GAUGES.forEach(dropwizardSink::registerGauge);
+                    sink = dropwizardSink;
+                } catch (LinkageError e) {
+                    // The metrics plugin is installed but disabled or incompatible, so there is nowhere to export to
+                    sink = CoverityMetricsSink.NO_OP;
+                }
+                return sink;
+            }
+
+            // Caches and tools can be used while plugins are still starting, so the absence of the metrics plugin is only final once Jenkins is up
+            if (jenkins.getInitLevel() == InitMilestone.COMPLETED) {
+                sink = CoverityMetricsSink.NO_OP;
+            }
+            return CoverityMetricsSink.NO_OP;
+        }
+    }
+
+}
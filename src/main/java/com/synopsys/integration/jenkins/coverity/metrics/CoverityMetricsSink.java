@@ -0,0 +1,43 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.metrics;
+
+import java.util.function.Supplier;
+
+public interface CoverityMetricsSink {
+    CoverityMetricsSink NO_OP = new CoverityMetricsSink() {
+        @Override
+        public void updateTimer(String name, long durationInMillis) {
+            // Metrics are not being collected
+        }
+
+        @Override
+        public void incrementCounter(String name) {
+            // Metrics are not being collected
+        }
+
+        @Override
+        public void updateHistogram(String name, long value) {
+            // Metrics are not being collected
+        }
+
+        @Override
+        public void registerGauge(String name, Supplier<Double> valueSupplier) {
+            // Metrics are not being collected
+        }
+    };
+
+    void updateTimer(String name, long durationInMillis);
+
+    void incrementCounter(String name);
+
+    void updateHistogram(String name, long value);
+
+    void registerGauge(String name, Supplier<Double> valueSupplier);
+
+}
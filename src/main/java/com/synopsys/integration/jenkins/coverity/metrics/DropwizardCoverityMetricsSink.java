@@ -0,0 +1,43 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+import jenkins.metrics.api.Metrics;
+
+// Only loaded when the metrics plugin is installed, so nothing outside of this class may reference the metrics plugin API
+public class DropwizardCoverityMetricsSink implements CoverityMetricsSink {
+    @Override
+    public void updateTimer(String name, long durationInMillis) {
+        Metrics.metricRegistry().timer(name).update(durationInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void incrementCounter(String name) {
+        Metrics.metricRegistry().counter(name).inc();
+    }
+
+    @Override
+    public void updateHistogram(String name, long value) {
+        Metrics.metricRegistry().histogram(name).update(value);
+    }
+
+    @Override
+    public synchronized void registerGauge(String name, Supplier<Double> valueSupplier) {
+        MetricRegistry metricRegistry = Metrics.metricRegistry();
+        if (!metricRegistry.getGauges().containsKey(name)) {
+            metricRegistry.register(name, (Gauge<Double>) valueSupplier::get);
+        }
+    }
+
+}
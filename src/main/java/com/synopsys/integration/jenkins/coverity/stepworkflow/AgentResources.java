@@ -0,0 +1,70 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.Serializable;
+
+public class AgentResources implements Serializable {
+    public static final long UNLIMITED = -1;
+    private static final long serialVersionUID = -5583020717389516233L;
+
+    private final int availableProcessors;
+    private final double cgroupCpuLimit;
+    private final long availableMemoryInBytes;
+    private final long cgroupMemoryLimitInBytes;
+
+    public AgentResources(int availableProcessors, double cgroupCpuLimit, long availableMemoryInBytes, long cgroupMemoryLimitInBytes) {
+        this.availableProcessors = availableProcessors;
+        this.cgroupCpuLimit = cgroupCpuLimit;
+        this.availableMemoryInBytes = availableMemoryInBytes;
+        this.cgroupMemoryLimitInBytes = cgroupMemoryLimitInBytes;
+    }
+
+    public int getAvailableProcessors() {
+        return availableProcessors;
+    }
+
+    public double getCgroupCpuLimit() {
+        return cgroupCpuLimit;
+    }
+
+    public long getAvailableMemoryInBytes() {
+        return availableMemoryInBytes;
+    }
+
+    public long getCgroupMemoryLimitInBytes() {
+        return cgroupMemoryLimitInBytes;
+    }
+
+    public int getEffectiveProcessors() {
+        int effectiveProcessors = availableProcessors;
+        if (cgroupCpuLimit > 0) {
+            effectiveProcessors = Math.min(effectiveProcessors, (int) Math.ceil(cgroupCpuLimit));
+        }
+        return Math.max(1, effectiveProcessors);
+    }
+
+    public long getEffectiveMemoryInBytes() {
+        if (cgroupMemoryLimitInBytes > 0 && availableMemoryInBytes > 0) {
+            return Math.min(cgroupMemoryLimitInBytes, availableMemoryInBytes);
+        } else if (cgroupMemoryLimitInBytes > 0) {
+            return cgroupMemoryLimitInBytes;
+        }
+        return availableMemoryInBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s available processors, cgroup CPU limit: %s, %s MB available memory, cgroup memory limit: %s",
+            availableProcessors,
+            cgroupCpuLimit > 0 ? String.valueOf(cgroupCpuLimit) : "none",
+            availableMemoryInBytes / (1024 * 1024),
+            cgroupMemoryLimitInBytes > 0 ? (cgroupMemoryLimitInBytes / (1024 * 1024)) + " MB" : "none");
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.jenkins.coverity.extensions.CoverityAnalysisType;
+
+import hudson.XmlFile;
+import hudson.model.Job;
+
+public class AnalysisCostHistory {
+    public static final String HISTORY_FILE_NAME = "synopsys-coverity-analysis-costs.xml";
+    // Enough to smooth over noisy builds while still following the code base as it grows
+    public static final int MAX_SAMPLES_PER_ANALYSIS_TYPE = 20;
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnalysisCostHistory.class);
+
+    private final List<Sample> samples = new ArrayList<>();
+
+    public static synchronized AnalysisCostHistory load(Job<?, ?> job) {
+        XmlFile historyFile = getHistoryFile(job);
+        if (historyFile.exists()) {
+            try {
+                return (AnalysisCostHistory) historyFile.read();
+            } catch (IOException | ClassCastException e) {
+                LOGGER.warn(String.format("Could not read the Synopsys Coverity analysis cost history of %s, starting a new one", job.getFullName()), e);
+            }
+        }
+        return new AnalysisCostHistory();
+    }
+
+    public static synchronized void record(Job<?, ?> job, CoverityAnalysisType analysisType, double weightedKilobytes, long durationInMillis) {
+        AnalysisCostHistory analysisCostHistory = load(job);
+        analysisCostHistory.add(new Sample(analysisType, weightedKilobytes, durationInMillis));
+        try {
+            getHistoryFile(job).write(analysisCostHistory);
+        } catch (IOException e) {
+            LOGGER.warn(String.format("Could not save the Synopsys Coverity analysis cost history of %s", job.getFullName()), e);
+        }
+    }
+
+    public List<Sample> getSamples(CoverityAnalysisType analysisType) {
+        return samples.stream()
+                   .filter(sample -> analysisType.equals(sample.getAnalysisType()))
+                   .collect(Collectors.toList());
+    }
+
+    private void add(Sample sample) {
+        samples.add(sample);
+        List<Sample> samplesOfType = getSamples(sample.getAnalysisType());
+        if (samplesOfType.size() > MAX_SAMPLES_PER_ANALYSIS_TYPE) {
+            samples.remove(samplesOfType.get(0));
+        }
+    }
+
+    private static XmlFile getHistoryFile(Job<?, ?> job) {
+        return new XmlFile(new File(job.getRootDir(), HISTORY_FILE_NAME));
+    }
+
+    public static class Sample {
+        private final CoverityAnalysisType analysisType;
+        private final double weightedKilobytes;
+        private final long durationInMillis;
+
+        public Sample(CoverityAnalysisType analysisType, double weightedKilobytes, long durationInMillis) {
+            this.analysisType = analysisType;
+            this.weightedKilobytes = weightedKilobytes;
+            this.durationInMillis = durationInMillis;
+        }
+
+        public CoverityAnalysisType getAnalysisType() {
+            return analysisType;
+        }
+
+        public double getWeightedKilobytes() {
+            return weightedKilobytes;
+        }
+
+        public long getDurationInMillis() {
+            return durationInMillis;
+        }
+    }
+
+}
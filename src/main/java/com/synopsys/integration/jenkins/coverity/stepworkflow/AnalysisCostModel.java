@@ -0,0 +1,126 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.synopsys.integration.jenkins.coverity.extensions.CoverityAnalysisType;
+
+import hudson.Util;
+
+public class AnalysisCostModel {
+    public static final int MINIMUM_SAMPLES = 3;
+
+    private final List<AnalysisCostHistory.Sample> fullAnalysisSamples;
+    private final List<AnalysisCostHistory.Sample> incrementalAnalysisSamples;
+
+    public AnalysisCostModel(List<AnalysisCostHistory.Sample> fullAnalysisSamples, List<AnalysisCostHistory.Sample> incrementalAnalysisSamples) {
+        this.fullAnalysisSamples = fullAnalysisSamples;
+        this.incrementalAnalysisSamples = incrementalAnalysisSamples;
+    }
+
+    public Decision choose(ChangeSetProfile changeSetProfile, int changeSetSize, int changeSetThreshold) {
+        List<String> reasoning = new ArrayList<>();
+        reasoning.add("Change set: " + changeSetProfile);
+
+        // Until both paths have been measured a few times, the threshold decides, which also gathers the history for both of them
+        if (fullAnalysisSamples.size() < MINIMUM_SAMPLES || incrementalAnalysisSamples.size() < MINIMUM_SAMPLES) {
+            CoverityAnalysisType analysisType = changeSetSize >= changeSetThreshold ? CoverityAnalysisType.COV_ANALYZE : CoverityAnalysisType.COV_RUN_DESKTOP;
+            reasoning.add(String.format("Not enough history to estimate costs: %d full and %d incremental analyses recorded, %d of each are needed", fullAnalysisSamples.size(), incrementalAnalysisSamples.size(), MINIMUM_SAMPLES));
+            reasoning.add(String.format("Choosing %s because the change set of %d files is %s the threshold of %d files", analysisType.getDisplayName(), changeSetSize, changeSetSize >= changeSetThreshold ? "at or above" : "below",
+                changeSetThreshold));
+            return new Decision(analysisType, reasoning);
+        }
+
+        long fullAnalysisEstimate = estimateFullAnalysis();
+        reasoning.add(String.format("Estimated Full Analysis: %s, the median of the last %d full analyses", Util.getTimeSpanString(fullAnalysisEstimate), fullAnalysisSamples.size()));
+
+        LinearFit linearFit = fitIncrementalAnalysis();
+        double weightedKilobytes = changeSetProfile.getWeightedKilobytes();
+        long incrementalAnalysisEstimate = Math.round(linearFit.intercept + linearFit.slope * weightedKilobytes);
+        reasoning.add(String.format("Estimated Incremental Analysis: %s, from %s plus %.1f ms per weighted KB fitted to the last %d incremental analyses", Util.getTimeSpanString(incrementalAnalysisEstimate),
+            Util.getTimeSpanString(Math.round(linearFit.intercept)), linearFit.slope, incrementalAnalysisSamples.size()));
+
+        CoverityAnalysisType analysisType = incrementalAnalysisEstimate < fullAnalysisEstimate ? CoverityAnalysisType.COV_RUN_DESKTOP : CoverityAnalysisType.COV_ANALYZE;
+        reasoning.add(String.format("Choosing %s because it is estimated to be cheaper", analysisType.getDisplayName()));
+        return new Decision(analysisType, reasoning);
+    }
+
+    private long estimateFullAnalysis() {
+        // A full analysis covers the whole code base no matter what changed, and the median is not thrown off by the odd slow build
+        List<Long> durations = new ArrayList<>();
+        fullAnalysisSamples.forEach(sample -> durations.add(sample.getDurationInMillis()));
+        Collections.sort(durations);
+        int middle = durations.size() / 2;
+        if (durations.size() % 2 == 0) {
+            return (durations.get(middle - 1) + durations.get(middle)) / 2;
+        }
+        return durations.get(middle);
+    }
+
+    private LinearFit fitIncrementalAnalysis() {
+        double meanX = incrementalAnalysisSamples.stream().mapToDouble(AnalysisCostHistory.Sample::getWeightedKilobytes).average().orElse(0);
+        double meanY = incrementalAnalysisSamples.stream().mapToDouble(AnalysisCostHistory.Sample::getDurationInMillis).average().orElse(0);
+
+        double covariance = 0;
+        double variance = 0;
+        for (AnalysisCostHistory.Sample sample : incrementalAnalysisSamples) {
+            double dx = sample.getWeightedKilobytes() - meanX;
+            covariance += dx * (sample.getDurationInMillis() - meanY);
+            variance += dx * dx;
+        }
+
+        // Least squares, kept to a cost that never shrinks as the change set grows and never starts below zero
+        if (variance == 0 || covariance <= 0) {
+            return new LinearFit(meanY, 0);
+        }
+        double slope = covariance / variance;
+        double intercept = meanY - slope * meanX;
+        if (intercept < 0) {
+            double sumXY = 0;
+            double sumXX = 0;
+            for (AnalysisCostHistory.Sample sample : incrementalAnalysisSamples) {
+                sumXY += sample.getWeightedKilobytes() * sample.getDurationInMillis();
+                sumXX += sample.getWeightedKilobytes() * sample.getWeightedKilobytes();
+            }
+            return new LinearFit(0, sumXX == 0 ? 0 : sumXY / sumXX);
+        }
+        return new LinearFit(intercept, slope);
+    }
+
+    private static class LinearFit {
+        private final double intercept;
+        private final double slope;
+
+        private LinearFit(double intercept, double slope) {
+            this.intercept = intercept;
+            this.slope = slope;
+        }
+    }
+
+    public static class Decision {
+        private final CoverityAnalysisType analysisType;
+        private final List<String> reasoning;
+
+        public Decision(CoverityAnalysisType analysisType, List<String> reasoning) {
+            this.analysisType = analysisType;
+            this.reasoning = reasoning;
+        }
+
+        public CoverityAnalysisType getAnalysisType() {
+            return analysisType;
+        }
+
+        public List<String> getReasoning() {
+            return reasoning;
+        }
+    }
+
+}
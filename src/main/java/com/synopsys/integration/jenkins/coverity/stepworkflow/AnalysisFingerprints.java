@@ -0,0 +1,80 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityGlobalConfig;
+
+import hudson.XmlFile;
+import jenkins.model.Jenkins;
+
+public class AnalysisFingerprints {
+    public static final String FINGERPRINTS_FILE_NAME = "synopsys-coverity-analysis-fingerprints.xml";
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnalysisFingerprints.class);
+    private static HashMap<String, String> committedFingerprints;
+
+    public static synchronized Optional<String> getCommittedFingerprint(String coverityInstanceUrl, String streamName) {
+        return Optional.ofNullable(getOrLoadCommittedFingerprints().get(toKey(coverityInstanceUrl, streamName)));
+    }
+
+    public static synchronized void recordCommit(String coverityInstanceUrl, String streamName, String fingerprint) {
+        HashMap<String, String> fingerprints = getOrLoadCommittedFingerprints();
+        if (!fingerprint.equals(fingerprints.put(toKey(coverityInstanceUrl, streamName), fingerprint))) {
+            save(fingerprints);
+        }
+    }
+
+    // The stream now holds the results of a commit that was not fingerprinted, so no analysis may be skipped for it until a new fingerprint is recorded
+    public static synchronized void invalidate(String coverityInstanceUrl, String streamName) {
+        HashMap<String, String> fingerprints = getOrLoadCommittedFingerprints();
+        if (fingerprints.remove(toKey(coverityInstanceUrl, streamName)) != null) {
+            save(fingerprints);
+        }
+    }
+
+    private static void save(HashMap<String, String> fingerprints) {
+        try {
+            getFingerprintsFile().write(fingerprints);
+        } catch (IOException e) {
+            // The fingerprints are still kept in memory, so only a restart loses the change
+            LOGGER.warn("Could not save the Synopsys Coverity analysis fingerprints", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HashMap<String, String> getOrLoadCommittedFingerprints() {
+        if (committedFingerprints == null) {
+            committedFingerprints = new HashMap<>();
+            XmlFile fingerprintsFile = getFingerprintsFile();
+            if (fingerprintsFile.exists()) {
+                try {
+                    committedFingerprints.putAll((HashMap<String, String>) fingerprintsFile.read());
+                } catch (IOException | ClassCastException e) {
+                    LOGGER.warn("Could not read the Synopsys Coverity analysis fingerprints, every analysis will run until new commits are recorded", e);
+                }
+            }
+        }
+        return committedFingerprints;
+    }
+
+    private static XmlFile getFingerprintsFile() {
+        return new XmlFile(new File(Jenkins.get().getRootDir(), FINGERPRINTS_FILE_NAME));
+    }
+
+    private static String toKey(String coverityInstanceUrl, String streamName) {
+        return CoverityGlobalConfig.normalizeUrl(coverityInstanceUrl) + "|" + streamName;
+    }
+
+}
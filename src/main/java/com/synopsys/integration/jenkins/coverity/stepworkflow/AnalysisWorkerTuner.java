@@ -0,0 +1,56 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.tools.ant.types.Commandline;
+
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.AutoTuneAnalysis;
+
+public class AnalysisWorkerTuner {
+    // The cov-analyze main process needs memory of its own on top of the workers
+    public static final long RESERVED_MEMORY_IN_MEGABYTES = 1024;
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    public int computeWorkers(AgentResources agentResources, AutoTuneAnalysis autoTuneAnalysis) {
+        int workers = agentResources.getEffectiveProcessors();
+
+        long effectiveMemoryInBytes = agentResources.getEffectiveMemoryInBytes();
+        if (effectiveMemoryInBytes > 0) {
+            long memoryForWorkersInMegabytes = effectiveMemoryInBytes / BYTES_PER_MEGABYTE - RESERVED_MEMORY_IN_MEGABYTES;
+            long workersThatFitInMemory = memoryForWorkersInMegabytes / autoTuneAnalysis.getMemoryPerWorkerInMegabytesOrDefault();
+            workers = (int) Math.min(workers, workersThatFitInMemory);
+        }
+
+        Integer maximumWorkers = autoTuneAnalysis.getMaximumWorkers();
+        if (maximumWorkers != null && maximumWorkers > 0) {
+            workers = Math.min(workers, maximumWorkers);
+        }
+
+        return Math.max(1, workers);
+    }
+
+    public boolean specifiesWorkers(String covAnalyzeArguments) {
+        if (StringUtils.isBlank(covAnalyzeArguments)) {
+            return false;
+        }
+        return Arrays.stream(Commandline.translateCommandline(covAnalyzeArguments))
+                   .anyMatch(argument -> "-j".equals(argument) || "--jobs".equals(argument) || argument.startsWith("--jobs=") || argument.matches("-j\\d+"));
+    }
+
+    public String addWorkers(String covAnalyzeArguments, int workers) {
+        String jobsArgument = "--jobs " + workers;
+        if (StringUtils.isBlank(covAnalyzeArguments)) {
+            return jobsArgument;
+        }
+        return jobsArgument + " " + covAnalyzeArguments;
+    }
+
+}
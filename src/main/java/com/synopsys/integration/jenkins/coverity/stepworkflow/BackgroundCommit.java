@@ -0,0 +1,105 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+
+import hudson.FilePath;
+import hudson.util.StreamTaskListener;
+
+public class BackgroundCommit {
+    private final String id = UUID.randomUUID().toString();
+    private final String coverityInstanceUrl;
+    private final String projectName;
+    private final String streamName;
+    private final File logFile;
+    private final StreamTaskListener listener;
+    private final CoverityJenkinsIntLogger logger;
+    // The copies the commit reads from instead of the workspace, which only the commit itself cleans up
+    private final List<FilePath> stagingDirectories;
+    private final CompletableFuture<Boolean> completion = new CompletableFuture<>();
+
+    public BackgroundCommit(String coverityInstanceUrl, String projectName, String streamName, File logFile, StreamTaskListener listener, CoverityJenkinsIntLogger logger,
+        List<FilePath> stagingDirectories) {
+        this.coverityInstanceUrl = coverityInstanceUrl;
+        this.projectName = projectName;
+        this.streamName = streamName;
+        this.logFile = logFile;
+        this.listener = listener;
+        this.logger = logger;
+        this.stagingDirectories = stagingDirectories;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getCoverityInstanceUrl() {
+        return coverityInstanceUrl;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public String getStreamName() {
+        return streamName;
+    }
+
+    public File getLogFile() {
+        return logFile;
+    }
+
+    public CoverityJenkinsIntLogger getLogger() {
+        return logger;
+    }
+
+    public List<FilePath> getStagingDirectories() {
+        return Collections.unmodifiableList(stagingDirectories);
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    public boolean await() throws InterruptedException {
+        try {
+            return completion.get();
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    public void whenDone(Consumer<Boolean> action) {
+        completion.whenComplete((successful, throwable) -> action.accept(Boolean.TRUE.equals(successful)));
+    }
+
+    public void whenSuccessful(Runnable action) {
+        completion.thenAccept(successful -> {
+            if (Boolean.TRUE.equals(successful)) {
+                action.run();
+            }
+        });
+    }
+
+    void complete(boolean successful) {
+        // Anything waiting on the commit still gets to write to its log before the log is closed
+        completion.complete(successful);
+        listener.getLogger().flush();
+        listener.getLogger().close();
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityGlobalConfig;
+import com.synopsys.integration.log.IntLogger;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+public class BackgroundCommits {
+    // The commits spend nearly all of their time waiting on the agent and on Coverity Connect, so they don't need to share a small pool
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new NamingThreadFactory(new DaemonThreadFactory(), "Synopsys Coverity background commit"));
+    private static final Map<String, List<BackgroundCommit>> PENDING_COMMITS = new ConcurrentHashMap<>();
+
+    public static void start(BackgroundCommit backgroundCommit, Callable<Boolean> commit) {
+        String key = toKey(backgroundCommit.getCoverityInstanceUrl(), backgroundCommit.getProjectName());
+        PENDING_COMMITS.compute(key, (ignored, pendingCommits) -> {
+            List<BackgroundCommit> updatedPendingCommits = pendingCommits == null ? new CopyOnWriteArrayList<>() : pendingCommits;
+            updatedPendingCommits.add(backgroundCommit);
+            return updatedPendingCommits;
+        });
+
+        EXECUTOR.submit(() -> {
+            boolean successful = false;
+            try {
+                successful = commit.call();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                backgroundCommit.getLogger().error("[ERROR] The background commit was interrupted.");
+            } catch (Exception e) {
+                backgroundCommit.getLogger().error("[ERROR] " + e.getMessage());
+                backgroundCommit.getLogger().trace("Stack trace:", e);
+            } finally {
+                PENDING_COMMITS.computeIfPresent(key, (ignored, pendingCommits) -> {
+                    pendingCommits.remove(backgroundCommit);
+                    return pendingCommits.isEmpty() ? null : pendingCommits;
+                });
+                backgroundCommit.complete(successful);
+            }
+        });
+    }
+
+    public static List<BackgroundCommit> getPendingCommits(String coverityInstanceUrl, String projectName) {
+        List<BackgroundCommit> pendingCommits = PENDING_COMMITS.get(toKey(coverityInstanceUrl, projectName));
+        if (pendingCommits == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(pendingCommits);
+    }
+
+    public static boolean awaitPendingCommits(String coverityInstanceUrl, String projectName, IntLogger logger) throws InterruptedException {
+        List<BackgroundCommit> pendingCommits = getPendingCommits(coverityInstanceUrl, projectName);
+        if (pendingCommits.isEmpty()) {
+            return true;
+        }
+
+        logger.alwaysLog(String.format("Waiting for %d background commit(s) to Coverity project %s to finish", pendingCommits.size(), projectName));
+        boolean allSuccessful = true;
+        for (BackgroundCommit pendingCommit : pendingCommits) {
+            boolean successful = pendingCommit.await();
+            logger.alwaysLog(String.format("-- Background commit to stream %s %s", pendingCommit.getStreamName(), successful ? "finished" : "failed"));
+            allSuccessful = allSuccessful && successful;
+        }
+        return allSuccessful;
+    }
+
+    private static String toKey(String coverityInstanceUrl, String projectName) {
+        return CoverityGlobalConfig.normalizeUrl(coverityInstanceUrl) + "\n" + projectName;
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.apache.commons.io.FilenameUtils;
+
+public class ChangeSetProfile implements Serializable {
+    private static final long serialVersionUID = -7316392880246158523L;
+    private static final double BYTES_PER_KILOBYTE = 1024.0;
+
+    private final int[] fileCounts = new int[FileCategory.values().length];
+    private final long[] fileBytes = new long[FileCategory.values().length];
+    private int missingFileCount = 0;
+
+    public static FileCategory categorize(String path) {
+        String extension = FilenameUtils.getExtension(path).toLowerCase(Locale.ROOT);
+        return Arrays.stream(FileCategory.values())
+                   .filter(fileCategory -> fileCategory.extensions.contains(extension))
+                   .findFirst()
+                   .orElse(FileCategory.OTHER);
+    }
+
+    public void addFile(String path, long sizeInBytes) {
+        FileCategory fileCategory = categorize(path);
+        fileCounts[fileCategory.ordinal()]++;
+        fileBytes[fileCategory.ordinal()] += sizeInBytes;
+    }
+
+    public void addMissingFile() {
+        missingFileCount++;
+    }
+
+    public int getFileCount(FileCategory fileCategory) {
+        return fileCounts[fileCategory.ordinal()];
+    }
+
+    public long getBytes(FileCategory fileCategory) {
+        return fileBytes[fileCategory.ordinal()];
+    }
+
+    public int getMissingFileCount() {
+        return missingFileCount;
+    }
+
+    public double getWeightedKilobytes() {
+        double weightedKilobytes = 0;
+        for (FileCategory fileCategory : FileCategory.values()) {
+            weightedKilobytes += fileCategory.weight * fileBytes[fileCategory.ordinal()] / BYTES_PER_KILOBYTE;
+        }
+        return weightedKilobytes;
+    }
+
+    @Override
+    public String toString() {
+        List<String> parts = new ArrayList<>();
+        for (FileCategory fileCategory : FileCategory.values()) {
+            if (getFileCount(fileCategory) > 0) {
+                parts.add(String.format("%d %s (%.1f KB)", getFileCount(fileCategory), fileCategory.description, getBytes(fileCategory) / BYTES_PER_KILOBYTE));
+            }
+        }
+        if (missingFileCount > 0) {
+            parts.add(String.format("%d deleted", missingFileCount));
+        }
+        if (parts.isEmpty()) {
+            parts.add("no files");
+        }
+        return String.format("%s, %.1f weighted KB", String.join(", ", parts), getWeightedKilobytes());
+    }
+
+    public enum FileCategory {
+        // A changed header pulls every translation unit that includes it back into an incremental analysis, so it costs far more than its own size
+        HEADER("C/C++ headers", 10.0, "h", "hh", "hpp", "hxx", "h++", "inl", "ipp", "tpp"),
+        C_FAMILY_SOURCE("C/C++ sources", 1.0, "c", "cc", "cpp", "cxx", "c++", "m", "mm", "cu"),
+        COMPILED_SOURCE("Java, C#, Go and other compiled sources", 1.0, "java", "kt", "kts", "scala", "groovy", "cs", "vb", "go", "swift", "rs"),
+        SCRIPT_SOURCE("JavaScript, TypeScript, Python and other script sources", 0.5, "js", "jsx", "ts", "tsx", "py", "rb", "php", "vue"),
+        OTHER("other files", 0.0);
+
+        private final String description;
+        private final double weight;
+        private final Set<String> extensions;
+
+        FileCategory(String description, double weight, String... extensions) {
+            this.description = description;
+            this.weight = weight;
+            this.extensions = new HashSet<>(Arrays.asList(extensions));
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+// CIDs are handed out in ascending order, so the gaps between the sorted CIDs of a view are small and mostly fit in one or two bytes
+public class CidSet {
+    public static final CidSet EMPTY = new CidSet(new int[0]);
+    private static final int FORMAT_VERSION = 1;
+
+    private final int[] cids;
+
+    private CidSet(int[] sortedDistinctCids) {
+        this.cids = sortedDistinctCids;
+    }
+
+    public static CidSet of(int... cids) {
+        int[] sortedCids = Arrays.copyOf(cids, cids.length);
+        Arrays.sort(sortedCids);
+
+        int distinctCount = 0;
+        for (int i = 0; i < sortedCids.length; i++) {
+            if (distinctCount == 0 || sortedCids[distinctCount - 1] != sortedCids[i]) {
+                sortedCids[distinctCount++] = sortedCids[i];
+            }
+        }
+        return new CidSet(Arrays.copyOf(sortedCids, distinctCount));
+    }
+
+    public static CidSet readFrom(InputStream inputStream) throws IOException {
+        long formatVersion = readVarLong(inputStream);
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported CID set format version " + formatVersion);
+        }
+
+        long size = readVarLong(inputStream);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("CID set of " + size + " CIDs is too large");
+        }
+
+        int[] cids = new int[(int) size];
+        long previous = 0;
+        for (int i = 0; i < cids.length; i++) {
+            long delta = readVarLong(inputStream);
+            long cid = i == 0 ? decodeZigZag(delta) : previous + delta;
+            if (cid > Integer.MAX_VALUE || cid < Integer.MIN_VALUE || (i > 0 && delta == 0)) {
+                throw new IOException("Corrupt CID set at CID " + i);
+            }
+            cids[i] = (int) cid;
+            previous = cid;
+        }
+        return new CidSet(cids);
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        writeVarLong(outputStream, FORMAT_VERSION);
+        writeVarLong(outputStream, cids.length);
+        for (int i = 0; i < cids.length; i++) {
+            writeVarLong(outputStream, i == 0 ? encodeZigZag(cids[0]) : (long) cids[i] - cids[i - 1]);
+        }
+    }
+
+    public int size() {
+        return cids.length;
+    }
+
+    public boolean contains(int cid) {
+        return Arrays.binarySearch(cids, cid) >= 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(cids, cids.length);
+    }
+
+    public CidSet difference(CidSet other) {
+        int[] difference = new int[cids.length];
+        int differenceCount = 0;
+        int j = 0;
+        for (int cid : cids) {
+            while (j < other.cids.length && other.cids[j] < cid) {
+                j++;
+            }
+            if (j == other.cids.length || other.cids[j] != cid) {
+                difference[differenceCount++] = cid;
+            }
+        }
+        return new CidSet(Arrays.copyOf(difference, differenceCount));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CidSet && Arrays.equals(cids, ((CidSet) o).cids);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(cids);
+    }
+
+    private static long encodeZigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long decodeZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(OutputStream outputStream, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            outputStream.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        outputStream.write((int) value);
+    }
+
+    private static long readVarLong(InputStream inputStream) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = inputStream.read();
+            if (b < 0) {
+                throw new EOFException("CID set ended unexpectedly");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt CID set: variable-length number is too long");
+    }
+
+}
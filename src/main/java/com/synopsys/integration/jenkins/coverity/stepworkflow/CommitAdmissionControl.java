@@ -0,0 +1,98 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityGlobalConfig;
+
+public class CommitAdmissionControl {
+    private static final Map<String, CommitSlots> COMMIT_SLOTS = new ConcurrentHashMap<>();
+
+    public static boolean isLimited(Integer maxConcurrentCommits) {
+        return maxConcurrentCommits != null && maxConcurrentCommits > 0;
+    }
+
+    public static CommitPermit acquire(String coverityInstanceUrl, int maxConcurrentCommits) throws InterruptedException {
+        CommitSlots commitSlots = COMMIT_SLOTS.computeIfAbsent(CoverityGlobalConfig.normalizeUrl(coverityInstanceUrl), ignored -> new CommitSlots(maxConcurrentCommits));
+        commitSlots.resize(maxConcurrentCommits);
+
+        long startTime = System.nanoTime();
+        commitSlots.semaphore.acquire();
+        return new CommitPermit(commitSlots, System.nanoTime() - startTime);
+    }
+
+    public static int getQueueLength(String coverityInstanceUrl) {
+        CommitSlots commitSlots = COMMIT_SLOTS.get(CoverityGlobalConfig.normalizeUrl(coverityInstanceUrl));
+        if (commitSlots == null) {
+            return 0;
+        }
+        return commitSlots.semaphore.getQueueLength();
+    }
+
+    private static class CommitSlots {
+        // Fair, so that commits are admitted in the order the builds asked for them
+        private final ResizableSemaphore semaphore;
+        private int maxConcurrentCommits;
+
+        private CommitSlots(int maxConcurrentCommits) {
+            this.maxConcurrentCommits = maxConcurrentCommits;
+            this.semaphore = new ResizableSemaphore(maxConcurrentCommits);
+        }
+
+        // Permits held by running commits stay counted, so a lowered limit admits nothing new until enough of them are returned
+        private synchronized void resize(int newMaxConcurrentCommits) {
+            int difference = newMaxConcurrentCommits - maxConcurrentCommits;
+            if (difference > 0) {
+                semaphore.release(difference);
+            } else if (difference < 0) {
+                semaphore.reducePermits(-difference);
+            }
+            maxConcurrentCommits = newMaxConcurrentCommits;
+        }
+    }
+
+    private static class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        private ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+
+    public static class CommitPermit implements AutoCloseable {
+        private final CommitSlots commitSlots;
+        private final long waitTimeInNanos;
+        private boolean released = false;
+
+        private CommitPermit(CommitSlots commitSlots, long waitTimeInNanos) {
+            this.commitSlots = commitSlots;
+            this.waitTimeInNanos = waitTimeInNanos;
+        }
+
+        public long getWaitTimeInNanos() {
+            return waitTimeInNanos;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                commitSlots.semaphore.release();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import com.synopsys.integration.coverity.executable.CoverityToolEnvironmentVariable;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.RepeatableCommand;
+
+import hudson.EnvVars;
+import hudson.FilePath;
+import hudson.Util;
+import hudson.remoting.VirtualChannel;
+import hudson.util.DirScanner;
+import hudson.util.io.ArchiverFactory;
+import jenkins.MasterToSlaveFileCallable;
+
+public class CommitRelay {
+    public static final String STAGING_DIRECTORY_NAME = "coverity-commit-staging";
+    public static final String PAYLOAD_FILE_NAME = "coverity-commit-payload.tar.gz";
+    private static final long CHUNK_SIZE_IN_BYTES = 16L * 1024 * 1024;
+    private static final int MAX_CONSECUTIVE_TRANSFER_FAILURES = 5;
+    private static final String COV_COMMIT_DEFECTS = "cov-commit-defects";
+    private static final String AUTH_KEY_FILE_NAME = "auth-key.txt";
+
+    private final FilePath intermediateDirectory;
+    private final FilePath stagingDirectory;
+    private final String controllerCoverityToolHome;
+    // Everything the controller runs with comes from the Jenkins configuration, never from the job or the agent
+    private final String coverityInstanceUrl;
+    @Nullable
+    private final String authKeyFileContents;
+    @Nullable
+    private final String username;
+    @Nullable
+    private final String passphrase;
+    private boolean staged = false;
+
+    public CommitRelay(FilePath intermediateDirectory, FilePath stagingDirectory, String controllerCoverityToolHome, String coverityInstanceUrl, @Nullable String authKeyFileContents, @Nullable String username,
+        @Nullable String passphrase) {
+        this.intermediateDirectory = intermediateDirectory;
+        this.stagingDirectory = stagingDirectory;
+        this.controllerCoverityToolHome = controllerCoverityToolHome;
+        this.coverityInstanceUrl = coverityInstanceUrl;
+        this.authKeyFileContents = authKeyFileContents;
+        this.username = username;
+        this.passphrase = passphrase;
+    }
+
+    public CoverityToolResult commit(CoverityJenkinsIntLogger logger, List<String> arguments, String defaultStreamName) throws IOException, InterruptedException, IntegrationException {
+        stage(logger);
+
+        // The job's own arguments would run on the controller, so only the stream is taken from them
+        String streamName = getArgumentValue(arguments, RepeatableCommand.Argument.STREAM).orElse(defaultStreamName);
+        String authKeyFilePath = authKeyFileContents == null ? null : stagingDirectory.child(AUTH_KEY_FILE_NAME).getRemote();
+        List<String> relayedArguments = createCommitArguments(getStagedIntermediateDirectory().getRemote(), coverityInstanceUrl, streamName, authKeyFilePath);
+
+        HashMap<String, String> environmentVariables = new HashMap<>(EnvVars.masterEnvVars);
+        if (username != null && passphrase != null) {
+            environmentVariables.put(CoverityToolEnvironmentVariable.USER.toString(), username);
+            environmentVariables.put(CoverityToolEnvironmentVariable.PASSPHRASE.toString(), passphrase);
+        }
+
+        logger.alwaysLog("Running cov-commit-defects on the Jenkins controller from the staged intermediate directory. Only the stream of the command is relayed, its other arguments are not.");
+        CoverityRemoteToolRunner coverityRemoteToolRunner = new CoverityRemoteToolRunner(logger, controllerCoverityToolHome, relayedArguments, stagingDirectory.getRemote(), environmentVariables);
+        return coverityRemoteToolRunner.call();
+    }
+
+    static List<String> createCommitArguments(String stagedIntermediateDirectoryPath, String coverityInstanceUrl, String streamName, @Nullable String authKeyFilePath) throws CoverityJenkinsException {
+        if (StringUtils.isBlank(streamName) || streamName.startsWith("-")) {
+            throw new CoverityJenkinsException("Cannot relay cov-commit-defects through the Jenkins controller without a valid stream name, but was given: " + streamName);
+        }
+
+        List<String> arguments = new ArrayList<>(Arrays.asList(
+            COV_COMMIT_DEFECTS,
+            RepeatableCommand.Argument.DIR.toString(), stagedIntermediateDirectoryPath,
+            RepeatableCommand.Argument.URL.toString(), coverityInstanceUrl,
+            RepeatableCommand.Argument.STREAM.toString(), streamName
+        ));
+        if (authKeyFilePath != null) {
+            arguments.add(RepeatableCommand.Argument.AUTH_KEY_FILE.toString());
+            arguments.add(authKeyFilePath);
+        }
+        return arguments;
+    }
+
+    static Optional<String> getArgumentValue(List<String> arguments, RepeatableCommand.Argument argument) {
+        for (int i = 0; i < arguments.size() - 1; i++) {
+            if (argument.toString().equals(arguments.get(i))) {
+                return Optional.of(arguments.get(i + 1));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public FilePath getStagingDirectory() {
+        return stagingDirectory;
+    }
+
+    public void cleanUp(CoverityJenkinsIntLogger logger) {
+        try {
+            stagingDirectory.deleteRecursive();
+            FilePath payload = getAgentPayload();
+            if (payload.exists()) {
+                payload.delete();
+            }
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.warn("WARNING: Synopsys Coverity for Jenkins could not clean up the staged commit payload.");
+            logger.trace("Synopsys Coverity for Jenkins could not clean up the staged commit payload because: ", e);
+        }
+    }
+
+    public synchronized void stage(CoverityJenkinsIntLogger logger) throws IOException, InterruptedException, IntegrationException {
+        if (staged) {
+            return;
+        }
+
+        FilePath agentPayload = getAgentPayload();
+        stagingDirectory.mkdirs();
+        stagingDirectory.chmod(0700);
+        if (authKeyFileContents != null) {
+            FilePath authKeyFile = stagingDirectory.child(AUTH_KEY_FILE_NAME);
+            authKeyFile.write(authKeyFileContents, StandardCharsets.UTF_8.name());
+            authKeyFile.chmod(0600);
+        }
+
+        logger.alwaysLog("Compressing the intermediate directory for transfer to the Jenkins controller");
+        long startTime = System.nanoTime();
+        try (OutputStream payloadOutputStream = agentPayload.write()) {
+            // Ant's default excludes would silently drop files that cov-commit-defects may need, and the digest is taken after they are gone
+            intermediateDirectory.archive(ArchiverFactory.TARGZ, payloadOutputStream, new DirScanner.Glob("**", null, false));
+        }
+        String expectedDigest = agentPayload.act(new Sha256Digest());
+        long payloadSize = agentPayload.length();
+        logger.alwaysLog(String.format("-- Compressed to %s bytes in %s", payloadSize, Util.getTimeSpanString(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime))));
+
+        File stagedPayload = new File(stagingDirectory.getRemote(), PAYLOAD_FILE_NAME);
+        // Whatever is left of an earlier attempt would be resumed from as if it were part of this payload
+        Files.deleteIfExists(stagedPayload.toPath());
+        startTime = System.nanoTime();
+        transfer(logger, agentPayload::readFromOffset, stagedPayload, payloadSize, TimeUnit.SECONDS.toMillis(1));
+        logger.alwaysLog(String.format("-- Transferred to the Jenkins controller in %s", Util.getTimeSpanString(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime))));
+
+        verifyDigest(stagedPayload, expectedDigest);
+
+        FilePath stagedPayloadFilePath = new FilePath(stagedPayload);
+        getStagedIntermediateDirectory().mkdirs();
+        stagedPayloadFilePath.untar(getStagedIntermediateDirectory(), FilePath.TarCompression.GZIP);
+        stagedPayloadFilePath.delete();
+        agentPayload.delete();
+        rejectSymbolicLinks(new File(getStagedIntermediateDirectory().getRemote()).toPath());
+        staged = true;
+    }
+
+    static void verifyDigest(File stagedPayload, String expectedDigest) throws IOException, CoverityJenkinsException {
+        String actualDigest = Sha256Digest.digest(stagedPayload);
+        if (!expectedDigest.equals(actualDigest)) {
+            // A corrupt payload must not be resumed from by a later attempt
+            Files.deleteIfExists(stagedPayload.toPath());
+            throw new CoverityJenkinsException(String.format("The staged commit payload is corrupt: expected SHA-256 %s but found %s", expectedDigest, actualDigest));
+        }
+    }
+
+    // The archive comes from the agent, and a link in it could make cov-commit-defects read files of the controller
+    static void rejectSymbolicLinks(Path stagedIntermediateDirectory) throws IOException, CoverityJenkinsException {
+        try (Stream<Path> paths = Files.walk(stagedIntermediateDirectory)) {
+            Optional<Path> symbolicLink = paths.filter(Files::isSymbolicLink).findFirst();
+            if (symbolicLink.isPresent()) {
+                throw new CoverityJenkinsException("The staged intermediate directory contains a symbolic link, which is not allowed on the Jenkins controller: " + stagedIntermediateDirectory.relativize(symbolicLink.get()));
+            }
+        }
+    }
+
+    static void transfer(CoverityJenkinsIntLogger logger, ChunkSource chunkSource, File stagedPayload, long payloadSize, long retryDelayInMillis) throws IOException, InterruptedException {
+        int consecutiveFailures = 0;
+        // Each chunk resumes from whatever already arrived, so a dropped connection only costs the chunk in flight
+        while (stagedPayload.length() < payloadSize) {
+            long offset = stagedPayload.length();
+            try (InputStream chunkInputStream = chunkSource.readFromOffset(offset);
+                 OutputStream stagedOutputStream = Files.newOutputStream(stagedPayload.toPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (IOUtils.copyLarge(chunkInputStream, stagedOutputStream, 0, CHUNK_SIZE_IN_BYTES) == 0) {
+                    throw new IOException("The commit payload on the agent ended before all of it was transferred");
+                }
+                consecutiveFailures = 0;
+            } catch (IOException e) {
+                // Only failures that make no progress count towards giving up
+                consecutiveFailures = stagedPayload.length() > offset ? 1 : consecutiveFailures + 1;
+                if (consecutiveFailures >= MAX_CONSECUTIVE_TRANSFER_FAILURES) {
+                    throw e;
+                }
+                logger.warn(String.format("Transfer of the commit payload was interrupted at %s of %s bytes, resuming: %s", stagedPayload.length(), payloadSize, e.getMessage()));
+                Thread.sleep(retryDelayInMillis * consecutiveFailures);
+            }
+        }
+    }
+
+    private FilePath getAgentPayload() {
+        return intermediateDirectory.sibling(PAYLOAD_FILE_NAME);
+    }
+
+    private FilePath getStagedIntermediateDirectory() {
+        return stagingDirectory.child("idir");
+    }
+
+    interface ChunkSource {
+        InputStream readFromOffset(long offset) throws IOException, InterruptedException;
+    }
+
+    private static class Sha256Digest extends MasterToSlaveFileCallable<String> {
+        private static final long serialVersionUID = 6134758253297612145L;
+
+        @Override
+        public String invoke(File file, VirtualChannel channel) throws IOException {
+            return digest(file);
+        }
+
+        private static String digest(File file) throws IOException {
+            try (DigestInputStream digestInputStream = new DigestInputStream(Files.newInputStream(file.toPath()), MessageDigest.getInstance("SHA-256"))) {
+                IOUtils.copy(digestInputStream, OutputStream.nullOutputStream());
+                return Util.toHexString(digestInputStream.getMessageDigest().digest());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+}
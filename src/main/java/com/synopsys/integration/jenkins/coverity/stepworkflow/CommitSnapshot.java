@@ -0,0 +1,103 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.RepeatableCommand;
+
+import hudson.FilePath;
+import hudson.Util;
+import hudson.util.DirScanner;
+
+// A private copy of what cov-commit-defects reads, so that a commit can outlive the build's hold on its workspace
+public class CommitSnapshot {
+    private final FilePath workingDirectory;
+    private final FilePath stagingDirectory;
+    // The same intermediate directory or key is only copied once, however many commits read it
+    private final Map<String, FilePath> stagedPaths = new HashMap<>();
+
+    public CommitSnapshot(FilePath workingDirectory, FilePath stagingDirectory) {
+        this.workingDirectory = workingDirectory;
+        this.stagingDirectory = stagingDirectory;
+    }
+
+    public FilePath getStagingDirectory() {
+        return stagingDirectory;
+    }
+
+    public List<String> stage(CoverityJenkinsIntLogger logger, List<String> arguments) throws IOException, InterruptedException {
+        if (!stagingDirectory.exists()) {
+            stagingDirectory.mkdirs();
+            stagingDirectory.chmod(0700);
+        }
+
+        List<String> stagedArguments = new ArrayList<>(arguments);
+        for (int i = 0; i < stagedArguments.size() - 1; i++) {
+            String argument = stagedArguments.get(i);
+            if (RepeatableCommand.Argument.DIR.toString().equals(argument)) {
+                stagedArguments.set(i + 1, stageIntermediateDirectory(logger, stagedArguments.get(i + 1)).getRemote());
+            } else if (RepeatableCommand.Argument.AUTH_KEY_FILE.toString().equals(argument)) {
+                stagedArguments.set(i + 1, stageAuthenticationKeyFile(stagedArguments.get(i + 1)).getRemote());
+            }
+        }
+        return stagedArguments;
+    }
+
+    public void cleanUp(CoverityJenkinsIntLogger logger) {
+        try {
+            stagingDirectory.deleteRecursive();
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.warn("WARNING: Synopsys Coverity for Jenkins could not clean up the copy of the intermediate directory at " + stagingDirectory.getRemote());
+            logger.trace("Synopsys Coverity for Jenkins could not clean up the copy of the intermediate directory because: ", e);
+        }
+    }
+
+    private FilePath stageIntermediateDirectory(CoverityJenkinsIntLogger logger, String intermediateDirectoryPath) throws IOException, InterruptedException {
+        FilePath intermediateDirectory = workingDirectory.child(intermediateDirectoryPath);
+        FilePath stagedIntermediateDirectory = stagedPaths.get(intermediateDirectory.getRemote());
+        if (stagedIntermediateDirectory != null) {
+            return stagedIntermediateDirectory;
+        }
+
+        stagedIntermediateDirectory = stagingDirectory.child("idir" + stagedPaths.size());
+        logger.alwaysLog("Copying the intermediate directory " + intermediateDirectory.getRemote() + " for the background commit");
+        long startTime = System.nanoTime();
+        stagedIntermediateDirectory.mkdirs();
+        // Ant's default excludes would silently drop files that cov-commit-defects may need
+        int fileCount = intermediateDirectory.copyRecursiveTo(new DirScanner.Glob("**", null, false), stagedIntermediateDirectory, "Coverity intermediate directory");
+        logger.alwaysLog(String.format("-- Copied %d files in %s", fileCount, Util.getTimeSpanString(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime))));
+
+        stagedPaths.put(intermediateDirectory.getRemote(), stagedIntermediateDirectory);
+        return stagedIntermediateDirectory;
+    }
+
+    private FilePath stageAuthenticationKeyFile(String authKeyFilePath) throws IOException, InterruptedException {
+        FilePath authKeyFile = workingDirectory.child(authKeyFilePath);
+        FilePath stagedAuthKeyFile = stagedPaths.get(authKeyFile.getRemote());
+        if (stagedAuthKeyFile != null) {
+            return stagedAuthKeyFile;
+        }
+
+        stagedAuthKeyFile = stagingDirectory.child("auth-key" + stagedPaths.size() + ".txt");
+        authKeyFile.copyTo(stagedAuthKeyFile);
+        stagedAuthKeyFile.chmod(0600);
+        stagedPaths.put(authKeyFile.getRemote(), stagedAuthKeyFile);
+        return stagedAuthKeyFile;
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.tools.ant.DirectoryScanner;
+
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.RepeatableCommand;
+
+import hudson.Util;
+
+public class ComputeAnalysisFingerprint extends CoverityRemoteCallable<String> {
+    private static final long serialVersionUID = 3920865870163152704L;
+    // Everything the plugin itself writes into the workspace, none of which is source
+    private static final List<String> PLUGIN_EXCLUSION_PATTERNS = Arrays.asList("idir/**", "auth-key*.txt", CommitRelay.PAYLOAD_FILE_NAME, CoverityRemoteToolRunner.RAW_LOG_DIRECTORY_NAME + "/**",
+        EmitTransfer.ARCHIVE_DIRECTORY_NAME + "/**");
+    // Build output changes with every build, and fingerprinting it would mean no analysis is ever skipped
+    private static final List<String> BUILD_OUTPUT_EXCLUSION_PATTERNS = Arrays.asList("**/target/**", "**/*.o", "**/*.obj", "**/*.a", "**/*.lib", "**/*.so", "**/*.dll", "**/*.exe", "**/*.class", "**/*.pyc");
+    private static final List<String> ANALYSIS_AND_COMMIT_COMMANDS = Arrays.asList("cov-analyze", "cov-run-desktop", "cov-commit-defects");
+
+    private final String sourceDirectoryPath;
+    private final String coverityToolHome;
+    private final ArrayList<String> exclusionPatterns;
+    private final ArrayList<String> normalizedArguments;
+
+    public ComputeAnalysisFingerprint(CoverityJenkinsIntLogger logger, String sourceDirectoryPath, String coverityToolHome, String exclusionPatterns, List<String> normalizedArguments) {
+        super(logger);
+        this.sourceDirectoryPath = sourceDirectoryPath;
+        this.coverityToolHome = coverityToolHome;
+        this.exclusionPatterns = new ArrayList<>(PLUGIN_EXCLUSION_PATTERNS);
+        this.exclusionPatterns.addAll(BUILD_OUTPUT_EXCLUSION_PATTERNS);
+        if (StringUtils.isNotBlank(exclusionPatterns)) {
+            Arrays.stream(exclusionPatterns.split("[,\\r\\n]+"))
+                .map(String::trim)
+                .filter(StringUtils::isNotBlank)
+                .forEach(this.exclusionPatterns::add);
+        }
+        this.normalizedArguments = new ArrayList<>(normalizedArguments);
+    }
+
+    public static boolean isAnalysisOrCommitCommand(String executable) {
+        return ANALYSIS_AND_COMMIT_COMMANDS.contains(FilenameUtils.getBaseName(executable));
+    }
+
+    public static boolean isCommitCommand(String executable) {
+        return "cov-commit-defects".equals(FilenameUtils.getBaseName(executable));
+    }
+
+    public static List<String> normalizeArguments(List<List<String>> commands) {
+        List<String> normalizedArguments = new ArrayList<>();
+        for (List<String> arguments : commands) {
+            for (int i = 0; i < arguments.size(); i++) {
+                String argument = arguments.get(i);
+                // The authentication key file is new every build, the endpoint is chosen per build and the worker count depends on the agent, none of which change the results
+                if (RepeatableCommand.Argument.AUTH_KEY_FILE.toString().equals(argument) || RepeatableCommand.Argument.URL.toString().equals(argument) || "-j".equals(argument) || "--jobs".equals(argument)) {
+                    i++;
+                } else if (!argument.startsWith("--jobs=") && !argument.matches("-j\\d+")) {
+                    normalizedArguments.add(argument);
+                }
+            }
+            normalizedArguments.add("\n");
+        }
+        return normalizedArguments;
+    }
+
+    @Override
+    public String call() throws CoverityJenkinsException {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[65536];
+
+            File sourceDirectory = new File(sourceDirectoryPath);
+            DirectoryScanner directoryScanner = new DirectoryScanner();
+            directoryScanner.setBasedir(sourceDirectory);
+            List<String> allExclusionPatterns = new ArrayList<>(exclusionPatterns);
+            allExclusionPatterns.addAll(getIntermediateDirectoryExclusionPatterns(sourceDirectory));
+            directoryScanner.setExcludes(allExclusionPatterns.toArray(new String[0]));
+            directoryScanner.addDefaultExcludes();
+            directoryScanner.setFollowSymlinks(false);
+            directoryScanner.scan();
+
+            // Sorted so that the fingerprint does not depend on the order the file system lists the files in
+            String[] sourceFiles = directoryScanner.getIncludedFiles();
+            Arrays.sort(sourceFiles);
+            updateWithText(messageDigest, "sources");
+            for (String sourceFile : sourceFiles) {
+                File file = new File(sourceDirectory, sourceFile);
+                updateWithText(messageDigest, sourceFile.replace('\\', '/'));
+                messageDigest.update(ByteBuffer.allocate(Long.BYTES).putLong(file.length()).array());
+                try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+                    int read;
+                    while ((read = inputStream.read(buffer)) != -1) {
+                        messageDigest.update(buffer, 0, read);
+                    }
+                }
+            }
+
+            updateWithText(messageDigest, "version");
+            File versionFile = new File(coverityToolHome, "VERSION");
+            if (versionFile.isFile()) {
+                messageDigest.update(Files.readAllBytes(versionFile.toPath()));
+            } else {
+                // Without a VERSION file the fingerprint can not tell tool upgrades apart, so it must never match
+                throw new CoverityJenkinsException(String.format("%s was not found.", versionFile.getPath()));
+            }
+
+            updateWithText(messageDigest, "arguments");
+            for (String argument : normalizedArguments) {
+                updateWithText(messageDigest, argument);
+            }
+
+            logger.debug(String.format("Fingerprinted %d source files in %s", sourceFiles.length, sourceDirectoryPath));
+            return Util.toHexString(messageDigest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new CoverityJenkinsException("Could not fingerprint the sources for the Coverity analysis", e);
+        }
+    }
+
+    // $COV_DIR does not have to be the idir directory of the workspace, so every --dir of the commands is left out too
+    private List<String> getIntermediateDirectoryExclusionPatterns(File sourceDirectory) {
+        List<String> intermediateDirectoryExclusionPatterns = new ArrayList<>();
+        Path sourcePath = sourceDirectory.toPath().toAbsolutePath().normalize();
+        for (int i = 0; i < normalizedArguments.size() - 1; i++) {
+            if (!RepeatableCommand.Argument.DIR.toString().equals(normalizedArguments.get(i))) {
+                continue;
+            }
+            try {
+                Path intermediateDirectoryPath = sourcePath.resolve(normalizedArguments.get(i + 1)).normalize();
+                if (intermediateDirectoryPath.startsWith(sourcePath) && !intermediateDirectoryPath.equals(sourcePath)) {
+                    intermediateDirectoryExclusionPatterns.add(sourcePath.relativize(intermediateDirectoryPath).toString().replace('\\', '/') + "/**");
+                }
+            } catch (InvalidPathException e) {
+                logger.debug(String.format("Could not leave %s out of the fingerprint: %s", normalizedArguments.get(i + 1), e.getMessage()));
+            }
+        }
+        return intermediateDirectoryExclusionPatterns;
+    }
+
+    private void updateWithText(MessageDigest messageDigest, String text) {
+        messageDigest.update(text.getBytes(StandardCharsets.UTF_8));
+        messageDigest.update((byte) 0);
+    }
+
+}
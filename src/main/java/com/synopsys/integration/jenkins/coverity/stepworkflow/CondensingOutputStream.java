@@ -0,0 +1,125 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+import com.synopsys.integration.jenkins.coverity.extensions.ConsoleOutputMode;
+
+import hudson.console.LineTransformationOutputStream;
+
+// Runs on the agent, so that condensed lines never cross the remoting channel or reach the controller's disk
+public class CondensingOutputStream extends LineTransformationOutputStream {
+    public static final long SUMMARY_INTERVAL_IN_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    public static final String SUMMARY_PREFIX = "[Coverity] ";
+    // [STATUS] lines, the cov-analyze progress bar and its ruler, and bare percentages
+    private static final Pattern PROGRESS_LINE = Pattern.compile("^\\s*(\\[STATUS\\]|\\|0-+25-+50-+75-+100\\||\\*+\\s*$|\\d+%)");
+    private static final Pattern PROBLEM_LINE = Pattern.compile("\\b(error|warning|fatal)\\b", Pattern.CASE_INSENSITIVE);
+
+    private final OutputStream out;
+    private final ConsoleOutputMode consoleOutputMode;
+    @Nullable
+    private final OutputStream rawLog;
+    private final LongSupplier clock;
+    private long lastSummaryTime;
+    private long condensedLinesSinceSummary;
+    private long condensedLines;
+    private String lastCondensedLine;
+    private boolean closed;
+
+    public CondensingOutputStream(OutputStream out, ConsoleOutputMode consoleOutputMode, @Nullable OutputStream rawLog) {
+        this(out, consoleOutputMode, rawLog, System::currentTimeMillis);
+    }
+
+    public CondensingOutputStream(OutputStream out, ConsoleOutputMode consoleOutputMode, @Nullable OutputStream rawLog, LongSupplier clock) {
+        this.out = out;
+        this.consoleOutputMode = consoleOutputMode;
+        this.rawLog = rawLog;
+        this.clock = clock;
+        this.lastSummaryTime = clock.getAsLong();
+    }
+
+    @Override
+    protected void eol(byte[] b, int len) throws IOException {
+        if (rawLog != null) {
+            rawLog.write(b, 0, len);
+        }
+
+        if (ConsoleOutputMode.FULL.equals(consoleOutputMode)) {
+            out.write(b, 0, len);
+            return;
+        }
+
+        String line = trimEOL(new String(b, 0, len, StandardCharsets.UTF_8));
+        if (shouldForward(line)) {
+            out.write(b, 0, len);
+            return;
+        }
+
+        condensedLinesSinceSummary++;
+        condensedLines++;
+        lastCondensedLine = line;
+        if (clock.getAsLong() - lastSummaryTime >= SUMMARY_INTERVAL_IN_MILLIS) {
+            writeSummary();
+        }
+    }
+
+    private boolean shouldForward(String line) {
+        if (PROBLEM_LINE.matcher(line).find()) {
+            return true;
+        }
+        return ConsoleOutputMode.SUMMARY.equals(consoleOutputMode) && !PROGRESS_LINE.matcher(line).find();
+    }
+
+    private void writeSummary() throws IOException {
+        lastSummaryTime = clock.getAsLong();
+        if (condensedLinesSinceSummary == 0) {
+            return;
+        }
+
+        String summary = String.format("%s%d line(s) condensed, latest: %s%n", SUMMARY_PREFIX, condensedLinesSinceSummary, lastCondensedLine);
+        out.write(summary.getBytes(StandardCharsets.UTF_8));
+        condensedLinesSinceSummary = 0;
+    }
+
+    public long getCondensedLines() {
+        return condensedLines;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        // The stream underneath belongs to the build, so it is only flushed
+        try {
+            forceEol();
+            writeSummary();
+            out.flush();
+        } finally {
+            if (rawLog != null) {
+                rawLog.close();
+            }
+        }
+    }
+
+}
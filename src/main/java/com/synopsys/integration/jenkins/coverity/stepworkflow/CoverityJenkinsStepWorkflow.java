@@ -8,6 +8,10 @@
 package com.synopsys.integration.jenkins.coverity.stepworkflow;
 
 import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import com.synopsys.integration.coverity.api.ws.configuration.ConfigurationService;
 import com.synopsys.integration.coverity.api.ws.configuration.LicenseDataObj;
@@ -15,24 +19,30 @@ import com.synopsys.integration.coverity.api.ws.configuration.VersionDataObj;
 import com.synopsys.integration.coverity.config.CoverityHttpClient;
 import com.synopsys.integration.coverity.ws.WebServiceFactory;
 import com.synopsys.integration.function.ThrowingSupplier;
+import com.synopsys.integration.jenkins.coverity.actions.CoverityPerformanceAction;
 import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsAbortException;
 import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
 import com.synopsys.integration.jenkins.wrapper.JenkinsVersionHelper;
 import com.synopsys.integration.phonehome.request.PhoneHomeRequestBody;
 import com.synopsys.integration.phonehome.request.PhoneHomeRequestBodyBuilder;
 import com.synopsys.integration.stepworkflow.StepWorkflowResponse;
+import com.synopsys.integration.stepworkflow.SubStep;
 import com.synopsys.integration.stepworkflow.jenkins.JenkinsStepWorkflow;
 
 import hudson.AbortException;
+import hudson.model.Run;
 
 public abstract class CoverityJenkinsStepWorkflow<T> extends JenkinsStepWorkflow<T> {
     protected final ThrowingSupplier<WebServiceFactory, CoverityJenkinsAbortException> webServiceFactorySupplier;
+    protected final StepTimings stepTimings;
+    protected final List<CoverityToolResult> coverityToolResults = Collections.synchronizedList(new ArrayList<>());
     protected WebServiceFactory webServiceFactory;
 
     public CoverityJenkinsStepWorkflow(JenkinsIntLogger logger, JenkinsVersionHelper jenkinsVersionHelper, ThrowingSupplier<WebServiceFactory, CoverityJenkinsAbortException> webServiceFactorySupplier) {
         super(logger, jenkinsVersionHelper);
         // Due to special classloading handling, it's better to get a supplier here that we use to fetch the Factory in our override of runWorkflow(). --rotte MAY 2020
         this.webServiceFactorySupplier = webServiceFactorySupplier;
+        this.stepTimings = new StepTimings(this.getClass().getSimpleName());
     }
 
     @Override
@@ -45,13 +55,32 @@ public abstract class CoverityJenkinsStepWorkflow<T> extends JenkinsStepWorkflow
             webServiceFactory = webServiceFactorySupplier.get();
             return super.runWorkflow();
         } finally {
-            this.cleanUp();
-            thread.setContextClassLoader(threadClassLoader);
+            long cleanUpStartTime = System.nanoTime();
+            try {
+                this.cleanUp();
+                stepTimings.record("Clean up", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - cleanUpStartTime), true);
+            } finally {
+                CoverityPerformanceAction.recordPerformance(getRun(), stepTimings.getStepTimings(), getCoverityToolResults());
+                thread.setContextClassLoader(threadClassLoader);
+            }
         }
     }
 
     protected abstract void cleanUp() throws AbortException;
 
+    // The run that the step timings of this workflow are attached to, or null if there is nothing to attach them to
+    protected abstract Run<?, ?> getRun();
+
+    protected List<CoverityToolResult> getCoverityToolResults() {
+        synchronized (coverityToolResults) {
+            return new ArrayList<>(coverityToolResults);
+        }
+    }
+
+    protected <S, R> SubStep<S, R> timed(String stepName, SubStep<S, R> subStep) {
+        return new TimedSubStep<>(stepName, subStep, stepTimings);
+    }
+
     @Override
     protected PhoneHomeRequestBodyBuilder createPhoneHomeBuilder() {
         CoverityHttpClient coverityHttpClient = webServiceFactory.getCoverityHttpClient();
@@ -7,13 +7,24 @@
  */
 package com.synopsys.integration.jenkins.coverity.stepworkflow;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
-import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import com.synopsys.integration.coverity.exception.ExecutableException;
 import com.synopsys.integration.coverity.exception.ExecutableRunnerException;
@@ -21,33 +32,62 @@ import com.synopsys.integration.coverity.executable.Executable;
 import com.synopsys.integration.coverity.executable.ExecutableManager;
 import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
 import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
+import com.synopsys.integration.jenkins.coverity.extensions.ConsoleOutputMode;
 
-public class CoverityRemoteToolRunner extends CoverityRemoteCallable<Integer> {
+public class CoverityRemoteToolRunner extends CoverityRemoteCallable<CoverityToolResult> {
     private static final long serialVersionUID = -1777043273065180425L;
+    public static final String RAW_LOG_DIRECTORY_NAME = "coverity-logs";
     private final String coverityToolHome;
     private final List<String> arguments;
     private final HashMap<String, String> environmentVariables;
+    private final ConsoleOutputMode consoleOutputMode;
 
     private final String workingDirectoryPath;
 
     public CoverityRemoteToolRunner(final CoverityJenkinsIntLogger logger, final String coverityToolHome, final List<String> arguments, final String workingDirectoryPath, final HashMap<String, String> environmentVariables) {
+        this(logger, coverityToolHome, arguments, workingDirectoryPath, environmentVariables, ConsoleOutputMode.FULL);
+    }
+
+    public CoverityRemoteToolRunner(final CoverityJenkinsIntLogger logger, final String coverityToolHome, final List<String> arguments, final String workingDirectoryPath, final HashMap<String, String> environmentVariables,
+        final ConsoleOutputMode consoleOutputMode) {
         super(logger);
         this.environmentVariables = environmentVariables;
         this.coverityToolHome = coverityToolHome;
         this.arguments = arguments;
         this.workingDirectoryPath = workingDirectoryPath;
+        this.consoleOutputMode = consoleOutputMode == null ? ConsoleOutputMode.FULL : consoleOutputMode;
     }
 
-    public Integer call() throws CoverityJenkinsException {
+    public CoverityToolResult call() throws CoverityJenkinsException {
         final File workingDirectory = new File(workingDirectoryPath);
-        final Executable executable = new Executable(arguments, workingDirectory, environmentVariables);
+        final String processMarker = UUID.randomUUID().toString();
+        final HashMap<String, String> markedEnvironmentVariables = new HashMap<>(environmentVariables);
+        markedEnvironmentVariables.put(ProcessResourceSampler.MARKER_ENVIRONMENT_VARIABLE, processMarker);
+        final Executable executable = new Executable(arguments, workingDirectory, markedEnvironmentVariables);
         final ExecutableManager executableManager = new ExecutableManager(new File(coverityToolHome));
-        final Integer exitCode;
+        final String command = arguments.isEmpty() ? StringUtils.EMPTY : FilenameUtils.getName(arguments.get(0));
         final ByteArrayOutputStream errorOutputStream = new ByteArrayOutputStream();
-        try (final PrintStream errorStream = new PrintStream(errorOutputStream, true, "UTF-8")) {
-            final PrintStream jenkinsPrintStream = logger.getTaskListener().getLogger();
-            exitCode = executableManager.execute(executable, logger, jenkinsPrintStream, errorStream);
-        } catch (final UnsupportedEncodingException | ExecutableException | ExecutableRunnerException e) {
+        final File rawLogFile = ConsoleOutputMode.FULL.equals(consoleOutputMode) ? null : createRawLogFile(workingDirectory, command);
+        final PrintStream jenkinsPrintStream = logger.getTaskListener().getLogger();
+        try (final PrintStream errorStream = new PrintStream(errorOutputStream, true, "UTF-8");
+             final ProcessResourceSampler processResourceSampler = new ProcessResourceSampler(processMarker, coverityToolHome);
+             final CondensingOutputStream condensingOutputStream = rawLogFile == null ? null : new CondensingOutputStream(jenkinsPrintStream, consoleOutputMode, createRawLog(rawLogFile));
+             final PrintStream condensedPrintStream = condensingOutputStream == null ? null : new PrintStream(condensingOutputStream, true, "UTF-8")) {
+            final long startTime = System.nanoTime();
+            processResourceSampler.start();
+            final Integer exitCode = executableManager.execute(executable, logger, condensedPrintStream == null ? jenkinsPrintStream : condensedPrintStream, errorStream);
+            final long wallTimeInMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            processResourceSampler.close();
+
+            if (condensingOutputStream != null) {
+                condensingOutputStream.close();
+                logger.alwaysLog(String.format("%d line(s) of %s output were condensed. The full output is in %s", condensingOutputStream.getCondensedLines(), command, rawLogFile.getPath()));
+            }
+
+            final CoverityToolResult coverityToolResult = processResourceSampler.createResult(command, exitCode, wallTimeInMillis);
+            logger.info(coverityToolResult.getSummary());
+            return coverityToolResult;
+        } catch (final IOException | ExecutableException | ExecutableRunnerException e) {
             throw new CoverityJenkinsException(e);
         } catch (final InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -55,7 +95,21 @@ public class CoverityRemoteToolRunner extends CoverityRemoteCallable<Integer> {
         } finally {
             logger.error(new String(errorOutputStream.toByteArray(), StandardCharsets.UTF_8));
         }
-        return exitCode;
+    }
+
+    private File createRawLogFile(final File workingDirectory, final String command) throws CoverityJenkinsException {
+        final File rawLogDirectory = new File(workingDirectory, RAW_LOG_DIRECTORY_NAME);
+        try {
+            Files.createDirectories(rawLogDirectory.toPath());
+        } catch (final IOException e) {
+            throw new CoverityJenkinsException("Could not create the directory for the full Coverity output: " + rawLogDirectory.getPath(), e);
+        }
+        final String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date());
+        return new File(rawLogDirectory, String.format("%s-%s.log.gz", StringUtils.defaultIfBlank(command, "coverity"), timestamp));
+    }
+
+    private GZIPOutputStream createRawLog(final File rawLogFile) throws IOException {
+        return new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(rawLogFile), 65536), 65536);
     }
 
 }
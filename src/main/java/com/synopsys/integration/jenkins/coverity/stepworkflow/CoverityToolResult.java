@@ -0,0 +1,145 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import hudson.Functions;
+import hudson.Util;
+
+public class CoverityToolResult implements Serializable {
+    public static final long UNKNOWN = -1;
+    private static final long serialVersionUID = 6119304286532851917L;
+
+    private final String command;
+    private final Integer exitCode;
+    private final long wallTimeInMillis;
+    private final long cpuTimeInMillis;
+    private final long peakRssInBytes;
+    private final long bytesRead;
+    private final long bytesWritten;
+    private final int processCount;
+    private final ArrayList<ProcessSample> topProcesses;
+
+    public CoverityToolResult(String command, Integer exitCode, long wallTimeInMillis, long cpuTimeInMillis, long peakRssInBytes, long bytesRead, long bytesWritten, int processCount, List<ProcessSample> topProcesses) {
+        this.command = command;
+        this.exitCode = exitCode;
+        this.wallTimeInMillis = wallTimeInMillis;
+        this.cpuTimeInMillis = cpuTimeInMillis;
+        this.peakRssInBytes = peakRssInBytes;
+        this.bytesRead = bytesRead;
+        this.bytesWritten = bytesWritten;
+        this.processCount = processCount;
+        this.topProcesses = new ArrayList<>(topProcesses);
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public Integer getExitCode() {
+        return exitCode;
+    }
+
+    public long getWallTimeInMillis() {
+        return wallTimeInMillis;
+    }
+
+    public long getCpuTimeInMillis() {
+        return cpuTimeInMillis;
+    }
+
+    public long getPeakRssInBytes() {
+        return peakRssInBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public int getProcessCount() {
+        return processCount;
+    }
+
+    public List<ProcessSample> getTopProcesses() {
+        return topProcesses;
+    }
+
+    public String getWallTimeString() {
+        return Util.getTimeSpanString(wallTimeInMillis);
+    }
+
+    public String getCpuTimeString() {
+        return cpuTimeInMillis == UNKNOWN ? "N/A" : Util.getTimeSpanString(cpuTimeInMillis);
+    }
+
+    public String getPeakRssString() {
+        return toByteString(peakRssInBytes);
+    }
+
+    public String getBytesReadString() {
+        return toByteString(bytesRead);
+    }
+
+    public String getBytesWrittenString() {
+        return toByteString(bytesWritten);
+    }
+
+    public String getSummary() {
+        return String.format("%s finished with exit code %s in %s (CPU time: %s, peak RSS: %s, read: %s, written: %s, processes: %s)",
+            command, exitCode, getWallTimeString(), getCpuTimeString(), getPeakRssString(), getBytesReadString(), getBytesWrittenString(), processCount);
+    }
+
+    private String toByteString(long bytes) {
+        return bytes == UNKNOWN ? "N/A" : Functions.humanReadableByteSize(bytes);
+    }
+
+    public static class ProcessSample implements Serializable {
+        private static final long serialVersionUID = -2301946046717339412L;
+        private final long pid;
+        private final long parentPid;
+        private final String name;
+        private final long cpuTimeInMillis;
+        private final long peakRssInBytes;
+
+        public ProcessSample(long pid, long parentPid, String name, long cpuTimeInMillis, long peakRssInBytes) {
+            this.pid = pid;
+            this.parentPid = parentPid;
+            this.name = name;
+            this.cpuTimeInMillis = cpuTimeInMillis;
+            this.peakRssInBytes = peakRssInBytes;
+        }
+
+        public long getPid() {
+            return pid;
+        }
+
+        public long getParentPid() {
+            return parentPid;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCpuTimeInMillis() {
+            return cpuTimeInMillis;
+        }
+
+        public long getPeakRssInBytes() {
+            return peakRssInBytes;
+        }
+    }
+
+}
@@ -7,31 +7,45 @@
  */
 package com.synopsys.integration.jenkins.coverity.stepworkflow;
 
+import static com.synopsys.integration.jenkins.coverity.JenkinsCoverityEnvironmentVariable.CHANGE_SET;
 import static com.synopsys.integration.jenkins.coverity.JenkinsCoverityEnvironmentVariable.COVERITY_TOOL_HOME;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.apache.commons.lang3.StringUtils;
 
-import com.synopsys.integration.coverity.config.CoverityServerConfig;
 import com.synopsys.integration.coverity.exception.CoverityIntegrationException;
 import com.synopsys.integration.coverity.ws.ConfigurationServiceWrapper;
 import com.synopsys.integration.coverity.ws.WebServiceFactory;
 import com.synopsys.integration.coverity.ws.view.ViewService;
+import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.function.ThrowingSupplier;
+import com.synopsys.integration.jenkins.coverity.CoverityConnectCalls;
 import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
 import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsAbortException;
+import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
 import com.synopsys.integration.jenkins.coverity.extensions.ConfigureChangeSetPatterns;
+import com.synopsys.integration.jenkins.coverity.extensions.ConsoleOutputMode;
+import com.synopsys.integration.jenkins.coverity.extensions.CoverityAnalysisType;
 import com.synopsys.integration.jenkins.coverity.extensions.OnCommandFailure;
 import com.synopsys.integration.jenkins.coverity.extensions.buildstep.CoverityRunConfiguration;
 import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityConnectInstance;
 import com.synopsys.integration.jenkins.coverity.extensions.global.CoverityGlobalConfig;
+import com.synopsys.integration.jenkins.coverity.health.CoverityConnectEndpoints;
 import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
 import com.synopsys.integration.jenkins.wrapper.JenkinsVersionHelper;
 import com.synopsys.integration.jenkins.wrapper.JenkinsWrapper;
@@ -46,7 +60,7 @@ import hudson.model.Node;
 import hudson.model.TaskListener;
 import hudson.remoting.VirtualChannel;
 import hudson.scm.ChangeLogSet;
-import jenkins.model.GlobalConfiguration;
+import jenkins.model.Jenkins;
 
 public class CoverityWorkflowStepFactory {
     private final EnvVars envVars;
@@ -82,7 +96,12 @@ public class CoverityWorkflowStepFactory {
     }
 
     public GetCoverityCommands createStepGetCoverityCommands(CoverityRunConfiguration coverityRunConfiguration) {
-        return new GetCoverityCommands(initializedLogger.get(), initializedIntEnvrionmentVariables.get(), coverityRunConfiguration);
+        return createStepGetCoverityCommands(coverityRunConfiguration, null);
+    }
+
+    public GetCoverityCommands createStepGetCoverityCommands(CoverityRunConfiguration coverityRunConfiguration, @Nullable ThrowingSupplier<CoverityAnalysisType, IntegrationException> adaptiveAnalysisTypeSupplier) {
+        CoverityJenkinsIntLogger logger = initializedLogger.get();
+        return new GetCoverityCommands(logger, initializedIntEnvrionmentVariables.get(), coverityRunConfiguration, () -> getAgentResources(logger), adaptiveAnalysisTypeSupplier);
     }
 
     public GetIssuesInView createStepGetIssuesInView(String coverityServerUrl, String credentialsId, String projectName, String viewName) throws CoverityJenkinsAbortException {
@@ -98,8 +117,49 @@ public class CoverityWorkflowStepFactory {
         return new GetIssuesInView(initializedLogger.get(), configurationServiceWrapper, viewService, projectName, viewName);
     }
 
-    public RunCoverityCommands createStepRunCoverityCommands(String workspaceRemotePath, OnCommandFailure onCommandFailure) throws CoverityJenkinsAbortException {
-        return new RunCoverityCommands(initializedLogger.get(), initializedIntEnvrionmentVariables.get(), workspaceRemotePath, onCommandFailure, initializedVirtualChannel.get());
+    public RunCoverityCommands createStepRunCoverityCommands(String workspaceRemotePath, OnCommandFailure onCommandFailure, String coverityServerUrl, String credentialsId, Consumer<CoverityToolResult> coverityToolResultConsumer,
+        @Nullable File backgroundCommitLogFile, Consumer<BackgroundCommit> backgroundCommitConsumer, boolean relayCommitThroughController, ConsoleOutputMode consoleOutputMode, boolean recordsAnalysisFingerprint)
+        throws CoverityJenkinsAbortException {
+        CoverityConnectInstance coverityConnectInstance = getCoverityConnectInstanceFromUrl(coverityServerUrl);
+        CommitRelay commitRelay = null;
+        if (relayCommitThroughController) {
+            commitRelay = createCommitRelay(workspaceRemotePath, coverityConnectInstance, credentialsId);
+        }
+
+        FilePath backgroundCommitStagingDirectory = null;
+        List<String> backgroundCommitSecretsToMask = Collections.emptyList();
+        if (backgroundCommitLogFile != null) {
+            backgroundCommitStagingDirectory = createBackgroundCommitStagingDirectory();
+            // The background commit log is not part of the build log, so the masking of withCoverityEnvironment never sees it
+            backgroundCommitSecretsToMask = coverityConnectInstance.getSecretsToMask(initializedLogger.get(), credentialsId);
+        }
+
+        return new RunCoverityCommands(initializedLogger.get(), initializedIntEnvrionmentVariables.get(), workspaceRemotePath, onCommandFailure, initializedVirtualChannel.get(), coverityToolResultConsumer, coverityConnectInstance.getUrl(),
+            coverityConnectInstance.getMaxConcurrentCommits(), backgroundCommitLogFile, backgroundCommitConsumer, backgroundCommitStagingDirectory, backgroundCommitSecretsToMask, commitRelay, consoleOutputMode,
+            recordsAnalysisFingerprint);
+    }
+
+    private FilePath createBackgroundCommitStagingDirectory() throws CoverityJenkinsAbortException {
+        // Outside of any workspace, so that neither a later build nor a workspace clean up can touch it
+        FilePath rootPath = node == null ? null : node.getRootPath();
+        if (rootPath == null) {
+            throw new CoverityJenkinsAbortException("Committing in the background requires a connected agent to copy the intermediate directory to.");
+        }
+        return rootPath.child(CommitRelay.STAGING_DIRECTORY_NAME).child(UUID.randomUUID().toString());
+    }
+
+    private CommitRelay createCommitRelay(String workspaceRemotePath, CoverityConnectInstance coverityConnectInstance, String credentialsId) throws CoverityJenkinsAbortException {
+        CoverityGlobalConfig coverityGlobalConfig = CoverityGlobalConfig.get();
+        String controllerCoverityToolHome = coverityGlobalConfig == null ? null : coverityGlobalConfig.getCommitRelayToolHome();
+        if (StringUtils.isBlank(controllerCoverityToolHome)) {
+            throw new CoverityJenkinsAbortException("Committing through the Jenkins controller requires a Coverity analysis installation on the controller. Please configure one in the Synopsys Coverity section of the Jenkins system configuration.");
+        }
+
+        File stagingRoot = new File(Jenkins.get().getRootDir(), CommitRelay.STAGING_DIRECTORY_NAME);
+        FilePath stagingDirectory = new FilePath(new File(stagingRoot, UUID.randomUUID().toString()));
+        CoverityJenkinsIntLogger logger = initializedLogger.get();
+        return new CommitRelay(getIntermediateDirectory(workspaceRemotePath), stagingDirectory, controllerCoverityToolHome, coverityConnectInstance.getUrl(), coverityConnectInstance.getAuthenticationKeyFileContents(logger, credentialsId).orElse(null),
+            coverityConnectInstance.getUsername(logger, credentialsId).orElse(null), coverityConnectInstance.getPassphrase(credentialsId).orElse(null));
     }
 
     public SubStep<Object, String> createStepCreateAuthenticationKeyFile(String workspaceRemotePath, String coverityServerUrl, String credentialsId) throws CoverityJenkinsAbortException {
@@ -134,7 +194,10 @@ public class CoverityWorkflowStepFactory {
                                          .child("bin")
                                          .getRemote();
 
-        return new SetUpCoverityEnvironment(logger, intEnvironmentVariables, changeLogSets, configureChangeSetPatterns, coverityServerUrl, credentialsId, coverityUsername, coverityPassphrase, projectName, streamName, viewName, remoteIntermediateDirectory, coverityToolHomeBin);
+        // Each build commits to one endpoint of the instance, so parallel builds spread across its front-end nodes
+        String coverityEndpointUrl = CoverityConnectEndpoints.selectEndpoint(coverityConnectInstance);
+
+        return new SetUpCoverityEnvironment(logger, intEnvironmentVariables, changeLogSets, configureChangeSetPatterns, coverityEndpointUrl, credentialsId, coverityUsername, coverityPassphrase, projectName, streamName, viewName, remoteIntermediateDirectory, coverityToolHomeBin);
     }
 
     public RemoteSubStep<Boolean> createStepValidateCoverityInstallation(boolean shouldValidateVersion) throws CoverityJenkinsAbortException {
@@ -180,18 +243,16 @@ public class CoverityWorkflowStepFactory {
     }
 
     public CoverityConnectInstance getCoverityConnectInstanceFromUrl(String coverityServerUrl) throws CoverityJenkinsAbortException {
-        CoverityGlobalConfig coverityGlobalConfig = GlobalConfiguration.all().get(CoverityGlobalConfig.class);
+        CoverityGlobalConfig coverityGlobalConfig = CoverityGlobalConfig.get();
         if (coverityGlobalConfig == null) {
             throw new CoverityJenkinsAbortException("No Coverity global configuration detected in the Jenkins system configuration.");
         }
         List<CoverityConnectInstance> coverityConnectInstances = coverityGlobalConfig.getCoverityConnectInstances();
-        if (coverityConnectInstances.isEmpty()) {
+        if (coverityConnectInstances == null || coverityConnectInstances.isEmpty()) {
             throw new CoverityJenkinsAbortException("No Coverity connect instances are configured in the Jenkins system configuration.");
         }
 
-        return coverityConnectInstances.stream()
-                   .filter(instance -> instance.getUrl().equals(coverityServerUrl))
-                   .findFirst()
+        return coverityGlobalConfig.getCoverityConnectInstanceWithUrl(coverityServerUrl)
                    .orElseThrow(
                        () -> new CoverityJenkinsAbortException("No Coverity conect instance with the url '" + coverityServerUrl + "' could be  found in the Jenkins system configuration."));
 
@@ -201,14 +262,20 @@ public class CoverityWorkflowStepFactory {
         CoverityConnectInstance coverityConnectInstance = getCoverityConnectInstanceFromUrl(coverityServerUrl);
         JenkinsIntLogger logger = getOrCreateLogger();
 
-        CoverityServerConfig coverityServerConfig = coverityConnectInstance.getCoverityServerConfig(logger, credentialsId);
-        WebServiceFactory webServiceFactory = coverityServerConfig.createWebServiceFactory(logger);
+        WebServiceFactory webServiceFactory;
         try {
-            webServiceFactory.connect();
+            webServiceFactory = CoverityConnectCalls.call(() -> CoverityConnectEndpoints.connect(logger, coverityConnectInstance, credentialsId));
+        } catch (CoverityJenkinsException e) {
+            throw new CoverityJenkinsAbortException(e.getMessage());
         } catch (CoverityIntegrationException e) {
             throw new CoverityJenkinsAbortException("An error occurred when connecting to Coverity Connect. Please ensure that you can connect properly.");
         } catch (MalformedURLException e) {
             throw CoverityJenkinsAbortException.fromMalformedUrlException(coverityServerUrl + WebServiceFactory.CONFIGURATION_SERVICE_V9_WSDL, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoverityJenkinsAbortException("Interrupted while connecting to Coverity Connect.");
+        } catch (Exception e) {
+            throw new CoverityJenkinsAbortException("An error occurred when connecting to Coverity Connect: " + e.getMessage());
         }
 
         return webServiceFactory;
@@ -218,6 +285,45 @@ public class CoverityWorkflowStepFactory {
         return new FilePath(initializedVirtualChannel.get(), workspaceRemotePath).child("idir");
     }
 
+    public AgentResources getAgentResources(CoverityJenkinsIntLogger logger) throws IntegrationException {
+        try {
+            return initializedVirtualChannel.get().call(new GetAgentResources(logger));
+        } catch (IOException e) {
+            throw new CoverityJenkinsException("Could not read the resources of the agent", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoverityJenkinsException("Interrupted while reading the resources of the agent", e);
+        }
+    }
+
+    public ChangeSetProfile getChangeSetProfile(String workspaceRemotePath) throws IntegrationException {
+        String changeSet = initializedIntEnvrionmentVariables.get().getValue(CHANGE_SET.toString(), StringUtils.EMPTY);
+        List<String> changedFiles = Arrays.stream(changeSet.split("\\s+"))
+                                        .filter(StringUtils::isNotBlank)
+                                        .collect(Collectors.toList());
+        try {
+            return initializedVirtualChannel.get().call(new GetChangeSetProfile(initializedLogger.get(), workspaceRemotePath, changedFiles));
+        } catch (IOException e) {
+            throw new CoverityJenkinsException("Could not read the files of the change set", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoverityJenkinsException("Interrupted while reading the files of the change set", e);
+        }
+    }
+
+    public String computeAnalysisFingerprint(String workspaceRemotePath, List<List<String>> commands, String exclusionPatterns) throws IntegrationException {
+        List<String> normalizedArguments = ComputeAnalysisFingerprint.normalizeArguments(commands);
+        ComputeAnalysisFingerprint computeAnalysisFingerprint = new ComputeAnalysisFingerprint(initializedLogger.get(), workspaceRemotePath, validatedCoverityToolHome.get(), exclusionPatterns, normalizedArguments);
+        try {
+            return initializedVirtualChannel.get().call(computeAnalysisFingerprint);
+        } catch (IOException e) {
+            throw new CoverityJenkinsException("Could not fingerprint the sources for the Coverity analysis", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoverityJenkinsException("Interrupted while fingerprinting the sources for the Coverity analysis", e);
+        }
+    }
+
     public VirtualChannel getOrCreateVirtualChannel() throws CoverityJenkinsAbortException {
         if (_virtualChannel == null) {
             if (launcher != null || node != null) {
@@ -13,6 +13,8 @@ import com.synopsys.integration.coverity.api.ws.configuration.CovRemoteServiceEx
 import com.synopsys.integration.coverity.api.ws.configuration.ProjectDataObj;
 import com.synopsys.integration.coverity.api.ws.configuration.StreamDataObj;
 import com.synopsys.integration.coverity.ws.ConfigurationServiceWrapper;
+import com.synopsys.integration.jenkins.coverity.CoverityConnectCalls;
+import com.synopsys.integration.jenkins.coverity.metrics.CoverityMetrics;
 import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
 import com.synopsys.integration.stepworkflow.AbstractExecutingSubStep;
 import com.synopsys.integration.stepworkflow.SubStepResponse;
@@ -33,10 +35,26 @@ public class CreateMissingProjectsAndStreams extends AbstractExecutingSubStep {
     @Override
     public SubStepResponse<Object> run() {
         try {
-            Optional<ProjectDataObj> matchingProject = configurationServiceWrapper.getProjectByExactName(projectName);
+            return CoverityConnectCalls.call(this::createMissingProjectsAndStreams);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return SubStepResponse.FAILURE(e);
+        } catch (Exception e) {
+            return SubStepResponse.FAILURE(e);
+        }
+    }
+
+    private SubStepResponse<Object> createMissingProjectsAndStreams() {
+        try {
+            Optional<ProjectDataObj> matchingProject;
+            try (CoverityMetrics.SoapCallTimer ignored = CoverityMetrics.timeSoapCall("getProjectByExactName")) {
+                matchingProject = configurationServiceWrapper.getProjectByExactName(projectName);
+            }
             if (!matchingProject.isPresent()) {
                 logger.info(String.format("No project with the name '%s' was found, attempting creation...", projectName));
-                configurationServiceWrapper.createSimpleProject(projectName);
+                try (CoverityMetrics.SoapCallTimer ignored = CoverityMetrics.timeSoapCall("createSimpleProject")) {
+                    configurationServiceWrapper.createSimpleProject(projectName);
+                }
                 matchingProject = configurationServiceWrapper.getAndWaitForProjectWithExactName(projectName);
 
                 if (matchingProject.isPresent()) {
@@ -46,10 +64,15 @@ public class CreateMissingProjectsAndStreams extends AbstractExecutingSubStep {
                 }
             }
 
-            Optional<StreamDataObj> matchingStream = configurationServiceWrapper.getStreamByExactName(streamName);
+            Optional<StreamDataObj> matchingStream;
+            try (CoverityMetrics.SoapCallTimer ignored = CoverityMetrics.timeSoapCall("getStreamByExactName")) {
+                matchingStream = configurationServiceWrapper.getStreamByExactName(streamName);
+            }
             if (!matchingStream.isPresent() && matchingProject.isPresent()) {
                 logger.info(String.format("No stream with the name '%s' was found, attempting creation as an Any language stream with the Default Triage Store in project '%s'...", streamName, projectName));
-                configurationServiceWrapper.createSimpleStreamInProject(matchingProject.get().getId(), streamName);
+                try (CoverityMetrics.SoapCallTimer ignored = CoverityMetrics.timeSoapCall("createSimpleStreamInProject")) {
+                    configurationServiceWrapper.createSimpleStreamInProject(matchingProject.get().getId(), streamName);
+                }
                 matchingStream = configurationServiceWrapper.getAndWaitForStreamWithExactName(streamName);
 
                 if (matchingStream.isPresent()) {
@@ -0,0 +1,188 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.RepeatableCommand;
+
+import hudson.FilePath;
+import hudson.Util;
+import hudson.util.DirScanner;
+import hudson.util.io.ArchiverFactory;
+
+public class EmitTransfer {
+    public static final String ARCHIVE_DIRECTORY_NAME = "coverity-emits";
+    public static final String ARCHIVE_EXTENSION = ".tar.gz";
+    public static final String EMIT_DIRECTORY_NAME = "emit";
+    private static final Pattern PARTITION_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+
+    private final CoverityJenkinsIntLogger logger;
+    private final File archiveDirectory;
+
+    public EmitTransfer(CoverityJenkinsIntLogger logger, File archiveDirectory) {
+        this.logger = logger;
+        this.archiveDirectory = archiveDirectory;
+    }
+
+    public static boolean isValidPartitionName(String partition) {
+        return partition != null && PARTITION_NAME.matcher(partition).matches();
+    }
+
+    public long publish(String partition, FilePath intermediateDirectory) throws IOException, InterruptedException, CoverityJenkinsException {
+        validatePartitionName(partition);
+        if (!intermediateDirectory.child(EMIT_DIRECTORY_NAME).isDirectory()) {
+            throw new CoverityJenkinsException(String.format("There is no emit to publish in %s. Please capture into $COV_DIR before publishing it.", intermediateDirectory.getRemote()));
+        }
+
+        Files.createDirectories(archiveDirectory.toPath());
+        File archive = getArchive(partition);
+        File partialArchive = new File(archiveDirectory, partition + ARCHIVE_EXTENSION + ".partial");
+        if (archive.exists()) {
+            logger.warn(String.format("The emit for %s was already published in this build and will be replaced", partition));
+        }
+
+        logger.alwaysLog(String.format("Publishing the emit of %s as %s", intermediateDirectory.getRemote(), partition));
+        long startTime = System.nanoTime();
+        // The archive is compressed on the agent and streamed straight into the build directory, so nothing is staged on the agent.
+        // Ant's default excludes would silently drop emit files whose names happen to match them, such as ._* or .#*
+        try (OutputStream archiveOutputStream = Files.newOutputStream(partialArchive.toPath())) {
+            intermediateDirectory.archive(ArchiverFactory.TARGZ, archiveOutputStream, new DirScanner.Glob(EMIT_DIRECTORY_NAME + "/**", null, false));
+        } catch (IOException | InterruptedException e) {
+            Files.deleteIfExists(partialArchive.toPath());
+            throw e;
+        }
+        Files.move(partialArchive.toPath(), archive.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        long archiveSize = archive.length();
+        logger.alwaysLog(String.format("-- Published %s bytes in %s", archiveSize, Util.getTimeSpanString(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime))));
+        return archiveSize;
+    }
+
+    public List<String> getPublishedPartitions() {
+        File[] archives = archiveDirectory.listFiles((directory, name) -> name.endsWith(ARCHIVE_EXTENSION));
+        if (archives == null) {
+            return Collections.emptyList();
+        }
+
+        List<String> partitions = new ArrayList<>();
+        Arrays.stream(archives)
+            .map(File::getName)
+            .map(name -> name.substring(0, name.length() - ARCHIVE_EXTENSION.length()))
+            .sorted()
+            .forEach(partitions::add);
+        return partitions;
+    }
+
+    // Every emit is extracted and checked before any of them is moved into the intermediate directory, so a failed merge leaves it as it was
+    public void merge(List<String> partitions, FilePath intermediateDirectory) throws IOException, InterruptedException, CoverityJenkinsException {
+        for (String partition : partitions) {
+            validatePartitionName(partition);
+            if (!getArchive(partition).isFile()) {
+                throw new CoverityJenkinsException(String.format("No emit was published as %s in this build", partition));
+            }
+        }
+
+        FilePath stagingDirectory = getWorkingDirectory(intermediateDirectory).child(ARCHIVE_DIRECTORY_NAME);
+        stagingDirectory.deleteRecursive();
+        try {
+            FilePath mergedEmitDirectory = stagingDirectory.child(EMIT_DIRECTORY_NAME);
+            mergedEmitDirectory.mkdirs();
+            Map<String, String> partitionsByHost = new HashMap<>();
+            for (String partition : partitions) {
+                extract(partition, stagingDirectory.child(partition), mergedEmitDirectory, partitionsByHost);
+            }
+
+            // Each host captures into its own emit/<hostname> directory, which cov-manage-emit add-other-hosts then picks up
+            FilePath targetEmitDirectory = intermediateDirectory.child(EMIT_DIRECTORY_NAME);
+            if (!targetEmitDirectory.exists()) {
+                intermediateDirectory.mkdirs();
+                mergedEmitDirectory.renameTo(targetEmitDirectory);
+                return;
+            }
+
+            List<FilePath> hostEmitDirectories = mergedEmitDirectory.listDirectories();
+            for (FilePath hostEmitDirectory : hostEmitDirectories) {
+                if (targetEmitDirectory.child(hostEmitDirectory.getName()).exists()) {
+                    throw new CoverityJenkinsException(String.format("The emit published as %s was captured on host %s, which already has an emit in %s. Emits to merge must be captured on different hosts.",
+                        partitionsByHost.get(hostEmitDirectory.getName()), hostEmitDirectory.getName(), intermediateDirectory.getRemote()));
+                }
+            }
+            for (FilePath hostEmitDirectory : hostEmitDirectories) {
+                hostEmitDirectory.renameTo(targetEmitDirectory.child(hostEmitDirectory.getName()));
+            }
+        } finally {
+            stagingDirectory.deleteRecursive();
+        }
+    }
+
+    public CoverityRemoteToolRunner createMergeToolRunner(String coverityToolHome, FilePath intermediateDirectory, HashMap<String, String> environmentVariables) throws CoverityJenkinsException {
+        List<String> arguments = Arrays.asList("cov-manage-emit", RepeatableCommand.Argument.DIR.toString(), intermediateDirectory.getRemote(), "add-other-hosts");
+        return new CoverityRemoteToolRunner(logger, coverityToolHome, arguments, getWorkingDirectory(intermediateDirectory).getRemote(), environmentVariables);
+    }
+
+    public void delete(String partition) throws IOException {
+        Files.deleteIfExists(getArchive(partition).toPath());
+    }
+
+    private File getArchive(String partition) {
+        return new File(archiveDirectory, partition + ARCHIVE_EXTENSION);
+    }
+
+    private void extract(String partition, FilePath partitionDirectory, FilePath mergedEmitDirectory, Map<String, String> partitionsByHost) throws IOException, InterruptedException, CoverityJenkinsException {
+        logger.alwaysLog(String.format("Extracting the emit published as %s", partition));
+        long startTime = System.nanoTime();
+        partitionDirectory.mkdirs();
+        try (InputStream archiveInputStream = Files.newInputStream(getArchive(partition).toPath())) {
+            partitionDirectory.untarFrom(archiveInputStream, FilePath.TarCompression.GZIP);
+        }
+
+        FilePath partitionEmitDirectory = partitionDirectory.child(EMIT_DIRECTORY_NAME);
+        List<FilePath> hostEmitDirectories = partitionEmitDirectory.exists() ? partitionEmitDirectory.listDirectories() : Collections.emptyList();
+        for (FilePath hostEmitDirectory : hostEmitDirectories) {
+            String host = hostEmitDirectory.getName();
+            String otherPartition = partitionsByHost.putIfAbsent(host, partition);
+            if (otherPartition != null) {
+                throw new CoverityJenkinsException(String.format("The emits published as %s and %s were both captured on host %s. Emits to merge must be captured on different hosts.", otherPartition, partition, host));
+            }
+            hostEmitDirectory.renameTo(mergedEmitDirectory.child(host));
+        }
+        partitionDirectory.deleteRecursive();
+        logger.alwaysLog(String.format("-- Extracted in %s", Util.getTimeSpanString(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime))));
+    }
+
+    private FilePath getWorkingDirectory(FilePath intermediateDirectory) throws CoverityJenkinsException {
+        FilePath workingDirectory = intermediateDirectory.getParent();
+        if (workingDirectory == null) {
+            throw new CoverityJenkinsException(String.format("The intermediate directory %s cannot be the root of a file system", intermediateDirectory.getRemote()));
+        }
+        return workingDirectory;
+    }
+
+    private void validatePartitionName(String partition) throws CoverityJenkinsException {
+        if (!isValidPartitionName(partition)) {
+            throw new CoverityJenkinsException(String.format("'%s' is not a valid emit partition name. Partition names may only contain letters, digits, '.', '_' and '-'.", partition));
+        }
+    }
+
+}
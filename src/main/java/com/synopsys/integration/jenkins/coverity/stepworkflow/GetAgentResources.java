@@ -0,0 +1,116 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+
+public class GetAgentResources extends CoverityRemoteCallable<AgentResources> {
+    private static final long serialVersionUID = 3154526862201340937L;
+    private static final Path CGROUP_V2_ROOT = Paths.get("/sys/fs/cgroup");
+    private static final Path CGROUP_V1_MEMORY = Paths.get("/sys/fs/cgroup/memory");
+    private static final Path CGROUP_V1_CPU = Paths.get("/sys/fs/cgroup/cpu");
+    private static final Path MEMINFO = Paths.get("/proc/meminfo");
+    // cgroup v1 reports "no limit" as a huge page-aligned number rather than a sentinel
+    private static final long CGROUP_V1_UNLIMITED_THRESHOLD = Long.MAX_VALUE / 2;
+
+    public GetAgentResources(CoverityJenkinsIntLogger logger) {
+        super(logger);
+    }
+
+    @Override
+    public AgentResources call() {
+        int availableProcessors = Runtime.getRuntime().availableProcessors();
+        return new AgentResources(availableProcessors, readCgroupCpuLimit(), readAvailableMemory(), readCgroupMemoryLimit());
+    }
+
+    private double readCgroupCpuLimit() {
+        // cgroup v2: "<quota> <period>" or "max <period>"
+        String cpuMax = readFirstLine(CGROUP_V2_ROOT.resolve("cpu.max"));
+        if (StringUtils.isNotBlank(cpuMax)) {
+            String[] pieces = StringUtils.split(cpuMax);
+            if (pieces.length == 2 && !"max".equals(pieces[0])) {
+                return parseDouble(pieces[0]) / parseDouble(pieces[1]);
+            }
+            return AgentResources.UNLIMITED;
+        }
+
+        double quota = parseDouble(readFirstLine(CGROUP_V1_CPU.resolve("cpu.cfs_quota_us")));
+        double period = parseDouble(readFirstLine(CGROUP_V1_CPU.resolve("cpu.cfs_period_us")));
+        if (quota > 0 && period > 0) {
+            return quota / period;
+        }
+        return AgentResources.UNLIMITED;
+    }
+
+    private long readCgroupMemoryLimit() {
+        String memoryMax = readFirstLine(CGROUP_V2_ROOT.resolve("memory.max"));
+        if (StringUtils.isNotBlank(memoryMax)) {
+            return "max".equals(memoryMax) ? AgentResources.UNLIMITED : (long) parseDouble(memoryMax);
+        }
+
+        long memoryLimit = (long) parseDouble(readFirstLine(CGROUP_V1_MEMORY.resolve("memory.limit_in_bytes")));
+        if (memoryLimit <= 0 || memoryLimit > CGROUP_V1_UNLIMITED_THRESHOLD) {
+            return AgentResources.UNLIMITED;
+        }
+        return memoryLimit;
+    }
+
+    private long readAvailableMemory() {
+        try {
+            List<String> meminfo = Files.readAllLines(MEMINFO, StandardCharsets.UTF_8);
+            for (String line : meminfo) {
+                if (line.startsWith("MemAvailable:")) {
+                    String[] pieces = StringUtils.split(line);
+                    return Long.parseLong(pieces[1]) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException ignored) {
+            // Not Linux, or /proc is not mounted -- fall back to what the JVM reports
+        }
+
+        OperatingSystemMXBean operatingSystemMXBean = ManagementFactory.getOperatingSystemMXBean();
+        if (operatingSystemMXBean instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) operatingSystemMXBean).getFreePhysicalMemorySize();
+        }
+        return AgentResources.UNLIMITED;
+    }
+
+    private String readFirstLine(Path path) {
+        try {
+            if (Files.isReadable(path)) {
+                List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+                if (!lines.isEmpty()) {
+                    return lines.get(0).trim();
+                }
+            }
+        } catch (IOException | SecurityException ignored) {
+            // Treat unreadable cgroup files as if the limit was not set
+        }
+        return StringUtils.EMPTY;
+    }
+
+    private double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return AgentResources.UNLIMITED;
+        }
+    }
+
+}
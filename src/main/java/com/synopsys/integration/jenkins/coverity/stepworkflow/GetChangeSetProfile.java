@@ -0,0 +1,45 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+
+public class GetChangeSetProfile extends CoverityRemoteCallable<ChangeSetProfile> {
+    private static final long serialVersionUID = 2250791569185426011L;
+    private final String workspacePath;
+    private final ArrayList<String> changeSet;
+
+    public GetChangeSetProfile(CoverityJenkinsIntLogger logger, String workspacePath, List<String> changeSet) {
+        super(logger);
+        this.workspacePath = workspacePath;
+        this.changeSet = new ArrayList<>(changeSet);
+    }
+
+    @Override
+    public ChangeSetProfile call() {
+        ChangeSetProfile changeSetProfile = new ChangeSetProfile();
+        for (String path : changeSet) {
+            File file = new File(path);
+            if (!file.isAbsolute()) {
+                file = new File(workspacePath, path);
+            }
+
+            if (file.isFile()) {
+                changeSetProfile.addFile(path, file.length());
+            } else {
+                changeSetProfile.addMissingFile();
+            }
+        }
+        return changeSetProfile;
+    }
+
+}
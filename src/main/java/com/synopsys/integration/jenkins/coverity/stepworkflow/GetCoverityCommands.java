@@ -12,14 +12,19 @@ import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.tools.ant.types.Commandline;
 
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.function.ThrowingSupplier;
 import com.synopsys.integration.jenkins.coverity.JenkinsCoverityEnvironmentVariable;
 import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
 import com.synopsys.integration.jenkins.coverity.extensions.CoverityAnalysisType;
 import com.synopsys.integration.jenkins.coverity.extensions.CoverityCaptureType;
 import com.synopsys.integration.jenkins.coverity.extensions.buildstep.AdvancedCoverityRunConfiguration;
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.AutoTuneAnalysis;
 import com.synopsys.integration.jenkins.coverity.extensions.buildstep.CommandArguments;
 import com.synopsys.integration.jenkins.coverity.extensions.buildstep.CoverityRunConfiguration;
 import com.synopsys.integration.jenkins.coverity.extensions.buildstep.RepeatableCommand;
@@ -35,11 +40,25 @@ public class GetCoverityCommands extends AbstractSupplyingSubStep<List<List<Stri
     private final IntLogger logger;
     private final IntEnvironmentVariables intEnvironmentVariables;
     private final CoverityRunConfiguration coverityRunConfiguration;
+    private final ThrowingSupplier<AgentResources, IntegrationException> agentResourcesSupplier;
+    private final ThrowingSupplier<CoverityAnalysisType, IntegrationException> adaptiveAnalysisTypeSupplier;
 
     public GetCoverityCommands(IntLogger logger, IntEnvironmentVariables intEnvironmentVariables, CoverityRunConfiguration coverityRunConfiguration) {
+        this(logger, intEnvironmentVariables, coverityRunConfiguration, null);
+    }
+
+    public GetCoverityCommands(IntLogger logger, IntEnvironmentVariables intEnvironmentVariables, CoverityRunConfiguration coverityRunConfiguration,
+        @Nullable ThrowingSupplier<AgentResources, IntegrationException> agentResourcesSupplier) {
+        this(logger, intEnvironmentVariables, coverityRunConfiguration, agentResourcesSupplier, null);
+    }
+
+    public GetCoverityCommands(IntLogger logger, IntEnvironmentVariables intEnvironmentVariables, CoverityRunConfiguration coverityRunConfiguration,
+        @Nullable ThrowingSupplier<AgentResources, IntegrationException> agentResourcesSupplier, @Nullable ThrowingSupplier<CoverityAnalysisType, IntegrationException> adaptiveAnalysisTypeSupplier) {
         this.logger = logger;
         this.intEnvironmentVariables = intEnvironmentVariables;
         this.coverityRunConfiguration = coverityRunConfiguration;
+        this.agentResourcesSupplier = agentResourcesSupplier;
+        this.adaptiveAnalysisTypeSupplier = adaptiveAnalysisTypeSupplier;
     }
 
     public SubStepResponse<List<List<String>>> run() {
@@ -75,7 +94,6 @@ public class GetCoverityCommands extends AbstractSupplyingSubStep<List<List<Stri
         CommandArguments commandArguments = simpleCoverityRunConfiguration.getCommandArguments();
         String covBuildArguments = getArgumentsIfAvailable(commandArguments, CommandArguments::getCovBuildArguments);
         String covCaptureArguments = getArgumentsIfAvailable(commandArguments, CommandArguments::getCovCaptureArguments);
-        String covAnalyzeArguments = getArgumentsIfAvailable(commandArguments, CommandArguments::getCovAnalyzeArguments);
         String covRunDesktopArguments = getArgumentsIfAvailable(commandArguments, CommandArguments::getCovRunDesktopArguments);
         String covCommitDefectsArguments = getArgumentsIfAvailable(commandArguments, CommandArguments::getCovCommitDefectsArguments);
 
@@ -94,8 +112,13 @@ public class GetCoverityCommands extends AbstractSupplyingSubStep<List<List<Stri
         }
 
         CoverityAnalysisType coverityAnalysisType = simpleCoverityRunConfiguration.getCoverityAnalysisType();
+        if (coverityAnalysisType == CoverityAnalysisType.ADAPTIVE) {
+            coverityAnalysisType = chooseAdaptiveAnalysisType();
+        }
 
         if (coverityAnalysisType == CoverityAnalysisType.COV_ANALYZE || (coverityAnalysisType == CoverityAnalysisType.THRESHOLD && changeSetSize >= simpleCoverityRunConfiguration.getChangeSetAnalysisThreshold())) {
+            // Only cov-analyze takes workers, so the agent is not asked for its resources for an incremental analysis
+            String covAnalyzeArguments = autoTuneAnalysisWorkers(simpleCoverityRunConfiguration.getAutoTuneAnalysis(), getArgumentsIfAvailable(commandArguments, CommandArguments::getCovAnalyzeArguments));
             repeatableCommands[1] = RepeatableCommand.COV_ANALYZE(covAnalyzeArguments);
         } else if (coverityAnalysisType == CoverityAnalysisType.COV_RUN_DESKTOP || coverityAnalysisType == CoverityAnalysisType.THRESHOLD) {
             repeatableCommands[1] = RepeatableCommand.COV_RUN_DESKTOP(pathToAuthKeyFile, covRunDesktopArguments);
@@ -108,6 +131,45 @@ public class GetCoverityCommands extends AbstractSupplyingSubStep<List<List<Stri
         return repeatableCommands;
     }
 
+    private CoverityAnalysisType chooseAdaptiveAnalysisType() {
+        // Without a job to keep the cost history in, the estimate falls back to the change set threshold
+        if (adaptiveAnalysisTypeSupplier == null) {
+            logger.info("Estimating the analysis cost is only available to the Coverity build step, using the change set threshold instead.");
+            return CoverityAnalysisType.THRESHOLD;
+        }
+
+        try {
+            return adaptiveAnalysisTypeSupplier.get();
+        } catch (IntegrationException e) {
+            logger.warn("Could not estimate the cost of the Coverity analysis, using the change set threshold instead: " + e.getMessage());
+            return CoverityAnalysisType.THRESHOLD;
+        }
+    }
+
+    private String autoTuneAnalysisWorkers(@Nullable AutoTuneAnalysis autoTuneAnalysis, String covAnalyzeArguments) {
+        if (autoTuneAnalysis == null || agentResourcesSupplier == null) {
+            return covAnalyzeArguments;
+        }
+
+        AnalysisWorkerTuner analysisWorkerTuner = new AnalysisWorkerTuner();
+        if (analysisWorkerTuner.specifiesWorkers(covAnalyzeArguments)) {
+            logger.info("Not tuning the number of cov-analyze workers because the cov-analyze arguments already specify them.");
+            return covAnalyzeArguments;
+        }
+
+        try {
+            AgentResources agentResources = agentResourcesSupplier.get();
+            int workers = analysisWorkerTuner.computeWorkers(agentResources, autoTuneAnalysis);
+            logger.alwaysLog(String.format("Detected agent resources: %s", agentResources));
+            logger.alwaysLog(String.format("Running cov-analyze with %s workers (at most %s MB per worker%s)", workers, autoTuneAnalysis.getMemoryPerWorkerInMegabytesOrDefault(),
+                autoTuneAnalysis.getMaximumWorkers() == null ? "" : ", capped at " + autoTuneAnalysis.getMaximumWorkers() + " workers"));
+            return analysisWorkerTuner.addWorkers(covAnalyzeArguments, workers);
+        } catch (IntegrationException e) {
+            logger.warn("Could not detect the resources of the agent, the number of cov-analyze workers will not be tuned: " + e.getMessage());
+            return covAnalyzeArguments;
+        }
+    }
+
     private String getArgumentsIfAvailable(CommandArguments commandArguments, Function<CommandArguments, String> getter) {
         if (commandArguments == null) {
             return StringUtils.EMPTY;
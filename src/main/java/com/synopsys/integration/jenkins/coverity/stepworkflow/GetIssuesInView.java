@@ -7,23 +7,34 @@
  */
 package com.synopsys.integration.jenkins.coverity.stepworkflow;
 
-import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+import javax.annotation.Nullable;
 
 import com.synopsys.integration.coverity.api.rest.View;
 import com.synopsys.integration.coverity.api.rest.ViewContents;
-import com.synopsys.integration.coverity.api.ws.configuration.CovRemoteServiceException_Exception;
 import com.synopsys.integration.coverity.api.ws.configuration.ProjectDataObj;
 import com.synopsys.integration.coverity.ws.ConfigurationServiceWrapper;
 import com.synopsys.integration.coverity.ws.view.ViewReportWrapper;
 import com.synopsys.integration.coverity.ws.view.ViewService;
-import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.jenkins.coverity.CoverityConnectCalls;
 import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+import com.synopsys.integration.jenkins.coverity.metrics.CoverityMetrics;
 import com.synopsys.integration.stepworkflow.AbstractSupplyingSubStep;
 import com.synopsys.integration.stepworkflow.SubStepResponse;
 
 import hudson.AbortException;
 
-public class GetIssuesInView extends AbstractSupplyingSubStep<ViewReportWrapper> {
+public class GetIssuesInView extends AbstractSupplyingSubStep<IssuesInView> {
+    public static final String CID_COLUMN = "cid";
+    // Larger pages mean fewer round trips for big views, and each page takes a connection permit of its own
+    public static final int PAGE_SIZE = 1000;
+    public static final int MAX_PAGING_ATTEMPTS = 3;
     private final ConfigurationServiceWrapper configurationServiceWrapper;
     private final ViewService viewService;
     private final String projectName;
@@ -38,25 +49,126 @@ public class GetIssuesInView extends AbstractSupplyingSubStep<ViewReportWrapper>
         this.viewName = viewName;
     }
 
-    public SubStepResponse<ViewReportWrapper> run() {
+    public SubStepResponse<IssuesInView> run() {
         try {
-            logger.alwaysLog(String.format("Checking for issues in project \"%s\", view \"%s\".", projectName, viewName));
-            final ProjectDataObj project = configurationServiceWrapper.getProjectByExactName(projectName)
-                                               .orElseThrow(() -> new AbortException("Coverity Issues could not be retrieved: No project with name " + projectName + " could be found. "
-                                                                                         + "It either does not exist or the credentials configured in the Jenkins system configuration are insufficient to access it."));
+            return getIssuesInView();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return SubStepResponse.FAILURE(e);
+        } catch (final Exception e) {
+            return SubStepResponse.FAILURE(e);
+        }
+    }
 
-            final View view = viewService.getViewByExactName(viewName)
-                                  .orElseThrow(() -> new AbortException("Coverity Issues could not be retrieved: No view with name " + viewName + " could be found. "
-                                                                            + "It either does not exist or the credentials configured in the Jenkins system configuration are insufficient to access it."));
+    private SubStepResponse<IssuesInView> getIssuesInView() throws Exception {
+        logger.alwaysLog(String.format("Checking for issues in project \"%s\", view \"%s\".", projectName, viewName));
+        final Optional<ProjectDataObj> matchingProject = callTimed("getProjectByExactName", () -> configurationServiceWrapper.getProjectByExactName(projectName));
+        final ProjectDataObj project = matchingProject.orElseThrow(() -> new AbortException("Coverity Issues could not be retrieved: No project with name " + projectName + " could be found. "
+                                                                                                 + "It either does not exist or the credentials configured in the Jenkins system configuration are insufficient to access it."));
 
-            final ViewContents viewContents = viewService.getViewContents(project, view, 1, 0);
-            final String viewReportUrl = viewService.getProjectViewReportUrl(project, view);
-            final ViewReportWrapper viewReportWrapper = new ViewReportWrapper(viewContents, viewReportUrl);
+        final Optional<View> matchingView = callTimed("getViewByExactName", () -> viewService.getViewByExactName(viewName));
+        final View view = matchingView.orElseThrow(() -> new AbortException("Coverity Issues could not be retrieved: No view with name " + viewName + " could be found. "
+                                                                                 + "It either does not exist or the credentials configured in the Jenkins system configuration are insufficient to access it."));
 
-            return SubStepResponse.SUCCESS(viewReportWrapper);
-        } catch (final IOException | IntegrationException | CovRemoteServiceException_Exception e) {
-            return SubStepResponse.FAILURE(e);
+        final ViewPages viewPages = readPages(logger, viewName, offset -> callTimed("getViewContents", () -> viewService.getViewContents(project, view, PAGE_SIZE, offset)));
+        final String viewReportUrl = viewService.getProjectViewReportUrl(project, view);
+        final ViewReportWrapper viewReportWrapper = new ViewReportWrapper(viewPages.firstPage, viewReportUrl);
+
+        return SubStepResponse.SUCCESS(new IssuesInView(viewReportWrapper, viewPages.cids));
+    }
+
+    // Each call waits for a permit of its own, so a big view does not keep other checks from Coverity Connect while it is paged through
+    private <T> T callTimed(final String operation, final Callable<T> call) throws Exception {
+        return CoverityConnectCalls.call(() -> {
+            try (CoverityMetrics.SoapCallTimer ignored = CoverityMetrics.timeSoapCall(operation)) {
+                return call.call();
+            }
+        });
+    }
+
+    // Offset paging is not a snapshot, so triage while paging shifts the later pages and can skip or repeat rows. A change in the total row count
+    // shows that happened, and the view is read again from the start. A change that keeps the total the same cannot be seen, so the CIDs are a best effort.
+    static ViewPages readPages(final CoverityJenkinsIntLogger logger, final String viewName, final PageSource pageSource) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            final boolean lastAttempt = attempt >= MAX_PAGING_ATTEMPTS;
+            final ViewContents firstPage = pageSource.getPage(0);
+            final long totalRows = firstPage.getTotalRows();
+            int[] cids = new int[(int) Math.min(totalRows, Integer.MAX_VALUE)];
+            int cidCount = 0;
+            long offset = 0;
+            boolean viewChanged = false;
+
+            ViewContents page = firstPage;
+            while (true) {
+                final List<? extends Map<String, ?>> rows = page.getRows();
+                if (rows == null || rows.isEmpty()) {
+                    break;
+                }
+                for (final Map<String, ?> row : rows) {
+                    final Integer cid = parseCid(row.get(CID_COLUMN));
+                    if (cid == null) {
+                        return new ViewPages(firstPage, null);
+                    }
+                    if (cidCount == cids.length) {
+                        cids = Arrays.copyOf(cids, Math.max(16, cids.length * 2));
+                    }
+                    cids[cidCount++] = cid;
+                }
+
+                offset += rows.size();
+                if (offset >= totalRows) {
+                    break;
+                }
+                page = pageSource.getPage((int) offset);
+                if (!Objects.equals(page.getTotalRows(), firstPage.getTotalRows())) {
+                    viewChanged = true;
+                    if (!lastAttempt) {
+                        break;
+                    }
+                }
+            }
+
+            if (!viewChanged) {
+                return new ViewPages(firstPage, CidSet.of(Arrays.copyOf(cids, cidCount)));
+            }
+            if (lastAttempt) {
+                logger.warn(String.format("View %s kept changing while its issues were read, so the new and fixed issue counts may be off.", viewName));
+                // A CID that shows up twice is absorbed by the set
+                return new ViewPages(firstPage, CidSet.of(Arrays.copyOf(cids, cidCount)));
+            }
+            logger.debug(String.format("View %s changed while its issues were read, reading it again", viewName));
+        }
+    }
+
+    interface PageSource {
+        ViewContents getPage(int offset) throws Exception;
+    }
+
+    static class ViewPages {
+        final ViewContents firstPage;
+        // Null when the view has no CID column
+        @Nullable
+        final CidSet cids;
+
+        ViewPages(final ViewContents firstPage, @Nullable final CidSet cids) {
+            this.firstPage = firstPage;
+            this.cids = cids;
+        }
+    }
+
+    @Nullable
+    private static Integer parseCid(@Nullable final Object cidValue) {
+        if (cidValue instanceof Number) {
+            return ((Number) cidValue).intValue();
+        }
+        if (cidValue instanceof String) {
+            try {
+                return Integer.valueOf((String) cidValue);
+            } catch (final NumberFormatException e) {
+                return null;
+            }
         }
+        return null;
     }
 
 }
@@ -0,0 +1,92 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import com.synopsys.integration.jenkins.coverity.actions.IssueReportAction;
+import com.synopsys.integration.log.IntLogger;
+
+import hudson.Util;
+import hudson.model.Run;
+
+public class IssueSnapshots {
+    public static final String SNAPSHOT_DIRECTORY_NAME = "coverity-issue-snapshots";
+    public static final String SNAPSHOT_EXTENSION = ".cids";
+    // Builds that failed before checking for issues have no snapshot, but a longer gap than this is not worth loading old builds for
+    public static final int MAX_PREVIOUS_BUILDS_TO_SEARCH = 20;
+
+    public static IssueReportAction compareWithPreviousBuild(IntLogger logger, Run<?, ?> run, String projectName, String viewName, IssuesInView issuesInView) {
+        int defectCount = issuesInView.getDefectCount();
+        String viewReportUrl = issuesInView.getViewReportUrl();
+        Optional<CidSet> possibleCids = issuesInView.getCids();
+        if (!possibleCids.isPresent()) {
+            logger.warn(String.format("View %s has no CID column, so new and fixed issues cannot be told apart.", viewName));
+            return new IssueReportAction(defectCount, viewReportUrl);
+        }
+
+        CidSet cids = possibleCids.get();
+        Optional<CidSet> previousCids = findPrevious(logger, run, projectName, viewName);
+        try {
+            save(run, projectName, viewName, cids);
+        } catch (IOException e) {
+            logger.warn("Could not save the issues of this build for comparison with the next build: " + e.getMessage());
+        }
+
+        if (!previousCids.isPresent()) {
+            logger.alwaysLog(String.format("[Coverity] No earlier build of this job recorded the issues in view %s, so all %d issues count as new.", viewName, cids.size()));
+            return new IssueReportAction(defectCount, viewReportUrl, cids.size(), 0);
+        }
+
+        int newIssueCount = cids.difference(previousCids.get()).size();
+        int fixedIssueCount = previousCids.get().difference(cids).size();
+        logger.alwaysLog(String.format("[Coverity] %d new and %d fixed issues since the last build that checked view %s.", newIssueCount, fixedIssueCount, viewName));
+        return new IssueReportAction(defectCount, viewReportUrl, newIssueCount, fixedIssueCount);
+    }
+
+    public static Optional<CidSet> findPrevious(IntLogger logger, Run<?, ?> run, String projectName, String viewName) {
+        Run<?, ?> previousRun = run.getPreviousBuild();
+        for (int i = 0; previousRun != null && i < MAX_PREVIOUS_BUILDS_TO_SEARCH; i++) {
+            File snapshotFile = getSnapshotFile(previousRun, projectName, viewName);
+            if (snapshotFile.isFile()) {
+                try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(snapshotFile.toPath()))) {
+                    return Optional.of(CidSet.readFrom(inputStream));
+                } catch (IOException e) {
+                    logger.warn(String.format("Could not read the issues recorded by %s: %s", previousRun.getFullDisplayName(), e.getMessage()));
+                }
+            }
+            previousRun = previousRun.getPreviousBuild();
+        }
+        return Optional.empty();
+    }
+
+    public static void save(Run<?, ?> run, String projectName, String viewName, CidSet cids) throws IOException {
+        File snapshotFile = getSnapshotFile(run, projectName, viewName);
+        File partialSnapshotFile = new File(snapshotFile.getPath() + ".partial");
+        Files.createDirectories(snapshotFile.getParentFile().toPath());
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(partialSnapshotFile.toPath()))) {
+            cids.writeTo(outputStream);
+        }
+        Files.move(partialSnapshotFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static File getSnapshotFile(Run<?, ?> run, String projectName, String viewName) {
+        // A pipeline can check several views, and project and view names are not safe to use as file names
+        String snapshotName = Util.getDigestOf(projectName + "\n" + viewName);
+        return new File(new File(run.getRootDir(), SNAPSHOT_DIRECTORY_NAME), snapshotName + SNAPSHOT_EXTENSION);
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+import com.synopsys.integration.coverity.ws.view.ViewReportWrapper;
+
+public class IssuesInView {
+    private final ViewReportWrapper viewReportWrapper;
+    @Nullable
+    private final CidSet cids;
+
+    public IssuesInView(ViewReportWrapper viewReportWrapper, @Nullable CidSet cids) {
+        this.viewReportWrapper = viewReportWrapper;
+        this.cids = cids;
+    }
+
+    public String getViewReportUrl() {
+        return viewReportWrapper.getViewReportUrl();
+    }
+
+    public int getDefectCount() {
+        return viewReportWrapper.getViewContents().getTotalRows().intValue();
+    }
+
+    public Optional<CidSet> getCids() {
+        return Optional.ofNullable(cids);
+    }
+
+}
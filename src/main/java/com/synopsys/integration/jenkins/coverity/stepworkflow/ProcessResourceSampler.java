@@ -0,0 +1,208 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+public class ProcessResourceSampler implements AutoCloseable {
+    // On Linux, every process in the tree of a Coverity command inherits this variable, which lets us pick them out of /proc even when several builds share an agent.
+    // Everywhere else, only the CPU time reported by ProcessHandle for processes started from the tool home is available.
+    public static final String MARKER_ENVIRONMENT_VARIABLE = "SYNOPSYS_COVERITY_PROCESS_MARKER";
+    public static final long SAMPLE_INTERVAL_IN_MILLIS = 1000;
+    public static final int MAXIMUM_TOP_PROCESSES = 20;
+    // USER_HZ is 100 on every mainstream Linux architecture
+    private static final long CLOCK_TICKS_PER_SECOND = 100;
+
+    private final Path proc;
+    private final String marker;
+    private final String coverityToolHome;
+    private final boolean procAvailable;
+    // Only positive results are kept: a child is forked with the environment of the agent and only gets the marker once it execs
+    private final Set<Long> markedProcesses = ConcurrentHashMap.newKeySet();
+    private final Map<Long, SampledProcess> sampledProcesses = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduledExecutorService;
+    private volatile long peakTreeRssInKilobytes = 0;
+    private volatile long treeCpuTimeInMillis = 0;
+
+    public ProcessResourceSampler(String marker, String coverityToolHome) {
+        this(marker, coverityToolHome, Paths.get("/proc"));
+    }
+
+    ProcessResourceSampler(String marker, String coverityToolHome, Path proc) {
+        this.proc = proc;
+        this.marker = MARKER_ENVIRONMENT_VARIABLE + "=" + marker;
+        this.coverityToolHome = coverityToolHome;
+        this.procAvailable = Files.isDirectory(proc.resolve("self"));
+        this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Coverity process resource sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        scheduledExecutorService.scheduleAtFixedRate(this::sample, 0, SAMPLE_INTERVAL_IN_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public CoverityToolResult createResult(String command, Integer exitCode, long wallTimeInMillis) {
+        long cpuTimeInMillis = procAvailable ? treeCpuTimeInMillis : sampledProcesses.values().stream().mapToLong(SampledProcess::getCpuTimeInMillis).sum();
+        long peakRssInBytes = procAvailable ? peakTreeRssInKilobytes * 1024 : CoverityToolResult.UNKNOWN;
+        long bytesRead = procAvailable ? sampledProcesses.values().stream().mapToLong(sampledProcess -> sampledProcess.bytesRead).sum() : CoverityToolResult.UNKNOWN;
+        long bytesWritten = procAvailable ? sampledProcesses.values().stream().mapToLong(sampledProcess -> sampledProcess.bytesWritten).sum() : CoverityToolResult.UNKNOWN;
+        if (sampledProcesses.isEmpty()) {
+            cpuTimeInMillis = CoverityToolResult.UNKNOWN;
+        }
+
+        List<CoverityToolResult.ProcessSample> topProcesses = sampledProcesses.entrySet().stream()
+                                                                  .sorted(Comparator.comparingLong((Map.Entry<Long, SampledProcess> entry) -> entry.getValue().getCpuTimeInMillis()).reversed())
+                                                                  .limit(MAXIMUM_TOP_PROCESSES)
+                                                                  .map(entry -> entry.getValue().toProcessSample(entry.getKey()))
+                                                                  .collect(Collectors.toList());
+
+        return new CoverityToolResult(command, exitCode, wallTimeInMillis, cpuTimeInMillis, peakRssInBytes, bytesRead, bytesWritten, sampledProcesses.size(), topProcesses);
+    }
+
+    @Override
+    public void close() {
+        scheduledExecutorService.shutdownNow();
+        try {
+            scheduledExecutorService.awaitTermination(SAMPLE_INTERVAL_IN_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sample() {
+        try {
+            if (procAvailable) {
+                sampleProc(ProcessHandle.current().descendants().mapToLong(ProcessHandle::pid).toArray());
+            } else {
+                sampleProcessHandles();
+            }
+        } catch (RuntimeException ignored) {
+            // Profiling is best effort and must never fail the Coverity command
+        }
+    }
+
+    void sampleProc(long[] pids) {
+        long treeRssInKilobytes = 0;
+        long treeCpuClockTicks = 0;
+        for (long pid : pids) {
+            if (markedProcesses.contains(pid) || isMarked(pid)) {
+                markedProcesses.add(pid);
+                SampledProcess sampledProcess = sampledProcesses.computeIfAbsent(pid, ignored -> new SampledProcess());
+                treeRssInKilobytes += sampleProcFor(pid, sampledProcess);
+                treeCpuClockTicks += sampledProcess.treeCpuClockTicks;
+            }
+        }
+        peakTreeRssInKilobytes = Math.max(peakTreeRssInKilobytes, treeRssInKilobytes);
+        // Compiler invocations mostly start and exit between samples, but the time of every waited-for child is in the cutime and cstime of a live ancestor
+        treeCpuTimeInMillis = Math.max(treeCpuTimeInMillis, treeCpuClockTicks * 1000 / CLOCK_TICKS_PER_SECOND);
+    }
+
+    private boolean isMarked(long pid) {
+        try {
+            byte[] environment = Files.readAllBytes(proc.resolve(String.valueOf(pid)).resolve("environ"));
+            return new String(environment, StandardCharsets.UTF_8).contains(marker);
+        } catch (IOException | SecurityException e) {
+            return false;
+        }
+    }
+
+    // Returns the current RSS of the process in kB
+    private long sampleProcFor(long pid, SampledProcess sampledProcess) {
+        Path processDirectory = proc.resolve(String.valueOf(pid));
+        long rssInKilobytes = 0;
+
+        try {
+            String stat = new String(Files.readAllBytes(processDirectory.resolve("stat")), StandardCharsets.UTF_8);
+            // The command name is wrapped in parentheses and may itself contain spaces or parentheses
+            int commandStart = stat.indexOf('(');
+            int commandEnd = stat.lastIndexOf(')');
+            String[] fields = StringUtils.split(stat.substring(commandEnd + 1));
+            sampledProcess.name = stat.substring(commandStart + 1, commandEnd);
+            sampledProcess.parentPid = Long.parseLong(fields[1]);
+            long clockTicks = Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+            long waitedForChildrenClockTicks = Long.parseLong(fields[13]) + Long.parseLong(fields[14]);
+            sampledProcess.cpuTimeInMillis = clockTicks * 1000 / CLOCK_TICKS_PER_SECOND;
+            sampledProcess.treeCpuClockTicks = clockTicks + waitedForChildrenClockTicks;
+
+            for (String line : Files.readAllLines(processDirectory.resolve("status"), StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmHWM:")) {
+                    sampledProcess.peakRssInKilobytes = Math.max(sampledProcess.peakRssInKilobytes, parseKilobytes(line));
+                } else if (line.startsWith("VmRSS:")) {
+                    rssInKilobytes = parseKilobytes(line);
+                }
+            }
+
+            for (String line : Files.readAllLines(processDirectory.resolve("io"), StandardCharsets.UTF_8)) {
+                if (line.startsWith("read_bytes:")) {
+                    sampledProcess.bytesRead = Long.parseLong(line.substring("read_bytes:".length()).trim());
+                } else if (line.startsWith("write_bytes:")) {
+                    sampledProcess.bytesWritten = Long.parseLong(line.substring("write_bytes:".length()).trim());
+                }
+            }
+        } catch (IOException | RuntimeException ignored) {
+            // The process exited between listing and reading, or its files are not readable -- keep the last values we saw
+        }
+
+        return rssInKilobytes;
+    }
+
+    private long parseKilobytes(String statusLine) {
+        String[] pieces = StringUtils.split(statusLine);
+        return pieces.length > 1 ? Long.parseLong(pieces[1]) : 0;
+    }
+
+    private void sampleProcessHandles() {
+        ProcessHandle.current().descendants()
+            .filter(processHandle -> processHandle.info().command().filter(command -> command.startsWith(coverityToolHome)).isPresent())
+            .forEach(processHandle -> {
+                SampledProcess sampledProcess = sampledProcesses.computeIfAbsent(processHandle.pid(), ignored -> new SampledProcess());
+                ProcessHandle.Info info = processHandle.info();
+                sampledProcess.name = info.command().map(command -> Paths.get(command).getFileName().toString()).orElse(sampledProcess.name);
+                sampledProcess.parentPid = processHandle.parent().map(ProcessHandle::pid).orElse(sampledProcess.parentPid);
+                sampledProcess.cpuTimeInMillis = info.totalCpuDuration().map(Duration::toMillis).orElse(sampledProcess.cpuTimeInMillis);
+            });
+    }
+
+    private static class SampledProcess {
+        private volatile String name = StringUtils.EMPTY;
+        private volatile long parentPid = -1;
+        private volatile long cpuTimeInMillis = 0;
+        private volatile long treeCpuClockTicks = 0;
+        private volatile long peakRssInKilobytes = 0;
+        private volatile long bytesRead = 0;
+        private volatile long bytesWritten = 0;
+
+        public long getCpuTimeInMillis() {
+            return cpuTimeInMillis;
+        }
+
+        public CoverityToolResult.ProcessSample toProcessSample(long pid) {
+            return new CoverityToolResult.ProcessSample(pid, parentPid, name, cpuTimeInMillis, peakRssInKilobytes * 1024);
+        }
+    }
+
+}
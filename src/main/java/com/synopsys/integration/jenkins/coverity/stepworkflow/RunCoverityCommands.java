@@ -7,38 +7,88 @@
  */
 package com.synopsys.integration.jenkins.coverity.stepworkflow;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
 import com.synopsys.integration.jenkins.coverity.JenkinsCoverityEnvironmentVariable;
+import com.synopsys.integration.jenkins.coverity.SecretMasker;
+import com.synopsys.integration.jenkins.coverity.SecretMaskingOutputStream;
 import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
+import com.synopsys.integration.jenkins.coverity.extensions.ConsoleOutputMode;
 import com.synopsys.integration.jenkins.coverity.extensions.OnCommandFailure;
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.RepeatableCommand;
+import com.synopsys.integration.jenkins.coverity.metrics.CoverityMetrics;
 import com.synopsys.integration.stepworkflow.AbstractConsumingSubStep;
 import com.synopsys.integration.stepworkflow.SubStepResponse;
 import com.synopsys.integration.util.IntEnvironmentVariables;
 
+import hudson.FilePath;
+import hudson.Util;
 import hudson.remoting.VirtualChannel;
+import hudson.util.StreamTaskListener;
 
 public class RunCoverityCommands extends AbstractConsumingSubStep<List<List<String>>> {
+    private static final String COV_COMMIT_DEFECTS = "cov-commit-defects";
+
     private final CoverityJenkinsIntLogger logger;
     private final IntEnvironmentVariables intEnvironmentVariables;
     private final String remoteWorkingDirectory;
     private final OnCommandFailure onCommandFailure;
     private final VirtualChannel virtualChannel;
+    private final Consumer<CoverityToolResult> coverityToolResultConsumer;
+    private final String coverityInstanceUrl;
+    private final Integer maxConcurrentCommits;
+    // When set, cov-commit-defects is handed off to a background task that logs to this file instead of holding the executor
+    private final File backgroundCommitLogFile;
+    private final Consumer<BackgroundCommit> backgroundCommitConsumer;
+    // Where a background commit copies the intermediate directory to on the agent, so that it no longer depends on the workspace
+    private final FilePath backgroundCommitStagingDirectory;
+    private final Collection<String> backgroundCommitSecretsToMask;
+    // When set, cov-commit-defects runs on the controller from a copy of the intermediate directory instead of on the agent
+    private final CommitRelay commitRelay;
+    private final ConsoleOutputMode consoleOutputMode;
+    // A job that fingerprints its analysis records the fingerprint of its own commits, any other commit leaves the recorded one stale
+    private final boolean recordsAnalysisFingerprint;
 
     public RunCoverityCommands(final CoverityJenkinsIntLogger logger, final IntEnvironmentVariables intEnvironmentVariables, final String remoteWorkingDirectory, final OnCommandFailure onCommandFailure,
-        final VirtualChannel virtualChannel) {
+        final VirtualChannel virtualChannel, final Consumer<CoverityToolResult> coverityToolResultConsumer, final String coverityInstanceUrl, final Integer maxConcurrentCommits, final File backgroundCommitLogFile,
+        final Consumer<BackgroundCommit> backgroundCommitConsumer, final FilePath backgroundCommitStagingDirectory, final Collection<String> backgroundCommitSecretsToMask, final CommitRelay commitRelay,
+        final ConsoleOutputMode consoleOutputMode, final boolean recordsAnalysisFingerprint) {
         this.logger = logger;
         this.intEnvironmentVariables = intEnvironmentVariables;
         this.remoteWorkingDirectory = remoteWorkingDirectory;
         this.onCommandFailure = onCommandFailure;
         this.virtualChannel = virtualChannel;
+        this.coverityToolResultConsumer = coverityToolResultConsumer;
+        this.coverityInstanceUrl = coverityInstanceUrl;
+        this.maxConcurrentCommits = maxConcurrentCommits;
+        this.backgroundCommitLogFile = backgroundCommitLogFile;
+        this.backgroundCommitConsumer = backgroundCommitConsumer;
+        this.backgroundCommitStagingDirectory = backgroundCommitStagingDirectory;
+        this.backgroundCommitSecretsToMask = backgroundCommitSecretsToMask;
+        this.commitRelay = commitRelay;
+        this.consoleOutputMode = consoleOutputMode;
+        this.recordsAnalysisFingerprint = recordsAnalysisFingerprint;
     }
 
     public SubStepResponse<Object> run(final List<List<String>> commands) {
+        final List<List<String>> backgroundCommitCommands = new ArrayList<>();
+        boolean startedBackgroundCommit = false;
         try {
             boolean oneOrMoreCommandsFailed = false;
             for (final List<String> arguments : commands) {
@@ -46,10 +96,14 @@ public class RunCoverityCommands extends AbstractConsumingSubStep<List<List<Stri
                     continue;
                 }
 
-                final CoverityRemoteToolRunner coverityRemoteToolRunner = new CoverityRemoteToolRunner(logger, intEnvironmentVariables.getValue(JenkinsCoverityEnvironmentVariable.COVERITY_TOOL_HOME.toString()), arguments,
-                    remoteWorkingDirectory, (HashMap<String, String>) intEnvironmentVariables.getVariables());
+                if (backgroundCommitLogFile != null && isCommitCommand(arguments.get(0))) {
+                    backgroundCommitCommands.add(arguments);
+                    continue;
+                }
 
-                final Integer exitCode = virtualChannel.call(coverityRemoteToolRunner);
+                final CoverityToolResult coverityToolResult = runCommand(logger, arguments);
+                final Integer exitCode = coverityToolResult.getExitCode();
+                coverityToolResultConsumer.accept(coverityToolResult);
 
                 if (exitCode != null && exitCode != 0) {
                     final String exitCodeErrorMessage = "Coverity failed with exit code: " + exitCode;
@@ -63,6 +117,11 @@ public class RunCoverityCommands extends AbstractConsumingSubStep<List<List<Stri
                 }
             }
 
+            if (!backgroundCommitCommands.isEmpty()) {
+                startBackgroundCommit(backgroundCommitCommands);
+                startedBackgroundCommit = true;
+            }
+
             if (oneOrMoreCommandsFailed) {
                 throw new CoverityJenkinsException("One or more Coverity commands failed");
             }
@@ -71,9 +130,120 @@ public class RunCoverityCommands extends AbstractConsumingSubStep<List<List<Stri
             return SubStepResponse.FAILURE(e);
         } catch (final IOException | IntegrationException e) {
             return SubStepResponse.FAILURE(e);
+        } finally {
+            // A background commit cleans up the relay itself once it has finished
+            if (commitRelay != null && !startedBackgroundCommit) {
+                commitRelay.cleanUp(logger);
+            }
         }
 
         return SubStepResponse.SUCCESS();
     }
 
+    private void startBackgroundCommit(final List<List<String>> backgroundCommitCommands) throws InterruptedException, IOException, IntegrationException {
+        // The build hands its workspace back as soon as this step returns, so the commit reads its own copy of everything it needs
+        final List<List<String>> stagedCommands = new ArrayList<>();
+        final List<FilePath> stagingDirectories = new ArrayList<>();
+        final CommitSnapshot commitSnapshot;
+        if (commitRelay != null) {
+            commitSnapshot = null;
+            commitRelay.stage(logger);
+            stagedCommands.addAll(backgroundCommitCommands);
+            stagingDirectories.add(commitRelay.getStagingDirectory());
+        } else {
+            commitSnapshot = new CommitSnapshot(new FilePath(virtualChannel, remoteWorkingDirectory), backgroundCommitStagingDirectory);
+            try {
+                for (final List<String> arguments : backgroundCommitCommands) {
+                    stagedCommands.add(commitSnapshot.stage(logger, arguments));
+                }
+            } catch (final IOException | InterruptedException e) {
+                commitSnapshot.cleanUp(logger);
+                throw e;
+            }
+            stagingDirectories.add(commitSnapshot.getStagingDirectory());
+        }
+
+        final OutputStream commitLogOutputStream = Files.newOutputStream(backgroundCommitLogFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        final StreamTaskListener commitListener = new StreamTaskListener(new SecretMaskingOutputStream(commitLogOutputStream, new SecretMasker(backgroundCommitSecretsToMask)), StandardCharsets.UTF_8);
+        final CoverityJenkinsIntLogger commitLogger = CoverityJenkinsIntLogger.initializeLogger(commitListener, intEnvironmentVariables);
+        final String projectName = intEnvironmentVariables.getValue(JenkinsCoverityEnvironmentVariable.COVERITY_PROJECT.toString());
+        final String streamName = intEnvironmentVariables.getValue(JenkinsCoverityEnvironmentVariable.COVERITY_STREAM.toString());
+        final BackgroundCommit backgroundCommit = new BackgroundCommit(coverityInstanceUrl, projectName, streamName, backgroundCommitLogFile, commitListener, commitLogger, stagingDirectories);
+
+        BackgroundCommits.start(backgroundCommit, () -> commitInBackground(commitLogger, stagedCommands, commitSnapshot));
+        backgroundCommitConsumer.accept(backgroundCommit);
+        logger.alwaysLog("cov-commit-defects continues in the background and no longer holds this executor. Its output is available from the Coverity Background Commit Log of this build.");
+    }
+
+    private boolean commitInBackground(final CoverityJenkinsIntLogger commitLogger, final List<List<String>> backgroundCommitCommands, final CommitSnapshot commitSnapshot)
+        throws InterruptedException, IOException, IntegrationException {
+        boolean allCommitsSucceeded = true;
+        try {
+            for (final List<String> arguments : backgroundCommitCommands) {
+                final Integer exitCode = runCommand(commitLogger, arguments).getExitCode();
+                if (exitCode != null && exitCode != 0) {
+                    commitLogger.error("Coverity failed with exit code: " + exitCode);
+                    allCommitsSucceeded = false;
+                }
+            }
+        } finally {
+            if (commitRelay != null) {
+                commitRelay.cleanUp(commitLogger);
+            }
+            if (commitSnapshot != null) {
+                commitSnapshot.cleanUp(commitLogger);
+            }
+        }
+        return allCommitsSucceeded;
+    }
+
+    private CoverityToolResult runCommand(final CoverityJenkinsIntLogger logger, final List<String> arguments) throws InterruptedException, IOException, IntegrationException {
+        final boolean isRelayedCommit = commitRelay != null && isCommitCommand(arguments.get(0));
+        final HashMap<String, String> environmentVariables = (HashMap<String, String>) intEnvironmentVariables.getVariables();
+        if (isRelayedCommit) {
+            // Staging only involves the agent and the controller, so it happens before taking one of the server's commit slots
+            commitRelay.stage(logger);
+        }
+
+        final CoverityToolResult coverityToolResult;
+        final long startTime;
+        try (final CommitAdmissionControl.CommitPermit ignored = acquireCommitPermitIfNeeded(logger, arguments.get(0))) {
+            startTime = System.nanoTime();
+            if (isRelayedCommit) {
+                coverityToolResult = commitRelay.commit(logger, arguments, intEnvironmentVariables.getValue(JenkinsCoverityEnvironmentVariable.COVERITY_STREAM.toString()));
+            } else {
+                final CoverityRemoteToolRunner coverityRemoteToolRunner = new CoverityRemoteToolRunner(logger, intEnvironmentVariables.getValue(JenkinsCoverityEnvironmentVariable.COVERITY_TOOL_HOME.toString()), arguments,
+                    remoteWorkingDirectory, environmentVariables, consoleOutputMode);
+                coverityToolResult = virtualChannel.call(coverityRemoteToolRunner);
+            }
+        }
+        CoverityMetrics.recordToolRun(arguments.get(0), coverityToolResult.getExitCode(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        final boolean leavesFingerprintStale = !recordsAnalysisFingerprint || !Integer.valueOf(0).equals(coverityToolResult.getExitCode());
+        if (leavesFingerprintStale && coverityInstanceUrl != null && isCommitCommand(arguments.get(0))) {
+            // Even a failed commit may have left a new snapshot behind
+            final String streamName = CommitRelay.getArgumentValue(arguments, RepeatableCommand.Argument.STREAM)
+                                          .orElseGet(() -> intEnvironmentVariables.getValue(JenkinsCoverityEnvironmentVariable.COVERITY_STREAM.toString()));
+            if (StringUtils.isNotBlank(streamName)) {
+                AnalysisFingerprints.invalidate(coverityInstanceUrl, streamName);
+            }
+        }
+        return coverityToolResult;
+    }
+
+    private boolean isCommitCommand(final String executable) {
+        return COV_COMMIT_DEFECTS.equals(FilenameUtils.getBaseName(executable));
+    }
+
+    private CommitAdmissionControl.CommitPermit acquireCommitPermitIfNeeded(final CoverityJenkinsIntLogger logger, final String executable) throws InterruptedException {
+        if (!CommitAdmissionControl.isLimited(maxConcurrentCommits) || coverityInstanceUrl == null || !isCommitCommand(executable)) {
+            return null;
+        }
+
+        final int queueLength = CommitAdmissionControl.getQueueLength(coverityInstanceUrl);
+        logger.alwaysLog(String.format("Waiting for one of %d cov-commit-defects slots on %s (%d builds already waiting)", maxConcurrentCommits, coverityInstanceUrl, queueLength));
+        final CommitAdmissionControl.CommitPermit commitPermit = CommitAdmissionControl.acquire(coverityInstanceUrl, maxConcurrentCommits);
+        logger.alwaysLog(String.format("Waited %s for a cov-commit-defects slot on %s", Util.getTimeSpanString(TimeUnit.NANOSECONDS.toMillis(commitPermit.getWaitTimeInNanos())), coverityInstanceUrl));
+        return commitPermit;
+    }
+
 }
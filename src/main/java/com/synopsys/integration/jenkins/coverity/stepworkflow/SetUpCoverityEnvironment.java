@@ -21,6 +21,7 @@ import com.synopsys.integration.jenkins.coverity.ChangeSetFilter;
 import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
 import com.synopsys.integration.jenkins.coverity.JenkinsCoverityEnvironmentVariable;
 import com.synopsys.integration.jenkins.coverity.extensions.ConfigureChangeSetPatterns;
+import com.synopsys.integration.jenkins.coverity.metrics.CoverityMetrics;
 import com.synopsys.integration.log.LogLevel;
 import com.synopsys.integration.rest.RestConstants;
 import com.synopsys.integration.stepworkflow.AbstractConsumingSubStep;
@@ -85,6 +86,7 @@ public class SetUpCoverityEnvironment extends AbstractConsumingSubStep<String> {
                                      .collect(Collectors.toList());
 
         logger.alwaysLog("Computed a $CHANGE_SET of " + changeSet.size() + " files");
+        CoverityMetrics.recordChangeSetSize(changeSet.size());
 
         intEnvironmentVariables.put("PATH+COVERITYTOOLBIN", coverityToolHomeBin);
         intEnvironmentVariables.put(CoverityToolEnvironmentVariable.USER.toString(), coverityUsername);
@@ -0,0 +1,34 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.synopsys.integration.jenkins.coverity.actions.StepTiming;
+
+public class StepTimings {
+    private final String workflowName;
+    private final List<StepTiming> stepTimings = Collections.synchronizedList(new ArrayList<>());
+
+    public StepTimings(String workflowName) {
+        this.workflowName = workflowName;
+    }
+
+    public void record(String stepName, long durationInMillis, boolean successful) {
+        stepTimings.add(new StepTiming(workflowName, stepName, durationInMillis, successful));
+    }
+
+    public List<StepTiming> getStepTimings() {
+        synchronized (stepTimings) {
+            return new ArrayList<>(stepTimings);
+        }
+    }
+
+}
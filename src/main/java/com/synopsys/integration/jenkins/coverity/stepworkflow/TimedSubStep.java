@@ -0,0 +1,39 @@
+/*
+ * synopsys-coverity
+ *
+ * Copyright (c) 2024 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import java.util.concurrent.TimeUnit;
+
+import com.synopsys.integration.stepworkflow.SubStep;
+import com.synopsys.integration.stepworkflow.SubStepResponse;
+
+public class TimedSubStep<T, R> implements SubStep<T, R> {
+    private final String stepName;
+    private final SubStep<T, R> subStep;
+    private final StepTimings stepTimings;
+
+    public TimedSubStep(String stepName, SubStep<T, R> subStep, StepTimings stepTimings) {
+        this.stepName = stepName;
+        this.subStep = subStep;
+        this.stepTimings = stepTimings;
+    }
+
+    @Override
+    public SubStepResponse<R> run(SubStepResponse<? extends T> previousResponse) {
+        long startTime = System.nanoTime();
+        SubStepResponse<R> response = subStep.run(previousResponse);
+
+        // A failed previous response short-circuits the sub step, so there is nothing meaningful to record
+        if (previousResponse.isSuccess()) {
+            stepTimings.record(stepName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), response.isSuccess());
+        }
+
+        return response;
+    }
+
+}
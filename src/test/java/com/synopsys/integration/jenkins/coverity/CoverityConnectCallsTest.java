@@ -0,0 +1,165 @@
+package com.synopsys.integration.jenkins.coverity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+public class CoverityConnectCallsTest {
+    @Test
+    public void testConcurrentCallsAreBounded() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CoverityConnectCalls.MAX_CONCURRENT_CALLS * 2; i++) {
+            futures.add(CoverityConnectCalls.submit(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                release.await(5, TimeUnit.SECONDS);
+                inFlight.decrementAndGet();
+                return null;
+            }, ignored -> {}, ignored -> {}));
+        }
+
+        awaitCondition(() -> maxInFlight.get() == CoverityConnectCalls.MAX_CONCURRENT_CALLS);
+        // Give any call beyond the bound the chance to start
+        Thread.sleep(100);
+        release.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(CoverityConnectCalls.MAX_CONCURRENT_CALLS, maxInFlight.get());
+    }
+
+    @Test
+    public void testTaskDoesNotHoldAPermitWhileWaiting() throws Exception {
+        CountDownLatch taskWaiting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> taskResult = new CompletableFuture<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch allCallsRunning = new CountDownLatch(CoverityConnectCalls.MAX_CONCURRENT_CALLS);
+
+        // As a check does while it waits on background commits
+        CoverityConnectCalls.submitTask(() -> {
+            taskWaiting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 42;
+        }, taskResult::complete, taskResult::completeExceptionally);
+        assertTrue(taskWaiting.await(5, TimeUnit.SECONDS));
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CoverityConnectCalls.MAX_CONCURRENT_CALLS; i++) {
+            futures.add(CoverityConnectCalls.submit(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                allCallsRunning.countDown();
+                allCallsRunning.await(5, TimeUnit.SECONDS);
+                inFlight.decrementAndGet();
+                return null;
+            }, ignored -> {}, ignored -> {}));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        release.countDown();
+
+        assertEquals(CoverityConnectCalls.MAX_CONCURRENT_CALLS, maxInFlight.get());
+        assertEquals(Integer.valueOf(42), taskResult.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testTasksBeyondTheBoundQueueRatherThanFail() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Integer>> taskResults = new ArrayList<>();
+        for (int i = 0; i < CoverityConnectCalls.MAX_CONCURRENT_TASKS * 2; i++) {
+            CompletableFuture<Integer> taskResult = new CompletableFuture<>();
+            int taskNumber = i;
+            CoverityConnectCalls.submitTask(() -> {
+                release.await(5, TimeUnit.SECONDS);
+                return taskNumber;
+            }, taskResult::complete, taskResult::completeExceptionally);
+            taskResults.add(taskResult);
+        }
+        release.countDown();
+
+        for (int i = 0; i < taskResults.size(); i++) {
+            assertEquals(Integer.valueOf(i), taskResults.get(i).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testTaskCallsTakeAPermitEach() throws Exception {
+        CompletableFuture<String> taskResult = new CompletableFuture<>();
+        CoverityConnectCalls.submitTask(() -> {
+            // Nested calls run inline rather than queueing for a second permit
+            return CoverityConnectCalls.call(() -> "first " + CoverityConnectCalls.call(() -> "nested")) + ", " + CoverityConnectCalls.call(() -> "second");
+        }, taskResult::complete, taskResult::completeExceptionally);
+
+        assertEquals("first nested, second", taskResult.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCallRethrowsTheCause() {
+        IOException thrown = new IOException("Coverity Connect went away");
+
+        IOException caught = assertThrows(IOException.class, () -> CoverityConnectCalls.call(() -> {
+            throw thrown;
+        }));
+
+        assertSame(thrown, caught);
+    }
+
+    @Test
+    public void testFailureIsReported() throws Exception {
+        CompletableFuture<Object> reportedResult = new CompletableFuture<>();
+        CompletableFuture<Throwable> reportedFailure = new CompletableFuture<>();
+        CoverityConnectCalls.submitTask(() -> {
+            throw new IllegalStateException("No view");
+        }, reportedResult::complete, reportedFailure::complete);
+
+        assertEquals("No view", reportedFailure.get(5, TimeUnit.SECONDS).getMessage());
+        assertFalse(reportedResult.isDone());
+    }
+
+    @Test
+    public void testCallerContextClassLoaderComesAlong() throws Exception {
+        ClassLoader callerClassLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        Thread thread = Thread.currentThread();
+        ClassLoader threadClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(callerClassLoader);
+        CompletableFuture<ClassLoader> taskClassLoader = new CompletableFuture<>();
+        try {
+            assertSame(callerClassLoader, CoverityConnectCalls.call(() -> Thread.currentThread().getContextClassLoader()));
+            CoverityConnectCalls.submitTask(() -> CoverityConnectCalls.call(() -> Thread.currentThread().getContextClassLoader()), taskClassLoader::complete, taskClassLoader::completeExceptionally);
+        } finally {
+            thread.setContextClassLoader(threadClassLoader);
+        }
+
+        assertSame(callerClassLoader, taskClassLoader.get(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting");
+            Thread.sleep(10);
+        }
+    }
+
+}
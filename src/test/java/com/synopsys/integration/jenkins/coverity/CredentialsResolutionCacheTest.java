@@ -0,0 +1,93 @@
+package com.synopsys.integration.jenkins.coverity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.Saveable;
+import hudson.model.User;
+
+public class CredentialsResolutionCacheTest {
+    private static final long NOW = 1_000_000L;
+    private final AtomicInteger resolutions = new AtomicInteger();
+    private final Supplier<String> resolver = () -> "secret" + resolutions.incrementAndGet();
+
+    @BeforeEach
+    public void clearCache() {
+        CredentialsResolutionCache.invalidateAll();
+    }
+
+    @Test
+    public void testResolvesOnceWithinTimeToLive() {
+        assertEquals("secret1", CredentialsResolutionCache.resolve("passphrase", "credentials", resolver, NOW));
+        assertEquals("secret1", CredentialsResolutionCache.resolve("passphrase", "credentials", resolver, NOW + CredentialsResolutionCache.TIME_TO_LIVE_IN_MILLIS));
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    public void testResolvesAgainOnceExpired() {
+        CredentialsResolutionCache.resolve("passphrase", "credentials", resolver, NOW);
+
+        assertEquals("secret2", CredentialsResolutionCache.resolve("passphrase", "credentials", resolver, NOW + CredentialsResolutionCache.TIME_TO_LIVE_IN_MILLIS + 1));
+        // The new resolution starts a time to live of its own
+        assertEquals("secret2", CredentialsResolutionCache.resolve("passphrase", "credentials", resolver, NOW + 2 * CredentialsResolutionCache.TIME_TO_LIVE_IN_MILLIS));
+    }
+
+    @Test
+    public void testResolutionsAreKeptPerTypeAndCredentials() {
+        CredentialsResolutionCache.resolve("passphrase", "credentials", resolver, NOW);
+        CredentialsResolutionCache.resolve("passphrase", "other credentials", resolver, NOW);
+        CredentialsResolutionCache.resolve("integrationCredentials", "credentials", resolver, NOW);
+
+        assertEquals(3, resolutions.get());
+    }
+
+    @Test
+    public void testFailedResolutionIsCachedToo() {
+        Supplier<String> failingResolver = () -> {
+            resolutions.incrementAndGet();
+            return null;
+        };
+
+        CredentialsResolutionCache.resolve("authenticationKeyFileContents", "credentials", failingResolver, NOW);
+        CredentialsResolutionCache.resolve("authenticationKeyFileContents", "credentials", failingResolver, NOW + 1);
+
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    public void testCredentialsChangesInvalidate() {
+        CredentialsResolutionCache.InvalidateOnCredentialsChange listener = new CredentialsResolutionCache.InvalidateOnCredentialsChange();
+        XmlFile file = Mockito.mock(XmlFile.class);
+
+        CredentialsResolutionCache.resolve("passphrase", "credentials", resolver, NOW);
+        listener.onChange(Mockito.mock(SystemCredentialsProvider.class), file);
+        assertEquals("secret2", CredentialsResolutionCache.resolve("passphrase", "credentials", resolver, NOW));
+
+        // Folder credentials are saved with the folder, and user credentials with the user
+        listener.onChange(Mockito.mock(Item.class), file);
+        assertEquals("secret3", CredentialsResolutionCache.resolve("passphrase", "credentials", resolver, NOW));
+        listener.onChange(Mockito.mock(User.class), file);
+        assertEquals("secret4", CredentialsResolutionCache.resolve("passphrase", "credentials", resolver, NOW));
+    }
+
+    @Test
+    public void testUnrelatedSavesKeepTheCache() {
+        CredentialsResolutionCache.InvalidateOnCredentialsChange listener = new CredentialsResolutionCache.InvalidateOnCredentialsChange();
+
+        CredentialsResolutionCache.resolve("passphrase", "credentials", resolver, NOW);
+        listener.onChange(Mockito.mock(Saveable.class), Mockito.mock(XmlFile.class));
+
+        assertEquals("secret1", CredentialsResolutionCache.resolve("passphrase", "credentials", resolver, NOW));
+    }
+
+}
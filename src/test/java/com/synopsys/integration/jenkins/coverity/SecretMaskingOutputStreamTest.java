@@ -0,0 +1,73 @@
+package com.synopsys.integration.jenkins.coverity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class SecretMaskingOutputStreamTest {
+    private static final String MASK = SecretMasker.MASK;
+
+    private static Stream<Arguments> testMasking() {
+        return Stream.of(
+            Arguments.of(Collections.singletonList("hunter2"), "password is hunter2.", "password is " + MASK + "."),
+            Arguments.of(Arrays.asList("alice", "hunter2"), "alice:hunter2 alice", MASK + ":" + MASK + " " + MASK),
+            Arguments.of(Arrays.asList("admin", "admin123"), "login admin123 as admin", "login " + MASK + " as " + MASK),
+            Arguments.of(Arrays.asList("bc", "abcd"), "xabcdx", "x" + MASK + "x"),
+            Arguments.of(Collections.singletonList("abab"), "ababab!", MASK + "!"),
+            Arguments.of(Collections.singletonList("secret"), "secre secrets", "secre " + MASK + "s"),
+            Arguments.of(Collections.singletonList("pässwörd"), "[pässwörd]", "[" + MASK + "]"),
+            Arguments.of(Arrays.asList("", "unused"), "nothing to hide", "nothing to hide"),
+            Arguments.of(Collections.emptyList(), "nothing to hide", "nothing to hide")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("testMasking")
+    public void testMasking(List<String> secrets, String input, String expectedOutput) throws IOException {
+        SecretMasker secretMasker = new SecretMasker(secrets);
+        assertEquals(expectedOutput, maskInOneWrite(secretMasker, input));
+        // The same secrets must be caught wherever the writes happen to split the log
+        for (int chunkSize = 1; chunkSize < input.length(); chunkSize++) {
+            assertEquals(expectedOutput, maskInChunks(secretMasker, input, chunkSize), "Chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    public void testPartialSecretIsHeldUntilClose() throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        SecretMaskingOutputStream secretMaskingOutputStream = new SecretMaskingOutputStream(byteArrayOutputStream, new SecretMasker(Collections.singletonList("hunter2")));
+        secretMaskingOutputStream.write("log hunt".getBytes(StandardCharsets.UTF_8));
+        secretMaskingOutputStream.flush();
+        assertEquals("log ", byteArrayOutputStream.toString("UTF-8"));
+
+        secretMaskingOutputStream.close();
+        assertEquals("log hunt", byteArrayOutputStream.toString("UTF-8"));
+    }
+
+    private String maskInOneWrite(SecretMasker secretMasker, String input) throws IOException {
+        return maskInChunks(secretMasker, input, Integer.MAX_VALUE);
+    }
+
+    private String maskInChunks(SecretMasker secretMasker, String input, int chunkSize) throws IOException {
+        byte[] inputBytes = input.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (SecretMaskingOutputStream secretMaskingOutputStream = new SecretMaskingOutputStream(byteArrayOutputStream, secretMasker)) {
+            for (int offset = 0; offset < inputBytes.length; offset += chunkSize) {
+                secretMaskingOutputStream.write(inputBytes, offset, Math.min(chunkSize, inputBytes.length - offset));
+            }
+        }
+        return byteArrayOutputStream.toString("UTF-8");
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.synopsys.integration.jenkins.coverity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.jenkins.coverity.WarmIntermediateDirectories.PreferWarmAgents;
+import com.synopsys.integration.jenkins.coverity.WarmIntermediateDirectories.WarmIntermediateDirectory;
+
+public class WarmIntermediateDirectoriesTest {
+    private static final long NOW = TimeUnit.DAYS.toMillis(100);
+
+    @Test
+    public void testLatestUseOfANodeCounts() {
+        List<WarmIntermediateDirectory> registry = new ArrayList<>();
+        WarmIntermediateDirectories.recordWarm(registry, "folder/job", "project", "stream-a", "agent-1", NOW - 2000);
+        WarmIntermediateDirectories.recordWarm(registry, "folder/job", "project", "stream-b", "agent-1", NOW - 1000);
+        WarmIntermediateDirectories.recordWarm(registry, "folder/job", "project", "stream-a", "", NOW - 3000);
+        WarmIntermediateDirectories.recordWarm(registry, "other-job", "project", "stream-a", "agent-2", NOW);
+
+        Map<String, Map<String, Long>> index = WarmIntermediateDirectories.index(registry);
+
+        Map<String, Long> expected = new HashMap<>();
+        expected.put("agent-1", NOW - 1000);
+        expected.put("", NOW - 3000);
+        assertEquals(expected, index.get("folder/job"));
+        assertEquals(Collections.singletonMap("agent-2", NOW), index.get("other-job"));
+    }
+
+    @Test
+    public void testRecordingAgainReplacesTheEntry() {
+        List<WarmIntermediateDirectory> registry = new ArrayList<>();
+        WarmIntermediateDirectories.recordWarm(registry, "job", "project", "stream", "agent-1", NOW - 5000);
+        WarmIntermediateDirectories.recordWarm(registry, "job", "project", "stream", "agent-1", NOW);
+
+        assertEquals(1, registry.size());
+        assertEquals(Collections.singletonMap("agent-1", NOW), WarmIntermediateDirectories.index(registry).get("job"));
+    }
+
+    @Test
+    public void testStaleNodesAreNotWarm() {
+        Map<String, Long> lastUsedByNode = new HashMap<>();
+        lastUsedByNode.put("fresh", NOW - TimeUnit.DAYS.toMillis(1));
+        lastUsedByNode.put("stale", NOW - WarmIntermediateDirectories.FRESHNESS_IN_MILLIS - 1);
+
+        assertEquals(Collections.singleton("fresh"), WarmIntermediateDirectories.getFreshNodes(lastUsedByNode, NOW).keySet());
+    }
+
+    @Test
+    public void testWaitsForWarmNodesThatCanTakeTheBuild() {
+        Map<String, Long> warmNodes = new HashMap<>();
+        warmNodes.put("agent-1", NOW);
+        warmNodes.put("agent-2", NOW);
+        warmNodes.put("offline", NOW);
+
+        assertEquals(new HashSet<>(Arrays.asList("agent-1", "agent-2")), PreferWarmAgents.getWarmNodesToWaitFor(warmNodes, "cold-agent", NOW + 1000, NOW, nodeName -> !"offline".equals(nodeName)));
+    }
+
+    @Test
+    public void testWarmNodeIsNeverHeldBack() {
+        Map<String, Long> warmNodes = Collections.singletonMap("agent-1", NOW);
+
+        assertTrue(PreferWarmAgents.getWarmNodesToWaitFor(warmNodes, "agent-1", NOW + 1000, NOW, nodeName -> true).isEmpty());
+    }
+
+    @Test
+    public void testStopsWaitingOnceTheWaitIsOver() {
+        Map<String, Long> warmNodes = Collections.singletonMap("agent-1", NOW);
+
+        assertTrue(PreferWarmAgents.getWarmNodesToWaitFor(warmNodes, "cold-agent", NOW, NOW, nodeName -> true).isEmpty());
+    }
+
+    @Test
+    public void testDoesNotWaitForNodesThatCannotTakeTheBuild() {
+        Map<String, Long> warmNodes = Collections.singletonMap("offline", NOW);
+
+        assertTrue(PreferWarmAgents.getWarmNodesToWaitFor(warmNodes, "cold-agent", NOW + 1000, NOW, nodeName -> false).isEmpty());
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.synopsys.integration.jenkins.coverity.actions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import hudson.model.Job;
+import hudson.model.Run;
+
+public class CoverityPerformanceProjectActionTest {
+    @Test
+    public void testTrendIsLimitedToTheLatestBuildsWithTimings() {
+        Job<?, ?> job = createJob(200, buildNumber -> true);
+
+        List<Integer> buildNumbers = getBuildNumbers(CoverityPerformanceProjectAction.getRunsInTrend(job));
+
+        assertEquals(IntStream.iterate(200, buildNumber -> buildNumber - 1).limit(CoverityPerformanceProjectAction.MAXIMUM_BUILDS_IN_TREND).boxed().collect(Collectors.toList()), buildNumbers);
+    }
+
+    @Test
+    public void testBuildsWithoutTimingsAreSkipped() {
+        Job<?, ?> job = createJob(10, buildNumber -> buildNumber % 2 == 0);
+
+        assertEquals(Arrays.asList(10, 8, 6, 4, 2), getBuildNumbers(CoverityPerformanceProjectAction.getRunsInTrend(job)));
+    }
+
+    @Test
+    public void testOnlyTheLatestBuildsAreExamined() {
+        // Timings only in builds older than the examined ones, as in a job that stopped running the step long ago
+        Job<?, ?> job = createJob(300, buildNumber -> buildNumber <= 300 - CoverityPerformanceProjectAction.MAXIMUM_BUILDS_EXAMINED);
+
+        assertTrue(CoverityPerformanceProjectAction.getRunsInTrend(job).isEmpty());
+    }
+
+    private static Job<?, ?> createJob(int lastBuildNumber, IntPredicate hasTimings) {
+        Run<?, ?> previousRun = null;
+        for (int buildNumber = 1; buildNumber <= lastBuildNumber; buildNumber++) {
+            Run<?, ?> run = Mockito.mock(Run.class);
+            Mockito.when(run.getNumber()).thenReturn(buildNumber);
+            Mockito.doReturn(previousRun).when(run).getPreviousBuild();
+            Mockito.doReturn(hasTimings.test(buildNumber) ? Mockito.mock(CoverityPerformanceAction.class) : null).when(run).getAction(CoverityPerformanceAction.class);
+            previousRun = run;
+        }
+        Job<?, ?> job = Mockito.mock(Job.class);
+        Mockito.doReturn(previousRun).when(job).getLastBuild();
+        return job;
+    }
+
+    private static List<Integer> getBuildNumbers(List<Run<?, ?>> runs) {
+        return runs.stream().map(Run::getNumber).collect(Collectors.toList());
+    }
+
+}
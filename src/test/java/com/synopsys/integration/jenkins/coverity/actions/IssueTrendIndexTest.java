@@ -0,0 +1,114 @@
+package com.synopsys.integration.jenkins.coverity.actions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import hudson.model.Job;
+
+public class IssueTrendIndexTest {
+    @TempDir
+    public Path temporaryDirectory;
+
+    private Job<?, ?> job;
+
+    @BeforeEach
+    public void createJob() {
+        job = Mockito.mock(Job.class);
+        Mockito.when(job.getRootDir()).thenReturn(temporaryDirectory.toFile());
+    }
+
+    @Test
+    public void testAppendAndRead() throws IOException {
+        assertFalse(IssueTrendIndex.exists(job));
+        assertTrue(IssueTrendIndex.readLatest(job, 10).isEmpty());
+
+        IssueTrendIndex.append(job, new IssueTrendIndex.Entry(1, 12, null, null));
+        IssueTrendIndex.append(job, new IssueTrendIndex.Entry(2, 10, 1, 3));
+
+        assertTrue(IssueTrendIndex.exists(job));
+        List<IssueTrendIndex.Entry> entries = IssueTrendIndex.readLatest(job, 10);
+        assertEquals(2, entries.size());
+        assertEquals(1, entries.get(0).getBuildNumber());
+        assertEquals(12, entries.get(0).getDefectCount());
+        assertNull(entries.get(0).getNewIssueCount());
+        assertNull(entries.get(0).getFixedIssueCount());
+        assertEquals(2, entries.get(1).getBuildNumber());
+        assertEquals(10, entries.get(1).getDefectCount());
+        assertEquals(Integer.valueOf(1), entries.get(1).getNewIssueCount());
+        assertEquals(Integer.valueOf(3), entries.get(1).getFixedIssueCount());
+    }
+
+    @Test
+    public void testReadsOnlyTheLatestEntries() throws IOException {
+        for (int buildNumber = 1; buildNumber <= 50; buildNumber++) {
+            IssueTrendIndex.append(job, new IssueTrendIndex.Entry(buildNumber, buildNumber, 0, 0));
+        }
+
+        assertEquals(Arrays.asList(46, 47, 48, 49, 50), getBuildNumbers(IssueTrendIndex.readLatest(job, 5)));
+    }
+
+    @Test
+    public void testEntriesAreOrderedByBuildNumber() throws IOException {
+        // Concurrent builds can complete out of order
+        IssueTrendIndex.append(job, new IssueTrendIndex.Entry(1, 5, 0, 0));
+        IssueTrendIndex.append(job, new IssueTrendIndex.Entry(3, 7, 0, 0));
+        IssueTrendIndex.append(job, new IssueTrendIndex.Entry(2, 6, 0, 0));
+
+        assertEquals(Arrays.asList(1, 2, 3), getBuildNumbers(IssueTrendIndex.readLatest(job, 10)));
+    }
+
+    @Test
+    public void testRecoversFromATruncatedRecord() throws IOException {
+        IssueTrendIndex.append(job, new IssueTrendIndex.Entry(1, 5, 0, 0));
+        IssueTrendIndex.append(job, new IssueTrendIndex.Entry(2, 6, 1, 0));
+        File indexFile = new File(temporaryDirectory.toFile(), IssueTrendIndex.INDEX_FILE_NAME);
+        // A crash partway through writing the second record
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(indexFile, "rw")) {
+            randomAccessFile.setLength(IssueTrendIndex.RECORD_SIZE_IN_BYTES + 6);
+        }
+
+        assertEquals(Collections.singletonList(1), getBuildNumbers(IssueTrendIndex.readLatest(job, 10)));
+
+        IssueTrendIndex.append(job, new IssueTrendIndex.Entry(3, 4, 0, 2));
+
+        assertEquals(2L * IssueTrendIndex.RECORD_SIZE_IN_BYTES, indexFile.length());
+        List<IssueTrendIndex.Entry> entries = IssueTrendIndex.readLatest(job, 10);
+        assertEquals(Arrays.asList(1, 3), getBuildNumbers(entries));
+        assertEquals(4, entries.get(1).getDefectCount());
+        assertEquals(Integer.valueOf(2), entries.get(1).getFixedIssueCount());
+    }
+
+    @Test
+    public void testEntryFromSeveralViews() {
+        IssueTrendIndex.Entry compared = IssueTrendIndex.Entry.fromIssueReportActions(1, Arrays.asList(new IssueReportAction(3, "https://coverity.example.com/a", 1, 2), new IssueReportAction(4, "https://coverity.example.com/b", 0, 1)));
+        IssueTrendIndex.Entry partlyCompared = IssueTrendIndex.Entry.fromIssueReportActions(2, Arrays.asList(new IssueReportAction(3, "https://coverity.example.com/a", 1, 2), new IssueReportAction(4, "https://coverity.example.com/b")));
+
+        assertEquals(7, compared.getDefectCount());
+        assertEquals(Integer.valueOf(1), compared.getNewIssueCount());
+        assertEquals(Integer.valueOf(3), compared.getFixedIssueCount());
+        assertEquals(7, partlyCompared.getDefectCount());
+        assertNull(partlyCompared.getNewIssueCount());
+        assertNull(partlyCompared.getFixedIssueCount());
+    }
+
+    private static List<Integer> getBuildNumbers(List<IssueTrendIndex.Entry> entries) {
+        return entries.stream().map(IssueTrendIndex.Entry::getBuildNumber).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.synopsys.integration.jenkins.coverity.extensions.folder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.cloudbees.hudson.plugins.folder.AbstractFolder;
+
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.util.DescribableList;
+
+public class CoverityFolderPropertyTest {
+    private final ItemGroup<?> root = Mockito.mock(ItemGroup.class);
+
+    @Test
+    public void testClosestFolderWithPatternsWins() {
+        CoverityFolderProperty outerProperty = new CoverityFolderProperty("team-*");
+        CoverityFolderProperty innerProperty = new CoverityFolderProperty("team-a-*");
+        AbstractFolder<?> outerFolder = createFolder(root, outerProperty);
+        AbstractFolder<?> innerFolder = createFolder(outerFolder, innerProperty);
+
+        assertEquals(Optional.of(innerProperty), CoverityFolderProperty.findClosest(createJob(innerFolder)));
+        assertEquals(Optional.of(outerProperty), CoverityFolderProperty.findClosest(createJob(outerFolder)));
+        // A folder's own patterns apply to its configuration form too
+        assertEquals(Optional.of(innerProperty), CoverityFolderProperty.findClosest(innerFolder));
+    }
+
+    @Test
+    public void testFoldersWithoutPatternsAreSkipped() {
+        CoverityFolderProperty outerProperty = new CoverityFolderProperty("team-*");
+        AbstractFolder<?> outerFolder = createFolder(root, outerProperty);
+        AbstractFolder<?> blankFolder = createFolder(outerFolder, new CoverityFolderProperty(" \n "));
+        AbstractFolder<?> plainFolder = createFolder(blankFolder, null);
+
+        assertEquals(Optional.of(outerProperty), CoverityFolderProperty.findClosest(createJob(plainFolder)));
+    }
+
+    @Test
+    public void testNoFolderWithPatterns() {
+        AbstractFolder<?> plainFolder = createFolder(root, null);
+
+        assertFalse(CoverityFolderProperty.findClosest(createJob(plainFolder)).isPresent());
+        assertFalse(CoverityFolderProperty.findClosest(createJob(root)).isPresent());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static AbstractFolder<?> createFolder(ItemGroup<?> parent, CoverityFolderProperty coverityFolderProperty) {
+        DescribableList properties = Mockito.mock(DescribableList.class);
+        Mockito.doReturn(coverityFolderProperty).when(properties).get(CoverityFolderProperty.class);
+        AbstractFolder<?> folder = Mockito.mock(AbstractFolder.class);
+        Mockito.doReturn(properties).when(folder).getProperties();
+        Mockito.doReturn(parent).when(folder).getParent();
+        return folder;
+    }
+
+    private static Item createJob(ItemGroup<?> parent) {
+        Item job = Mockito.mock(Item.class);
+        Mockito.doReturn(parent).when(job).getParent();
+        return job;
+    }
+
+}
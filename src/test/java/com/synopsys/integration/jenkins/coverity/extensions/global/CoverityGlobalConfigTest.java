@@ -0,0 +1,29 @@
+package com.synopsys.integration.jenkins.coverity.extensions.global;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class CoverityGlobalConfigTest {
+    private static Stream<Arguments> testNormalizeUrlArguments() {
+        return Stream.of(
+            Arguments.of("https://coverity.example.com:8443", "https://coverity.example.com:8443"),
+            Arguments.of("https://coverity.example.com:8443/", "https://coverity.example.com:8443"),
+            Arguments.of("https://coverity.example.com:8443///", "https://coverity.example.com:8443"),
+            Arguments.of("  HTTPS://Coverity.Example.com:8443/  ", "https://coverity.example.com:8443"),
+            Arguments.of("", ""),
+            Arguments.of(null, "")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("testNormalizeUrlArguments")
+    public void testNormalizeUrl(String url, String expectedNormalizedUrl) {
+        assertEquals(expectedNormalizedUrl, CoverityGlobalConfig.normalizeUrl(url));
+    }
+
+}
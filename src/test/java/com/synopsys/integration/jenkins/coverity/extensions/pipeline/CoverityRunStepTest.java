@@ -0,0 +1,80 @@
+package com.synopsys.integration.jenkins.coverity.extensions.pipeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.AdvancedCoverityRunConfiguration;
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.CoverityRunConfiguration;
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.RepeatableCommand;
+
+import hudson.AbortException;
+
+public class CoverityRunStepTest {
+    @Test
+    public void testParseCommands() {
+        String commandsAsText = "  cov-build --dir ${COV_DIR} make  \r\n\r\n   \ncov-analyze --dir ${COV_DIR}\n";
+
+        assertEquals(Arrays.asList("cov-build --dir ${COV_DIR} make", "cov-analyze --dir ${COV_DIR}"), CoverityRunStep.parseCommands(commandsAsText));
+        assertTrue(CoverityRunStep.parseCommands(null).isEmpty());
+        assertTrue(CoverityRunStep.parseCommands(" \n ").isEmpty());
+    }
+
+    @Test
+    public void testCommandsAsTextRoundTrip() {
+        CoverityRunStep coverityRunStep = new CoverityRunStep();
+        assertEquals("", coverityRunStep.getCommandsAsText());
+
+        coverityRunStep.setCommands(Arrays.asList("cov-build --dir ${COV_DIR} make", "cov-analyze --dir ${COV_DIR}"));
+
+        assertEquals(coverityRunStep.getCommands(), CoverityRunStep.parseCommands(coverityRunStep.getCommandsAsText()));
+    }
+
+    @Test
+    public void testCommandsTakePrecedence() throws AbortException {
+        CoverityRunStep coverityRunStep = new CoverityRunStep();
+        coverityRunStep.setCommands(Arrays.asList("cov-build --dir ${COV_DIR} make", "cov-analyze --dir ${COV_DIR}"));
+        coverityRunStep.setCoverityRunConfiguration(new AdvancedCoverityRunConfiguration(new RepeatableCommand[0]));
+
+        CoverityRunConfiguration coverityRunConfiguration = coverityRunStep.resolveCoverityRunConfiguration();
+
+        RepeatableCommand[] commands = ((AdvancedCoverityRunConfiguration) coverityRunConfiguration).getCommands();
+        assertEquals(2, commands.length);
+        assertEquals("cov-analyze --dir ${COV_DIR}", commands[1].getCommand());
+    }
+
+    @Test
+    public void testFallsBackToCoverityRunConfiguration() throws AbortException {
+        CoverityRunConfiguration coverityRunConfiguration = new AdvancedCoverityRunConfiguration(new RepeatableCommand[0]);
+        CoverityRunStep coverityRunStep = new CoverityRunStep();
+        coverityRunStep.setCommands(Collections.emptyList());
+        coverityRunStep.setCoverityRunConfiguration(coverityRunConfiguration);
+
+        assertSame(coverityRunConfiguration, coverityRunStep.resolveCoverityRunConfiguration());
+    }
+
+    @Test
+    public void testFailsWithoutCommands() {
+        assertThrows(AbortException.class, () -> new CoverityRunStep().resolveCoverityRunConfiguration());
+    }
+
+    @Test
+    public void testCreateResult() {
+        Map<String, Object> result = CoverityRunStep.createResult(Arrays.asList("cov-analyze", "--dir", "idir"), 2, 1500L, 10L, 250L);
+
+        assertEquals(Arrays.asList(CoverityRunStep.RESULT_COMMAND, CoverityRunStep.RESULT_EXIT_CODE, CoverityRunStep.RESULT_DURATION_IN_MILLIS, CoverityRunStep.RESULT_LOG_START_OFFSET, CoverityRunStep.RESULT_LOG_END_OFFSET),
+            new ArrayList<>(result.keySet()));
+        assertEquals("cov-analyze --dir idir", result.get(CoverityRunStep.RESULT_COMMAND));
+        assertEquals(2, result.get(CoverityRunStep.RESULT_EXIT_CODE));
+        assertEquals(1500L, result.get(CoverityRunStep.RESULT_DURATION_IN_MILLIS));
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.synopsys.integration.jenkins.coverity.extensions.utils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class CoverityConnectCachePrewarmerTest {
+    private static final String URL = "https://coverity.example.com";
+    private static final long INTERVAL_IN_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final CoverityConnectCachePrewarmer prewarmer = new CoverityConnectCachePrewarmer();
+
+    @Test
+    public void testRefreshIsDueOncePerInterval() {
+        long now = TimeUnit.DAYS.toMillis(1);
+
+        assertTrue(prewarmer.claimRefreshIfDue(URL, now, INTERVAL_IN_MILLIS, 0));
+        assertFalse(prewarmer.claimRefreshIfDue(URL, now, INTERVAL_IN_MILLIS, 0));
+        assertFalse(prewarmer.claimRefreshIfDue(URL, now + INTERVAL_IN_MILLIS - 1, INTERVAL_IN_MILLIS, 0));
+        assertTrue(prewarmer.claimRefreshIfDue(URL, now + INTERVAL_IN_MILLIS, INTERVAL_IN_MILLIS, 0));
+    }
+
+    @Test
+    public void testJitterStartsTheNextRefreshEarly() {
+        long now = TimeUnit.DAYS.toMillis(1);
+        long maximumJitterInMillis = (long) (CoverityConnectCachePrewarmer.JITTER_FRACTION * INTERVAL_IN_MILLIS);
+
+        assertTrue(prewarmer.claimRefreshIfDue(URL, now, INTERVAL_IN_MILLIS, 0.5));
+
+        assertFalse(prewarmer.claimRefreshIfDue(URL, now + INTERVAL_IN_MILLIS - maximumJitterInMillis / 2 - 1, INTERVAL_IN_MILLIS, 0.5));
+        assertTrue(prewarmer.claimRefreshIfDue(URL, now + INTERVAL_IN_MILLIS - maximumJitterInMillis / 2, INTERVAL_IN_MILLIS, 0.5));
+    }
+
+    @Test
+    public void testEquivalentUrlsShareASchedule() {
+        long now = TimeUnit.DAYS.toMillis(1);
+
+        assertTrue(prewarmer.claimRefreshIfDue(URL, now, INTERVAL_IN_MILLIS, 0));
+
+        assertFalse(prewarmer.claimRefreshIfDue(" HTTPS://Coverity.Example.com/ ", now, INTERVAL_IN_MILLIS, 0));
+    }
+
+    @Test
+    public void testRejectedCredentialsBackOffForAnHour() {
+        long now = TimeUnit.DAYS.toMillis(1);
+        long backOffInMillis = TimeUnit.MINUTES.toMillis(CoverityConnectCachePrewarmer.REJECTED_CREDENTIALS_RETRY_IN_MINUTES);
+        assertTrue(prewarmer.claimRefreshIfDue(URL, now, INTERVAL_IN_MILLIS, 0));
+
+        assertTrue(prewarmer.backOffIfCredentialsRejected(URL, new IOException("User admin does not have permission"), now));
+
+        assertFalse(prewarmer.claimRefreshIfDue(URL, now + INTERVAL_IN_MILLIS, INTERVAL_IN_MILLIS, 0));
+        assertFalse(prewarmer.claimRefreshIfDue(URL, now + backOffInMillis - 1, INTERVAL_IN_MILLIS, 0));
+        assertTrue(prewarmer.claimRefreshIfDue(URL, now + backOffInMillis, INTERVAL_IN_MILLIS, 0));
+    }
+
+    @Test
+    public void testOutagesAndSuccessesDoNotBackOff() {
+        long now = TimeUnit.DAYS.toMillis(1);
+        assertTrue(prewarmer.claimRefreshIfDue(URL, now, INTERVAL_IN_MILLIS, 0));
+
+        assertFalse(prewarmer.backOffIfCredentialsRejected(URL, null, now));
+        assertFalse(prewarmer.backOffIfCredentialsRejected(URL, new IOException("Coverity Connect is unreachable", new ConnectException("Connection refused")), now));
+        assertFalse(prewarmer.backOffIfCredentialsRejected(URL, new IOException("The server sent HTTP status code 503: Service Unavailable"), now));
+
+        assertTrue(prewarmer.claimRefreshIfDue(URL, now + INTERVAL_IN_MILLIS, INTERVAL_IN_MILLIS, 0));
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.synopsys.integration.jenkins.coverity.extensions.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.log.SilentIntLogger;
+
+public class CoverityConnectDataCachesTest {
+    // The caches are shared across the JVM, so every test keeps to instances of its own
+    @Test
+    public void testExistingCachesAreFoundByNormalizedUrl() {
+        ProjectStreamCache cache = getOrCreate("https://existing.example.com", "credentials", ProjectNameScope.UNSCOPED);
+        ProjectStreamCache scopedCache = getOrCreate("https://existing.example.com/", "credentials", ProjectNameScope.fromPatterns("team-a-*"));
+        getOrCreate("https://existing.example.com", "other-credentials", ProjectNameScope.UNSCOPED);
+
+        assertSame(cache, getOrCreate("HTTPS://Existing.Example.com/", "credentials", ProjectNameScope.UNSCOPED));
+        assertNotSame(cache, scopedCache);
+        assertEquals(new HashSet<>(Arrays.asList(cache, scopedCache)), new HashSet<>(CoverityConnectDataCaches.getExisting("https://existing.example.com", "credentials")));
+        assertTrue(CoverityConnectDataCaches.getExisting("https://unknown.example.com", "credentials").isEmpty());
+    }
+
+    @Test
+    public void testCachesOfRemovedInstancesAndCredentialsAreEvicted() {
+        getOrCreate("https://kept.example.com", "kept-credentials", ProjectNameScope.UNSCOPED);
+        getOrCreate("https://kept.example.com", "removed-credentials", ProjectNameScope.UNSCOPED);
+        getOrCreate("https://removed.example.com", "kept-credentials", ProjectNameScope.UNSCOPED);
+
+        CoverityConnectDataCaches.evictRemoved(url -> !"https://removed.example.com".equals(url), credentialsId -> !"removed-credentials".equals(credentialsId));
+
+        assertEquals(1, CoverityConnectDataCaches.getExisting("https://kept.example.com", "kept-credentials").size());
+        assertEquals(Collections.emptyList(), CoverityConnectDataCaches.getExisting("https://kept.example.com", "removed-credentials"));
+        assertEquals(Collections.emptyList(), CoverityConnectDataCaches.getExisting("https://removed.example.com", "kept-credentials"));
+    }
+
+    private static ProjectStreamCache getOrCreate(String url, String credentialsId, ProjectNameScope projectNameScope) {
+        return CoverityConnectDataCaches.getOrCreate(ProjectStreamCache.class, url, credentialsId, projectNameScope, () -> new ProjectStreamCache(new SilentIntLogger(), projectNameScope));
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.synopsys.integration.jenkins.coverity.extensions.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+public class ProjectNameScopeTest {
+    @Test
+    public void testFromPatterns() {
+        ProjectNameScope projectNameScope = ProjectNameScope.fromPatterns("  team-b-*  \r\n\r\n   \nteam-a-*\nteam-b-*\n");
+
+        assertFalse(projectNameScope.isUnscoped());
+        assertEquals(Arrays.asList("team-a-*", "team-b-*"), projectNameScope.getProjectNamePatterns());
+    }
+
+    @Test
+    public void testCommasArePartOfThePattern() {
+        ProjectNameScope projectNameScope = ProjectNameScope.fromPatterns("legacy, archived\nteam-a-*");
+
+        assertEquals(Arrays.asList("legacy, archived", "team-a-*"), projectNameScope.getProjectNamePatterns());
+    }
+
+    @Test
+    public void testBlankPatternsAreUnscoped() {
+        assertSame(ProjectNameScope.UNSCOPED, ProjectNameScope.fromPatterns(null));
+        assertSame(ProjectNameScope.UNSCOPED, ProjectNameScope.fromPatterns(" \r\n "));
+        assertEquals(Collections.emptyList(), ProjectNameScope.UNSCOPED.getProjectNamePatterns());
+    }
+
+    @Test
+    public void testSamePatternsShareAKey() {
+        assertEquals(ProjectNameScope.fromPatterns("team-a-*\nteam-b-*").getKey(), ProjectNameScope.fromPatterns("team-b-*\r\n team-a-*\nteam-a-*").getKey());
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.synopsys.integration.jenkins.coverity.extensions.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.coverity.api.ws.configuration.ConfigurationService;
+import com.synopsys.integration.coverity.api.ws.configuration.CovRemoteServiceException_Exception;
+import com.synopsys.integration.coverity.api.ws.configuration.ProjectDataObj;
+import com.synopsys.integration.coverity.api.ws.configuration.ProjectIdDataObj;
+import com.synopsys.integration.log.SilentIntLogger;
+
+public class ProjectStreamCacheTest {
+    @Test
+    public void testProjectsInScopeAreMergedByName() throws CovRemoteServiceException_Exception {
+        ConfigurationService configurationService = Mockito.mock(ConfigurationService.class);
+        Mockito.when(configurationService.getProjects(Mockito.argThat(filter -> filter != null && "team-a-*".equals(filter.getNamePattern()))))
+            .thenReturn(Arrays.asList(createProject("team-a-api"), createProject("team-a-shared")));
+        Mockito.when(configurationService.getProjects(Mockito.argThat(filter -> filter != null && "*-shared".equals(filter.getNamePattern()))))
+            .thenReturn(Arrays.asList(createProject("team-a-shared"), createProject("team-b-shared")));
+        ProjectStreamCache projectStreamCache = new ProjectStreamCache(new SilentIntLogger(), ProjectNameScope.fromPatterns("team-a-*\n*-shared"));
+
+        List<ProjectDataObj> projects = projectStreamCache.getProjectsInScope(configurationService);
+
+        // The patterns are sorted, so *-shared is fetched first
+        assertEquals(Arrays.asList("team-a-shared", "team-b-shared", "team-a-api"), getProjectNames(projects));
+        Mockito.verify(configurationService, Mockito.times(2)).getProjects(Mockito.any());
+    }
+
+    @Test
+    public void testNoProjectsInScope() throws CovRemoteServiceException_Exception {
+        ConfigurationService configurationService = Mockito.mock(ConfigurationService.class);
+        Mockito.when(configurationService.getProjects(Mockito.any())).thenReturn(Collections.emptyList());
+        ProjectStreamCache projectStreamCache = new ProjectStreamCache(new SilentIntLogger(), ProjectNameScope.fromPatterns("team-c-*"));
+
+        assertEquals(Collections.emptyList(), projectStreamCache.getProjectsInScope(configurationService));
+    }
+
+    private static ProjectDataObj createProject(String projectName) {
+        ProjectIdDataObj projectId = new ProjectIdDataObj();
+        projectId.setName(projectName);
+        ProjectDataObj project = new ProjectDataObj();
+        project.setId(projectId);
+        return project;
+    }
+
+    private static List<String> getProjectNames(List<ProjectDataObj> projects) {
+        return projects.stream().map(project -> project.getId().getName()).collect(Collectors.toList());
+    }
+
+}
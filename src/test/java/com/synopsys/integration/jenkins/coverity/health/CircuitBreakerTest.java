@@ -0,0 +1,92 @@
+package com.synopsys.integration.jenkins.coverity.health;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class CircuitBreakerTest {
+    private final AtomicLong clock = new AtomicLong(0);
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(2, 1000, clock::get);
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+        circuitBreaker.recordFailure("timeout");
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordFailure("timeout");
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+        assertEquals(1000, circuitBreaker.getMillisUntilProbe());
+    }
+
+    @Test
+    public void testSuccessResetsFailureCount() {
+        circuitBreaker.recordFailure("timeout");
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure("timeout");
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testHalfOpenProbeClosesOnSuccess() {
+        circuitBreaker.recordFailure("timeout");
+        circuitBreaker.recordFailure("timeout");
+
+        clock.set(1000);
+        assertTrue(circuitBreaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        // Only a single probe is let through while half open
+        assertFalse(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    public void testHalfOpenProbeReopensOnFailure() {
+        circuitBreaker.recordFailure("timeout");
+        circuitBreaker.recordFailure("timeout");
+
+        clock.set(1500);
+        assertTrue(circuitBreaker.allowRequest());
+        circuitBreaker.recordFailure("connection refused");
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals("connection refused", circuitBreaker.getLastFailureMessage());
+
+        clock.set(2000);
+        assertFalse(circuitBreaker.allowRequest());
+        clock.set(2500);
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    public void testHalfOpenProbeClosesOnCredentialsError() {
+        circuitBreaker.recordFailure("timeout");
+        circuitBreaker.recordFailure("timeout");
+
+        clock.set(1000);
+        assertTrue(circuitBreaker.allowRequest());
+        // The probing build's credentials were rejected, but the endpoint answered
+        circuitBreaker.releaseProbe();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    public void testCredentialsErrorKeepsFailureCountWhileClosed() {
+        circuitBreaker.recordFailure("timeout");
+        circuitBreaker.releaseProbe();
+        circuitBreaker.recordFailure("timeout");
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+}
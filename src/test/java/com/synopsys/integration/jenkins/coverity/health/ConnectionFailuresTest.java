@@ -0,0 +1,45 @@
+package com.synopsys.integration.jenkins.coverity.health;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+
+import javax.net.ssl.SSLHandshakeException;
+
+import org.junit.jupiter.api.Test;
+
+public class ConnectionFailuresTest {
+    @Test
+    public void testTransportFailuresAreOutages() {
+        assertTrue(ConnectionFailures.isOutage(new ConnectException("Connection refused")));
+        assertTrue(ConnectionFailures.isOutage(new SocketTimeoutException("Read timed out")));
+        assertTrue(ConnectionFailures.isOutage(new UnknownHostException("coverity.example.com")));
+    }
+
+    @Test
+    public void testWrappedTransportFailuresAreOutages() {
+        RuntimeException wrapped = new RuntimeException("Could not send Message.", new IOException("I/O error", new ConnectException("Connection refused")));
+
+        assertTrue(ConnectionFailures.isOutage(wrapped));
+    }
+
+    @Test
+    public void testServerErrorsAreOutages() {
+        assertTrue(ConnectionFailures.isOutage(new RuntimeException("The server sent HTTP status code 503: Service Unavailable")));
+        assertTrue(ConnectionFailures.isOutage(new RuntimeException("HTTP response code: 502")));
+    }
+
+    @Test
+    public void testCredentialAndConfigurationErrorsAreNotOutages() {
+        assertFalse(ConnectionFailures.isOutage(new RuntimeException("The server sent HTTP status code 401: Unauthorized")));
+        assertFalse(ConnectionFailures.isOutage(new IllegalArgumentException("No credentials with id 'coverity' could be found")));
+        assertFalse(ConnectionFailures.isOutage(new RuntimeException("User authentication failed")));
+        assertFalse(ConnectionFailures.isOutage(new SSLHandshakeException("PKIX path building failed")));
+        assertFalse(ConnectionFailures.isOutage(null));
+    }
+
+}
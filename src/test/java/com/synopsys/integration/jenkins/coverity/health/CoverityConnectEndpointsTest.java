@@ -0,0 +1,119 @@
+package com.synopsys.integration.jenkins.coverity.health;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
+import com.synopsys.integration.log.SilentIntLogger;
+
+public class CoverityConnectEndpointsTest {
+    // Breakers and latencies are kept per url for the whole JVM, so every test uses urls of its own
+    private final String prefix = "https://" + UUID.randomUUID() + ".example.com/";
+    private final String fast = prefix + "fast";
+    private final String medium = prefix + "medium";
+    private final String slow = prefix + "slow";
+
+    @Test
+    public void testUnavailableEndpointsAreTriedLast() {
+        CoverityConnectEndpoints.recordLatency(fast, 10);
+        CoverityConnectEndpoints.recordLatency(slow, 500);
+        openCircuitBreaker(fast);
+
+        assertEquals(Arrays.asList(slow, fast), CoverityConnectEndpoints.orderByPreference(Arrays.asList(fast, slow)));
+    }
+
+    @Test
+    public void testPrefersTheFasterOfTwoEndpoints() {
+        CoverityConnectEndpoints.recordLatency(fast, 10);
+        CoverityConnectEndpoints.recordLatency(slow, 500);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(fast, CoverityConnectEndpoints.orderByPreference(Arrays.asList(slow, fast)).get(0));
+        }
+    }
+
+    @Test
+    public void testNeverPrefersTheSlowestOfSeveralEndpoints() {
+        CoverityConnectEndpoints.recordLatency(fast, 10);
+        CoverityConnectEndpoints.recordLatency(medium, 100);
+        CoverityConnectEndpoints.recordLatency(slow, 500);
+
+        for (int i = 0; i < 50; i++) {
+            List<String> orderedEndpointUrls = CoverityConnectEndpoints.orderByPreference(Arrays.asList(slow, medium, fast));
+            assertEquals(3, orderedEndpointUrls.size());
+            assertNotEquals(slow, orderedEndpointUrls.get(0));
+        }
+    }
+
+    @Test
+    public void testFailsOverToTheNextEndpointOnOutage() throws Exception {
+        CoverityConnectEndpoints.recordLatency(fast, 10);
+        CoverityConnectEndpoints.recordLatency(slow, 500);
+        List<String> attemptedEndpointUrls = new ArrayList<>();
+
+        String connectedEndpointUrl = CoverityConnectEndpoints.connectToFirstAvailable(new SilentIntLogger(), fast, Arrays.asList(fast, slow), endpointUrl -> {
+            attemptedEndpointUrls.add(endpointUrl);
+            if (fast.equals(endpointUrl)) {
+                throw new RuntimeException("Could not send Message.", new ConnectException("Connection refused"));
+            }
+            return endpointUrl;
+        });
+
+        assertEquals(slow, connectedEndpointUrl);
+        assertEquals(Arrays.asList(fast, slow), attemptedEndpointUrls);
+        assertEquals("Could not send Message.", CoverityConnectHealth.getCircuitBreaker(fast).getLastFailureMessage());
+        assertEquals(CircuitBreaker.State.CLOSED, CoverityConnectHealth.getCircuitBreaker(slow).getState());
+    }
+
+    @Test
+    public void testDoesNotFailOverOrOpenBreakersOnCredentialErrors() {
+        List<String> attemptedEndpointUrls = new ArrayList<>();
+
+        for (int i = 0; i < CircuitBreaker.DEFAULT_FAILURE_THRESHOLD + 1; i++) {
+            assertThrows(IllegalArgumentException.class, () -> CoverityConnectEndpoints.connectToFirstAvailable(new SilentIntLogger(), fast, Arrays.asList(fast, slow), endpointUrl -> {
+                attemptedEndpointUrls.add(endpointUrl);
+                throw new IllegalArgumentException("No credentials with id 'coverity' could be found");
+            }));
+        }
+
+        assertEquals(CircuitBreaker.DEFAULT_FAILURE_THRESHOLD + 1, attemptedEndpointUrls.size());
+        assertEquals(CircuitBreaker.State.CLOSED, CoverityConnectHealth.getCircuitBreaker(fast).getState());
+        assertEquals(CircuitBreaker.State.CLOSED, CoverityConnectHealth.getCircuitBreaker(slow).getState());
+    }
+
+    @Test
+    public void testRethrowsTheLastOutageWhenEveryEndpointIsDown() {
+        RuntimeException outage = assertThrows(RuntimeException.class, () -> CoverityConnectEndpoints.connectToFirstAvailable(new SilentIntLogger(), fast, Arrays.asList(fast, slow), endpointUrl -> {
+            throw new RuntimeException("The server sent HTTP status code 503: Service Unavailable");
+        }));
+
+        assertEquals("The server sent HTTP status code 503: Service Unavailable", outage.getMessage());
+    }
+
+    @Test
+    public void testFailsFastWhenEveryBreakerIsOpen() {
+        openCircuitBreaker(fast);
+        openCircuitBreaker(slow);
+
+        assertThrows(CoverityJenkinsException.class, () -> CoverityConnectEndpoints.connectToFirstAvailable(new SilentIntLogger(), fast, Arrays.asList(fast, slow), endpointUrl -> {
+            throw new AssertionError("No endpoint should be tried");
+        }));
+    }
+
+    private void openCircuitBreaker(String endpointUrl) {
+        CircuitBreaker circuitBreaker = CoverityConnectHealth.getCircuitBreaker(endpointUrl);
+        for (int i = 0; i < CircuitBreaker.DEFAULT_FAILURE_THRESHOLD; i++) {
+            circuitBreaker.recordFailure("Connection refused");
+        }
+    }
+
+}
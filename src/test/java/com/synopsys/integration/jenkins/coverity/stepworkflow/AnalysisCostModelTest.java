@@ -0,0 +1,99 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.jenkins.coverity.extensions.CoverityAnalysisType;
+
+public class AnalysisCostModelTest {
+    private static final List<AnalysisCostHistory.Sample> FULL_ANALYSES = Arrays.asList(
+        fullAnalysis(600000),
+        fullAnalysis(620000),
+        fullAnalysis(580000)
+    );
+
+    // One second per weighted KB on top of fifty seconds
+    private static final List<AnalysisCostHistory.Sample> INCREMENTAL_ANALYSES = Arrays.asList(
+        incrementalAnalysis(10, 60000),
+        incrementalAnalysis(50, 100000),
+        incrementalAnalysis(100, 150000)
+    );
+
+    @Test
+    public void fallsBackToThresholdWithoutEnoughHistory() {
+        AnalysisCostModel analysisCostModel = new AnalysisCostModel(FULL_ANALYSES, Collections.emptyList());
+        ChangeSetProfile changeSetProfile = changeSetProfile("src/main.c", 20);
+
+        assertEquals(CoverityAnalysisType.COV_RUN_DESKTOP, analysisCostModel.choose(changeSetProfile, 1, 100).getAnalysisType());
+        assertEquals(CoverityAnalysisType.COV_ANALYZE, analysisCostModel.choose(changeSetProfile, 100, 100).getAnalysisType());
+    }
+
+    @Test
+    public void choosesIncrementalAnalysisForSmallSourceChange() {
+        AnalysisCostModel analysisCostModel = new AnalysisCostModel(FULL_ANALYSES, INCREMENTAL_ANALYSES);
+
+        AnalysisCostModel.Decision decision = analysisCostModel.choose(changeSetProfile("src/main.c", 20), 1, 0);
+
+        assertEquals(CoverityAnalysisType.COV_RUN_DESKTOP, decision.getAnalysisType());
+        assertFalse(decision.getReasoning().isEmpty());
+    }
+
+    @Test
+    public void choosesFullAnalysisForHeaderChangeOfTheSameSize() {
+        AnalysisCostModel analysisCostModel = new AnalysisCostModel(FULL_ANALYSES, INCREMENTAL_ANALYSES);
+
+        // 60 KB of headers weighs 600 KB, which is estimated at 650 seconds against a 600 second full analysis
+        assertEquals(CoverityAnalysisType.COV_RUN_DESKTOP, analysisCostModel.choose(changeSetProfile("src/main.c", 60), 1, Integer.MAX_VALUE).getAnalysisType());
+        assertEquals(CoverityAnalysisType.COV_ANALYZE, analysisCostModel.choose(changeSetProfile("include/main.h", 60), 1, Integer.MAX_VALUE).getAnalysisType());
+    }
+
+    @Test
+    public void ignoresChangesToFilesThatAreNotAnalyzed() {
+        AnalysisCostModel analysisCostModel = new AnalysisCostModel(FULL_ANALYSES, INCREMENTAL_ANALYSES);
+
+        assertEquals(CoverityAnalysisType.COV_RUN_DESKTOP, analysisCostModel.choose(changeSetProfile("docs/manual.pdf", 100000), 1, 0).getAnalysisType());
+    }
+
+    @Test
+    public void neverEstimatesLargerChangesAsCheaper() {
+        List<AnalysisCostHistory.Sample> shrinkingIncrementalAnalyses = Arrays.asList(
+            incrementalAnalysis(10, 150000),
+            incrementalAnalysis(50, 100000),
+            incrementalAnalysis(100, 60000)
+        );
+        AnalysisCostModel analysisCostModel = new AnalysisCostModel(FULL_ANALYSES, shrinkingIncrementalAnalyses);
+
+        // A negative slope is flattened to the mean instead of predicting a negative duration for a large change
+        assertEquals(CoverityAnalysisType.COV_RUN_DESKTOP, analysisCostModel.choose(changeSetProfile("src/main.c", 1000), 1, 0).getAnalysisType());
+    }
+
+    @Test
+    public void categorizesByExtension() {
+        assertEquals(ChangeSetProfile.FileCategory.HEADER, ChangeSetProfile.categorize("include/Main.HPP"));
+        assertEquals(ChangeSetProfile.FileCategory.C_FAMILY_SOURCE, ChangeSetProfile.categorize("src/main.cpp"));
+        assertEquals(ChangeSetProfile.FileCategory.COMPILED_SOURCE, ChangeSetProfile.categorize("src/Main.java"));
+        assertEquals(ChangeSetProfile.FileCategory.SCRIPT_SOURCE, ChangeSetProfile.categorize("web/app.ts"));
+        assertEquals(ChangeSetProfile.FileCategory.OTHER, ChangeSetProfile.categorize("Makefile"));
+    }
+
+    private static ChangeSetProfile changeSetProfile(String path, int sizeInKilobytes) {
+        ChangeSetProfile changeSetProfile = new ChangeSetProfile();
+        changeSetProfile.addFile(path, sizeInKilobytes * 1024L);
+        return changeSetProfile;
+    }
+
+    private static AnalysisCostHistory.Sample fullAnalysis(long durationInMillis) {
+        return new AnalysisCostHistory.Sample(CoverityAnalysisType.COV_ANALYZE, 0, durationInMillis);
+    }
+
+    private static AnalysisCostHistory.Sample incrementalAnalysis(double weightedKilobytes, long durationInMillis) {
+        return new AnalysisCostHistory.Sample(CoverityAnalysisType.COV_RUN_DESKTOP, weightedKilobytes, durationInMillis);
+    }
+
+}
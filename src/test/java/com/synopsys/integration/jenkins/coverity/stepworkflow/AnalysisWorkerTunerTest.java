@@ -0,0 +1,62 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.AutoTuneAnalysis;
+
+public class AnalysisWorkerTunerTest {
+    private static final long GIGABYTE = 1024L * 1024 * 1024;
+
+    private static Stream<Arguments> testComputeWorkersArguments() {
+        return Stream.of(
+            // Plenty of memory, workers limited by cores
+            Arguments.of(new AgentResources(8, AgentResources.UNLIMITED, 64 * GIGABYTE, AgentResources.UNLIMITED), new AutoTuneAnalysis(null, null), 8),
+            // Workers limited by the user's cap
+            Arguments.of(new AgentResources(32, AgentResources.UNLIMITED, 256 * GIGABYTE, AgentResources.UNLIMITED), new AutoTuneAnalysis(12, null), 12),
+            // Workers limited by memory: (9 GB - 1 GB reserved) / 2 GB per worker
+            Arguments.of(new AgentResources(16, AgentResources.UNLIMITED, 9 * GIGABYTE, AgentResources.UNLIMITED), new AutoTuneAnalysis(null, null), 4),
+            // Workers limited by the cgroup memory limit rather than host memory
+            Arguments.of(new AgentResources(16, AgentResources.UNLIMITED, 64 * GIGABYTE, 5 * GIGABYTE), new AutoTuneAnalysis(null, 1024), 4),
+            // Workers limited by the cgroup CPU quota, rounded up
+            Arguments.of(new AgentResources(64, 2.5, 64 * GIGABYTE, AgentResources.UNLIMITED), new AutoTuneAnalysis(null, null), 3),
+            // Never fewer than one worker
+            Arguments.of(new AgentResources(4, AgentResources.UNLIMITED, GIGABYTE, AgentResources.UNLIMITED), new AutoTuneAnalysis(null, null), 1),
+            // Unknown memory does not limit the workers
+            Arguments.of(new AgentResources(6, AgentResources.UNLIMITED, AgentResources.UNLIMITED, AgentResources.UNLIMITED), new AutoTuneAnalysis(null, null), 6)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("testComputeWorkersArguments")
+    public void testComputeWorkers(AgentResources agentResources, AutoTuneAnalysis autoTuneAnalysis, int expectedWorkers) {
+        AnalysisWorkerTuner analysisWorkerTuner = new AnalysisWorkerTuner();
+        assertEquals(expectedWorkers, analysisWorkerTuner.computeWorkers(agentResources, autoTuneAnalysis));
+    }
+
+    private static Stream<Arguments> testSpecifiesWorkersArguments() {
+        return Stream.of(
+            Arguments.of(null, false),
+            Arguments.of("", false),
+            Arguments.of("--all --enable-callgraph-metrics", false),
+            Arguments.of("--all -j 4", true),
+            Arguments.of("-j4", true),
+            Arguments.of("--jobs 8 --all", true),
+            Arguments.of("--jobs=auto", true),
+            Arguments.of("--strip-path /jobs", false)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("testSpecifiesWorkersArguments")
+    public void testSpecifiesWorkers(String covAnalyzeArguments, boolean expectedResult) {
+        AnalysisWorkerTuner analysisWorkerTuner = new AnalysisWorkerTuner();
+        assertEquals(expectedResult, analysisWorkerTuner.specifiesWorkers(covAnalyzeArguments));
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+import com.synopsys.integration.log.SilentIntLogger;
+
+import hudson.util.StreamTaskListener;
+
+public class BackgroundCommitsTest {
+    // Pending commits are kept per instance for the whole JVM, so every test uses an instance of its own
+    private final String coverityInstanceUrl = "https://" + UUID.randomUUID() + ".example.com";
+
+    @Test
+    public void testPendingUntilFinished() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BackgroundCommit backgroundCommit = createBackgroundCommit("project");
+        BackgroundCommits.start(backgroundCommit, () -> release.await(5, TimeUnit.SECONDS));
+
+        assertEquals(Collections.singletonList(backgroundCommit), BackgroundCommits.getPendingCommits(coverityInstanceUrl, "project"));
+        assertTrue(BackgroundCommits.getPendingCommits(coverityInstanceUrl, "other project").isEmpty());
+
+        release.countDown();
+        assertTrue(BackgroundCommits.awaitPendingCommits(coverityInstanceUrl, "project", new SilentIntLogger()));
+        assertTrue(backgroundCommit.await());
+        assertTrue(BackgroundCommits.getPendingCommits(coverityInstanceUrl, "project").isEmpty());
+    }
+
+    @Test
+    public void testPendingCommitsAreFoundByNormalizedUrl() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BackgroundCommit backgroundCommit = createBackgroundCommit("project");
+        BackgroundCommits.start(backgroundCommit, () -> release.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1, BackgroundCommits.getPendingCommits(coverityInstanceUrl + "/", "project").size());
+        release.countDown();
+        backgroundCommit.await();
+    }
+
+    @Test
+    public void testFailedCommit() throws Exception {
+        BackgroundCommit backgroundCommit = createBackgroundCommit("project");
+        CompletableFuture<Boolean> reportedResult = new CompletableFuture<>();
+        backgroundCommit.whenDone(reportedResult::complete);
+        BackgroundCommits.start(backgroundCommit, () -> false);
+
+        assertFalse(backgroundCommit.await());
+        assertFalse(reportedResult.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCommitThatThrowsIsReportedAsFailed() throws Exception {
+        BackgroundCommit backgroundCommit = createBackgroundCommit("project");
+        CompletableFuture<Boolean> reportedResult = new CompletableFuture<>();
+        backgroundCommit.whenDone(reportedResult::complete);
+        BackgroundCommits.start(backgroundCommit, () -> {
+            throw new IllegalStateException("Coverity Connect went away");
+        });
+
+        assertFalse(backgroundCommit.await());
+        assertFalse(reportedResult.get(5, TimeUnit.SECONDS));
+        Mockito.verify(backgroundCommit.getLogger()).error("[ERROR] Coverity Connect went away");
+    }
+
+    @Test
+    public void testAwaitReportsAnyFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BackgroundCommit successfulCommit = createBackgroundCommit("project");
+        BackgroundCommit failedCommit = createBackgroundCommit("project");
+        BackgroundCommits.start(successfulCommit, () -> release.await(5, TimeUnit.SECONDS));
+        BackgroundCommits.start(failedCommit, () -> !release.await(5, TimeUnit.SECONDS));
+
+        release.countDown();
+        assertFalse(BackgroundCommits.awaitPendingCommits(coverityInstanceUrl, "project", new SilentIntLogger()));
+    }
+
+    @Test
+    public void testSuccessfulActionOnlyRunsOnSuccess() throws Exception {
+        BackgroundCommit successfulCommit = createBackgroundCommit("project");
+        BackgroundCommit failedCommit = createBackgroundCommit("project");
+        BackgroundCommits.start(successfulCommit, () -> true);
+        BackgroundCommits.start(failedCommit, () -> false);
+        successfulCommit.await();
+        failedCommit.await();
+
+        // Both have finished, so the actions run right away
+        CountDownLatch successfulActions = new CountDownLatch(2);
+        successfulCommit.whenSuccessful(successfulActions::countDown);
+        failedCommit.whenSuccessful(successfulActions::countDown);
+
+        assertEquals(1, successfulActions.getCount());
+    }
+
+    private BackgroundCommit createBackgroundCommit(String projectName) {
+        CoverityJenkinsIntLogger mockedLogger = Mockito.mock(CoverityJenkinsIntLogger.class);
+        StreamTaskListener listener = new StreamTaskListener(new ByteArrayOutputStream());
+        return new BackgroundCommit(coverityInstanceUrl, projectName, "stream", null, listener, mockedLogger, Collections.emptyList());
+    }
+
+}
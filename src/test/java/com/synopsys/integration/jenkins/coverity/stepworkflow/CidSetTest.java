@@ -0,0 +1,83 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class CidSetTest {
+    @Test
+    public void sortsAndRemovesDuplicates() {
+        CidSet cidSet = CidSet.of(10042, 10001, 10042, 10017);
+
+        assertArrayEquals(new int[] { 10001, 10017, 10042 }, cidSet.toArray());
+        assertEquals(3, cidSet.size());
+        assertTrue(cidSet.contains(10017));
+        assertFalse(cidSet.contains(10018));
+    }
+
+    @Test
+    public void computesNewAndFixedIssues() {
+        CidSet previousBuild = CidSet.of(10001, 10002, 10003, 10005);
+        CidSet currentBuild = CidSet.of(10002, 10003, 10004, 10006);
+
+        assertArrayEquals(new int[] { 10004, 10006 }, currentBuild.difference(previousBuild).toArray());
+        assertArrayEquals(new int[] { 10001, 10005 }, previousBuild.difference(currentBuild).toArray());
+        assertEquals(CidSet.EMPTY, currentBuild.difference(currentBuild));
+        assertEquals(currentBuild, currentBuild.difference(CidSet.EMPTY));
+    }
+
+    @Test
+    public void roundTripsThroughItsEncoding() throws IOException {
+        Random random = new Random(7);
+        int[] cids = new int[5000];
+        int cid = 10000;
+        for (int i = 0; i < cids.length; i++) {
+            cid += 1 + random.nextInt(200);
+            cids[i] = cid;
+        }
+        CidSet cidSet = CidSet.of(cids);
+
+        byte[] encoded = encode(cidSet);
+
+        assertEquals(cidSet, decode(encoded));
+        // Gaps below 128 take one byte and the rest two, against four bytes for a plain int
+        assertTrue(encoded.length < cids.length * 2, "Encoded " + cids.length + " CIDs in " + encoded.length + " bytes");
+    }
+
+    @Test
+    public void roundTripsExtremeValues() throws IOException {
+        CidSet cidSet = CidSet.of(Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE);
+
+        assertEquals(cidSet, decode(encode(cidSet)));
+        assertEquals(CidSet.EMPTY, decode(encode(CidSet.EMPTY)));
+    }
+
+    @Test
+    public void rejectsTruncatedAndUnknownData() throws IOException {
+        byte[] encoded = encode(CidSet.of(10001, 10002, 10003));
+
+        assertThrows(IOException.class, () -> decode(Arrays.copyOf(encoded, encoded.length - 1)));
+        assertThrows(IOException.class, () -> decode(new byte[] { 2, 0 }));
+    }
+
+    private static byte[] encode(CidSet cidSet) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        cidSet.writeTo(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static CidSet decode(byte[] encoded) throws IOException {
+        return CidSet.readFrom(new ByteArrayInputStream(encoded));
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+public class CommitAdmissionControlTest {
+    // Slots are kept per instance for the whole JVM, so every test uses an instance of its own
+    private final String coverityInstanceUrl = "https://" + UUID.randomUUID() + ".example.com";
+
+    @Test
+    public void testAdmitsUpToTheLimit() throws Exception {
+        CommitAdmissionControl.CommitPermit first = CommitAdmissionControl.acquire(coverityInstanceUrl, 2);
+        CommitAdmissionControl.CommitPermit second = CommitAdmissionControl.acquire(coverityInstanceUrl, 2);
+
+        CompletableFuture<CommitAdmissionControl.CommitPermit> third = acquireInBackground(2);
+        awaitQueueLength(1);
+        assertFalse(third.isDone());
+
+        first.close();
+        third.get(5, TimeUnit.SECONDS).close();
+        second.close();
+    }
+
+    @Test
+    public void testLoweredLimitWaitsForRunningCommits() throws Exception {
+        CommitAdmissionControl.CommitPermit first = CommitAdmissionControl.acquire(coverityInstanceUrl, 2);
+        CommitAdmissionControl.CommitPermit second = CommitAdmissionControl.acquire(coverityInstanceUrl, 2);
+
+        CompletableFuture<CommitAdmissionControl.CommitPermit> third = acquireInBackground(1);
+        awaitQueueLength(1);
+
+        // Two commits are still running against a limit of one, so returning one permit must not admit another
+        first.close();
+        assertStillWaiting(third);
+        second.close();
+        third.get(5, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    public void testRaisedLimitAdmitsWaitingCommits() throws Exception {
+        CommitAdmissionControl.CommitPermit first = CommitAdmissionControl.acquire(coverityInstanceUrl, 1);
+
+        CommitAdmissionControl.CommitPermit second = acquireInBackground(2).get(5, TimeUnit.SECONDS);
+
+        assertEquals(0, CommitAdmissionControl.getQueueLength(coverityInstanceUrl));
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void testClosingAPermitTwiceReturnsItOnce() throws Exception {
+        CommitAdmissionControl.CommitPermit first = CommitAdmissionControl.acquire(coverityInstanceUrl, 1);
+        first.close();
+        first.close();
+
+        CommitAdmissionControl.CommitPermit second = CommitAdmissionControl.acquire(coverityInstanceUrl, 1);
+        CompletableFuture<CommitAdmissionControl.CommitPermit> third = acquireInBackground(1);
+        awaitQueueLength(1);
+        assertFalse(third.isDone());
+
+        second.close();
+        third.get(5, TimeUnit.SECONDS).close();
+    }
+
+    private CompletableFuture<CommitAdmissionControl.CommitPermit> acquireInBackground(int maxConcurrentCommits) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return CommitAdmissionControl.acquire(coverityInstanceUrl, maxConcurrentCommits);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private void awaitQueueLength(int expectedQueueLength) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (CommitAdmissionControl.getQueueLength(coverityInstanceUrl) != expectedQueueLength) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for " + expectedQueueLength + " queued commit(s)");
+            Thread.sleep(10);
+        }
+    }
+
+    private void assertStillWaiting(CompletableFuture<CommitAdmissionControl.CommitPermit> waitingCommit) throws InterruptedException, ExecutionException {
+        try {
+            waitingCommit.get(200, TimeUnit.MILLISECONDS);
+            throw new AssertionError("The commit should still be waiting for a permit");
+        } catch (TimeoutException expected) {
+            // Still waiting
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
+import com.synopsys.integration.jenkins.coverity.extensions.buildstep.RepeatableCommand;
+
+public class CommitRelayTest {
+    private static final byte[] PAYLOAD = createPayload(100_000);
+
+    @TempDir
+    public Path temporaryDirectory;
+
+    private final CoverityJenkinsIntLogger mockedLogger = Mockito.mock(CoverityJenkinsIntLogger.class);
+
+    @Test
+    public void testTransferResumesAfterDroppedConnection() throws IOException, InterruptedException {
+        File stagedPayload = temporaryDirectory.resolve("payload").toFile();
+        List<Long> requestedOffsets = new ArrayList<>();
+        // The first read breaks off partway through, as a dropped connection to the agent would
+        CommitRelay.ChunkSource chunkSource = offset -> {
+            requestedOffsets.add(offset);
+            InputStream chunk = new ByteArrayInputStream(PAYLOAD, (int) offset, PAYLOAD.length - (int) offset);
+            return requestedOffsets.size() == 1 ? breakAfter(chunk, 30_000) : chunk;
+        };
+
+        CommitRelay.transfer(mockedLogger, chunkSource, stagedPayload, PAYLOAD.length, 0);
+
+        assertArrayEquals(PAYLOAD, Files.readAllBytes(stagedPayload.toPath()));
+        assertEquals(Arrays.asList(0L, 30_000L), requestedOffsets);
+    }
+
+    @Test
+    public void testTransferGivesUpAfterRepeatedFailures() {
+        File stagedPayload = temporaryDirectory.resolve("payload").toFile();
+        List<Long> requestedOffsets = new ArrayList<>();
+        CommitRelay.ChunkSource chunkSource = offset -> {
+            requestedOffsets.add(offset);
+            throw new IOException("The agent went away");
+        };
+
+        assertThrows(IOException.class, () -> CommitRelay.transfer(mockedLogger, chunkSource, stagedPayload, PAYLOAD.length, 0));
+        assertEquals(5, requestedOffsets.size());
+    }
+
+    @Test
+    public void testTransferKeepsGoingWhileChunksArrive() throws IOException, InterruptedException {
+        File stagedPayload = temporaryDirectory.resolve("payload").toFile();
+        // Every read breaks off, but each one makes progress, so the transfer never gives up
+        CommitRelay.ChunkSource chunkSource = offset -> breakAfter(new ByteArrayInputStream(PAYLOAD, (int) offset, PAYLOAD.length - (int) offset), 10_000);
+
+        CommitRelay.transfer(mockedLogger, chunkSource, stagedPayload, PAYLOAD.length, 0);
+
+        assertArrayEquals(PAYLOAD, Files.readAllBytes(stagedPayload.toPath()));
+    }
+
+    @Test
+    public void testVerifyDigest() throws IOException, CoverityJenkinsException {
+        File stagedPayload = Files.write(temporaryDirectory.resolve("payload"), PAYLOAD).toFile();
+
+        CommitRelay.verifyDigest(stagedPayload, sha256(PAYLOAD));
+
+        assertTrue(stagedPayload.exists());
+    }
+
+    @Test
+    public void testDigestMismatchDeletesThePayload() throws IOException {
+        byte[] corruptPayload = PAYLOAD.clone();
+        corruptPayload[500] ^= 1;
+        File stagedPayload = Files.write(temporaryDirectory.resolve("payload"), corruptPayload).toFile();
+
+        assertThrows(CoverityJenkinsException.class, () -> CommitRelay.verifyDigest(stagedPayload, sha256(PAYLOAD)));
+        assertFalse(stagedPayload.exists());
+    }
+
+    @Test
+    public void testCommitArgumentsOnlyComeFromTrustedFields() throws CoverityJenkinsException {
+        List<String> jobArguments = Arrays.asList("cov-commit-defects", "--dir", "idir", "--url", "https://elsewhere.example.com", "--stream", "stream", "--on-new-cert", "trust", "--description", "$(id)");
+        String streamName = CommitRelay.getArgumentValue(jobArguments, RepeatableCommand.Argument.STREAM).orElse("default");
+
+        List<String> arguments = CommitRelay.createCommitArguments("/staging/idir", "https://coverity.example.com", streamName, "/staging/auth-key.txt");
+
+        assertEquals(Arrays.asList("cov-commit-defects", "--dir", "/staging/idir", "--url", "https://coverity.example.com", "--stream", "stream", "--auth-key-file", "/staging/auth-key.txt"), arguments);
+    }
+
+    @Test
+    public void testCommitArgumentsWithoutAuthKeyFile() throws CoverityJenkinsException {
+        List<String> arguments = CommitRelay.createCommitArguments("/staging/idir", "https://coverity.example.com", "stream", null);
+
+        assertEquals(Arrays.asList("cov-commit-defects", "--dir", "/staging/idir", "--url", "https://coverity.example.com", "--stream", "stream"), arguments);
+    }
+
+    @Test
+    public void testCommitArgumentsRejectInvalidStreams() {
+        assertThrows(CoverityJenkinsException.class, () -> CommitRelay.createCommitArguments("/staging/idir", "https://coverity.example.com", "--dir=/etc", null));
+        assertThrows(CoverityJenkinsException.class, () -> CommitRelay.createCommitArguments("/staging/idir", "https://coverity.example.com", " ", null));
+    }
+
+    @Test
+    public void testRejectSymbolicLinks() throws IOException, CoverityJenkinsException {
+        Path stagedIntermediateDirectory = Files.createDirectories(temporaryDirectory.resolve("idir/output"));
+        Files.write(stagedIntermediateDirectory.resolve("summary.txt"), PAYLOAD);
+        CommitRelay.rejectSymbolicLinks(temporaryDirectory.resolve("idir"));
+
+        Files.createSymbolicLink(stagedIntermediateDirectory.resolve("secrets"), temporaryDirectory);
+        assertThrows(CoverityJenkinsException.class, () -> CommitRelay.rejectSymbolicLinks(temporaryDirectory.resolve("idir")));
+    }
+
+    private static InputStream breakAfter(InputStream inputStream, int length) {
+        return new FilterInputStream(inputStream) {
+            private int remaining = length;
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (remaining <= 0) {
+                    throw new IOException("Connection reset");
+                }
+                int read = super.read(b, off, Math.min(len, remaining));
+                remaining -= Math.max(read, 0);
+                return read;
+            }
+        };
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] createPayload(int length) {
+        byte[] payload = new byte[length];
+        new Random(42).nextBytes(payload);
+        return payload;
+    }
+
+}
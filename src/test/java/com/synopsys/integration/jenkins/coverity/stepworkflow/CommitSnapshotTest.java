@@ -0,0 +1,97 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+
+import hudson.FilePath;
+
+public class CommitSnapshotTest {
+    @TempDir
+    public Path temporaryDirectory;
+
+    private Path workspace;
+    private Path authKeyFile;
+    private Path stagingDirectory;
+    private CommitSnapshot commitSnapshot;
+    private final CoverityJenkinsIntLogger mockedLogger = Mockito.mock(CoverityJenkinsIntLogger.class);
+
+    @BeforeEach
+    public void createWorkspace() throws IOException {
+        workspace = Files.createDirectories(temporaryDirectory.resolve("workspace"));
+        Files.createDirectories(workspace.resolve("idir/output"));
+        Files.write(workspace.resolve("idir/output/summary.txt"), "summary".getBytes(StandardCharsets.UTF_8));
+        // Matches one of Ant's default excludes, which must not be left behind
+        Files.write(workspace.resolve("idir/output/emit.db~"), "emit".getBytes(StandardCharsets.UTF_8));
+        authKeyFile = Files.write(workspace.resolve("auth-key.txt"), "key".getBytes(StandardCharsets.UTF_8));
+        stagingDirectory = temporaryDirectory.resolve("staging");
+        commitSnapshot = new CommitSnapshot(new FilePath(workspace.toFile()), new FilePath(stagingDirectory.toFile()));
+    }
+
+    @Test
+    public void testStagesIntermediateDirectoryAndAuthKeyFile() throws IOException, InterruptedException {
+        List<String> stagedArguments = commitSnapshot.stage(mockedLogger, commitCommand("idir", authKeyFile.toString()));
+
+        Path stagedIntermediateDirectory = Paths.get(stagedArguments.get(2));
+        Path stagedAuthKeyFile = Paths.get(stagedArguments.get(4));
+        assertTrue(stagedIntermediateDirectory.startsWith(stagingDirectory));
+        assertTrue(stagedAuthKeyFile.startsWith(stagingDirectory));
+        assertEquals(Arrays.asList("--stream", "stream"), stagedArguments.subList(5, 7));
+
+        assertEquals("summary", new String(Files.readAllBytes(stagedIntermediateDirectory.resolve("output/summary.txt")), StandardCharsets.UTF_8));
+        assertTrue(Files.exists(stagedIntermediateDirectory.resolve("output/emit.db~")));
+        assertEquals("key", new String(Files.readAllBytes(stagedAuthKeyFile), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testStagedCopyOutlivesTheWorkspace() throws IOException, InterruptedException {
+        List<String> stagedArguments = commitSnapshot.stage(mockedLogger, commitCommand("idir", authKeyFile.toString()));
+        new FilePath(workspace.toFile()).deleteRecursive();
+
+        assertTrue(Files.exists(Paths.get(stagedArguments.get(2)).resolve("output/summary.txt")));
+        assertTrue(Files.exists(Paths.get(stagedArguments.get(4))));
+    }
+
+    @Test
+    public void testStagesEachDirectoryOnce() throws IOException, InterruptedException {
+        Files.createDirectories(workspace.resolve("other-idir"));
+        List<String> first = commitSnapshot.stage(mockedLogger, commitCommand("idir", authKeyFile.toString()));
+        List<String> second = commitSnapshot.stage(mockedLogger, commitCommand(workspace.resolve("idir").toString(), authKeyFile.toString()));
+        List<String> other = commitSnapshot.stage(mockedLogger, commitCommand("other-idir", authKeyFile.toString()));
+
+        assertEquals(first, second);
+        assertNotEquals(first.get(2), other.get(2));
+        assertEquals(first.get(4), other.get(4));
+    }
+
+    @Test
+    public void testCleanUpOnlyDeletesTheCopy() throws IOException, InterruptedException {
+        commitSnapshot.stage(mockedLogger, commitCommand("idir", authKeyFile.toString()));
+        commitSnapshot.cleanUp(mockedLogger);
+
+        assertFalse(Files.exists(stagingDirectory));
+        assertTrue(Files.exists(workspace.resolve("idir/output/summary.txt")));
+        assertTrue(Files.exists(authKeyFile));
+    }
+
+    private List<String> commitCommand(String intermediateDirectory, String authKeyFilePath) {
+        return Arrays.asList("cov-commit-defects", "--dir", intermediateDirectory, "--auth-key-file", authKeyFilePath, "--stream", "stream");
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
+
+public class ComputeAnalysisFingerprintTest {
+    private static final List<List<String>> COMMANDS = Arrays.asList(
+        Arrays.asList("cov-build", "--dir", "/ws/idir", "make"),
+        Arrays.asList("cov-analyze", "--dir", "/ws/idir", "--jobs", "8", "--all"),
+        Arrays.asList("cov-commit-defects", "--dir", "/ws/idir", "--url", "https://a.example.com", "--stream", "main", "--auth-key-file", "/ws/auth-key123.txt")
+    );
+
+    @TempDir
+    public Path temporaryDirectory;
+
+    private Path workspace;
+    private Path coverityToolHome;
+
+    @BeforeEach
+    public void createSources() throws IOException {
+        workspace = Files.createDirectories(temporaryDirectory.resolve("workspace"));
+        coverityToolHome = Files.createDirectories(temporaryDirectory.resolve("cov-analysis"));
+        Files.write(coverityToolHome.resolve("VERSION"), "externalVersion=2023.12.0".getBytes(StandardCharsets.UTF_8));
+        Files.createDirectories(workspace.resolve("src"));
+        Files.write(workspace.resolve("src/main.c"), "int main() { return 0; }".getBytes(StandardCharsets.UTF_8));
+        Files.write(workspace.resolve("Makefile"), "all:\n\tcc src/main.c".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testFingerprintIsStable() throws IntegrationException {
+        assertEquals(computeFingerprint(COMMANDS, null), computeFingerprint(COMMANDS, null));
+    }
+
+    @Test
+    public void testFingerprintChangesWithSources() throws IOException, IntegrationException {
+        String fingerprint = computeFingerprint(COMMANDS, null);
+        Files.write(workspace.resolve("src/main.c"), "int main() { return 1; }".getBytes(StandardCharsets.UTF_8));
+
+        assertNotEquals(fingerprint, computeFingerprint(COMMANDS, null));
+    }
+
+    @Test
+    public void testFingerprintChangesWithToolVersion() throws IOException, IntegrationException {
+        String fingerprint = computeFingerprint(COMMANDS, null);
+        Files.write(coverityToolHome.resolve("VERSION"), "externalVersion=2024.3.0".getBytes(StandardCharsets.UTF_8));
+
+        assertNotEquals(fingerprint, computeFingerprint(COMMANDS, null));
+    }
+
+    @Test
+    public void testFingerprintChangesWithArguments() throws IntegrationException {
+        List<List<String>> changedCommands = Arrays.asList(COMMANDS.get(0), Arrays.asList("cov-analyze", "--dir", "/ws/idir", "--jobs", "8", "--all", "--enable-audit-mode"), COMMANDS.get(2));
+
+        assertNotEquals(computeFingerprint(COMMANDS, null), computeFingerprint(changedCommands, null));
+    }
+
+    @Test
+    public void testFingerprintIgnoresBuildSpecificValues() throws IOException, IntegrationException {
+        String fingerprint = computeFingerprint(COMMANDS, null);
+
+        List<List<String>> otherBuildCommands = Arrays.asList(
+            COMMANDS.get(0),
+            Arrays.asList("cov-analyze", "--dir", "/ws/idir", "-j", "32", "--all"),
+            Arrays.asList("cov-commit-defects", "--dir", "/ws/idir", "--url", "https://b.example.com", "--stream", "main", "--auth-key-file", "/ws/auth-key456.txt")
+        );
+        Files.createDirectories(workspace.resolve("idir/emit"));
+        Files.write(workspace.resolve("idir/emit/data"), new byte[] { 1, 2, 3 });
+        Files.write(workspace.resolve("auth-key456.txt"), "secret".getBytes(StandardCharsets.UTF_8));
+        Files.createDirectories(workspace.resolve(".git"));
+        Files.write(workspace.resolve(".git/HEAD"), "ref: refs/heads/main".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(fingerprint, computeFingerprint(otherBuildCommands, null));
+    }
+
+    @Test
+    public void testExclusionPatterns() throws IOException, IntegrationException {
+        String fingerprint = computeFingerprint(COMMANDS, "**/*.o, out/**");
+        Files.write(workspace.resolve("src/main.o"), new byte[] { 7 });
+        Files.createDirectories(workspace.resolve("out"));
+        Files.write(workspace.resolve("out/app"), new byte[] { 8 });
+
+        assertEquals(fingerprint, computeFingerprint(COMMANDS, "**/*.o, out/**"));
+        assertNotEquals(fingerprint, computeFingerprint(COMMANDS, null));
+    }
+
+    @Test
+    public void testBuildOutputIsLeftOutByDefault() throws IOException, IntegrationException {
+        String fingerprint = computeFingerprint(COMMANDS, null);
+        Files.write(workspace.resolve("src/main.o"), new byte[] { 7 });
+        Files.createDirectories(workspace.resolve("module/target/classes"));
+        Files.write(workspace.resolve("module/target/classes/App.class"), new byte[] { 8 });
+
+        assertEquals(fingerprint, computeFingerprint(COMMANDS, null));
+    }
+
+    @Test
+    public void testIntermediateDirectoryOfTheCommandsIsLeftOut() throws IOException, IntegrationException {
+        String intermediateDirectory = workspace.resolve("coverity/cov-idir").toString();
+        List<List<String>> commands = Arrays.asList(
+            Arrays.asList("cov-build", "--dir", intermediateDirectory, "make"),
+            Arrays.asList("cov-analyze", "--dir", intermediateDirectory, "--all")
+        );
+        String fingerprint = computeFingerprint(commands, null);
+        Files.createDirectories(workspace.resolve("coverity/cov-idir/emit"));
+        Files.write(workspace.resolve("coverity/cov-idir/emit/data"), new byte[] { 1, 2, 3 });
+
+        assertEquals(fingerprint, computeFingerprint(commands, null));
+
+        // Only the intermediate directory itself, not its siblings
+        Files.write(workspace.resolve("coverity/config.xml"), new byte[] { 4 });
+        assertNotEquals(fingerprint, computeFingerprint(commands, null));
+    }
+
+    @Test
+    public void testMissingVersionFile() throws IOException {
+        Files.delete(coverityToolHome.resolve("VERSION"));
+
+        assertThrows(CoverityJenkinsException.class, () -> computeFingerprint(COMMANDS, null));
+    }
+
+    @Test
+    public void testIsAnalysisOrCommitCommand() {
+        assertTrue(ComputeAnalysisFingerprint.isAnalysisOrCommitCommand("cov-analyze"));
+        assertTrue(ComputeAnalysisFingerprint.isAnalysisOrCommitCommand("cov-run-desktop.exe"));
+        assertTrue(ComputeAnalysisFingerprint.isAnalysisOrCommitCommand("/opt/coverity/bin/cov-commit-defects"));
+        assertFalse(ComputeAnalysisFingerprint.isAnalysisOrCommitCommand("cov-build"));
+        assertFalse(ComputeAnalysisFingerprint.isAnalysisOrCommitCommand("cov-capture"));
+    }
+
+    private String computeFingerprint(List<List<String>> commands, String exclusionPatterns) throws IntegrationException {
+        CoverityJenkinsIntLogger mockedLogger = Mockito.mock(CoverityJenkinsIntLogger.class);
+        List<String> normalizedArguments = ComputeAnalysisFingerprint.normalizeArguments(commands);
+        return new ComputeAnalysisFingerprint(mockedLogger, workspace.toString(), coverityToolHome.toString(), exclusionPatterns, normalizedArguments).call();
+    }
+
+}
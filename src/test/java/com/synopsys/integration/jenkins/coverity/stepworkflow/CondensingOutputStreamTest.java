@@ -0,0 +1,77 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.synopsys.integration.jenkins.coverity.extensions.ConsoleOutputMode;
+
+public class CondensingOutputStreamTest {
+    private static final List<String> TOOL_OUTPUT = Arrays.asList(
+        "Coverity Build Capture (64-bit) version 2023.6.0",
+        "[STATUS] Compiling src/main.c",
+        "[STATUS] Compiling src/util.c",
+        "src/util.c:12: warning: unused variable 'x'",
+        "|0----------25-----------50----------75---------100|",
+        "****************************************************",
+        "Emitted 2 C/C++ compilation units (100%) successfully",
+        "[ERROR] cov-emit returned with code 1"
+    );
+
+    private static Stream<Arguments> testForwardedLines() {
+        return Stream.of(
+            Arguments.of(ConsoleOutputMode.FULL, TOOL_OUTPUT),
+            Arguments.of(ConsoleOutputMode.SUMMARY, Arrays.asList(TOOL_OUTPUT.get(0), TOOL_OUTPUT.get(3), TOOL_OUTPUT.get(6), TOOL_OUTPUT.get(7), "[Coverity] 4 line(s) condensed, latest: " + TOOL_OUTPUT.get(5))),
+            Arguments.of(ConsoleOutputMode.ERRORS_ONLY, Arrays.asList(TOOL_OUTPUT.get(3), TOOL_OUTPUT.get(7), "[Coverity] 6 line(s) condensed, latest: " + TOOL_OUTPUT.get(6)))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("testForwardedLines")
+    public void testForwardedLines(ConsoleOutputMode consoleOutputMode, List<String> expectedLines) throws IOException {
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        ByteArrayOutputStream rawLog = new ByteArrayOutputStream();
+        try (CondensingOutputStream condensingOutputStream = new CondensingOutputStream(console, consoleOutputMode, rawLog, () -> 0L)) {
+            condensingOutputStream.write(joinLines(TOOL_OUTPUT).getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(joinLines(expectedLines), console.toString("UTF-8"));
+        assertEquals(joinLines(TOOL_OUTPUT), rawLog.toString("UTF-8"));
+    }
+
+    @Test
+    public void testPeriodicSummary() throws IOException {
+        AtomicLong clock = new AtomicLong(0);
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        CondensingOutputStream condensingOutputStream = new CondensingOutputStream(console, ConsoleOutputMode.SUMMARY, null, clock::get);
+
+        condensingOutputStream.write("[STATUS] 1\n[STATUS] 2\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals("", console.toString("UTF-8"));
+
+        clock.set(CondensingOutputStream.SUMMARY_INTERVAL_IN_MILLIS);
+        condensingOutputStream.write("[STATUS] 3\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals(joinLines(Arrays.asList("[Coverity] 3 line(s) condensed, latest: [STATUS] 3")), console.toString("UTF-8"));
+
+        condensingOutputStream.close();
+        assertEquals(3, condensingOutputStream.getCondensedLines());
+    }
+
+    private static String joinLines(List<String> lines) {
+        return lines.stream()
+                   .map(line -> line + System.lineSeparator())
+                   .collect(Collectors.joining());
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+import com.synopsys.integration.jenkins.coverity.exception.CoverityJenkinsException;
+
+import hudson.FilePath;
+
+public class EmitTransferTest {
+    @TempDir
+    public Path temporaryDirectory;
+
+    private File archiveDirectory;
+    private EmitTransfer emitTransfer;
+
+    @BeforeEach
+    public void createEmitTransfer() {
+        archiveDirectory = temporaryDirectory.resolve("build/" + EmitTransfer.ARCHIVE_DIRECTORY_NAME).toFile();
+        emitTransfer = new EmitTransfer(Mockito.mock(CoverityJenkinsIntLogger.class), archiveDirectory);
+    }
+
+    @Test
+    public void testPartitionNames() {
+        assertTrue(EmitTransfer.isValidPartitionName("linux-x86_64"));
+        assertTrue(EmitTransfer.isValidPartitionName("windows.1"));
+        assertFalse(EmitTransfer.isValidPartitionName(null));
+        assertFalse(EmitTransfer.isValidPartitionName(""));
+        assertFalse(EmitTransfer.isValidPartitionName(".hidden"));
+        assertFalse(EmitTransfer.isValidPartitionName("../outside"));
+        assertFalse(EmitTransfer.isValidPartitionName("a/b"));
+        assertFalse(EmitTransfer.isValidPartitionName("a b"));
+    }
+
+    @Test
+    public void testPublishRejectsInvalidPartitionName() throws IOException {
+        FilePath intermediateDirectory = createCapture("agent", "hostA");
+
+        assertThrows(CoverityJenkinsException.class, () -> emitTransfer.publish("../outside", intermediateDirectory));
+        assertFalse(temporaryDirectory.resolve("build/outside" + EmitTransfer.ARCHIVE_EXTENSION).toFile().exists());
+    }
+
+    @Test
+    public void testPublishedPartitions() throws Exception {
+        assertTrue(emitTransfer.getPublishedPartitions().isEmpty());
+
+        emitTransfer.publish("windows", createCapture("windows-agent", "hostB"));
+        emitTransfer.publish("linux", createCapture("linux-agent", "hostA"));
+        // An interrupted publish leaves a partial archive behind, which is not a published emit
+        Files.write(archiveDirectory.toPath().resolve("macos" + EmitTransfer.ARCHIVE_EXTENSION + ".partial"), new byte[] { 1 });
+
+        assertEquals(Arrays.asList("linux", "windows"), emitTransfer.getPublishedPartitions());
+
+        emitTransfer.delete("linux");
+        assertEquals(Collections.singletonList("windows"), emitTransfer.getPublishedPartitions());
+    }
+
+    @Test
+    public void testMerge() throws Exception {
+        emitTransfer.publish("linux", createCapture("linux-agent", "hostA"));
+        emitTransfer.publish("windows", createCapture("windows-agent", "hostB"));
+        FilePath intermediateDirectory = new FilePath(temporaryDirectory.resolve("analysis/idir").toFile());
+
+        emitTransfer.merge(Arrays.asList("linux", "windows"), intermediateDirectory);
+
+        assertTrue(intermediateDirectory.child("emit/hostA/emit-db").exists());
+        assertTrue(intermediateDirectory.child("emit/hostB/emit-db").exists());
+        assertFalse(intermediateDirectory.sibling(EmitTransfer.ARCHIVE_DIRECTORY_NAME).exists());
+    }
+
+    @Test
+    public void testMergeKeepsFilesMatchingAntDefaultExcludes() throws Exception {
+        FilePath captureDirectory = createCapture("linux-agent", "hostA");
+        Path hostEmitDirectory = temporaryDirectory.resolve("linux-agent/idir/emit/hostA");
+        Files.write(hostEmitDirectory.resolve("._x"), "resource fork".getBytes(StandardCharsets.UTF_8));
+        Files.write(hostEmitDirectory.resolve(".#x"), "lock".getBytes(StandardCharsets.UTF_8));
+        emitTransfer.publish("linux", captureDirectory);
+        FilePath intermediateDirectory = new FilePath(temporaryDirectory.resolve("analysis/idir").toFile());
+
+        emitTransfer.merge(Collections.singletonList("linux"), intermediateDirectory);
+
+        assertEquals("resource fork", intermediateDirectory.child("emit/hostA/._x").readToString());
+        assertEquals("lock", intermediateDirectory.child("emit/hostA/.#x").readToString());
+    }
+
+    @Test
+    public void testMergeOnHostConflictLeavesIntermediateDirectoryUntouched() throws Exception {
+        emitTransfer.publish("linux", createCapture("linux-agent", "hostA"));
+        emitTransfer.publish("windows", createCapture("windows-agent", "hostB"));
+        FilePath intermediateDirectory = createCapture("analysis", "hostB");
+
+        assertThrows(CoverityJenkinsException.class, () -> emitTransfer.merge(Arrays.asList("linux", "windows"), intermediateDirectory));
+
+        assertEquals(1, intermediateDirectory.child("emit").listDirectories().size());
+        assertFalse(intermediateDirectory.child("emit/hostA").exists());
+        assertFalse(intermediateDirectory.sibling(EmitTransfer.ARCHIVE_DIRECTORY_NAME).exists());
+    }
+
+    @Test
+    public void testMergeRejectsPartitionsFromTheSameHost() throws Exception {
+        emitTransfer.publish("first", createCapture("first-agent", "hostA"));
+        emitTransfer.publish("second", createCapture("second-agent", "hostA"));
+        FilePath intermediateDirectory = new FilePath(temporaryDirectory.resolve("analysis/idir").toFile());
+
+        assertThrows(CoverityJenkinsException.class, () -> emitTransfer.merge(Arrays.asList("first", "second"), intermediateDirectory));
+
+        assertFalse(intermediateDirectory.child("emit").exists());
+    }
+
+    @Test
+    public void testMergeRejectsUnpublishedPartition() {
+        FilePath intermediateDirectory = new FilePath(temporaryDirectory.resolve("analysis/idir").toFile());
+
+        assertThrows(CoverityJenkinsException.class, () -> emitTransfer.merge(Collections.singletonList("linux"), intermediateDirectory));
+    }
+
+    private FilePath createCapture(String workspaceName, String host) throws IOException {
+        Path hostEmitDirectory = Files.createDirectories(temporaryDirectory.resolve(workspaceName + "/idir/emit/" + host));
+        Files.write(hostEmitDirectory.resolve("emit-db"), host.getBytes(StandardCharsets.UTF_8));
+        return new FilePath(temporaryDirectory.resolve(workspaceName + "/idir").toFile());
+    }
+
+}
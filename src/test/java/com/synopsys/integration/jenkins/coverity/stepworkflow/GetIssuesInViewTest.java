@@ -0,0 +1,103 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.coverity.api.rest.ViewContents;
+import com.synopsys.integration.jenkins.coverity.CoverityJenkinsIntLogger;
+
+public class GetIssuesInViewTest {
+    private final CoverityJenkinsIntLogger mockedLogger = Mockito.mock(CoverityJenkinsIntLogger.class);
+
+    @Test
+    public void testReadsEveryPage() throws Exception {
+        List<Integer> requestedOffsets = new ArrayList<>();
+        ViewContents firstPage = createPage(2500, 0, GetIssuesInView.PAGE_SIZE);
+        GetIssuesInView.PageSource pageSource = offset -> {
+            requestedOffsets.add(offset);
+            return offset == 0 ? firstPage : createPage(2500, offset, GetIssuesInView.PAGE_SIZE);
+        };
+
+        GetIssuesInView.ViewPages viewPages = GetIssuesInView.readPages(mockedLogger, "view", pageSource);
+
+        assertSame(firstPage, viewPages.firstPage);
+        assertArrayEquals(IntStream.range(0, 2500).toArray(), viewPages.cids.toArray());
+        assertEquals(Arrays.asList(0, 1000, 2000), requestedOffsets);
+    }
+
+    @Test
+    public void testReadsAgainWhenTheViewChanges() throws Exception {
+        List<Integer> requestedOffsets = new ArrayList<>();
+        GetIssuesInView.PageSource pageSource = offset -> {
+            requestedOffsets.add(offset);
+            // An issue is triaged out of the view while the second page is read the first time
+            int totalRows = requestedOffsets.size() <= 1 ? 1500 : 1499;
+            return createPage(totalRows, offset, GetIssuesInView.PAGE_SIZE);
+        };
+
+        GetIssuesInView.ViewPages viewPages = GetIssuesInView.readPages(mockedLogger, "view", pageSource);
+
+        assertEquals(1499, viewPages.cids.size());
+        assertEquals(Arrays.asList(0, 1000, 0, 1000), requestedOffsets);
+    }
+
+    @Test
+    public void testGivesUpOnAViewThatKeepsChanging() throws Exception {
+        List<Integer> requestedOffsets = new ArrayList<>();
+        GetIssuesInView.PageSource pageSource = offset -> {
+            requestedOffsets.add(offset);
+            return createPage(1500 + requestedOffsets.size(), offset, GetIssuesInView.PAGE_SIZE);
+        };
+
+        GetIssuesInView.ViewPages viewPages = GetIssuesInView.readPages(mockedLogger, "view", pageSource);
+
+        // The last attempt reads on to the end of the view as it was when that attempt started
+        assertEquals(2 * GetIssuesInView.MAX_PAGING_ATTEMPTS, requestedOffsets.size());
+        assertEquals(1500 + 2 * GetIssuesInView.MAX_PAGING_ATTEMPTS, viewPages.cids.size());
+        Mockito.verify(mockedLogger).warn(Mockito.contains("kept changing"));
+    }
+
+    @Test
+    public void testViewWithoutCidColumn() throws Exception {
+        ViewContents page = Mockito.mock(ViewContents.class);
+        Mockito.when(page.getTotalRows()).thenReturn(1L);
+        Mockito.doReturn(Collections.singletonList(Collections.singletonMap("displayType", "Null pointer dereferences"))).when(page).getRows();
+
+        GetIssuesInView.ViewPages viewPages = GetIssuesInView.readPages(mockedLogger, "view", offset -> page);
+
+        assertSame(page, viewPages.firstPage);
+        assertNull(viewPages.cids);
+    }
+
+    @Test
+    public void testEmptyView() throws Exception {
+        GetIssuesInView.ViewPages viewPages = GetIssuesInView.readPages(mockedLogger, "view", offset -> createPage(0, offset, GetIssuesInView.PAGE_SIZE));
+
+        assertEquals(0, viewPages.cids.size());
+    }
+
+    // The CIDs are the row numbers, some of them as strings as Coverity Connect sends them
+    private static ViewContents createPage(int totalRows, int offset, int pageSize) {
+        List<Map<String, Object>> rows = IntStream.range(offset, Math.min(totalRows, offset + pageSize))
+                                             .mapToObj(cid -> Collections.<String, Object>singletonMap(GetIssuesInView.CID_COLUMN, cid % 2 == 0 ? cid : String.valueOf(cid)))
+                                             .collect(Collectors.toList());
+        ViewContents page = Mockito.mock(ViewContents.class);
+        Mockito.when(page.getTotalRows()).thenReturn((long) totalRows);
+        Mockito.doReturn(rows).when(page).getRows();
+        return page;
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.jenkins.coverity.actions.IssueReportAction;
+import com.synopsys.integration.log.SilentIntLogger;
+
+import hudson.model.Run;
+
+public class IssueSnapshotsTest {
+    @TempDir
+    public Path temporaryDirectory;
+
+    @Test
+    public void testAllIssuesAreNewWithoutAPreviousSnapshot() throws IOException {
+        Run<?, ?> run = createRun(1, null);
+
+        IssueReportAction issueReportAction = IssueSnapshots.compareWithPreviousBuild(new SilentIntLogger(), run, "project", "view", createIssuesInView(CidSet.of(1, 2, 3)));
+
+        assertEquals(3, issueReportAction.getDefectCount());
+        assertEquals(Integer.valueOf(3), issueReportAction.getNewIssueCount());
+        assertEquals(Integer.valueOf(0), issueReportAction.getFixedIssueCount());
+        assertEquals(Optional.of(CidSet.of(1, 2, 3)), IssueSnapshots.findPrevious(new SilentIntLogger(), createRun(2, run), "project", "view"));
+    }
+
+    @Test
+    public void testCountsNewAndFixedIssues() throws IOException {
+        Run<?, ?> previousRun = createRun(1, null);
+        IssueSnapshots.save(previousRun, "project", "view", CidSet.of(1, 2, 3));
+        Run<?, ?> run = createRun(2, previousRun);
+
+        IssueReportAction issueReportAction = IssueSnapshots.compareWithPreviousBuild(new SilentIntLogger(), run, "project", "view", createIssuesInView(CidSet.of(2, 3, 4, 5)));
+
+        assertEquals(Integer.valueOf(2), issueReportAction.getNewIssueCount());
+        assertEquals(Integer.valueOf(1), issueReportAction.getFixedIssueCount());
+    }
+
+    @Test
+    public void testSkipsBuildsWithoutASnapshot() throws IOException {
+        Run<?, ?> firstRun = createRun(1, null);
+        IssueSnapshots.save(firstRun, "project", "view", CidSet.of(1, 2));
+        Run<?, ?> failedRun = createRun(2, firstRun);
+        Run<?, ?> run = createRun(3, failedRun);
+
+        IssueReportAction issueReportAction = IssueSnapshots.compareWithPreviousBuild(new SilentIntLogger(), run, "project", "view", createIssuesInView(CidSet.of(2)));
+
+        assertEquals(Integer.valueOf(0), issueReportAction.getNewIssueCount());
+        assertEquals(Integer.valueOf(1), issueReportAction.getFixedIssueCount());
+    }
+
+    @Test
+    public void testSnapshotsAreKeptPerView() throws IOException {
+        Run<?, ?> previousRun = createRun(1, null);
+        IssueSnapshots.save(previousRun, "project", "other view", CidSet.of(1, 2));
+        Run<?, ?> run = createRun(2, previousRun);
+
+        IssueReportAction issueReportAction = IssueSnapshots.compareWithPreviousBuild(new SilentIntLogger(), run, "project", "view", createIssuesInView(CidSet.of(1)));
+
+        assertEquals(Integer.valueOf(1), issueReportAction.getNewIssueCount());
+        assertEquals(Integer.valueOf(0), issueReportAction.getFixedIssueCount());
+    }
+
+    @Test
+    public void testViewWithoutCids() throws IOException {
+        Run<?, ?> run = createRun(1, null);
+
+        IssueReportAction issueReportAction = IssueSnapshots.compareWithPreviousBuild(new SilentIntLogger(), run, "project", "view", createIssuesInView(null));
+
+        assertEquals(3, issueReportAction.getDefectCount());
+        assertNull(issueReportAction.getNewIssueCount());
+        assertNull(issueReportAction.getFixedIssueCount());
+        assertTrue(IssueSnapshots.findPrevious(new SilentIntLogger(), createRun(2, run), "project", "view").isEmpty());
+    }
+
+    private Run<?, ?> createRun(int number, Run<?, ?> previousRun) throws IOException {
+        Run<?, ?> run = Mockito.mock(Run.class);
+        Mockito.when(run.getRootDir()).thenReturn(Files.createDirectories(temporaryDirectory.resolve(String.valueOf(number))).toFile());
+        Mockito.doReturn(previousRun).when(run).getPreviousBuild();
+        Mockito.when(run.getFullDisplayName()).thenReturn("job #" + number);
+        return run;
+    }
+
+    private static IssuesInView createIssuesInView(CidSet cids) {
+        IssuesInView issuesInView = Mockito.mock(IssuesInView.class);
+        Mockito.when(issuesInView.getDefectCount()).thenReturn(3);
+        Mockito.when(issuesInView.getViewReportUrl()).thenReturn("https://coverity.example.com/reports");
+        Mockito.when(issuesInView.getCids()).thenReturn(Optional.ofNullable(cids));
+        return issuesInView;
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ProcessResourceSamplerTest {
+    private static final String MARKER = "build-42";
+
+    @TempDir
+    public Path proc;
+
+    private ProcessResourceSampler processResourceSampler;
+
+    @BeforeEach
+    public void createProc() throws IOException {
+        Files.createDirectories(proc.resolve("self"));
+        processResourceSampler = new ProcessResourceSampler(MARKER, "/opt/coverity", proc);
+    }
+
+    @Test
+    public void testReadsStatStatusAndIo() throws IOException {
+        writeProcess(101, "cov-build", 1, 150, 50, 0, 0, true);
+        writeStatus(101, 9000, 8000);
+        writeIo(101, 4096, 1024);
+        // The command name can hold spaces and parentheses of its own
+        writeProcess(102, "cc1 (wrapper) x", 101, 20, 5, 0, 0, true);
+        writeStatus(102, 3000, 2000);
+        writeIo(102, 512, 256);
+        // Another build's process on the same agent
+        writeProcess(103, "cov-analyze", 1, 900, 100, 0, 0, false);
+        writeStatus(103, 50000, 50000);
+
+        processResourceSampler.sampleProc(new long[] { 101, 102, 103 });
+        CoverityToolResult coverityToolResult = processResourceSampler.createResult("cov-build", 0, 10_000);
+
+        assertEquals(2, coverityToolResult.getProcessCount());
+        assertEquals(2250, coverityToolResult.getCpuTimeInMillis());
+        assertEquals((8000 + 2000) * 1024L, coverityToolResult.getPeakRssInBytes());
+        assertEquals(4096 + 512, coverityToolResult.getBytesRead());
+        assertEquals(1024 + 256, coverityToolResult.getBytesWritten());
+
+        List<CoverityToolResult.ProcessSample> topProcesses = coverityToolResult.getTopProcesses();
+        assertEquals(101, topProcesses.get(0).getPid());
+        assertEquals("cov-build", topProcesses.get(0).getName());
+        assertEquals(1, topProcesses.get(0).getParentPid());
+        assertEquals(2000, topProcesses.get(0).getCpuTimeInMillis());
+        assertEquals(9000 * 1024L, topProcesses.get(0).getPeakRssInBytes());
+        assertEquals(102, topProcesses.get(1).getPid());
+        assertEquals("cc1 (wrapper) x", topProcesses.get(1).getName());
+        assertEquals(101, topProcesses.get(1).getParentPid());
+        assertEquals(250, topProcesses.get(1).getCpuTimeInMillis());
+    }
+
+    @Test
+    public void testCountsTheTimeOfChildrenThatExitedBetweenSamples() throws IOException {
+        writeProcess(101, "cov-build", 1, 100, 0, 0, 0, true);
+        writeProcess(102, "cc1", 101, 40, 10, 0, 0, true);
+        processResourceSampler.sampleProc(new long[] { 101, 102 });
+
+        // The compiler was waited for, so its time moved into the cutime and cstime of cov-build, and a compiler that was never sampled shows up there too
+        FileUtils.deleteDirectory(proc.resolve("102").toFile());
+        writeProcess(101, "cov-build", 1, 120, 0, 40 + 300, 10, true);
+        processResourceSampler.sampleProc(new long[] { 101 });
+
+        assertEquals((120 + 40 + 300 + 10) * 10L, processResourceSampler.createResult("cov-build", 0, 10_000).getCpuTimeInMillis());
+    }
+
+    @Test
+    public void testTreeCpuTimeNeverGoesBackwards() throws IOException {
+        writeProcess(101, "cov-build", 1, 100, 0, 0, 0, true);
+        writeProcess(102, "cc1", 101, 50, 0, 0, 0, true);
+        processResourceSampler.sampleProc(new long[] { 101, 102 });
+
+        // The child exited, but cov-build has not waited for it yet
+        FileUtils.deleteDirectory(proc.resolve("102").toFile());
+        processResourceSampler.sampleProc(new long[] { 101 });
+
+        assertEquals(1500, processResourceSampler.createResult("cov-build", 0, 10_000).getCpuTimeInMillis());
+    }
+
+    @Test
+    public void testMarkerIsPickedUpAfterExec() throws IOException {
+        writeProcess(101, "cov-build", 1, 100, 0, 0, 0, true);
+        // Forked, but not yet exec'd, so it still has the environment of the agent
+        writeProcess(102, "cov-build", 101, 10, 0, 0, 0, false);
+        processResourceSampler.sampleProc(new long[] { 101, 102 });
+        assertEquals(1, processResourceSampler.createResult("cov-build", 0, 10_000).getProcessCount());
+
+        writeProcess(102, "cc1", 101, 30, 0, 0, 0, true);
+        processResourceSampler.sampleProc(new long[] { 101, 102 });
+        assertEquals(2, processResourceSampler.createResult("cov-build", 0, 10_000).getProcessCount());
+    }
+
+    @Test
+    public void testNothingSampled() {
+        CoverityToolResult coverityToolResult = processResourceSampler.createResult("cov-build", 1, 10_000);
+
+        assertEquals(0, coverityToolResult.getProcessCount());
+        assertEquals(CoverityToolResult.UNKNOWN, coverityToolResult.getCpuTimeInMillis());
+    }
+
+    private void writeProcess(long pid, String name, long parentPid, long utime, long stime, long cutime, long cstime, boolean marked) throws IOException {
+        Path processDirectory = Files.createDirectories(proc.resolve(String.valueOf(pid)));
+        String stat = String.format("%d (%s) S %d %d %d 0 -1 4194304 1200 0 0 0 %d %d %d %d 20 0 1 0 5000 104857600 2000%n", pid, name, parentPid, pid, pid, utime, stime, cutime, cstime);
+        Files.write(processDirectory.resolve("stat"), stat.getBytes(StandardCharsets.UTF_8));
+        String environment = "PATH=/usr/bin\0" + (marked ? ProcessResourceSampler.MARKER_ENVIRONMENT_VARIABLE + "=" + MARKER + "\0" : "") + "HOME=/home/jenkins\0";
+        Files.write(processDirectory.resolve("environ"), environment.getBytes(StandardCharsets.UTF_8));
+        if (!Files.exists(processDirectory.resolve("status"))) {
+            writeStatus(pid, 0, 0);
+        }
+        if (!Files.exists(processDirectory.resolve("io"))) {
+            writeIo(pid, 0, 0);
+        }
+    }
+
+    private void writeStatus(long pid, long peakRssInKilobytes, long rssInKilobytes) throws IOException {
+        String status = String.format("Name:\tcov-build%nState:\tS (sleeping)%nPPid:\t1%nVmPeak:\t  200000 kB%nVmHWM:\t  %d kB%nVmRSS:\t  %d kB%nThreads:\t1%n", peakRssInKilobytes, rssInKilobytes);
+        Files.write(proc.resolve(String.valueOf(pid)).resolve("status"), status.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeIo(long pid, long bytesRead, long bytesWritten) throws IOException {
+        String io = String.format("rchar: 100000%nwchar: 50000%nsyscr: 10%nsyscw: 5%nread_bytes: %d%nwrite_bytes: %d%ncancelled_write_bytes: 0%n", bytesRead, bytesWritten);
+        Files.write(proc.resolve(String.valueOf(pid)).resolve("io"), io.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
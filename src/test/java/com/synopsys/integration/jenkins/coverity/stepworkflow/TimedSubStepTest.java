@@ -0,0 +1,69 @@
+package com.synopsys.integration.jenkins.coverity.stepworkflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.jenkins.coverity.actions.StepTiming;
+import com.synopsys.integration.stepworkflow.SubStep;
+import com.synopsys.integration.stepworkflow.SubStepResponse;
+
+public class TimedSubStepTest {
+    private final StepTimings stepTimings = new StepTimings("workflow");
+
+    @Test
+    public void testRecordsDurationOfSuccessfulStep() {
+        SubStepResponse<String> response = SubStepResponse.SUCCESS("result");
+        SubStep<Object, String> subStep = createSubStep(response, 50);
+
+        SubStepResponse<String> timedResponse = new TimedSubStep<>("step", subStep, stepTimings).run(SubStepResponse.SUCCESS());
+
+        assertSame(response, timedResponse);
+        List<StepTiming> recordedTimings = stepTimings.getStepTimings();
+        assertEquals(1, recordedTimings.size());
+        assertEquals("workflow", recordedTimings.get(0).getWorkflowName());
+        assertEquals("step", recordedTimings.get(0).getStepName());
+        assertTrue(recordedTimings.get(0).getDurationInMillis() >= 50);
+        assertTrue(recordedTimings.get(0).isSuccessful());
+    }
+
+    @Test
+    public void testRecordsFailedStep() {
+        SubStepResponse<String> response = SubStepResponse.FAILURE(new IllegalStateException("Coverity Connect went away"));
+        SubStep<Object, String> subStep = createSubStep(response, 0);
+
+        SubStepResponse<String> timedResponse = new TimedSubStep<>("step", subStep, stepTimings).run(SubStepResponse.SUCCESS());
+
+        assertSame(response, timedResponse);
+        assertEquals(1, stepTimings.getStepTimings().size());
+        assertFalse(stepTimings.getStepTimings().get(0).isSuccessful());
+    }
+
+    @Test
+    public void testSkippedStepIsNotRecorded() {
+        SubStepResponse<String> response = SubStepResponse.FAILURE(new IllegalStateException("An earlier step failed"));
+        SubStep<Object, String> subStep = createSubStep(response, 0);
+
+        SubStepResponse<String> timedResponse = new TimedSubStep<>("step", subStep, stepTimings).run(SubStepResponse.FAILURE(new IllegalStateException("An earlier step failed")));
+
+        assertSame(response, timedResponse);
+        assertTrue(stepTimings.getStepTimings().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SubStep<Object, String> createSubStep(SubStepResponse<String> response, long durationInMillis) {
+        SubStep<Object, String> subStep = Mockito.mock(SubStep.class);
+        Mockito.doAnswer(invocation -> {
+            Thread.sleep(durationInMillis);
+            return response;
+        }).when(subStep).run(Mockito.any());
+        return subStep;
+    }
+
+}